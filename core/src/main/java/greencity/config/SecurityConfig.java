@@ -1,5 +1,6 @@
 package greencity.config;
 
+import greencity.client.UserLookupCache;
 import greencity.security.filters.AccessTokenAuthenticationFilter;
 import greencity.security.jwt.JwtTool;
 import greencity.security.providers.JwtAuthenticationProvider;
@@ -55,15 +56,17 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     private static final String USER_SHOPPING_LIST = "/user/shopping-list-items";
     private final JwtTool jwtTool;
     private final UserService userService;
+    private final UserLookupCache userLookupCache;
 
     /**
      * Constructor.
      */
 
     @Autowired
-    public SecurityConfig(JwtTool jwtTool, UserService userService) {
+    public SecurityConfig(JwtTool jwtTool, UserService userService, UserLookupCache userLookupCache) {
         this.jwtTool = jwtTool;
         this.userService = userService;
+        this.userLookupCache = userLookupCache;
     }
 
     /**
@@ -88,7 +91,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
             .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             .and()
             .addFilterBefore(
-                new AccessTokenAuthenticationFilter(jwtTool, authenticationManager(), userService),
+                new AccessTokenAuthenticationFilter(jwtTool, authenticationManager(), userService, userLookupCache),
                 UsernamePasswordAuthenticationFilter.class)
             .exceptionHandling()
             .authenticationEntryPoint((req, resp, exc) -> resp.sendError(SC_UNAUTHORIZED, "Authorize first."))
@@ -102,6 +105,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
             .antMatchers("/css/**",
                 "/img/**")
             .permitAll()
+            .antMatchers(HttpMethod.GET, "/files/**")
+            .permitAll()
             .antMatchers(HttpMethod.GET,
                 ECONEWS_COMMENTS)
             .hasAnyRole(ADMIN)
@@ -121,6 +126,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 "/place/info/favorite/{placeId}",
                 "/favorite_place/favorite/{placeId}",
                 "/place/statuses",
+                "/place/clusters/{zoom}/{x}/{y}",
                 "/habit",
                 "/habit/{id}",
                 "/habit/{id}/shopping-list",
@@ -133,6 +139,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 "/place/about/{id}",
                 "/specification",
                 "/econews",
+                "/econews/cursor",
                 "/econews/newest",
                 "/econews/tags",
                 "/econews/tags/all",
@@ -144,9 +151,11 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 "/econews/comments/count/likes",
                 "/econews/comments/replies/active/{parentCommentId}",
                 "/econews/comments/active",
+                "/econews/comments/active/cursor",
                 "/events/comments/active",
                 "/events/comments/count/{eventId}",
                 EVENTS,
+                EVENTS + "/cursor",
                 EVENTS + "/event/{eventId}",
                 EVENTS + "/getAllSubscribers/{eventId}",
                 "/language",
@@ -1,19 +1,25 @@
 package greencity.config;
 
+import greencity.constant.AppConstant;
 import greencity.converters.UserArgumentResolver;
 import greencity.service.UserService;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.http.CacheControl;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
 import org.springframework.web.servlet.i18n.SessionLocaleResolver;
@@ -24,6 +30,10 @@ public class WebMvcConfig implements WebMvcConfigurer {
     private UserService userService;
     @Autowired
     private ModelMapper modelMapper;
+    @Value("${greencity.file-storage.type:azure}")
+    private String fileStorageType;
+    @Value("${greencity.file-storage.local.root:files}")
+    private String localFilesRoot;
 
     /**
      * Method for configuring message source.
@@ -85,4 +95,21 @@ public class WebMvcConfig implements WebMvcConfigurer {
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
         resolvers.add(new UserArgumentResolver(userService, modelMapper));
     }
+
+    /**
+     * Serves files of the local file storage. Stored files never change since
+     * their names are hashes of their content, so they are cached for a long
+     * time. Only the two levels of hash directories are served, uploads in
+     * progress in {@code tmp} are not.
+     */
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        if ("local".equals(fileStorageType)) {
+            String location = Paths.get(localFilesRoot).toAbsolutePath().normalize().toUri().toString();
+            registry.addResourceHandler("/files/*/*/*")
+                .addResourceLocations(location.endsWith("/") ? location : location + "/")
+                .setCacheControl(CacheControl.maxAge(AppConstant.LOCAL_FILES_MAX_AGE_DAYS, TimeUnit.DAYS)
+                    .cachePublic());
+        }
+    }
 }
@@ -3,6 +3,7 @@ package greencity.constant;
 public final class HttpStatuses {
     public static final String OK = "OK";
     public static final String CREATED = "Created";
+    public static final String NOT_MODIFIED = "Not Modified";
 
     public static final String BAD_REQUEST = "Bad Request";
     public static final String UNAUTHORIZED = "Unauthorized";
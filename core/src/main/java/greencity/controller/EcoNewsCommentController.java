@@ -4,12 +4,15 @@ import greencity.annotations.*;
 import io.swagger.annotations.*;
 
 import greencity.constant.HttpStatuses;
+import greencity.dto.CursorPageDto;
 import greencity.dto.PageableDto;
 import greencity.dto.econews.EcoNewsVO;
 import greencity.dto.econewscomment.*;
 import greencity.dto.user.UserVO;
 import greencity.service.EcoNewsCommentService;
 
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 
 import lombok.AllArgsConstructor;
@@ -18,6 +21,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import springfox.documentation.annotations.ApiIgnore;
@@ -167,13 +171,21 @@ public class EcoNewsCommentController {
     }
 
     /**
-     * Method to like/dislike comment and count likes.
+     * Method to like/dislike comment and count likes. Subscribers of
+     * {@code /topic/{id}/comment} get {@link AmountCommentLikesDto} as before,
+     * but at most once per flush interval: {@code amountLikes} is the current
+     * count, {@code userId} and {@code liked} are the ones of the latest like in
+     * the interval. The sender additionally gets the current count and whether
+     * they like the comment on {@code /user/queue/comment-likes} at once.
      *
      * @param amountCommentLikesDto dto with id and count likes for comments.
+     * @return dto with id and count likes of the comment and whether the user
+     *         likes it.
      */
     @MessageMapping("/likeAndCount")
-    public void getCountOfLike(@Payload AmountCommentLikesDto amountCommentLikesDto) {
-        ecoNewsCommentService.countLikes(amountCommentLikesDto);
+    @SendToUser("/queue/comment-likes")
+    public AmountCommentLikesDto getCountOfLike(@Payload AmountCommentLikesDto amountCommentLikesDto) {
+        return ecoNewsCommentService.countLikes(amountCommentLikesDto);
     }
 
     /**
@@ -198,6 +210,33 @@ public class EcoNewsCommentController {
             .body(ecoNewsCommentService.getAllActiveComments(pageable, user, ecoNewsId));
     }
 
+    /**
+     * Method to get active comments to {@link EcoNewsVO} specified by ecoNewsId
+     * page by page using keyset cursor.
+     *
+     * @param ecoNewsId id of {@link EcoNewsVO}
+     * @param cursor    opaque cursor of the previous page, {@code null} for the
+     *                  first page.
+     * @param size      amount of comments on the page.
+     * @param withCount whether total amount of comments should be returned.
+     * @return {@link CursorPageDto} of {@link EcoNewsCommentDto}
+     */
+    @ApiOperation(value = "Get active comments by cursor.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = HttpStatuses.OK),
+        @ApiResponse(code = 400, message = HttpStatuses.BAD_REQUEST)
+    })
+    @GetMapping("/active/cursor")
+    public ResponseEntity<CursorPageDto<EcoNewsCommentDto>> getActiveCommentsByCursor(
+        @RequestParam Long ecoNewsId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+        @RequestParam(defaultValue = "false") boolean withCount,
+        @ApiIgnore @CurrentUser UserVO user) {
+        return ResponseEntity.status(HttpStatus.OK)
+            .body(ecoNewsCommentService.getActiveCommentsByCursor(cursor, size, withCount, user, ecoNewsId));
+    }
+
     /**
      * Method to get all active replies to {@link EcoNewsCommentVO} specified by
      * parentCommentId.
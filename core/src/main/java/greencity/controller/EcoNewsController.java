@@ -8,6 +8,7 @@ import greencity.annotations.ValidEcoNewsDtoRequest;
 import greencity.annotations.ValidLanguage;
 import greencity.constant.HttpStatuses;
 import greencity.constant.SwaggerExampleModel;
+import greencity.dto.CursorPageDto;
 import greencity.dto.PageableAdvancedDto;
 import greencity.dto.econews.*;
 import greencity.dto.tag.TagDto;
@@ -26,6 +27,8 @@ import java.security.Principal;
 import java.util.List;
 import java.util.Locale;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
@@ -221,6 +224,29 @@ public class EcoNewsController {
         return ResponseEntity.status(HttpStatus.OK).body(ecoNewsService.findGenericAll(page));
     }
 
+    /**
+     * Method for getting eco news page by page using keyset cursor.
+     *
+     * @param cursor    opaque cursor of the previous page, {@code null} for the
+     *                  first page.
+     * @param size      amount of eco news on the page.
+     * @param withCount whether total amount of eco news should be returned.
+     * @return {@link CursorPageDto} of {@link EcoNewsGenericDto} instances.
+     */
+    @ApiOperation(value = "Find eco news by cursor.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = HttpStatuses.OK),
+        @ApiResponse(code = 400, message = HttpStatuses.BAD_REQUEST)
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDto<EcoNewsGenericDto>> findAllByCursor(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+        @RequestParam(defaultValue = "false") boolean withCount) {
+        return ResponseEntity.status(HttpStatus.OK)
+            .body(ecoNewsService.findGenericAllByCursor(cursor, size, withCount));
+    }
+
     /**
      * Method for getting all authorised user eco news by page.
      *
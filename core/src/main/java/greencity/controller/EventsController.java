@@ -4,6 +4,7 @@ import greencity.annotations.ApiPageableWithoutSort;
 import greencity.annotations.ValidEventDtoRequest;
 import greencity.constant.HttpStatuses;
 import greencity.constant.SwaggerExampleModel;
+import greencity.dto.CursorPageDto;
 import greencity.dto.PageableAdvancedDto;
 import greencity.dto.event.AddEventDtoRequest;
 import greencity.dto.event.EventAttenderDto;
@@ -27,6 +28,8 @@ import springfox.documentation.annotations.ApiIgnore;
 
 import java.security.Principal;
 import java.util.Set;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 
 @Validated
 @RestController
@@ -135,6 +138,30 @@ public class EventsController {
         return ResponseEntity.status(HttpStatus.OK).body(eventService.getAll(pageable, principal));
     }
 
+    /**
+     * Method for getting events page by page using keyset cursor.
+     *
+     * @param cursor    opaque cursor of the previous page, {@code null} for the
+     *                  first page.
+     * @param size      amount of events on the page.
+     * @param withCount whether total amount of events should be returned.
+     * @return {@link CursorPageDto} of {@link EventDto} instances.
+     */
+    @ApiOperation(value = "Get events by cursor")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = HttpStatuses.OK),
+        @ApiResponse(code = 400, message = HttpStatuses.BAD_REQUEST)
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDto<EventDto>> getEventsByCursor(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+        @RequestParam(defaultValue = "false") boolean withCount,
+        @ApiIgnore Principal principal) {
+        return ResponseEntity.status(HttpStatus.OK)
+            .body(eventService.getAllByCursor(cursor, size, withCount, principal));
+    }
+
     /**
      * Method for getting pages of users events.
      *
@@ -1,6 +1,7 @@
 package greencity.controller;
 
 import greencity.annotations.ApiPageable;
+import greencity.constant.AppConstant;
 import greencity.constant.HttpStatuses;
 import greencity.dto.PageableDto;
 import greencity.dto.favoriteplace.FavoritePlaceDto;
@@ -11,6 +12,7 @@ import greencity.dto.place.BulkUpdatePlaceStatusDto;
 import greencity.dto.place.FilterPlaceCategory;
 import greencity.dto.place.PlaceAddDto;
 import greencity.dto.place.PlaceByBoundsDto;
+import greencity.dto.place.PlaceClusterTileDto;
 import greencity.dto.place.PlaceInfoDto;
 import greencity.dto.place.PlaceResponse;
 import greencity.dto.place.PlaceUpdateDto;
@@ -28,9 +30,11 @@ import io.swagger.annotations.ApiResponses;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import springfox.documentation.annotations.ApiIgnore;
 
 import javax.validation.Valid;
@@ -38,6 +42,7 @@ import javax.validation.constraints.NotNull;
 import java.security.Principal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @RestController
@@ -178,6 +183,40 @@ public class PlaceController {
             .body(placeService.findPlacesByMapsBounds(filterPlaceDto));
     }
 
+    /**
+     * The method which returns clusters of approved places inside of the map tile.
+     * The response carries an ETag built from the hash of the clusters, so it
+     * changes only when places inside of the tile change and clients revalidate
+     * cached tiles with {@code If-None-Match}.
+     *
+     * @param zoom       zoom level of the tile.
+     * @param x          column of the tile.
+     * @param y          row of the tile.
+     * @param webRequest current request, used to check {@code If-None-Match}.
+     * @return {@link PlaceClusterTileDto} or empty response if tile is not
+     *         modified.
+     */
+    @ApiOperation(value = "Get clusters of approved places inside of the map tile.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = HttpStatuses.OK, response = PlaceClusterTileDto.class),
+        @ApiResponse(code = 304, message = HttpStatuses.NOT_MODIFIED),
+        @ApiResponse(code = 400, message = HttpStatuses.BAD_REQUEST)
+    })
+    @GetMapping("/clusters/{zoom}/{x}/{y}")
+    public ResponseEntity<PlaceClusterTileDto> getClusterTile(@PathVariable int zoom, @PathVariable int x,
+        @PathVariable int y, @ApiIgnore WebRequest webRequest) {
+        PlaceClusterTileDto tile = placeService.getClusterTile(zoom, x, y);
+        String eTag = "\"" + tile.getContentHash() + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.status(HttpStatus.OK)
+            .eTag(eTag)
+            .cacheControl(CacheControl.maxAge(AppConstant.PLACE_CLUSTER_TILE_MAX_AGE_SECONDS, TimeUnit.SECONDS)
+                .cachePublic())
+            .body(tile);
+    }
+
     /**
      * The method parse the string param to PlaceStatus value. Parameter pageable
      * ignored because swagger ui shows the wrong params, instead they are explained
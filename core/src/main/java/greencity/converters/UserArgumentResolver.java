@@ -7,6 +7,8 @@ import java.security.Principal;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
@@ -33,7 +35,8 @@ public class UserArgumentResolver implements HandlerMethodArgumentResolver {
     }
 
     /**
-     * Method returns {@link UserVO} by principal.
+     * Method returns {@link UserVO} by principal. A copy of the user resolved
+     * during authentication is returned when present.
      *
      * @return {@link UserVO}
      */
@@ -41,6 +44,14 @@ public class UserArgumentResolver implements HandlerMethodArgumentResolver {
     public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
         NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
         Principal principal = webRequest.getUserPrincipal();
-        return principal != null ? userService.findByEmail(principal.getName()) : null;
+        if (principal == null) {
+            return null;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getDetails() instanceof UserVO
+            && principal.getName().equals(authentication.getName())) {
+            return ((UserVO) authentication.getDetails()).toBuilder().build();
+        }
+        return userService.findByEmail(principal.getName());
     }
 }
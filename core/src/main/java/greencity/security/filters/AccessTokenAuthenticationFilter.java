@@ -1,11 +1,13 @@
 package greencity.security.filters;
 
+import greencity.client.UserLookupCache;
 import greencity.dto.user.UserVO;
 import greencity.security.jwt.JwtTool;
 import greencity.service.UserService;
 import io.jsonwebtoken.ExpiredJwtException;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.Optional;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -30,15 +32,17 @@ public class AccessTokenAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTool jwtTool;
     private final AuthenticationManager authenticationManager;
     private final UserService userService;
+    private final UserLookupCache userLookupCache;
 
     /**
      * Constructor.
      */
     public AccessTokenAuthenticationFilter(JwtTool jwtTool, AuthenticationManager authenticationManager,
-        UserService userService) {
+        UserService userService, UserLookupCache userLookupCache) {
         this.jwtTool = jwtTool;
         this.authenticationManager = authenticationManager;
         this.userService = userService;
+        this.userLookupCache = userLookupCache;
     }
 
     private String getTokenFromCookies(Cookie[] cookies) {
@@ -58,6 +62,35 @@ public class AccessTokenAuthenticationFilter extends OncePerRequestFilter {
         return jwtTool.getTokenFromHttpServletRequest(request);
     }
 
+    /**
+     * Verifies token, caching the result until the token expires, and checks
+     * that its user is not deactivated. The user is looked up through the
+     * short lived user cache, so deactivation is noticed within its TTL.
+     *
+     * @param token access token.
+     * @return {@link Authentication} with resolved {@link UserVO} in details or
+     *         {@code null} if user is deactivated.
+     */
+    private Authentication authenticate(String token) {
+        Authentication verified = userLookupCache.getAuthentication(token);
+        if (verified == null) {
+            verified = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(token, null));
+            if (verified.getDetails() instanceof Date) {
+                userLookupCache.putAuthentication(token, (Date) verified.getDetails(), verified);
+            }
+        }
+        String email = (String) verified.getPrincipal();
+        Optional<UserVO> user = userLookupCache.getNotDeactivatedByEmail(email,
+            () -> userService.findNotDeactivatedByEmail(email));
+        if (user.isEmpty()) {
+            return null;
+        }
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+            verified.getPrincipal(), verified.getCredentials(), verified.getAuthorities());
+        authentication.setDetails(user.get());
+        return authentication;
+    }
+
     /**
      * Checks if request has token in header, if this token still valid, and set
      * authentication for spring.
@@ -75,10 +108,8 @@ public class AccessTokenAuthenticationFilter extends OncePerRequestFilter {
 
         if (token != null) {
             try {
-                Authentication authentication = authenticationManager
-                    .authenticate(new UsernamePasswordAuthenticationToken(token, null));
-                Optional<UserVO> user = userService.findNotDeactivatedByEmail((String) authentication.getPrincipal());
-                if (user.isPresent()) {
+                Authentication authentication = authenticate(token);
+                if (authentication != null) {
                     log.debug("User successfully authenticate - {}", authentication.getPrincipal());
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
@@ -3,6 +3,7 @@ package greencity.security.providers;
 import static greencity.constant.AppConstant.ROLE;
 
 import greencity.security.jwt.JwtTool;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.UnsupportedJwtException;
 import java.util.List;
@@ -35,7 +36,8 @@ public class JwtAuthenticationProvider implements AuthenticationProvider {
      *
      * @param authentication {@link Authentication} - authentication that has jwt
      *                       access token.
-     * @return {@link Authentication} if user successfully authenticated.
+     * @return {@link Authentication} if user successfully authenticated, with
+     *         expiration date of the token in details.
      * @throws io.jsonwebtoken.ExpiredJwtException   - if the token expired.
      * @throws UnsupportedJwtException               if the argument does not
      *                                               represent an Claims JWS
@@ -46,21 +48,18 @@ public class JwtAuthenticationProvider implements AuthenticationProvider {
      */
     @Override
     public Authentication authenticate(Authentication authentication) {
-        String email = Jwts.parser()
+        Claims claims = Jwts.parser()
             .setSigningKey(jwtTool.getAccessTokenKey())
             .parseClaimsJws(authentication.getName())
-            .getBody()
-            .getSubject();
+            .getBody();
         @SuppressWarnings({"unchecked, rawtype"})
-        List<String> authorities = (List<String>) Jwts.parser()
-            .setSigningKey(jwtTool.getAccessTokenKey())
-            .parseClaimsJws(authentication.getName())
-            .getBody()
-            .get(ROLE);
-        return new UsernamePasswordAuthenticationToken(
-            email,
+        List<String> authorities = (List<String>) claims.get(ROLE);
+        UsernamePasswordAuthenticationToken verified = new UsernamePasswordAuthenticationToken(
+            claims.getSubject(),
             "",
             authorities.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList()));
+        verified.setDetails(claims.getExpiration());
+        return verified;
     }
 
     /**
@@ -41,6 +41,7 @@ import greencity.dto.openhours.OpeningHoursDto;
 import greencity.dto.photo.PhotoAddDto;
 import greencity.dto.place.BulkUpdatePlaceStatusDto;
 import greencity.dto.place.PlaceAddDto;
+import greencity.dto.place.PlaceClusterTileDto;
 import greencity.dto.place.PlaceUpdateDto;
 import greencity.dto.place.PlaceVO;
 import greencity.dto.place.PlaceWithUserDto;
@@ -60,6 +61,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import static greencity.ModelUtils.getPrincipal;
@@ -372,6 +374,27 @@ class PlaceControllerTest {
 
     }
 
+    @Test
+    void getClusterTile() throws Exception {
+        when(placeService.getClusterTile(3, 4, 2)).thenReturn(new PlaceClusterTileDto(3, 4, 2, "7f3a", List.of()));
+
+        this.mockMvc.perform(get(placeLink + "/clusters/{zoom}/{x}/{y}", 3, 4, 2))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"7f3a\""))
+            .andExpect(header().string("Cache-Control", "max-age=60, public"));
+
+        verify(placeService).getClusterTile(3, 4, 2);
+    }
+
+    @Test
+    void getClusterTileNotModified() throws Exception {
+        when(placeService.getClusterTile(3, 4, 2)).thenReturn(new PlaceClusterTileDto(3, 4, 2, "7f3a", List.of()));
+
+        this.mockMvc.perform(get(placeLink + "/clusters/{zoom}/{x}/{y}", 3, 4, 2)
+            .header("If-None-Match", "\"7f3a\""))
+            .andExpect(status().isNotModified());
+    }
+
     @Test
     void getPlacesByStatus() throws Exception {
         int pageNumber = 5;
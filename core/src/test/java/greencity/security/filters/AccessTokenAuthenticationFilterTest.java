@@ -1,12 +1,15 @@
 package greencity.security.filters;
 
 import greencity.client.RestClient;
+import greencity.client.UserLookupCache;
 import greencity.dto.user.UserVO;
 import greencity.security.jwt.JwtTool;
 import io.jsonwebtoken.ExpiredJwtException;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.Collections;
+import java.util.Date;
 import java.util.Optional;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -23,9 +26,12 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import static org.mockito.Mockito.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,6 +52,8 @@ class AccessTokenAuthenticationFilterTest {
     AuthenticationManager authenticationManager;
     @Mock
     RestClient restClient;
+    @Mock
+    UserLookupCache userLookupCache;
 
     @InjectMocks
     private AccessTokenAuthenticationFilter authenticationFilter;
@@ -64,16 +72,23 @@ class AccessTokenAuthenticationFilterTest {
 
     @Test
     void doFilterInternalTest() throws IOException, ServletException {
-        when(jwtTool.getTokenFromHttpServletRequest(request)).thenReturn("SuperSecretAccessToken");
-        when(authenticationManager.authenticate(any()))
-            .thenReturn(new UsernamePasswordAuthenticationToken("test@mail.com", null));
-        when(restClient.findNotDeactivatedByEmail("test@mail.com"))
-            .thenReturn(Optional.of(UserVO.builder().id(1L).build()));
+        String token = "SuperSecretAccessToken";
+        UsernamePasswordAuthenticationToken verified =
+            new UsernamePasswordAuthenticationToken("test@mail.com", null, Collections.emptyList());
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        verified.setDetails(expiration);
+        UserVO user = UserVO.builder().id(1L).build();
+        when(jwtTool.getTokenFromHttpServletRequest(request)).thenReturn(token);
+        when(authenticationManager.authenticate(any())).thenReturn(verified);
+        when(userLookupCache.getNotDeactivatedByEmail(eq("test@mail.com"), any())).thenReturn(Optional.of(user));
         doNothing().when(chain).doFilter(request, response);
 
         authenticationFilter.doFilterInternal(request, response, chain);
         verify(authenticationManager).authenticate(any());
+        verify(userLookupCache).putAuthentication(token, expiration, verified);
+        assertEquals(user, SecurityContextHolder.getContext().getAuthentication().getDetails());
         verify(chain).doFilter(request, response);
+        SecurityContextHolder.clearContext();
     }
 
     @Test
@@ -99,4 +114,37 @@ class AccessTokenAuthenticationFilterTest {
         verify(jwtTool).getTokenFromHttpServletRequest(request);
         verify(authenticationManager).authenticate(any());
     }
+
+    @Test
+    void doFilterInternalUsesCachedAuthenticationTest() throws IOException, ServletException {
+        String token = "SuperSecretAccessToken";
+        UsernamePasswordAuthenticationToken verified =
+            new UsernamePasswordAuthenticationToken("test@mail.com", null, Collections.emptyList());
+        UserVO user = UserVO.builder().id(1L).build();
+        when(jwtTool.getTokenFromHttpServletRequest(request)).thenReturn(token);
+        when(userLookupCache.getAuthentication(token)).thenReturn(verified);
+        when(userLookupCache.getNotDeactivatedByEmail(eq("test@mail.com"), any())).thenReturn(Optional.of(user));
+
+        authenticationFilter.doFilterInternal(request, response, chain);
+
+        verify(authenticationManager, never()).authenticate(any());
+        assertEquals("test@mail.com", SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        assertEquals(user, SecurityContextHolder.getContext().getAuthentication().getDetails());
+        verify(chain).doFilter(request, response);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilterInternalRejectsCachedTokenOfDeactivatedUserTest() throws IOException, ServletException {
+        String token = "SuperSecretAccessToken";
+        when(jwtTool.getTokenFromHttpServletRequest(request)).thenReturn(token);
+        when(userLookupCache.getAuthentication(token))
+            .thenReturn(new UsernamePasswordAuthenticationToken("test@mail.com", null, Collections.emptyList()));
+        when(userLookupCache.getNotDeactivatedByEmail(eq("test@mail.com"), any())).thenReturn(Optional.empty());
+
+        authenticationFilter.doFilterInternal(request, response, chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(chain).doFilter(request, response);
+    }
 }
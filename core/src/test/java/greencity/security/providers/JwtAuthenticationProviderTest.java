@@ -1,5 +1,6 @@
 package greencity.security.providers;
 
+import java.util.Date;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -56,6 +57,7 @@ class JwtAuthenticationProviderTest {
                 .collect(Collectors.toList()),
             actual.getAuthorities());
         assertEquals("", actual.getCredentials());
+        assertEquals(new Date(61654636709000L), actual.getDetails());
     }
 
     @Test
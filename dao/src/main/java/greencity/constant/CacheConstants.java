@@ -9,7 +9,6 @@ public final class CacheConstants {
     public static final String FACT_OF_THE_DAY_CACHE_NAME = "fact_of_the_day_cache";
     public static final String HABIT_FACT_OF_DAY_CACHE = "habit_fact_of_day_cache";
     public static final String NEWEST_ECO_NEWS_CACHE_NAME = "newest_eco_news_cache";
-    public static final String SOCIAL_NETWORK_IMAGE_CACHE_NAME = "social_network_image_cache";
 
     private CacheConstants() {
     }
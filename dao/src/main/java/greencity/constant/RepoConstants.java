@@ -8,6 +8,9 @@ public final class RepoConstants {
     public static final String HOURS_DAY = "weekDay";
     public static final String HOURS_OPEN = "openTime";
     public static final String HOURS_CLOSE = "closeTime";
+    public static final String HOURS_BREAK = "breakTime";
+    public static final String BREAK_START = "startTime";
+    public static final String BREAK_END = "endTime";
     public static final String SPECIFICATION = "specification";
     public static final String DISCOUNT_VALUES = "discountValues";
     public static final String MODIFIED_DATE = "modifiedDate";
@@ -0,0 +1,15 @@
+package greencity.dto.location;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PlaceCoordinatesDto {
+    private Long placeId;
+    private Double lat;
+    private Double lng;
+    private String categoryName;
+}
@@ -0,0 +1,19 @@
+package greencity.dto.openhours;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PlaceOpeningHoursDto {
+    private Long placeId;
+    private DayOfWeek weekDay;
+    private LocalTime openTime;
+    private LocalTime closeTime;
+    private LocalTime breakStartTime;
+    private LocalTime breakEndTime;
+}
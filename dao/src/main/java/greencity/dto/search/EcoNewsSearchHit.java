@@ -0,0 +1,15 @@
+package greencity.dto.search;
+
+import greencity.entity.EcoNews;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EcoNewsSearchHit {
+    private EcoNews ecoNews;
+    private double rank;
+    private String highlight;
+}
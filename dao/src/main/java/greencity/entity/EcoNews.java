@@ -61,4 +61,20 @@ public class EcoNews {
         joinColumns = @JoinColumn(name = "eco_news_id"),
         inverseJoinColumns = @JoinColumn(name = "users_id"))
     private Set<User> usersDislikedNews = new HashSet<>();
+
+    @Column(name = "likes_count", insertable = false, updatable = false)
+    private int likesCount;
+
+    @Column(name = "dislikes_count", insertable = false, updatable = false)
+    private int dislikesCount;
+
+    @Column(name = "comments_count", insertable = false, updatable = false)
+    private int commentsCount;
+
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "thumbPath", column = @Column(name = "image_thumb_path")),
+        @AttributeOverride(name = "cardPath", column = @Column(name = "image_card_path"))
+    })
+    private ImageVariants imageVariants;
 }
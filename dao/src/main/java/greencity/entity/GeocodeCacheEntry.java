@@ -0,0 +1,31 @@
+package greencity.entity;
+
+import java.time.ZonedDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Table(name = "geocode_cache")
+public class GeocodeCacheEntry {
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+
+    @Column(name = "results", nullable = false, columnDefinition = "TEXT")
+    private String results;
+
+    @Column(name = "created_at", nullable = false)
+    private ZonedDateTime createdAt;
+}
@@ -0,0 +1,21 @@
+package greencity.entity;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+@Embeddable
+@ToString
+@EqualsAndHashCode
+public final class ImageVariants {
+    @Column
+    private String thumbPath;
+
+    @Column
+    private String cardPath;
+}
@@ -0,0 +1,60 @@
+package greencity.entity;
+
+import greencity.annotations.RatingCalculationEnum;
+import greencity.enums.AchievementCategoryType;
+import greencity.enums.AchievementType;
+import greencity.enums.OutboxEventType;
+import java.time.ZonedDateTime;
+import javax.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Table(name = "outbox_events")
+@EqualsAndHashCode
+@ToString
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(value = EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private OutboxEventType eventType;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(value = EnumType.STRING)
+    @Column(name = "rating_event")
+    private RatingCalculationEnum ratingEvent;
+
+    @Enumerated(value = EnumType.STRING)
+    @Column(name = "achievement_type")
+    private AchievementType achievementType;
+
+    @Enumerated(value = EnumType.STRING)
+    @Column(name = "achievement_category")
+    private AchievementCategoryType achievementCategory;
+
+    @Column(name = "count")
+    private Integer count;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private ZonedDateTime nextAttemptAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false)
+    private ZonedDateTime createdAt;
+}
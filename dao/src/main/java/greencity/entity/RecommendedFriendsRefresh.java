@@ -0,0 +1,28 @@
+package greencity.entity;
+
+import java.time.ZonedDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Table(name = "recommended_friends_refreshes")
+public class RecommendedFriendsRefresh {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private ZonedDateTime refreshedAt;
+}
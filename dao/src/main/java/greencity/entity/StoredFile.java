@@ -0,0 +1,27 @@
+package greencity.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Table(name = "stored_files")
+public class StoredFile {
+    @Id
+    @Column(name = "name", length = 80)
+    private String name;
+
+    @Column(name = "reference_count", nullable = false)
+    private Integer referenceCount;
+}
@@ -1,5 +1,6 @@
 package greencity.entity.event;
 
+import greencity.entity.ImageVariants;
 import greencity.entity.Tag;
 import greencity.entity.User;
 import lombok.*;
@@ -29,6 +30,13 @@ public class Event {
     @Column
     private String titleImage;
 
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "thumbPath", column = @Column(name = "title_image_thumb_path")),
+        @AttributeOverride(name = "cardPath", column = @Column(name = "title_image_card_path"))
+    })
+    private ImageVariants titleImageVariants;
+
     @ManyToOne
     private User organizer;
 
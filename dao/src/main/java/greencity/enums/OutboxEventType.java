@@ -0,0 +1,5 @@
+package greencity.enums;
+
+public enum OutboxEventType {
+    RATING, ACHIEVEMENT
+}
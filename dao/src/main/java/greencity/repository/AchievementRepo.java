@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -38,4 +39,27 @@ public interface AchievementRepo extends JpaRepository<Achievement, Long> {
      * @author Orest Mamchuk
      */
     Optional<Achievement> findByAchievementCategoryIdAndCondition(Long achievementCategoryId, Integer condition);
+
+    /**
+     * Method finds {@link Achievement}s of category with condition in range
+     * {@code (from, to]}.
+     *
+     * @param achievementCategoryId id of achievement category
+     * @param from                  exclusive lower bound of condition
+     * @param to                    inclusive upper bound of condition
+     * @return {@link List} of {@link Achievement}
+     */
+    @Query("SELECT a FROM Achievement a "
+        + "WHERE a.achievementCategory.id = :achievementCategoryId "
+        + "AND a.condition > :from AND a.condition <= :to "
+        + "ORDER BY a.condition")
+    List<Achievement> findAllByCategoryIdAndConditionInRange(Long achievementCategoryId, Integer from, Integer to);
+
+    /**
+     * Method returns category id and condition of every {@link Achievement}.
+     *
+     * @return {@link List} of pairs {@code [achievementCategoryId, condition]}
+     */
+    @Query("SELECT a.achievementCategory.id, a.condition FROM Achievement a")
+    List<Object[]> findAllCategoryIdsAndConditions();
 }
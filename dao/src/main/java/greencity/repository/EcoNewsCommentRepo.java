@@ -1,11 +1,16 @@
 package greencity.repository;
 
+import greencity.dto.econewscomment.EcoNewsCommentCountsDto;
 import greencity.entity.EcoNews;
 import greencity.entity.EcoNewsComment;
+import java.time.LocalDateTime;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -18,6 +23,7 @@ public interface EcoNewsCommentRepo extends JpaRepository<EcoNewsComment, Long>
      *                  search.
      * @return all {@link EcoNewsComment} by page.
      */
+    @EntityGraph(attributePaths = "user")
     Page<EcoNewsComment> findAllByParentCommentIsNullAndEcoNewsIdOrderByCreatedDateDesc(Pageable pageable,
         Long ecoNewsId);
 
@@ -29,6 +35,7 @@ public interface EcoNewsCommentRepo extends JpaRepository<EcoNewsComment, Long>
      * @param parentCommentId id of comment, replies to which we get.
      * @return all replies to comment, specified by parentCommentId and page.
      */
+    @EntityGraph(attributePaths = "user")
     Page<EcoNewsComment> findAllByParentCommentIdOrderByCreatedDateDesc(Pageable pageable,
         Long parentCommentId);
 
@@ -70,10 +77,45 @@ public interface EcoNewsCommentRepo extends JpaRepository<EcoNewsComment, Long>
      * @return all active {@link EcoNewsComment} by page.
      * @author Dovganyuk Taras
      */
+    @EntityGraph(attributePaths = "user")
     Page<EcoNewsComment> findAllByParentCommentIsNullAndDeletedFalseAndEcoNewsIdOrderByCreatedDateDesc(
         Pageable pageable,
         Long ecoNewsId);
 
+    /**
+     * Method returns first active {@link EcoNewsComment} of eco news ordered by
+     * creation date.
+     *
+     * @param ecoNewsId id of {@link greencity.entity.EcoNews}.
+     * @param pageable  page whose size limits the amount of comments.
+     * @return list of {@link EcoNewsComment}.
+     */
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT c FROM EcoNewsComment c "
+        + "WHERE c.ecoNews.id = :ecoNewsId AND c.parentComment IS NULL AND c.deleted = FALSE "
+        + "ORDER BY c.createdDate DESC, c.id DESC")
+    List<EcoNewsComment> findFirstActiveOrderByCreatedDateDesc(@Param("ecoNewsId") Long ecoNewsId,
+        Pageable pageable);
+
+    /**
+     * Method returns active {@link EcoNewsComment} of eco news ordered by creation
+     * date which go after given one.
+     *
+     * @param ecoNewsId   id of {@link greencity.entity.EcoNews}.
+     * @param createdDate creation date of the last seen comment.
+     * @param id          id of the last seen comment.
+     * @param pageable    page whose size limits the amount of comments.
+     * @return list of {@link EcoNewsComment}.
+     */
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT c FROM EcoNewsComment c "
+        + "WHERE c.ecoNews.id = :ecoNewsId AND c.parentComment IS NULL AND c.deleted = FALSE "
+        + "AND c.createdDate <= :createdDate "
+        + "AND (c.createdDate < :createdDate OR c.id < :id) "
+        + "ORDER BY c.createdDate DESC, c.id DESC")
+    List<EcoNewsComment> findNextActiveOrderByCreatedDateDesc(@Param("ecoNewsId") Long ecoNewsId,
+        @Param("createdDate") LocalDateTime createdDate, @Param("id") Long id, Pageable pageable);
+
     /**
      * Method returns all {@link EcoNewsComment} by page.
      *
@@ -82,6 +124,29 @@ public interface EcoNewsCommentRepo extends JpaRepository<EcoNewsComment, Long>
      * @return all replies to comment, specified by parentCommentId and page.
      * @author Dovganyuk Taras
      */
+    @EntityGraph(attributePaths = "user")
     Page<EcoNewsComment> findAllByParentCommentIdAndDeletedFalseOrderByCreatedDateDesc(Pageable pageable,
         Long parentCommentId);
+
+    /**
+     * Method returns amount of active replies and likes of every given comment.
+     *
+     * @param ids ids of {@link EcoNewsComment}.
+     * @return list of {@link EcoNewsCommentCountsDto}.
+     */
+    @Query("SELECT new greencity.dto.econewscomment.EcoNewsCommentCountsDto(c.id, "
+        + "(SELECT COUNT(r) FROM EcoNewsComment r WHERE r.parentComment.id = c.id AND r.deleted = FALSE), "
+        + "(SELECT COUNT(u) FROM EcoNewsComment l JOIN l.usersLiked u WHERE l.id = c.id)) "
+        + "FROM EcoNewsComment c WHERE c.id IN :ids")
+    List<EcoNewsCommentCountsDto> findCountsByIds(@Param("ids") List<Long> ids);
+
+    /**
+     * Method returns ids of given comments liked by the user.
+     *
+     * @param ids    ids of {@link EcoNewsComment}.
+     * @param userId id of the user.
+     * @return ids of liked {@link EcoNewsComment}.
+     */
+    @Query("SELECT c.id FROM EcoNewsComment c JOIN c.usersLiked u WHERE c.id IN :ids AND u.id = :userId")
+    List<Long> findIdsLikedByUser(@Param("ids") List<Long> ids, @Param("userId") Long userId);
 }
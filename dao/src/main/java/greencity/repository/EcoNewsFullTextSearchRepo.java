@@ -0,0 +1,122 @@
+package greencity.repository;
+
+import greencity.dto.search.EcoNewsSearchHit;
+import greencity.entity.EcoNews;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Full-text search of eco news over {@code tsvector} columns maintained by
+ * database trigger, one column per language. Title, short info and text are
+ * matched by word prefixes and ranked with {@code ts_rank}, eco news with
+ * matching tag are added to the result. The highlight is HTML: user authored
+ * text is escaped before {@code ts_headline} marks matched words with
+ * {@code <b>}, so no markup of the eco news itself reaches the page.
+ */
+@Repository
+public class EcoNewsFullTextSearchRepo {
+    private static final String HEADLINE_OPTIONS = "MaxWords=35, MinWords=15, StartSel=<b>, StopSel=</b>";
+    private static final String ESCAPED_CONTENT = "replace(replace(replace(replace(replace("
+        + "coalesce(r.short_info, r.text), '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), '\"', '&quot;'), '''', '&#39;')";
+    private static final String HITS = "WITH q AS (SELECT to_tsquery(CAST(:config AS regconfig), :query) AS query), "
+        + "hits AS ("
+        + "SELECT e.id FROM eco_news e, q WHERE e.%1$s @@ q.query "
+        + "UNION "
+        + "SELECT ent.eco_news_id FROM eco_news_tags ent "
+        + "JOIN tag_translations tt ON tt.tag_id = ent.tags_id "
+        + "JOIN languages l ON l.id = tt.language_id "
+        + "WHERE l.code = :languageCode AND lower(tt.name) LIKE ANY (string_to_array(:tagPatterns, ' '))) ";
+    private static final String FIND = HITS
+        + ", ranked AS ("
+        + "SELECT e.id, e.creation_date, e.short_info, e.text, ts_rank(e.%1$s, q.query) AS rank "
+        + "FROM hits h JOIN eco_news e ON e.id = h.id CROSS JOIN q "
+        + "ORDER BY rank DESC, e.creation_date DESC LIMIT :limit OFFSET :offset) "
+        + "SELECT r.id, r.rank, ts_headline(CAST(:config AS regconfig), " + ESCAPED_CONTENT + ", q.query, "
+        + ":headlineOptions) "
+        + "FROM ranked r CROSS JOIN q ORDER BY r.rank DESC, r.creation_date DESC";
+    private static final String COUNT = HITS + "SELECT count(*) FROM hits";
+    private static final Map<String, String[]> LANGUAGES = Map.of(
+        "en", new String[] {"search_vector_en", "english"},
+        "ua", new String[] {"search_vector_ua", "simple"});
+
+    private final EntityManager entityManager;
+
+    /**
+     * Initialization constructor.
+     */
+    public EcoNewsFullTextSearchRepo(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Method for full-text search of eco news by title, text, short info and tag
+     * name.
+     *
+     * @param pageable      page of results.
+     * @param searchingText text criteria for searching, every word is matched as
+     *                      a prefix.
+     * @param languageCode  code of language of search vector and tags.
+     * @return page of {@link EcoNewsSearchHit} ordered by rank.
+     */
+    public Page<EcoNewsSearchHit> find(Pageable pageable, String searchingText, String languageCode) {
+        List<String> terms = Arrays.stream(searchingText.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+            .filter(term -> !term.isEmpty())
+            .distinct()
+            .collect(Collectors.toList());
+        if (terms.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
+        String[] language = LANGUAGES.getOrDefault(languageCode, LANGUAGES.get("en"));
+        String query = terms.stream().map(term -> term + ":*").collect(Collectors.joining(" & "));
+        String tagPatterns = terms.stream().map(term -> "%" + term + "%").collect(Collectors.joining(" "));
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(String.format(FIND, language[0]))
+            .setParameter("config", language[1])
+            .setParameter("query", query)
+            .setParameter("languageCode", languageCode)
+            .setParameter("tagPatterns", tagPatterns)
+            .setParameter("headlineOptions", HEADLINE_OPTIONS)
+            .setParameter("limit", pageable.getPageSize())
+            .setParameter("offset", pageable.getOffset())
+            .getResultList();
+        List<EcoNewsSearchHit> hits = toHits(rows);
+
+        return PageableExecutionUtils.getPage(hits, pageable, () -> ((Number) entityManager
+            .createNativeQuery(String.format(COUNT, language[0]))
+            .setParameter("config", language[1])
+            .setParameter("query", query)
+            .setParameter("languageCode", languageCode)
+            .setParameter("tagPatterns", tagPatterns)
+            .getSingleResult()).longValue());
+    }
+
+    private List<EcoNewsSearchHit> toHits(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = rows.stream().map(row -> ((Number) row[0]).longValue()).collect(Collectors.toList());
+        Map<Long, EcoNews> ecoNews = entityManager
+            .createQuery("SELECT e FROM EcoNews e WHERE e.id IN :ids", EcoNews.class)
+            .setParameter("ids", ids)
+            .getResultList()
+            .stream()
+            .collect(Collectors.toMap(EcoNews::getId, Function.identity()));
+        return rows.stream()
+            .filter(row -> ecoNews.containsKey(((Number) row[0]).longValue()))
+            .map(row -> new EcoNewsSearchHit(ecoNews.get(((Number) row[0]).longValue()),
+                ((Number) row[1]).doubleValue(), (String) row[2]))
+            .collect(Collectors.toList());
+    }
+}
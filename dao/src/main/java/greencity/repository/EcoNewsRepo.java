@@ -1,6 +1,8 @@
 package greencity.repository;
 
+import greencity.dto.econews.EcoNewsTagDto;
 import greencity.entity.EcoNews;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,11 +30,12 @@ public interface EcoNewsRepo extends JpaRepository<EcoNews, Long>, JpaSpecificat
      * Method for deleting eco news by list of ids.
      *
      * @param ids list of deleted eco news ids.
+     * @return amount of deleted eco news.
      */
 
     @Modifying
     @Query("DELETE FROM EcoNews e WHERE e.id IN (?1)")
-    void deleteEcoNewsWithIds(List<Long> ids);
+    int deleteEcoNewsWithIds(List<Long> ids);
 
     /**
      * Method for getting three recommended eco news. Query is based on database
@@ -45,6 +48,15 @@ public interface EcoNewsRepo extends JpaRepository<EcoNews, Long>, JpaSpecificat
         value = "SELECT * FROM fn_Recommended_EcoNews_By_Opened_Eco_News(:openedEcoNewsId)")
     List<EcoNews> getThreeRecommendedEcoNews(Long openedEcoNewsId);
 
+    /**
+     * Finds tags of all eco news together with their creation date.
+     *
+     * @return a list of {@link EcoNewsTagDto}, one per tag of every eco news.
+     */
+    @Query("SELECT new greencity.dto.econews.EcoNewsTagDto(en.id, en.creationDate, t.id) "
+        + "FROM EcoNews en JOIN en.tags t")
+    List<EcoNewsTagDto> findAllEcoNewsTags();
+
     /**
      * Method returns {@link EcoNews} for specific tags.
      *
@@ -148,4 +160,102 @@ public interface EcoNewsRepo extends JpaRepository<EcoNews, Long>, JpaSpecificat
     @Query(nativeQuery = true,
         value = "select count(id) from eco_news")
     int totalCountOfCreationNews();
-}
\ No newline at end of file
+
+    /**
+     * Method returns first {@link EcoNews} of feed ordered by creation date.
+     *
+     * @param limit maximum amount of eco news.
+     * @return list of {@link EcoNews}.
+     */
+    @Query(nativeQuery = true, value = "SELECT * FROM eco_news ORDER BY creation_date DESC, id DESC LIMIT :limit")
+    List<EcoNews> findFirstOrderByCreationDateDesc(@Param("limit") int limit);
+
+    /**
+     * Method returns {@link EcoNews} of feed ordered by creation date which go
+     * after given one. Seeks on index instead of skipping previous pages.
+     *
+     * @param creationDate creation date of the last seen {@link EcoNews}.
+     * @param id           id of the last seen {@link EcoNews}.
+     * @param limit        maximum amount of eco news.
+     * @return list of {@link EcoNews}.
+     */
+    @Query(nativeQuery = true, value = "SELECT * FROM eco_news WHERE (creation_date, id) < (:creationDate, :id) "
+        + "ORDER BY creation_date DESC, id DESC LIMIT :limit")
+    List<EcoNews> findNextOrderByCreationDateDesc(@Param("creationDate") ZonedDateTime creationDate,
+        @Param("id") Long id, @Param("limit") int limit);
+
+    /**
+     * Method atomically changes likes and dislikes counters of {@link EcoNews}.
+     *
+     * @param ecoNewsId     id of {@link EcoNews}.
+     * @param likesDelta    change of likes count.
+     * @param dislikesDelta change of dislikes count.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "UPDATE eco_news SET likes_count = likes_count + :likesDelta, "
+        + "dislikes_count = dislikes_count + :dislikesDelta WHERE id = :ecoNewsId")
+    void updateLikesCounters(@Param("ecoNewsId") Long ecoNewsId, @Param("likesDelta") int likesDelta,
+        @Param("dislikesDelta") int dislikesDelta);
+
+    /**
+     * Method atomically changes count of not deleted comments of
+     * {@link EcoNews}.
+     *
+     * @param ecoNewsId id of {@link EcoNews}.
+     * @param delta     change of comments count.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "UPDATE eco_news SET comments_count = comments_count + :delta "
+        + "WHERE id = :ecoNewsId")
+    void updateCommentsCounter(@Param("ecoNewsId") Long ecoNewsId, @Param("delta") int delta);
+
+    /**
+     * Method adds like of user to {@link EcoNews} if it is not there yet. The
+     * unique key makes concurrent likes of the same user insert one row.
+     *
+     * @param ecoNewsId id of {@link EcoNews}.
+     * @param userId    id of {@link User}.
+     * @return amount of added likes.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO eco_news_users_likes (eco_news_id, users_id) "
+        + "VALUES (:ecoNewsId, :userId) ON CONFLICT (eco_news_id, users_id) DO NOTHING")
+    int addLike(@Param("ecoNewsId") Long ecoNewsId, @Param("userId") Long userId);
+
+    /**
+     * Method removes like of user from {@link EcoNews}.
+     *
+     * @param ecoNewsId id of {@link EcoNews}.
+     * @param userId    id of {@link User}.
+     * @return amount of removed likes.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM eco_news_users_likes "
+        + "WHERE eco_news_id = :ecoNewsId AND users_id = :userId")
+    int removeLike(@Param("ecoNewsId") Long ecoNewsId, @Param("userId") Long userId);
+
+    /**
+     * Method adds dislike of user to {@link EcoNews} if it is not there yet. The
+     * unique key makes concurrent dislikes of the same user insert one row.
+     *
+     * @param ecoNewsId id of {@link EcoNews}.
+     * @param userId    id of {@link User}.
+     * @return amount of added dislikes.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO eco_news_users_dislikes (eco_news_id, users_id) "
+        + "VALUES (:ecoNewsId, :userId) ON CONFLICT (eco_news_id, users_id) DO NOTHING")
+    int addDislike(@Param("ecoNewsId") Long ecoNewsId, @Param("userId") Long userId);
+
+    /**
+     * Method removes dislike of user from {@link EcoNews}.
+     *
+     * @param ecoNewsId id of {@link EcoNews}.
+     * @param userId    id of {@link User}.
+     * @return amount of removed dislikes.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM eco_news_users_dislikes "
+        + "WHERE eco_news_id = :ecoNewsId AND users_id = :userId")
+    int removeDislike(@Param("ecoNewsId") Long ecoNewsId, @Param("userId") Long userId);
+}
@@ -4,6 +4,7 @@ import greencity.entity.event.Event;
 import greencity.entity.event.EventComment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -26,5 +27,6 @@ public interface EventCommentRepo extends JpaRepository<EventComment, Long> {
      * @param eventId  id of {@link Event} for which comments we search.
      * @return all active {@link EventComment} by page.
      */
+    @EntityGraph(attributePaths = "user")
     Page<EventComment> findAllByEventIdOrderByCreatedDateDesc(Pageable pageable, Long eventId);
 }
@@ -19,6 +19,16 @@ public interface EventRepo extends JpaRepository<Event, Long>, JpaSpecificationE
      */
     Page<Event> findAllByOrderByIdDesc(Pageable page);
 
+    /**
+     * Method for getting events with id less than given one, without counting
+     * all of them.
+     *
+     * @param id   id of the last seen event.
+     * @param page limit of events.
+     * @return list of {@link Event} instances.
+     */
+    List<Event> findAllByIdLessThanOrderByIdDesc(Long id, Pageable page);
+
     /**
      * Method for getting all events by user.
      *
@@ -0,0 +1,45 @@
+package greencity.repository;
+
+import greencity.entity.GeocodeCacheEntry;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GeocodeCacheRepo extends JpaRepository<GeocodeCacheEntry, String> {
+    /**
+     * Method finds cached geocoding results which are not older than given time.
+     *
+     * @param cacheKey     key of the geocoding request.
+     * @param createdAfter the oldest acceptable creation time.
+     * @return {@link Optional} of {@link GeocodeCacheEntry}.
+     */
+    Optional<GeocodeCacheEntry> findByCacheKeyAndCreatedAtAfter(String cacheKey, ZonedDateTime createdAfter);
+
+    /**
+     * Method inserts geocoding results or replaces the ones stored under the same
+     * key, so concurrent requests for the same key do not fail.
+     *
+     * @param cacheKey key of the geocoding request.
+     * @param results  geocoding results as JSON.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO geocode_cache (cache_key, results, created_at) "
+        + "VALUES (:cacheKey, :results, now()) "
+        + "ON CONFLICT (cache_key) DO UPDATE SET results = EXCLUDED.results, created_at = EXCLUDED.created_at")
+    void upsert(@Param("cacheKey") String cacheKey, @Param("results") String results);
+
+    /**
+     * Method deletes geocoding results created before given time.
+     *
+     * @param createdBefore creation time of the oldest entry to keep.
+     * @return amount of deleted entries.
+     */
+    @Modifying
+    @Query("DELETE FROM GeocodeCacheEntry e WHERE e.createdAt < :createdBefore")
+    int deleteAllCreatedBefore(@Param("createdBefore") ZonedDateTime createdBefore);
+}
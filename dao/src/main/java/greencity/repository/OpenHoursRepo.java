@@ -1,10 +1,13 @@
 package greencity.repository;
 
+import greencity.dto.openhours.PlaceOpeningHoursDto;
 import greencity.entity.OpeningHours;
 import greencity.entity.Place;
 import java.util.List;
 import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -37,4 +40,24 @@ public interface OpenHoursRepo extends JpaRepository<OpeningHours, Long> {
      * @param placeId to find by.
      */
     void deleteAllByPlaceId(Long placeId);
+
+    /**
+     * Finds opening hours together with break time of all places.
+     *
+     * @return a list of {@link PlaceOpeningHoursDto}.
+     */
+    @Query("SELECT new greencity.dto.openhours.PlaceOpeningHoursDto(h.place.id, h.weekDay, h.openTime, h.closeTime, "
+        + "b.startTime, b.endTime) FROM OpeningHours h LEFT JOIN h.breakTime b")
+    List<PlaceOpeningHoursDto> findAllPlaceOpeningHours();
+
+    /**
+     * Finds opening hours together with break time of the specified
+     * {@code Place}.
+     *
+     * @param placeId to find by.
+     * @return a list of {@link PlaceOpeningHoursDto} for the place by id.
+     */
+    @Query("SELECT new greencity.dto.openhours.PlaceOpeningHoursDto(h.place.id, h.weekDay, h.openTime, h.closeTime, "
+        + "b.startTime, b.endTime) FROM OpeningHours h LEFT JOIN h.breakTime b WHERE h.place.id = :placeId")
+    List<PlaceOpeningHoursDto> findAllPlaceOpeningHoursByPlaceId(@Param("placeId") Long placeId);
 }
@@ -0,0 +1,38 @@
+package greencity.repository;
+
+import greencity.entity.OutboxEvent;
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxEventRepo extends JpaRepository<OutboxEvent, Long> {
+    /**
+     * Method locks ids of {@link OutboxEvent} that are ready to be dispatched.
+     * Rows locked by another dispatcher are skipped.
+     *
+     * @param limit maximum amount of events.
+     * @return {@link List} of {@link OutboxEvent} ids.
+     */
+    @Query(nativeQuery = true, value = "SELECT id FROM outbox_events "
+        + "WHERE next_attempt_at <= now() "
+        + "ORDER BY id "
+        + "LIMIT :limit "
+        + "FOR UPDATE SKIP LOCKED")
+    List<Long> findIdsReadyForDispatch(@Param("limit") int limit);
+
+    /**
+     * Method postpones next dispatch of given events, so they are not picked up
+     * again while being processed.
+     *
+     * @param ids          ids of {@link OutboxEvent}.
+     * @param leasedUntil time until events are leased.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :leasedUntil WHERE e.id IN :ids")
+    void lease(@Param("ids") List<Long> ids, @Param("leasedUntil") ZonedDateTime leasedUntil);
+}
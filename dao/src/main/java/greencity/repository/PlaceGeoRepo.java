@@ -0,0 +1,88 @@
+package greencity.repository;
+
+import greencity.dto.location.MapBoundsDto;
+import greencity.dto.location.PlaceCoordinatesDto;
+import greencity.enums.PlaceStatus;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Geo queries over {@code locations} of places. Candidates are prefiltered by
+ * bounding box with the GiST index on {@code point(lng, lat)}, great-circle
+ * distance is computed and sorted in the database so only the nearest rows are
+ * returned.
+ */
+@Repository
+public class PlaceGeoRepo {
+    private static final String NEAREST = "SELECT nearby.id FROM ("
+        + "SELECT p.id, 2 * 6371 * asin(least(1, sqrt(power(sin(radians(l.lat - :lat) / 2), 2) "
+        + "+ cos(radians(:lat)) * cos(radians(l.lat)) * power(sin(radians(l.lng - :lng) / 2), 2)))) AS distance "
+        + "FROM places p JOIN locations l ON l.id = p.location_id "
+        + "WHERE point(l.lng, l.lat) <@ box(point(:minLng, :minLat), point(:maxLng, :maxLat))%s) nearby "
+        + "WHERE nearby.distance <= :distance "
+        + "ORDER BY nearby.distance, nearby.id OFFSET :offset LIMIT :limit";
+    private static final String WITH_STATUS = " AND p.status = :status";
+
+    private final EntityManager entityManager;
+
+    /**
+     * Initialization constructor.
+     */
+    public PlaceGeoRepo(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Method finds ids of places inside of the box ordered by distance from the
+     * given point.
+     *
+     * @param status     {@link PlaceStatus} of places, {@code null} for places
+     *                   of any status.
+     * @param box        {@link MapBoundsDto} to prefilter places by.
+     * @param lat        latitude of the point.
+     * @param lng        longitude of the point.
+     * @param distanceKm maximum distance from the point in kilometers.
+     * @param offset     amount of nearest ids to skip.
+     * @param limit      maximum amount of ids.
+     * @return {@link List} of place ids, nearest first.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Long> findNearestIds(PlaceStatus status, MapBoundsDto box, double lat, double lng,
+        double distanceKm, int offset, int limit) {
+        Query query = entityManager.createNativeQuery(String.format(NEAREST, status == null ? "" : WITH_STATUS));
+        if (status != null) {
+            query.setParameter("status", status.ordinal());
+        }
+        List<Number> ids = query
+            .setParameter("lat", lat)
+            .setParameter("lng", lng)
+            .setParameter("minLat", box.getSouthWestLat())
+            .setParameter("maxLat", box.getNorthEastLat())
+            .setParameter("minLng", box.getSouthWestLng())
+            .setParameter("maxLng", box.getNorthEastLng())
+            .setParameter("distance", distanceKm)
+            .setParameter("offset", offset)
+            .setParameter("limit", limit)
+            .getResultList();
+        return ids.stream().map(Number::longValue).collect(Collectors.toList());
+    }
+
+    /**
+     * Method finds coordinates and category names of all places with given
+     * status.
+     *
+     * @param status {@link PlaceStatus} of places.
+     * @return {@link List} of {@link PlaceCoordinatesDto}.
+     */
+    public List<PlaceCoordinatesDto> findAllCoordinates(PlaceStatus status) {
+        return entityManager.createQuery("SELECT new greencity.dto.location.PlaceCoordinatesDto("
+            + "p.id, l.lat, l.lng, c.name) "
+            + "FROM Place p JOIN p.location l LEFT JOIN p.category c WHERE p.status = :status",
+            PlaceCoordinatesDto.class)
+            .setParameter("status", status)
+            .getResultList();
+    }
+}
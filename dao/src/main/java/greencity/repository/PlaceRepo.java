@@ -1,6 +1,7 @@
 package greencity.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -114,4 +115,18 @@ public interface PlaceRepo extends JpaRepository<Place, Long>, JpaSpecificationE
             + "WHERE c.name IN (:category) "
             + "or c.name_ua IN (:category)")
     List<Place> findPlaceByCategory(String[] category);
-}
\ No newline at end of file
+
+    /**
+     * Method to get places by category name among places with given ids.
+     *
+     * @param category category to search
+     * @param ids      ids of places to search among
+     * @return - places with searching category
+     */
+    @Query(nativeQuery = true,
+        value = "SELECT * FROM places p "
+            + "join categories c on c.id = p.category_id "
+            + "WHERE p.id IN (:ids) "
+            + "and (c.name IN (:category) or c.name_ua IN (:category))")
+    List<Place> findPlaceByCategoryAndIdIn(@Param("category") String[] category, @Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,111 @@
+package greencity.repository;
+
+import greencity.entity.RecommendedFriendsRefresh;
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RecommendedFriendsRefreshRepo extends JpaRepository<RecommendedFriendsRefresh, Long> {
+    /**
+     * Method takes the transaction level advisory lock with the given key, so
+     * only one instance refreshes recommended friends at a time. The lock is
+     * released when the transaction ends.
+     *
+     * @param key key of the lock.
+     * @return {@code true} if the lock is taken, {@code false} if another
+     *         transaction holds it.
+     */
+    @Query(nativeQuery = true, value = "SELECT pg_try_advisory_xact_lock(:key)")
+    boolean tryLock(@Param("key") long key);
+
+    /**
+     * Method returns time of the latest refresh of recommended friends.
+     *
+     * @return {@link ZonedDateTime} of the latest refresh, {@code null} if
+     *         recommended friends have never been refreshed.
+     */
+    @Query("SELECT MAX(r.refreshedAt) FROM RecommendedFriendsRefresh r")
+    ZonedDateTime findLastRefreshedAt();
+
+    /**
+     * Method returns ids of all users.
+     *
+     * @return list of user ids.
+     */
+    @Query(nativeQuery = true, value = "SELECT id FROM users ORDER BY id")
+    List<Long> findAllUserIds();
+
+    /**
+     * Method returns ids of users whose habits, comments or friendships changed
+     * since the given time.
+     *
+     * @param since time of the previous refresh.
+     * @return list of user ids.
+     */
+    @Query(nativeQuery = true, value = "SELECT user_id FROM habit_assign WHERE create_date > :since "
+        + "UNION SELECT user_id FROM econews_comment WHERE created_date > :since "
+        + "UNION SELECT user_id FROM users_friends WHERE created_date > :since "
+        + "UNION SELECT friend_id FROM users_friends WHERE created_date > :since")
+    List<Long> findUserIdsChangedSince(@Param("since") ZonedDateTime since);
+
+    /**
+     * Method deletes recommended friends of the given users.
+     *
+     * @param userIds ids of users.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM recommended_friends WHERE user_id IN (:userIds)")
+    void deleteRecommendedFriends(@Param("userIds") List<Long> userIds);
+
+    /**
+     * Method stores ranked recommended friends of the given users. Candidates
+     * are users with shared habits, users who commented at least three of the
+     * same eco news and users who added the user as a friend. They are ranked by
+     * the sum of shared habits, shared eco news and friendship.
+     *
+     * @param userIds ids of users.
+     * @param limit   maximum amount of recommended friends per user.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO recommended_friends (user_id, position, friend_id, score) "
+        + "SELECT ranked.user_id, ranked.position, ranked.friend_id, ranked.score FROM ("
+        + "  SELECT c.user_id, c.friend_id, SUM(c.rating) AS score, "
+        + "    ROW_NUMBER() OVER (PARTITION BY c.user_id ORDER BY SUM(c.rating) DESC, c.friend_id) AS position "
+        + "  FROM ("
+        + "    SELECT mine.user_id, other.user_id AS friend_id, COUNT(*) AS rating "
+        + "    FROM (SELECT DISTINCT user_id, habit_id FROM habit_assign WHERE user_id IN (:userIds)) AS mine "
+        + "    JOIN habit_assign other ON other.habit_id = mine.habit_id AND other.user_id <> mine.user_id "
+        + "    GROUP BY mine.user_id, other.user_id "
+        + "    UNION ALL "
+        + "    SELECT mine.user_id, other.user_id, COUNT(DISTINCT other.eco_news_id) "
+        + "    FROM (SELECT DISTINCT user_id, eco_news_id FROM econews_comment WHERE user_id IN (:userIds)) AS mine "
+        + "    JOIN econews_comment other ON other.eco_news_id = mine.eco_news_id AND other.user_id <> mine.user_id "
+        + "    GROUP BY mine.user_id, other.user_id "
+        + "    HAVING COUNT(DISTINCT other.eco_news_id) >= 3 "
+        + "    UNION ALL "
+        + "    SELECT uf.friend_id, uf.user_id, 1 FROM users_friends uf "
+        + "    WHERE uf.friend_id IN (:userIds) AND uf.user_id <> uf.friend_id"
+        + "  ) AS c "
+        + "  GROUP BY c.user_id, c.friend_id"
+        + ") AS ranked "
+        + "WHERE ranked.position <= :limit "
+        + "ON CONFLICT (user_id, position) DO UPDATE SET friend_id = EXCLUDED.friend_id, score = EXCLUDED.score")
+    void insertRecommendedFriends(@Param("userIds") List<Long> userIds, @Param("limit") int limit);
+
+    /**
+     * Method records refresh of recommended friends of the given users.
+     *
+     * @param userIds     ids of users.
+     * @param refreshedAt time of the refresh.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO recommended_friends_refreshes (user_id, refreshed_at) "
+        + "SELECT u.id, :refreshedAt FROM users u WHERE u.id IN (:userIds) "
+        + "ON CONFLICT (user_id) DO UPDATE SET refreshed_at = EXCLUDED.refreshed_at")
+    void markRefreshed(@Param("userIds") List<Long> userIds, @Param("refreshedAt") ZonedDateTime refreshedAt);
+}
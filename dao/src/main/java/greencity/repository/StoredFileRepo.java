@@ -0,0 +1,42 @@
+package greencity.repository;
+
+import greencity.entity.StoredFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StoredFileRepo extends JpaRepository<StoredFile, String> {
+    /**
+     * Method adds a reference to the stored file, registering the file on its
+     * first upload.
+     *
+     * @param name name of the stored file.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO stored_files (name, reference_count) VALUES (:name, 1) "
+        + "ON CONFLICT (name) DO UPDATE SET reference_count = stored_files.reference_count + 1")
+    void addReference(@Param("name") String name);
+
+    /**
+     * Method removes a reference to the stored file.
+     *
+     * @param name name of the stored file.
+     * @return amount of updated files.
+     */
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.referenceCount = f.referenceCount - 1 WHERE f.name = :name")
+    int removeReference(@Param("name") String name);
+
+    /**
+     * Method deletes the stored file if nothing references it anymore.
+     *
+     * @param name name of the stored file.
+     * @return amount of deleted files.
+     */
+    @Modifying
+    @Query("DELETE FROM StoredFile f WHERE f.name = :name AND f.referenceCount <= 0")
+    int deleteIfUnreferenced(@Param("name") String name);
+}
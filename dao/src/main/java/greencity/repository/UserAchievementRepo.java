@@ -1,8 +1,11 @@
 package greencity.repository;
 
 import greencity.entity.UserAchievement;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -16,4 +19,15 @@ public interface UserAchievementRepo extends JpaRepository<UserAchievement, Long
      */
     @Query(value = "FROM UserAchievement u WHERE u.user.id =:userId AND u.achievement.id =:achievementId")
     UserAchievement getUserAchievementByIdAndAchievementId(Long userId, Long achievementId);
+
+    /**
+     * Method finding achievements of the user among given achievements.
+     *
+     * @param userId         {@link Long}
+     * @param achievementIds ids of achievements.
+     * @return list {@link UserAchievement}
+     */
+    @Query(value = "FROM UserAchievement u WHERE u.user.id = :userId AND u.achievement.id IN :achievementIds")
+    List<UserAchievement> findAllByUserIdAndAchievementIdIn(@Param("userId") Long userId,
+        @Param("achievementIds") Collection<Long> achievementIds);
 }
@@ -6,6 +6,7 @@ import greencity.entity.UserAction;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface UserActionRepo extends JpaRepository<UserAction, Long> {
@@ -21,4 +22,54 @@ public interface UserActionRepo extends JpaRepository<UserAction, Long> {
         + "WHERE ua.achievementCategory.id = :achievementCategoryId "
         + "AND ua.user.id = :userId")
     UserAction findByUserIdAndAchievementCategoryId(Long userId, Long achievementCategoryId);
+
+    /**
+     * Method atomically adds given amount to count of {@link UserAction}.
+     *
+     * @param userId                of {@link User}
+     * @param achievementCategoryId of {@link AchievementCategory}
+     * @param amount                number of actions to add
+     * @return count before the update or {@code null} if there is no such
+     *         {@link UserAction}
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = "UPDATE user_actions SET count = COALESCE(count, 0) + :amount "
+        + "WHERE user_id = :userId AND achievement_category_id = :achievementCategoryId "
+        + "RETURNING count - :amount")
+    Integer incrementCount(Long userId, Long achievementCategoryId, int amount);
+
+    /**
+     * Method atomically raises count of {@link UserAction} to given value if it
+     * is bigger than the current one.
+     *
+     * @param userId                of {@link User}
+     * @param achievementCategoryId of {@link AchievementCategory}
+     * @param value                 new count candidate
+     * @return count before the update or {@code null} if there is no such
+     *         {@link UserAction}
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = "UPDATE user_actions ua SET count = GREATEST(COALESCE(old.count, 0), :value) "
+        + "FROM (SELECT id, count FROM user_actions "
+        + "WHERE user_id = :userId AND achievement_category_id = :achievementCategoryId FOR UPDATE) old "
+        + "WHERE ua.id = old.id "
+        + "RETURNING COALESCE(old.count, 0)")
+    Integer updateCountToMax(Long userId, Long achievementCategoryId, int value);
+
+    /**
+     * Method atomically sets count of {@link UserAction}.
+     *
+     * @param userId                of {@link User}
+     * @param achievementCategoryId of {@link AchievementCategory}
+     * @param value                 new count
+     * @return count before the update or {@code null} if there is no such
+     *         {@link UserAction}
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = "UPDATE user_actions ua SET count = :value "
+        + "FROM (SELECT id, count FROM user_actions "
+        + "WHERE user_id = :userId AND achievement_category_id = :achievementCategoryId FOR UPDATE) old "
+        + "WHERE ua.id = old.id "
+        + "RETURNING COALESCE(old.count, 0)")
+    Integer setCount(Long userId, Long achievementCategoryId, int value);
 }
@@ -133,4 +133,24 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
     @Transactional
     @Query(value = "UPDATE User SET eventOrganizerRating=:rate WHERE id=:userId")
     void updateUserEventOrganizerRating(Long userId, Double rate);
-}
\ No newline at end of file
+
+    /**
+     * Method atomically adds given delta to rating of {@link User}.
+     *
+     * @param userId id of {@link User}.
+     * @param delta  rating points to add.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE User SET rating = COALESCE(rating, 0) + :delta WHERE id = :userId")
+    void addRating(Long userId, double delta);
+
+    /**
+     * Method returns current rating of {@link User}.
+     *
+     * @param userId id of {@link User}.
+     * @return rating of {@link User}.
+     */
+    @Query(value = "SELECT u.rating FROM User u WHERE u.id = :userId")
+    Double findRatingById(Long userId);
+}
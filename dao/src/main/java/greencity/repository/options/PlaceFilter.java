@@ -1,19 +1,26 @@
 package greencity.repository.options;
 
+import greencity.constant.AppConstant;
 import greencity.constant.RepoConstants;
 import greencity.dto.filter.FilterDiscountDto;
 import greencity.dto.filter.FilterPlaceDto;
 import greencity.dto.location.MapBoundsDto;
+import greencity.entity.BreakTime;
+import greencity.entity.OpeningHours;
 import greencity.entity.Place;
 import greencity.enums.PlaceStatus;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
@@ -26,7 +33,10 @@ import org.springframework.data.jpa.domain.Specification;
  * @author Roman Zahouri, Nazar Stasyuk
  */
 public class PlaceFilter implements Specification<Place> {
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern(AppConstant.DATE_FORMAT);
     private final transient FilterPlaceDto filterPlaceDto;
+    private final transient Collection<Long> placeIds;
+    private final boolean checkOpeningHours;
 
     /**
      * The constructor takes {@link FilterPlaceDto} object.
@@ -34,7 +44,33 @@ public class PlaceFilter implements Specification<Place> {
      * @param filterPlaceDto object contains fields to filter by.
      */
     public PlaceFilter(FilterPlaceDto filterPlaceDto) {
+        this(filterPlaceDto, null);
+    }
+
+    /**
+     * The constructor takes {@link FilterPlaceDto} object and ids of places found
+     * by geo query.
+     *
+     * @param filterPlaceDto object contains fields to filter by.
+     * @param placeIds       ids of places the result is restricted to.
+     */
+    public PlaceFilter(FilterPlaceDto filterPlaceDto, Collection<Long> placeIds) {
+        this(filterPlaceDto, placeIds, true);
+    }
+
+    /**
+     * The constructor takes {@link FilterPlaceDto} object, ids of places found by
+     * geo query and whether the time of the filter is checked against opening
+     * hours in the query or by the caller.
+     *
+     * @param filterPlaceDto    object contains fields to filter by.
+     * @param placeIds          ids of places the result is restricted to.
+     * @param checkOpeningHours {@code false} if the caller checks opening hours.
+     */
+    public PlaceFilter(FilterPlaceDto filterPlaceDto, Collection<Long> placeIds, boolean checkOpeningHours) {
         this.filterPlaceDto = filterPlaceDto;
+        this.placeIds = placeIds;
+        this.checkOpeningHours = checkOpeningHours;
     }
 
     /**
@@ -45,11 +81,16 @@ public class PlaceFilter implements Specification<Place> {
     public Predicate toPredicate(Root<Place> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
         query.groupBy(root.get(RepoConstants.ID));
         List<Predicate> predicates = new ArrayList<>();
+        if (null != placeIds) {
+            predicates.add(root.get(RepoConstants.ID).in(placeIds));
+        }
         if (null != filterPlaceDto) {
             predicates.add(hasStatus(root, cb, filterPlaceDto.getStatus()));
             predicates.add(hasPositionInBounds(root, cb, filterPlaceDto.getMapBoundsDto()));
             predicates.add(hasDiscount(root, cb, filterPlaceDto.getDiscountDto()));
-            predicates.add(isNowOpen(root, cb, filterPlaceDto.getTime()));
+            if (checkOpeningHours) {
+                predicates.add(isNowOpen(root, cb, filterPlaceDto.getTime()));
+            }
             predicates.add(hasFieldLike(root, cb, filterPlaceDto.getSearchReg()));
             predicates.add(hasCategory(root, cb, filterPlaceDto.getCategories()));
         }
@@ -116,10 +157,10 @@ public class PlaceFilter implements Specification<Place> {
     }
 
     /**
-     * Checks if {@link Place} is open at the time described in the
-     * {@code currentTime} string argument. The method can throw a
-     * {@link DateTimeParseException} if the {@code currentTime} string doesn't
-     * match a {@code AppConstant.DATE_FORMAT} format string.
+     * Checks if {@link Place} is open and not on a break at the time described in
+     * the {@code currentTime} string argument. Opening hours are joined once. The
+     * method can throw a {@link DateTimeParseException} if the {@code currentTime}
+     * string doesn't match a {@code AppConstant.DATE_FORMAT} format string.
      *
      * @param r           must not be {@literal null}.
      * @param cb          must not be {@literal null}.
@@ -130,10 +171,16 @@ public class PlaceFilter implements Specification<Place> {
         if (null == currentTime) {
             return cb.conjunction();
         }
-        LocalDateTime time = LocalDateTime.parse(currentTime, DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
-        return cb.and(cb.equal(r.join(RepoConstants.HOURS_LIST).get(RepoConstants.HOURS_DAY), time.getDayOfWeek()),
-            cb.lessThan(r.join(RepoConstants.HOURS_LIST).get(RepoConstants.HOURS_OPEN), time.toLocalTime()),
-            cb.greaterThan(r.join(RepoConstants.HOURS_LIST).get(RepoConstants.HOURS_CLOSE), time.toLocalTime()));
+        LocalDateTime time = LocalDateTime.parse(currentTime, TIME_FORMATTER);
+        LocalTime now = time.toLocalTime();
+        Join<Place, OpeningHours> hours = r.join(RepoConstants.HOURS_LIST);
+        Join<OpeningHours, BreakTime> breakTime = hours.join(RepoConstants.HOURS_BREAK, JoinType.LEFT);
+        return cb.and(cb.equal(hours.get(RepoConstants.HOURS_DAY), time.getDayOfWeek()),
+            cb.lessThanOrEqualTo(hours.get(RepoConstants.HOURS_OPEN), now),
+            cb.greaterThan(hours.get(RepoConstants.HOURS_CLOSE), now),
+            cb.or(cb.isNull(breakTime.get(RepoConstants.ID)),
+                cb.greaterThan(breakTime.get(RepoConstants.BREAK_START), now),
+                cb.lessThanOrEqualTo(breakTime.get(RepoConstants.BREAK_END), now)));
     }
 
     /**
@@ -1,4 +1,4 @@
-CREATE OR REPLACE FUNCTION public.fn_recommended_friends(
+CREATE OR REPLACE FUNCTION public.fn_recommended_friends_live(
     current_user_id bigint)
     RETURNS TABLE
             (
@@ -14,7 +14,7 @@ CREATE OR REPLACE FUNCTION public.fn_recommended_friends(
     ROWS 1000
 
 AS
-$BODY$
+'
 BEGIN
 
     RETURN QUERY
@@ -67,7 +67,44 @@ BEGIN
                  JOIN common_friends cf
                       ON cf.id = u.id AND cf.id <> current_user_id;
 END
-$BODY$;
+';
+
+ALTER FUNCTION public.fn_recommended_friends_live(bigint)
+    OWNER TO postgres;
+
+CREATE OR REPLACE FUNCTION public.fn_recommended_friends(
+    current_user_id bigint)
+    RETURNS TABLE
+            (
+                id              bigint,
+                name            character varying,
+                city            character varying,
+                rating          double precision,
+                profile_picture character varying
+            )
+    LANGUAGE 'plpgsql'
+    COST 100
+    VOLATILE PARALLEL UNSAFE
+    ROWS 1000
+
+AS
+'
+BEGIN
+
+    IF EXISTS(SELECT 1 FROM recommended_friends_refreshes rfr WHERE rfr.user_id = current_user_id) THEN
+        RETURN QUERY
+            SELECT u.id, u.name, u.city, u.rating, u.profile_picture
+            FROM recommended_friends rf
+                     JOIN users u
+                          ON u.id = rf.friend_id
+            WHERE rf.user_id = current_user_id
+            ORDER BY rf.position;
+    ELSE
+        RETURN QUERY
+            SELECT * FROM public.fn_recommended_friends_live(current_user_id);
+    END IF;
+END
+';
 
 ALTER FUNCTION public.fn_recommended_friends(bigint)
-    OWNER TO postgres;
\ No newline at end of file
+    OWNER TO postgres;
@@ -3,9 +3,16 @@ package greencity.client;
 import greencity.dto.user.*;
 import greencity.enums.Role;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
@@ -21,6 +28,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -48,6 +56,8 @@ public class RestClient {
     @Value("${greencityuser.server.address}")
     private String greenCityUserServerAddress;
     private final HttpServletRequest httpServletRequest;
+    private final UserLookupCache userLookupCache;
+    private volatile boolean bulkLookupUnsupported;
 
     /**
      * Method for getting all users by their {@link EmailNotification}.
@@ -103,6 +113,10 @@ public class RestClient {
      * @author Orest Mamchuk
      */
     public UserVO findByEmail(String email) {
+        return userLookupCache.getByEmail(email, () -> requestUserByEmail(email));
+    }
+
+    private UserVO requestUserByEmail(String email) {
         HttpEntity<String> entity = new HttpEntity<>(setHeader());
         UriComponentsBuilder url = UriComponentsBuilder.fromHttpUrl(greenCityUserServerAddress
             + RestTemplateLinks.USER_FIND_BY_EMAIL).queryParam("email", email);
@@ -118,12 +132,67 @@ public class RestClient {
      * @author Orest Mamchuk
      */
     public UserVO findById(Long id) {
+        return userLookupCache.getById(id, () -> requestUserById(id));
+    }
+
+    private UserVO requestUserById(Long id) {
         HttpEntity<String> entity = new HttpEntity<>(setHeader());
         return restTemplate.exchange(greenCityUserServerAddress
             + RestTemplateLinks.USER_FIND_BY_ID + RestTemplateLinks.ID + id, HttpMethod.GET, entity, UserVO.class)
             .getBody();
     }
 
+    /**
+     * Method that allow you to find all {@link UserVO} with given ids in one
+     * request. Users that are already cached are not requested again.
+     *
+     * @param ids {@link Collection} of user ids.
+     * @return {@link List} of found {@link UserVO}.
+     */
+    public List<UserVO> findAllByIds(Collection<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        Map<Long, UserVO> found = new HashMap<>(userLookupCache.getAllPresentById(uniqueIds));
+        List<Long> missingIds = uniqueIds.stream()
+            .filter(id -> !found.containsKey(id))
+            .collect(Collectors.toList());
+        if (!missingIds.isEmpty()) {
+            requestUsersByIds(missingIds).forEach(user -> found.put(user.getId(), user));
+        }
+        return uniqueIds.stream()
+            .map(found::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Requests users in one call to the user service. When the user service has
+     * no bulk endpoint it answers with 404, then users are requested one by one
+     * and the bulk endpoint is not called again.
+     */
+    private List<UserVO> requestUsersByIds(List<Long> ids) {
+        if (!bulkLookupUnsupported) {
+            HttpHeaders headers = setHeader();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            HttpEntity<List<Long>> entity = new HttpEntity<>(ids, headers);
+            try {
+                UserVO[] loaded = restTemplate.exchange(greenCityUserServerAddress
+                    + RestTemplateLinks.USER_FIND_ALL_BY_IDS, HttpMethod.POST, entity, UserVO[].class).getBody();
+                if (loaded == null) {
+                    return Collections.emptyList();
+                }
+                List<UserVO> loadedUsers = Arrays.asList(loaded);
+                userLookupCache.putAllById(loadedUsers);
+                return loadedUsers;
+            } catch (HttpClientErrorException.NotFound e) {
+                bulkLookupUnsupported = true;
+            }
+        }
+        return ids.stream()
+            .map(this::findById)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
     /**
      * Method that allow you to find {@link UserVO} by ID.
      *
@@ -132,6 +201,10 @@ public class RestClient {
      * @author Orest Mamchuk
      */
     public UserVOAchievement findUserForAchievement(Long id) {
+        return userLookupCache.getForAchievement(id, () -> requestUserForAchievement(id));
+    }
+
+    private UserVOAchievement requestUserForAchievement(Long id) {
         HttpEntity<String> entity = new HttpEntity<>(setHeader());
         return restTemplate.exchange(greenCityUserServerAddress
             + RestTemplateLinks.USER_FIND_BY_ID_FOR_ACHIEVEMENT + RestTemplateLinks.ID + id,
@@ -198,6 +271,8 @@ public class RestClient {
         HttpEntity<UserManagementUpdateDto> entity = new HttpEntity<>(updateDto, headers);
         restTemplate.exchange(greenCityUserServerAddress
             + RestTemplateLinks.USER + "/" + userDto.getId(), HttpMethod.PUT, entity, Object.class);
+        userLookupCache.evictUser(userDto.getId());
+        userLookupCache.evictUser(userDto.getEmail());
     }
 
     private UserManagementUpdateDto managementDtoToUpdateDto(UserManagementDto userDto) {
@@ -224,6 +299,7 @@ public class RestClient {
         UserRoleDto userRoleDto = new UserRoleDto(role);
         HttpEntity<UserRoleDto> entity = new HttpEntity<>(userRoleDto, headers);
         restTemplate.exchange(url, HttpMethod.PATCH, entity, Object.class);
+        userLookupCache.evictUser(id);
     }
 
     /**
@@ -281,6 +357,10 @@ public class RestClient {
      * @author Orest Mamchuk
      */
     public Long findIdByEmail(String email) {
+        return userLookupCache.getIdByEmail(email, () -> requestIdByEmail(email));
+    }
+
+    private Long requestIdByEmail(String email) {
         HttpEntity<String> entity = new HttpEntity<>(setHeader());
         UriComponentsBuilder url = UriComponentsBuilder.fromHttpUrl(greenCityUserServerAddress
             + RestTemplateLinks.USER_FIND_ID_BY_EMAIL).queryParam("email", email);
@@ -301,6 +381,7 @@ public class RestClient {
         HttpEntity<List<String>> entity = new HttpEntity<>(userReasons, headers);
         restTemplate.exchange(greenCityUserServerAddress + RestTemplateLinks.USER_DEACTIVATE
             + RestTemplateLinks.ID + userId, HttpMethod.PUT, entity, Object.class);
+        userLookupCache.evictUser(userId);
     }
 
     /**
@@ -328,6 +409,7 @@ public class RestClient {
         HttpEntity<String> entity = new HttpEntity<>(setHeader());
         restTemplate.exchange(greenCityUserServerAddress + RestTemplateLinks.USER_ACTIVATE
             + RestTemplateLinks.ID + userId, HttpMethod.PUT, entity, Object.class);
+        userLookupCache.evictUser(userId);
     }
 
     /**
@@ -366,6 +448,7 @@ public class RestClient {
         restTemplate.exchange(greenCityUserServerAddress
             + RestTemplateLinks.USER_DEACTIVATE
             + RestTemplateLinks.ID + listId, HttpMethod.PUT, entity, Long[].class);
+        listId.forEach(userLookupCache::evictUser);
     }
 
     /**
@@ -481,6 +564,7 @@ public class RestClient {
         restTemplate.exchange(greenCityUserServerAddress
             + RestTemplateLinks.USER, HttpMethod.POST, entity, Object.class)
             .getBody();
+        evictUser(userVO);
     }
 
     /**
@@ -496,6 +580,12 @@ public class RestClient {
         restTemplate.exchange(greenCityUserServerAddress
             + RestTemplateLinks.USER, HttpMethod.POST, entity, Object.class)
             .getBody();
+        evictUser(userVO);
+    }
+
+    private void evictUser(UserVO userVO) {
+        userLookupCache.evictUser(userVO.getId());
+        userLookupCache.evictUser(userVO.getEmail());
     }
 
     /**
@@ -528,7 +618,8 @@ public class RestClient {
     }
 
     /**
-     * Method makes headers for RestTemplate.
+     * Method makes headers for RestTemplate. The token of the current HTTP
+     * request is used, calls outside of a request fail.
      *
      * @return {@link HttpEntity}
      */
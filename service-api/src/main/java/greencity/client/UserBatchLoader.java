@@ -0,0 +1,128 @@
+package greencity.client;
+
+import greencity.dto.user.UserVO;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Coalesces concurrent single user lookups into one
+ * {@link RestClient#findAllByIds} call. The first caller of a batch waits at
+ * most for the window to pass and then loads every id requested in the
+ * meantime in its own thread. A batch which fills up before that is loaded at
+ * once by the caller which filled it. Callers give up waiting after the
+ * timeout.
+ */
+@Component
+public class UserBatchLoader {
+    private final RestClient restClient;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final long timeoutMillis;
+    private final Object lock = new Object();
+    private Map<Long, CompletableFuture<UserVO>> open = new HashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param restClient    {@link RestClient}
+     * @param windowMillis  maximum time during which lookups are collected.
+     * @param maxBatchSize  amount of ids which are loaded without waiting for
+     *                      the window to pass.
+     * @param timeoutMillis maximum time to wait for a lookup.
+     */
+    public UserBatchLoader(RestClient restClient,
+        @Value("${greencityuser.batch.window-ms:5}") long windowMillis,
+        @Value("${greencityuser.batch.max-size:100}") int maxBatchSize,
+        @Value("${greencityuser.batch.timeout-ms:5000}") long timeoutMillis) {
+        this.restClient = restClient;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Method that finds {@link UserVO} by id sharing the remote call with
+     * concurrent lookups.
+     *
+     * @param id of {@link UserVO}.
+     * @return {@link UserVO} or {@code null} if user is not found.
+     */
+    public UserVO load(Long id) {
+        Map<Long, CompletableFuture<UserVO>> batch;
+        CompletableFuture<UserVO> future;
+        boolean leader;
+        boolean full;
+        synchronized (lock) {
+            batch = open;
+            leader = batch.isEmpty();
+            future = batch.computeIfAbsent(id, key -> new CompletableFuture<>());
+            full = batch.size() >= maxBatchSize || windowMillis <= 0;
+            if (full) {
+                open = new HashMap<>();
+                lock.notifyAll();
+            }
+        }
+        if (full || leader && awaitWindow(batch)) {
+            dispatch(batch);
+        }
+        try {
+            return future.copy().orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ResourceAccessException("Users were not loaded in " + timeoutMillis + " ms");
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Waits until the window passes or the batch is taken by a caller which
+     * filled it.
+     *
+     * @return {@code true} if the batch has to be loaded by the leader.
+     */
+    private boolean awaitWindow(Map<Long, CompletableFuture<UserVO>> batch) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        synchronized (lock) {
+            try {
+                long remaining;
+                while (open == batch && (remaining = deadline - System.nanoTime()) > 0) {
+                    TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (open != batch) {
+                return false;
+            }
+            open = new HashMap<>();
+            return true;
+        }
+    }
+
+    private void dispatch(Map<Long, CompletableFuture<UserVO>> batch) {
+        try {
+            List<UserVO> users = restClient.findAllByIds(batch.keySet());
+            users.forEach(user -> {
+                CompletableFuture<UserVO> future = batch.get(user.getId());
+                if (future != null) {
+                    future.complete(user);
+                }
+            });
+            batch.values().forEach(future -> future.complete(null));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package greencity.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import greencity.dto.achievement.UserVOAchievement;
+import greencity.dto.user.UserVO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Two-level cache for user lookups made by {@link RestClient}. The first level
+ * memoizes results for the lifetime of the current HTTP request, the second one
+ * is a bounded cross-request cache with a short TTL. Verified access tokens
+ * are cached by their hash without their user, whose status is looked up in
+ * the short lived cache of not deactivated users on every request. Cached
+ * {@link UserVO} instances are never handed out, every caller gets its own
+ * copy. Emails of cached users are indexed by user id, so a user is evicted
+ * without scanning the caches.
+ */
+@Component
+public class UserLookupCache {
+    static final String BY_EMAIL = "user.lookup.by-email";
+    static final String BY_ID = "user.lookup.by-id";
+    static final String ID_BY_EMAIL = "user.lookup.id-by-email";
+    static final String FOR_ACHIEVEMENT = "user.lookup.for-achievement";
+    static final String NOT_DEACTIVATED_BY_EMAIL = "user.lookup.not-deactivated-by-email";
+    static final String BY_TOKEN = "user.lookup.by-token";
+    private static final String REQUEST_MEMO_ATTRIBUTE = UserLookupCache.class.getName() + ".MEMO";
+
+    private final Cache<String, UserVO> usersByEmail;
+    private final Cache<Long, UserVO> usersById;
+    private final Cache<String, Long> idsByEmail;
+    private final Cache<Long, UserVOAchievement> usersForAchievement;
+    private final Cache<String, Optional<UserVO>> notDeactivatedUsersByEmail;
+    private final Cache<String, TokenEntry> authenticationsByToken;
+    private final Cache<Long, Set<String>> emailsById;
+    private final Counter requestMemoHits;
+
+    /**
+     * Constructor with cache settings.
+     *
+     * @param ttlSeconds    time to live of cross-request entries in seconds.
+     * @param maxSize       maximum amount of entries in each cache.
+     * @param tokenTtl      maximum time to live of verified tokens in seconds.
+     * @param meterRegistry registry for hit/miss metrics.
+     */
+    public UserLookupCache(@Value("${greencityuser.cache.ttl-seconds:30}") long ttlSeconds,
+        @Value("${greencityuser.cache.max-size:10000}") long maxSize,
+        @Value("${greencityuser.cache.token-ttl-seconds:300}") long tokenTtl,
+        MeterRegistry meterRegistry) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.usersByEmail = buildCache(ttl, maxSize);
+        this.usersById = buildCache(ttl, maxSize);
+        this.idsByEmail = buildCache(ttl, maxSize);
+        this.usersForAchievement = buildCache(ttl, maxSize);
+        this.notDeactivatedUsersByEmail = buildCache(ttl, maxSize);
+        this.emailsById = Caffeine.newBuilder()
+            .expireAfterWrite(ttl.multipliedBy(2))
+            .maximumSize(maxSize * 3)
+            .build();
+        this.authenticationsByToken = Caffeine.newBuilder()
+            .expireAfter(new TokenExpiry(TimeUnit.SECONDS.toNanos(tokenTtl)))
+            .maximumSize(maxSize)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByEmail, BY_EMAIL);
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, BY_ID);
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByEmail, ID_BY_EMAIL);
+        CaffeineCacheMetrics.monitor(meterRegistry, usersForAchievement, FOR_ACHIEVEMENT);
+        CaffeineCacheMetrics.monitor(meterRegistry, notDeactivatedUsersByEmail, NOT_DEACTIVATED_BY_EMAIL);
+        CaffeineCacheMetrics.monitor(meterRegistry, authenticationsByToken, BY_TOKEN);
+        this.requestMemoHits = meterRegistry.counter("user.lookup.request.memo.hits");
+    }
+
+    private static <K, V> Cache<K, V> buildCache(Duration ttl, long maxSize) {
+        return Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maxSize)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Returns {@link UserVO} by email, loading it with {@code loader} on miss.
+     */
+    public UserVO getByEmail(String email, Supplier<UserVO> loader) {
+        return copy(lookup(BY_EMAIL, email, usersByEmail, () -> indexed(email, loader.get())));
+    }
+
+    /**
+     * Returns {@link UserVO} by id, loading it with {@code loader} on miss.
+     */
+    public UserVO getById(Long id, Supplier<UserVO> loader) {
+        return copy(lookup(BY_ID, id, usersById, loader));
+    }
+
+    /**
+     * Returns cached users with given ids, missing ids are omitted.
+     *
+     * @param ids ids of users.
+     * @return {@link Map} of user id to {@link UserVO}.
+     */
+    public Map<Long, UserVO> getAllPresentById(Collection<Long> ids) {
+        Map<Long, UserVO> users = new HashMap<>();
+        usersById.getAllPresent(ids).forEach((id, user) -> users.put(id, copy(user)));
+        return users;
+    }
+
+    /**
+     * Puts loaded users into cross-request cache.
+     *
+     * @param users {@link Collection} of {@link UserVO}.
+     */
+    public void putAllById(Collection<UserVO> users) {
+        users.forEach(user -> usersById.put(user.getId(), copy(user)));
+    }
+
+    /**
+     * Returns user id by email, loading it with {@code loader} on miss.
+     */
+    public Long getIdByEmail(String email, Supplier<Long> loader) {
+        return lookup(ID_BY_EMAIL, email, idsByEmail, () -> {
+            Long id = loader.get();
+            index(id, email);
+            return id;
+        });
+    }
+
+    /**
+     * Returns {@link UserVOAchievement} by user id, loading it with {@code loader}
+     * on miss.
+     */
+    public UserVOAchievement getForAchievement(Long id, Supplier<UserVOAchievement> loader) {
+        return lookup(FOR_ACHIEVEMENT, id, usersForAchievement, loader);
+    }
+
+    /**
+     * Returns not deactivated {@link UserVO} by email, loading it with
+     * {@code loader} on miss.
+     */
+    public Optional<UserVO> getNotDeactivatedByEmail(String email, Supplier<Optional<UserVO>> loader) {
+        return lookup(NOT_DEACTIVATED_BY_EMAIL, email, notDeactivatedUsersByEmail,
+            () -> loader.get().map(user -> indexed(email, user)))
+            .map(UserLookupCache::copy);
+    }
+
+    /**
+     * Returns verified {@link Authentication} cached for given access token.
+     *
+     * @param token access token.
+     * @return {@link Authentication} or {@code null}.
+     */
+    public Authentication getAuthentication(String token) {
+        TokenEntry entry = authenticationsByToken.getIfPresent(hash(token));
+        return entry != null ? entry.authentication : null;
+    }
+
+    /**
+     * Caches verified {@link Authentication} of access token until the token
+     * expires.
+     *
+     * @param token          access token.
+     * @param expiresAt      expiration date of the token.
+     * @param authentication verified {@link Authentication}.
+     */
+    public void putAuthentication(String token, Date expiresAt, Authentication authentication) {
+        if (expiresAt.after(new Date())) {
+            authenticationsByToken.put(hash(token), new TokenEntry(authentication, expiresAt.getTime()));
+        }
+    }
+
+    /**
+     * Removes every cached entry of the user with given id.
+     *
+     * @param userId id of changed user.
+     */
+    public void evictUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        usersById.invalidate(userId);
+        usersForAchievement.invalidate(userId);
+        Set<String> emails = emailsById.asMap().remove(userId);
+        if (emails != null) {
+            usersByEmail.invalidateAll(emails);
+            idsByEmail.invalidateAll(emails);
+            notDeactivatedUsersByEmail.invalidateAll(emails);
+        }
+        clearRequestMemo();
+    }
+
+    /**
+     * Removes every cached entry of the user with given email.
+     *
+     * @param email email of changed user.
+     */
+    public void evictUser(String email) {
+        if (email == null) {
+            return;
+        }
+        UserVO user = usersByEmail.getIfPresent(email);
+        Long id = user != null ? user.getId() : idsByEmail.getIfPresent(email);
+        usersByEmail.invalidate(email);
+        idsByEmail.invalidate(email);
+        notDeactivatedUsersByEmail.invalidate(email);
+        evictUser(id);
+        clearRequestMemo();
+    }
+
+    /**
+     * Removes all cached entries.
+     */
+    public void evictAll() {
+        usersByEmail.invalidateAll();
+        usersById.invalidateAll();
+        idsByEmail.invalidateAll();
+        usersForAchievement.invalidateAll();
+        notDeactivatedUsersByEmail.invalidateAll();
+        emailsById.invalidateAll();
+        authenticationsByToken.invalidateAll();
+        clearRequestMemo();
+    }
+
+    private UserVO indexed(String email, UserVO user) {
+        if (user != null) {
+            index(user.getId(), email);
+        }
+        return user;
+    }
+
+    private void index(Long id, String email) {
+        if (id != null) {
+            emailsById.asMap().compute(id, (key, emails) -> {
+                Set<String> indexed = emails != null ? new HashSet<>(emails) : new HashSet<>();
+                indexed.add(email);
+                return Set.copyOf(indexed);
+            });
+        }
+    }
+
+    private static UserVO copy(UserVO user) {
+        return user != null ? user.toBuilder().build() : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K, V> V lookup(String cacheName, K key, Cache<K, V> cache, Supplier<V> loader) {
+        if (key == null) {
+            return loader.get();
+        }
+        Map<String, Object> memo = requestMemo();
+        String memoKey = cacheName + ':' + key;
+        if (memo != null && memo.containsKey(memoKey)) {
+            requestMemoHits.increment();
+            return (V) memo.get(memoKey);
+        }
+        V value = cache.get(key, k -> loader.get());
+        if (memo != null && value != null) {
+            memo.put(memoKey, value);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> requestMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object memo = attributes.getAttribute(REQUEST_MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<String, Object>();
+            attributes.setAttribute(REQUEST_MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<String, Object>) memo;
+    }
+
+    private void clearRequestMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(REQUEST_MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class TokenEntry {
+        private final Authentication authentication;
+        private final long expiresAtMillis;
+
+        TokenEntry(Authentication authentication, long expiresAtMillis) {
+            this.authentication = authentication;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    /**
+     * Expires verified token not later than the token itself expires.
+     */
+    private static class TokenExpiry implements Expiry<String, TokenEntry> {
+        private final long maxTtlNanos;
+
+        TokenExpiry(long maxTtlNanos) {
+            this.maxTtlNanos = maxTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, TokenEntry value, long currentTime) {
+            long untilTokenExpires = TimeUnit.MILLISECONDS.toNanos(value.expiresAtMillis - System.currentTimeMillis());
+            return Math.max(0, Math.min(untilTokenExpires, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TokenEntry value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, TokenEntry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
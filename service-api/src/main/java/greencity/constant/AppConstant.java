@@ -5,6 +5,8 @@ public final class AppConstant {
     public static final String DATE_FORMAT = "dd/MM/yyyy HH:mm:ss";
     public static final String REGISTRATION_EMAIL_FIELD_NAME = "email";
     public static final Integer CONSTANT_OF_FORMULA_HAVERSINE_KM = 6371;
+    public static final long PLACE_CLUSTER_TILE_MAX_AGE_SECONDS = 60;
+    public static final long LOCAL_FILES_MAX_AGE_DAYS = 365;
     public static final String GOOGLE_PICTURE = "picture";
     public static final String ADMIN = "ADMIN";
     public static final String UBS_EMPLOYEE = "UBS_EMPLOYEE";
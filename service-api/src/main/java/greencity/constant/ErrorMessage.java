@@ -78,6 +78,12 @@ public final class ErrorMessage {
     public static final String PHOTO_IS_PRESENT = "Photo is present.";
     public static final String DISCOUNT_NOT_FOUND_BY_ID = "The discount does not exist by this id: ";
     public static final String FILE_NOT_SAVED = "File hasn't been saved";
+    public static final String IMAGE_NOT_PROCESSED = "Image hasn't been processed";
+    public static final String IMAGE_TOO_LARGE = "Image has too many pixels: ";
+    public static final String IMAGE_NOT_DECODED = "Image cannot be decoded";
+    public static final String IMAGE_NOT_CONVERTED = "Cannot convert to BASE64 image";
+    public static final String ENCODED_IMAGE_TOO_LARGE = "Encoded image is larger than bytes: ";
+    public static final String IMAGE_TYPE_NOT_SUPPORTED = "Image should be PNG, JPEG, GIF or WEBP";
     public static final String USER_NOT_FOUND_BY_ID = "The user does not exist by this id: ";
     public static final String USER_NOT_FOUND_BY_EMAIL = "The user does not exist by this email: ";
     public static final String USER_HAS_NO_SHOPPING_LIST_ITEMS =
@@ -173,6 +179,8 @@ public final class ErrorMessage {
     public static final String EVENT_NOT_FOUND_BY_ID = "Event doesn't exist by this id: ";
     public static final String EVENT_COMMENT_NOT_FOUND_BY_ID = "Event comment doesn't exist by this id: ";
     public static final String EVENT_IS_FINISHED = "Finished event cannot be modified";
+    public static final String INVALID_CURSOR = "Invalid page cursor: ";
+    public static final String INVALID_MAP_TILE = "Invalid map tile: ";
 
     private ErrorMessage() {
     }
@@ -9,6 +9,7 @@ public class RestTemplateLinks {
     public static final String USER_FIND_BY_EMAIL = "/user/findByEmail";
     public static final String ID = "?id=";
     public static final String USER_FIND_BY_ID = "/user/findById";
+    public static final String USER_FIND_ALL_BY_IDS = "/user/findAllByIds";
     public static final String USER_FIND_BY_ID_FOR_ACHIEVEMENT = "/user/findByIdForAchievement";
     public static final String USER_FIND_USER_FOR_MANAGEMENT = "/user/findUserForManagement";
     public static final String PAGE = "?page=";
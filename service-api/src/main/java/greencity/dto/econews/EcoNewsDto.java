@@ -1,5 +1,6 @@
 package greencity.dto.econews;
 
+import greencity.dto.image.ImageVariantsDto;
 import greencity.dto.user.EcoNewsAuthorDto;
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -47,4 +48,6 @@ public class EcoNewsDto {
     private int dislikes;
 
     private int countComments;
+
+    private ImageVariantsDto imageVariants;
 }
@@ -0,0 +1,15 @@
+package greencity.dto.econews;
+
+import java.time.ZonedDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EcoNewsTagDto {
+    private Long ecoNewsId;
+    private ZonedDateTime creationDate;
+    private Long tagId;
+}
@@ -0,0 +1,14 @@
+package greencity.dto.econewscomment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EcoNewsCommentCountsDto {
+    private Long commentId;
+    private Long replies;
+    private Long likes;
+}
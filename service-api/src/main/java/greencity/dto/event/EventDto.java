@@ -1,5 +1,6 @@
 package greencity.dto.event;
 
+import greencity.dto.image.ImageVariantsDto;
 import greencity.dto.tag.TagUaEnDto;
 import lombok.*;
 import org.springframework.lang.Nullable;
@@ -33,6 +34,9 @@ public class EventDto {
     @Nullable
     private String titleImage;
 
+    @Nullable
+    private ImageVariantsDto titleImageVariants;
+
     @Nullable
     @Max(4)
     private List<String> additionalImages;
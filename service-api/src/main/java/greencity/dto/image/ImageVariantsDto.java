@@ -0,0 +1,18 @@
+package greencity.dto.image;
+
+import lombok.*;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@ToString
+@EqualsAndHashCode
+public class ImageVariantsDto {
+    private String thumbPath;
+
+    private String cardPath;
+
+    private String fullPath;
+}
@@ -0,0 +1,16 @@
+package greencity.dto.place;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PlaceClusterDto {
+    private int count;
+    private Double lat;
+    private Double lng;
+    private Map<String, Integer> categories;
+}
@@ -0,0 +1,17 @@
+package greencity.dto.place;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PlaceClusterTileDto {
+    private int zoom;
+    private int x;
+    private int y;
+    private String contentHash;
+    private List<PlaceClusterDto> clusters;
+}
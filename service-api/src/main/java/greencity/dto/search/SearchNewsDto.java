@@ -24,4 +24,5 @@ public class SearchNewsDto {
     private ZonedDateTime creationDate;
     @NotEmpty
     private List<String> tags;
+    private String highlight;
 }
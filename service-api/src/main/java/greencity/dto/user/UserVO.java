@@ -29,7 +29,7 @@ import lombok.ToString;
 @ToString
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @EqualsAndHashCode
 public class UserVO {
     private Long id;
@@ -90,6 +90,17 @@ public interface AchievementService {
      */
     AchievementVO findByCategoryIdAndCondition(Long categoryId, Integer condition);
 
+    /**
+     * Method finds {@link AchievementVO}s of category which are reached when
+     * count of actions grows from {@code from} to {@code to}.
+     *
+     * @param categoryId of {@link AchievementVO}
+     * @param from       count before the change, exclusive
+     * @param to         count after the change, inclusive
+     * @return {@link List} of {@link AchievementVO}
+     */
+    List<AchievementVO> findAllByCategoryIdAndConditionInRange(Long categoryId, Integer from, Integer to);
+
     /**
      * Method notifies of the achievement.
      *
@@ -1,5 +1,6 @@
 package greencity.service;
 
+import greencity.dto.CursorPageDto;
 import greencity.dto.PageableDto;
 import greencity.dto.econewscomment.*;
 import greencity.dto.econews.EcoNewsVO;
@@ -65,12 +66,14 @@ public interface EcoNewsCommentService {
     void like(Long id, UserVO user);
 
     /**
-     * Method returns count of likes to certain {@link EcoNewsCommentVO} specified
-     * by id.
+     * Method schedules broadcast of count of likes to certain
+     * {@link EcoNewsCommentVO} specified by id.
      *
      * @param amountCommentLikesDto dto with id and count likes for comments.
+     * @return dto with id and count likes of the comment and whether the user
+     *         likes it.
      */
-    void countLikes(AmountCommentLikesDto amountCommentLikesDto);
+    AmountCommentLikesDto countLikes(AmountCommentLikesDto amountCommentLikesDto);
 
     /**
      * Method to count replies to certain {@link EcoNewsCommentVO}.
@@ -99,6 +102,21 @@ public interface EcoNewsCommentService {
      */
     PageableDto<EcoNewsCommentDto> getAllActiveComments(Pageable pageable, UserVO user, Long ecoNewsId);
 
+    /**
+     * Method to get active comments to {@link EcoNewsVO} after cursor, newest
+     * first.
+     *
+     * @param cursor    cursor returned with previous page or {@code null} for the
+     *                  first page.
+     * @param size      amount of comments on page.
+     * @param withCount whether total amount of active comments is counted.
+     * @param user      current user or {@code null}.
+     * @param ecoNewsId specifies {@link EcoNewsVO} to which we search for comments
+     * @return {@link CursorPageDto} of {@link EcoNewsCommentDto}.
+     */
+    CursorPageDto<EcoNewsCommentDto> getActiveCommentsByCursor(String cursor, int size, boolean withCount,
+        UserVO user, Long ecoNewsId);
+
     /**
      * Method returns all active replies to certain comment specified by
      * parentCommentId.
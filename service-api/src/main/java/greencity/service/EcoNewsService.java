@@ -1,5 +1,6 @@
 package greencity.service;
 
+import greencity.dto.CursorPageDto;
 import greencity.dto.PageableAdvancedDto;
 import greencity.dto.PageableDto;
 import greencity.dto.econews.*;
@@ -62,6 +63,17 @@ public interface EcoNewsService {
      */
     PageableAdvancedDto<EcoNewsGenericDto> findGenericAll(Pageable page);
 
+    /**
+     * Method for getting eco news feed after cursor, newest first.
+     *
+     * @param cursor    cursor returned with previous page or {@code null} for the
+     *                  first page.
+     * @param size      amount of eco news on page.
+     * @param withCount whether total amount of eco news is counted.
+     * @return {@link CursorPageDto} of {@link EcoNewsGenericDto} instances.
+     */
+    CursorPageDto<EcoNewsGenericDto> findGenericAllByCursor(String cursor, int size, boolean withCount);
+
     /**
      * Method for getting all users eco news by page.
      *
@@ -140,6 +152,17 @@ public interface EcoNewsService {
      */
     PageableDto<SearchNewsDto> search(Pageable pageable, String searchQuery, String languageCode);
 
+    /**
+     * Method for full-text search of EcoNews ranked by relevance, with
+     * highlighted fragment of every found news.
+     *
+     * @param pageable     {@link Pageable}.
+     * @param searchQuery  query to search, every word is matched as a prefix.
+     * @param languageCode code of language.
+     * @return PageableDto of {@link SearchNewsDto} instances.
+     */
+    PageableDto<SearchNewsDto> fullTextSearch(Pageable pageable, String searchQuery, String languageCode);
+
     /**
      * Method for getting all published news by user id.
      *
@@ -1,5 +1,6 @@
 package greencity.service;
 
+import greencity.dto.CursorPageDto;
 import greencity.dto.PageableAdvancedDto;
 import greencity.dto.event.AddEventDtoRequest;
 import greencity.dto.event.EventAttenderDto;
@@ -44,6 +45,18 @@ public interface EventService {
      */
     PageableAdvancedDto<EventDto> getAll(Pageable page, Principal principal);
 
+    /**
+     * Method for getting events feed after cursor, newest first.
+     *
+     * @param cursor    cursor returned with previous page or {@code null} for the
+     *                  first page.
+     * @param size      amount of events on page.
+     * @param withCount whether total amount of events is counted.
+     * @param principal current user or {@code null}.
+     * @return {@link CursorPageDto} of {@link EventDto} instances.
+     */
+    CursorPageDto<EventDto> getAllByCursor(String cursor, int size, boolean withCount, Principal principal);
+
     /**
      * Method for getting all Event instances that user attended.
      *
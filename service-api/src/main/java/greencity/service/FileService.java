@@ -1,5 +1,6 @@
 package greencity.service;
 
+import java.util.List;
 import org.springframework.web.multipart.MultipartFile;
 
 public interface FileService {
@@ -11,6 +12,14 @@ public interface FileService {
      **/
     String upload(MultipartFile multipartFile);
 
+    /**
+     * Upload several files to Azure Cloud Storage concurrently.
+     *
+     * @param multipartFiles image files to save.
+     * @return public image urls in the order of given files.
+     **/
+    List<String> uploadAll(MultipartFile[] multipartFiles);
+
     /**
      * Convert string to MultipartFile.
      *
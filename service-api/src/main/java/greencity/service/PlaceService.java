@@ -137,7 +137,8 @@ public interface PlaceService {
 
     /**
      * The method which return a list {@code PlaceByBoundsDto} with information
-     * about place, * location depends on the map bounds.
+     * about place, * location depends on the map bounds. Places nearest to the
+     * center of the map are returned first, their amount is limited.
      *
      * @param filterPlaceDto contains northEastLng, northEastLat,southWestLat,
      *                       southWestLng of current state of map
@@ -146,6 +147,18 @@ public interface PlaceService {
      */
     List<PlaceByBoundsDto> findPlacesByMapsBounds(FilterPlaceDto filterPlaceDto);
 
+    /**
+     * The method returns clusters of approved places inside of the map tile.
+     * Each cluster contains amount of places, their centroid and amount of places
+     * of each category.
+     *
+     * @param zoom zoom level of the tile.
+     * @param x    column of the tile.
+     * @param y    row of the tile.
+     * @return {@link PlaceClusterTileDto}
+     */
+    PlaceClusterTileDto getClusterTile(int zoom, int x, int y);
+
     /**
      * Get average rate of {@link PlaceVO}.
      *
@@ -157,7 +170,8 @@ public interface PlaceService {
 
     /**
      * The method finds all {@link PlaceVO}'s filtered by the parameters contained
-     * in {@param filterDto} object.
+     * in {@param filterDto} object. When distance from user is given, places
+     * nearest to the user are returned first and their amount is limited.
      *
      * @param filterDto contains objects whose values determine the filter
      *                  parameters of the returned list.
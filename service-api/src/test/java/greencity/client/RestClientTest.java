@@ -3,6 +3,7 @@ package greencity.client;
 import static greencity.constant.AppConstant.AUTHORIZATION;
 import greencity.dto.user.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 import com.google.gson.Gson;
@@ -13,9 +14,11 @@ import greencity.dto.achievement.UserVOAchievement;
 import greencity.dto.econews.EcoNewsForSendEmailDto;
 import greencity.dto.eventcomment.EventCommentForSendEmailDto;
 import greencity.enums.EmailNotification;
+import greencity.enums.Role;
 import greencity.message.SendChangePlaceStatusEmailMessage;
 import greencity.message.SendHabitNotification;
 import greencity.message.SendReportEmailMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import java.util.*;
 import javax.servlet.http.Cookie;
@@ -25,6 +28,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
@@ -32,6 +36,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.*;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +47,8 @@ class RestClientTest {
     private HttpServletRequest httpServletRequest;
     @Mock
     private java.lang.Object Object;
+    @Spy
+    private UserLookupCache userLookupCache = new UserLookupCache(30, 100, 300, new SimpleMeterRegistry());
     @Value("${greencityuser.server.address}")
     private String greenCityUserServerAddress;
     @InjectMocks
@@ -54,7 +61,7 @@ class RestClientTest {
         headers.set(AUTHORIZATION, accessToken);
         HttpEntity<String> entity = new HttpEntity<>(headers);
         UserVO userVO = ModelUtils.getUserVO();
-        RestClient restClient = new RestClient(restTemplate, httpServletRequest);
+        RestClient restClient = new RestClient(restTemplate, httpServletRequest, userLookupCache);
         restClient.setGreenCityUserServerAddress("https://www.greencity.com.ua");
         when(httpServletRequest.getHeader(AUTHORIZATION)).thenReturn(accessToken);
         when(restTemplate.exchange("https://www.greencity.com.ua" + RestTemplateLinks.USER_FIND_BY_EMAIL
@@ -92,6 +99,105 @@ class RestClientTest {
         assertEquals(userVOAchievement, restClient.findUserForAchievement(1L));
     }
 
+    @Test
+    void findUserForAchievementFailsOutsideOfRequest() {
+        when(httpServletRequest.getHeader(AUTHORIZATION)).thenThrow(IllegalStateException.class);
+
+        assertThrows(IllegalStateException.class, () -> restClient.findUserForAchievement(1L));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void findByIdReturnsCachedUserOnSecondCall() {
+        UserVO userVO = ModelUtils.getUserVO();
+        String accessToken = "accessToken";
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(AUTHORIZATION, accessToken);
+        HttpEntity<String> entity = new HttpEntity<>(headers);
+        when(httpServletRequest.getHeader(AUTHORIZATION)).thenReturn(accessToken);
+        when(restTemplate.exchange(greenCityUserServerAddress
+            + RestTemplateLinks.USER_FIND_BY_ID + RestTemplateLinks.ID + 1L, HttpMethod.GET, entity, UserVO.class))
+                .thenReturn(ResponseEntity.ok(userVO));
+
+        assertEquals(userVO, restClient.findById(1L));
+        assertEquals(userVO, restClient.findById(1L));
+
+        verify(restTemplate, times(1)).exchange(greenCityUserServerAddress
+            + RestTemplateLinks.USER_FIND_BY_ID + RestTemplateLinks.ID + 1L, HttpMethod.GET, entity, UserVO.class);
+    }
+
+    @Test
+    void findAllByIdsRequestsOnlyNotCachedUsers() {
+        UserVO cached = ModelUtils.getUserVO();
+        UserVO loaded = ModelUtils.getUserVO();
+        loaded.setId(2L);
+        userLookupCache.putAllById(List.of(cached));
+        String accessToken = "accessToken";
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(AUTHORIZATION, accessToken);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<List<Long>> entity = new HttpEntity<>(List.of(2L), headers);
+        when(httpServletRequest.getHeader(AUTHORIZATION)).thenReturn(accessToken);
+        when(restTemplate.exchange(greenCityUserServerAddress + RestTemplateLinks.USER_FIND_ALL_BY_IDS,
+            HttpMethod.POST, entity, UserVO[].class)).thenReturn(ResponseEntity.ok(new UserVO[] {loaded}));
+
+        assertEquals(List.of(cached, loaded), restClient.findAllByIds(List.of(1L, 2L, 2L)));
+    }
+
+    @Test
+    void findAllByIdsFallsBackToLookupByIdWhenBulkEndpointIsMissing() {
+        UserVO first = ModelUtils.getUserVO();
+        UserVO second = ModelUtils.getUserVO();
+        second.setId(2L);
+        String accessToken = "accessToken";
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(AUTHORIZATION, accessToken);
+        HttpHeaders bulkHeaders = new HttpHeaders();
+        bulkHeaders.set(AUTHORIZATION, accessToken);
+        bulkHeaders.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<String> entity = new HttpEntity<>(headers);
+        when(httpServletRequest.getHeader(AUTHORIZATION)).thenReturn(accessToken);
+        when(restTemplate.exchange(greenCityUserServerAddress + RestTemplateLinks.USER_FIND_ALL_BY_IDS,
+            HttpMethod.POST, new HttpEntity<>(List.of(1L, 2L), bulkHeaders), UserVO[].class))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+        when(restTemplate.exchange(greenCityUserServerAddress
+            + RestTemplateLinks.USER_FIND_BY_ID + RestTemplateLinks.ID + 1L, HttpMethod.GET, entity, UserVO.class))
+                .thenReturn(ResponseEntity.ok(first));
+        when(restTemplate.exchange(greenCityUserServerAddress
+            + RestTemplateLinks.USER_FIND_BY_ID + RestTemplateLinks.ID + 2L, HttpMethod.GET, entity, UserVO.class))
+                .thenReturn(ResponseEntity.ok(second));
+
+        assertEquals(List.of(first, second), restClient.findAllByIds(List.of(1L, 2L)));
+        userLookupCache.evictUser(1L);
+        assertEquals(List.of(first, second), restClient.findAllByIds(List.of(1L, 2L)));
+
+        verify(restTemplate).exchange(eq(greenCityUserServerAddress + RestTemplateLinks.USER_FIND_ALL_BY_IDS),
+            eq(HttpMethod.POST), any(HttpEntity.class), eq(UserVO[].class));
+        verify(restTemplate, times(2)).exchange(greenCityUserServerAddress
+            + RestTemplateLinks.USER_FIND_BY_ID + RestTemplateLinks.ID + 1L, HttpMethod.GET, entity, UserVO.class);
+    }
+
+    @Test
+    void updateRoleEvictsCachedUser() {
+        UserVO userVO = ModelUtils.getUserVO();
+        String accessToken = "accessToken";
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(AUTHORIZATION, accessToken);
+        HttpEntity<String> entity = new HttpEntity<>(headers);
+        when(httpServletRequest.getHeader(AUTHORIZATION)).thenReturn(accessToken);
+        when(restTemplate.exchange(greenCityUserServerAddress
+            + RestTemplateLinks.USER_FIND_BY_ID + RestTemplateLinks.ID + 1L, HttpMethod.GET, entity, UserVO.class))
+                .thenReturn(ResponseEntity.ok(userVO));
+
+        restClient.findById(1L);
+        restClient.updateRole(1L, Role.ROLE_ADMIN);
+        restClient.findById(1L);
+
+        verify(userLookupCache).evictUser(1L);
+        verify(restTemplate, times(2)).exchange(greenCityUserServerAddress
+            + RestTemplateLinks.USER_FIND_BY_ID + RestTemplateLinks.ID + 1L, HttpMethod.GET, entity, UserVO.class);
+    }
+
     @Test
     void searchBy() {
         String accessToken = "accessToken";
@@ -103,7 +209,7 @@ class RestClientTest {
         List<UserManagementDto> ecoNewsDtos = Collections.singletonList(new UserManagementDto());
         PageableAdvancedDto<UserManagementDto> pageableAdvancedDto =
             new PageableAdvancedDto<>(ecoNewsDtos, 2, 0, 3, 0, true, true, true, true);
-        RestClient restClient = new RestClient(restTemplate, httpServletRequest);
+        RestClient restClient = new RestClient(restTemplate, httpServletRequest, userLookupCache);
         restClient.setGreenCityUserServerAddress("https://www.greencity.com.ua");
         when(httpServletRequest.getHeader(AUTHORIZATION)).thenReturn(accessToken);
         when(restTemplate.exchange("https://www.greencity.com.ua"
@@ -232,7 +338,7 @@ class RestClientTest {
         HttpHeaders headers = new HttpHeaders();
         headers.set(AUTHORIZATION, accessToken);
         HttpEntity<String> entity = new HttpEntity<>(headers);
-        RestClient restClient = new RestClient(restTemplate, httpServletRequest);
+        RestClient restClient = new RestClient(restTemplate, httpServletRequest, userLookupCache);
         restClient.setGreenCityUserServerAddress("https://www.greencity.com.ua");
         when(httpServletRequest.getHeader(AUTHORIZATION)).thenReturn(accessToken);
         when(restTemplate.exchange("https://www.greencity.com.ua"
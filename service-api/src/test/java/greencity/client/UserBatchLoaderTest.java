@@ -0,0 +1,111 @@
+package greencity.client;
+
+import greencity.ModelUtils;
+import greencity.dto.user.UserVO;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserBatchLoaderTest {
+    @Mock
+    private RestClient restClient;
+
+    @Test
+    void loadCoalescesConcurrentLookups() {
+        UserBatchLoader userBatchLoader = new UserBatchLoader(restClient, 200, 100, 5000);
+        when(restClient.findAllByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(UserBatchLoaderTest::user).collect(Collectors.toList());
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        List<CompletableFuture<UserVO>> futures = LongStream.rangeClosed(1, 20)
+            .mapToObj(id -> CompletableFuture.supplyAsync(() -> userBatchLoader.load(id), executor))
+            .collect(Collectors.toList());
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i + 1L, futures.get(i).join().getId());
+        }
+        verify(restClient, times(1)).findAllByIds(anyCollection());
+        executor.shutdown();
+    }
+
+    @Test
+    void loadReturnsNullForMissingUser() {
+        UserBatchLoader userBatchLoader = new UserBatchLoader(restClient, 0, 100, 5000);
+        when(restClient.findAllByIds(anyCollection())).thenReturn(List.of());
+
+        assertNull(userBatchLoader.load(1L));
+    }
+
+    @Test
+    void loadDispatchesFullBatchWithoutWaitingForWindow() {
+        UserBatchLoader userBatchLoader = new UserBatchLoader(restClient, 60000, 5, 5000);
+        when(restClient.findAllByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(UserBatchLoaderTest::user).collect(Collectors.toList());
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<CompletableFuture<UserVO>> futures = LongStream.rangeClosed(1, 10)
+            .mapToObj(id -> CompletableFuture.supplyAsync(() -> userBatchLoader.load(id), executor))
+            .collect(Collectors.toList());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(i + 1L, futures.get(i).join().getId());
+            }
+        });
+        verify(restClient, times(2)).findAllByIds(anyCollection());
+        executor.shutdown();
+    }
+
+    @Test
+    void loadGivesUpAfterTimeout() {
+        UserBatchLoader userBatchLoader = new UserBatchLoader(restClient, 60000, 2, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        when(restClient.findAllByIds(anyCollection())).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CompletableFuture<UserVO> first = CompletableFuture.supplyAsync(() -> userBatchLoader.load(1L), executor);
+        CompletableFuture<UserVO> second = CompletableFuture.supplyAsync(() -> userBatchLoader.load(2L), executor);
+
+        CompletionException exception = assertThrows(CompletionException.class,
+            () -> CompletableFuture.anyOf(first, second).join());
+        assertTrue(exception.getCause() instanceof ResourceAccessException);
+        release.countDown();
+        executor.shutdown();
+    }
+
+    private static UserVO user(Long id) {
+        UserVO userVO = ModelUtils.getUserVO();
+        userVO.setId(id);
+        return userVO;
+    }
+}
@@ -0,0 +1,68 @@
+package greencity.client;
+
+import greencity.dto.user.UserVO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class UserLookupCacheTest {
+    private UserLookupCache userLookupCache;
+
+    @BeforeEach
+    void setUp() {
+        userLookupCache = new UserLookupCache(30, 100, 300, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getByEmailReturnsCopiesOfCachedUser() {
+        UserVO loaded = UserVO.builder().id(1L).name("name").email("user@mail.com").build();
+
+        UserVO first = userLookupCache.getByEmail("user@mail.com", () -> loaded);
+        first.setName("changed");
+        UserVO second = userLookupCache.getByEmail("user@mail.com", () -> null);
+
+        assertNotSame(first, second);
+        assertEquals("name", second.getName());
+    }
+
+    @Test
+    void putAllByIdStoresCopiesOfUsers() {
+        UserVO user = UserVO.builder().id(1L).name("name").build();
+
+        userLookupCache.putAllById(List.of(user));
+        user.setName("changed");
+
+        assertEquals("name", userLookupCache.getAllPresentById(List.of(1L)).get(1L).getName());
+    }
+
+    @Test
+    void evictUserByIdEvictsUserCachedByEmail() {
+        AtomicInteger loads = new AtomicInteger();
+        UserVO user = UserVO.builder().id(1L).email("user@mail.com").build();
+
+        userLookupCache.getByEmail("user@mail.com", () -> {
+            loads.incrementAndGet();
+            return user;
+        });
+        userLookupCache.getIdByEmail("user@mail.com", () -> {
+            loads.incrementAndGet();
+            return 1L;
+        });
+        userLookupCache.evictUser(1L);
+        userLookupCache.getByEmail("user@mail.com", () -> {
+            loads.incrementAndGet();
+            return user;
+        });
+        userLookupCache.getIdByEmail("user@mail.com", () -> {
+            loads.incrementAndGet();
+            return 1L;
+        });
+
+        assertEquals(4, loads.get());
+    }
+}
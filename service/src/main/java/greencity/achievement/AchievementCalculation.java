@@ -1,57 +1,50 @@
 package greencity.achievement;
 
-import greencity.client.RestClient;
 import greencity.dto.achievement.AchievementVO;
-import greencity.dto.achievement.UserVOAchievement;
-import greencity.dto.achievementcategory.AchievementCategoryVO;
-import greencity.dto.useraction.UserActionVO;
 import greencity.entity.User;
 import greencity.entity.UserAchievement;
 import greencity.enums.AchievementCategoryType;
 import greencity.enums.AchievementType;
 import greencity.repository.UserAchievementRepo;
+import greencity.repository.UserActionRepo;
 import greencity.service.AchievementCategoryService;
 import greencity.service.AchievementService;
-import greencity.service.UserActionService;
-import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
-import java.util.Optional;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static greencity.enums.AchievementStatus.ACTIVE;
 import static greencity.enums.AchievementType.INCREMENT;
 
 @Component
 public class AchievementCalculation {
-    private RestClient restClient;
-    private UserActionService userActionService;
+    private UserActionRepo userActionRepo;
     private AchievementService achievementService;
     private AchievementCategoryService achievementCategoryService;
-    private final ModelMapper modelMapper;
     private UserAchievementRepo userAchievementRepo;
+    private final AchievementThresholdIndex achievementThresholdIndex;
 
     /**
      * Constructor for {@link AchievementCalculation}.
      * 
-     * @param restClient                 {@link RestClient}
-     * @param userActionService          {@link UserActionService}
+     * @param userActionRepo             {@link UserActionRepo}
      * @param achievementService         {@link AchievementService}
      * @param achievementCategoryService {@link AchievementCategoryService}
-     * @param modelMapper                {@link ModelMapper}
+     * @param userAchievementRepo        {@link UserAchievementRepo}
+     * @param achievementThresholdIndex  {@link AchievementThresholdIndex}
      */
-    public AchievementCalculation(RestClient restClient,
-        UserActionService userActionService,
+    public AchievementCalculation(UserActionRepo userActionRepo,
         @Lazy AchievementService achievementService,
         AchievementCategoryService achievementCategoryService,
-        ModelMapper modelMapper,
-        UserAchievementRepo userAchievementRepo) {
-        this.restClient = restClient;
-        this.userActionService = userActionService;
+        UserAchievementRepo userAchievementRepo,
+        AchievementThresholdIndex achievementThresholdIndex) {
+        this.userActionRepo = userActionRepo;
         this.achievementService = achievementService;
         this.achievementCategoryService = achievementCategoryService;
-        this.modelMapper = modelMapper;
         this.userAchievementRepo = userAchievementRepo;
+        this.achievementThresholdIndex = achievementThresholdIndex;
     }
 
     /**
@@ -65,73 +58,73 @@ public class AchievementCalculation {
      */
     public void calculateAchievement(Long userId, AchievementType type,
         AchievementCategoryType category, Integer count) {
-        AchievementCategoryVO achievementCategoryVO = achievementCategoryService.findByName(category.getCategory());
-        UserActionVO userActionVO = userActionService.findUserActionByUserIdAndAchievementCategory(
-            userId, achievementCategoryVO.getId());
-        count = checkType(type, userActionVO, count);
-        userActionService.updateUserActions(userActionVO);
-        checkAchievements(achievementCategoryVO.getId(), count, userId);
+        if (type == INCREMENT) {
+            incrementAchievement(userId, category, 1);
+            return;
+        }
+        Long categoryId = achievementCategoryService.findByName(category.getCategory()).getId();
+        Integer previous = type == AchievementType.SETTER
+            ? userActionRepo.setCount(userId, categoryId, count)
+            : userActionRepo.updateCountToMax(userId, categoryId, count);
+        if (previous != null) {
+            checkAchievements(categoryId, previous, type == AchievementType.SETTER ? count : Math.max(previous, count),
+                userId);
+        }
     }
 
     /**
-     * Method for finding achievements.
+     * Method that adds several actions of one category at once, so a batch of
+     * events costs a single atomic update.
      *
-     * @param achievementCategoryId of {@link AchievementCategoryType}
-     * @param count                 number of specific actions
-     * @param userId                of {@link User}
-     * @author Orest Mamchuk
+     * @param userId   of {@link User}
+     * @param category {@link AchievementCategoryType}
+     * @param amount   number of actions to add
      */
-    private void checkAchievements(Long achievementCategoryId, Integer count, Long userId) {
-        UserVOAchievement userForAchievement = restClient.findUserForAchievement(userId);
-        AchievementVO achievementVO = achievementService.findByCategoryIdAndCondition(achievementCategoryId, count);
-        if (achievementVO != null) {
-            changeAchievementStatus(modelMapper.map(userForAchievement, User.class), achievementVO);
+    public void incrementAchievement(Long userId, AchievementCategoryType category, int amount) {
+        Long categoryId = achievementCategoryService.findByName(category.getCategory()).getId();
+        Integer previous = userActionRepo.incrementCount(userId, categoryId, amount);
+        if (previous != null) {
+            checkAchievements(categoryId, previous, previous + amount, userId);
         }
     }
 
     /**
-     * Method that changing achievement status.
+     * Method for finding achievements reached by the change of count. Only
+     * achievements of the user among the reached ones are loaded, with one local
+     * query, so no remote lookup of the user is made per event.
      *
-     * @param user          {@link User}
-     * @param achievementVO {@link AchievementVO}
+     * @param achievementCategoryId of {@link AchievementCategoryType}
+     * @param previous              number of specific actions before the change
+     * @param current               number of specific actions after the change
+     * @param userId                of {@link User}
      * @author Orest Mamchuk
      */
-    private void changeAchievementStatus(User user, AchievementVO achievementVO) {
-        Optional<UserAchievement> userAchievement = user.getUserAchievements().stream()
-            .filter(userAchievement1 -> userAchievement1.getAchievement().getId().equals(achievementVO.getId()))
-            .findFirst();
-        if (userAchievement.isPresent()) {
-            UserAchievement achievement = userAchievement.get();
-            achievement.setAchievementStatus(ACTIVE);
-            userAchievementRepo.save(achievement);
-            calculateAchievement(user.getId(), INCREMENT, AchievementCategoryType.ACHIEVEMENTS, 0);
+    private void checkAchievements(Long achievementCategoryId, int previous, int current, Long userId) {
+        if (!achievementThresholdIndex.crossesThreshold(achievementCategoryId, previous, current)) {
+            return;
+        }
+        List<AchievementVO> reached =
+            achievementService.findAllByCategoryIdAndConditionInRange(achievementCategoryId, previous, current);
+        if (reached.isEmpty()) {
+            return;
         }
+        List<Long> achievementIds = reached.stream()
+            .map(AchievementVO::getId)
+            .collect(Collectors.toList());
+        userAchievementRepo.findAllByUserIdAndAchievementIdIn(userId, achievementIds)
+            .forEach(userAchievement -> changeAchievementStatus(userId, userAchievement));
     }
 
     /**
-     * Method check achievement type.
+     * Method that changing achievement status.
      *
-     * @param type  of action
-     * @param count number of specific actions
-     * @return count action
+     * @param userId          of {@link User}
+     * @param userAchievement {@link UserAchievement}
+     * @author Orest Mamchuk
      */
-    private int checkType(AchievementType type, UserActionVO userActionVO, Integer count) {
-        switch (type) {
-            case INCREMENT:
-                count = userActionVO.getCount() + 1;
-                userActionVO.setCount(count);
-                break;
-            case SETTER:
-                userActionVO.setCount(count);
-                break;
-            case COMPARISON:
-                if (userActionVO.getCount() < count) {
-                    userActionVO.setCount(count);
-                }
-                break;
-            default:
-                throw new IllegalStateException("Unexpected value: " + type);
-        }
-        return count;
+    private void changeAchievementStatus(Long userId, UserAchievement userAchievement) {
+        userAchievement.setAchievementStatus(ACTIVE);
+        userAchievementRepo.save(userAchievement);
+        calculateAchievement(userId, INCREMENT, AchievementCategoryType.ACHIEVEMENTS, 0);
     }
 }
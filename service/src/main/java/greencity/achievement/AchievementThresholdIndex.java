@@ -0,0 +1,94 @@
+package greencity.achievement;
+
+import greencity.repository.AchievementRepo;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Immutable in-memory index of achievement conditions, a sorted array per
+ * achievement category. Lets counted actions skip the database when no
+ * achievement is reached. The index is rebuilt whenever achievements change
+ * and periodically, to pick up changes made by other instances.
+ */
+@Component
+@RequiredArgsConstructor
+public class AchievementThresholdIndex {
+    private static final int[] NO_THRESHOLDS = new int[0];
+    private final AchievementRepo achievementRepo;
+    private volatile Map<Long, int[]> thresholds;
+
+    /**
+     * Checks whether some achievement of category has condition in range
+     * {@code (previous, current]}.
+     *
+     * @param categoryId id of achievement category.
+     * @param previous   count of actions before the change.
+     * @param current    count of actions after the change.
+     * @return {@code true} if at least one threshold is crossed.
+     */
+    public boolean crossesThreshold(Long categoryId, int previous, int current) {
+        if (current <= previous) {
+            return false;
+        }
+        int[] conditions = getThresholds().getOrDefault(categoryId, NO_THRESHOLDS);
+        int position = Arrays.binarySearch(conditions, previous + 1);
+        int next = position >= 0 ? position : -position - 1;
+        return next < conditions.length && conditions[next] <= current;
+    }
+
+    /**
+     * Rebuilds the index from the database.
+     */
+    @Scheduled(fixedDelayString = "${greencity.achievement.thresholds.refresh-ms:300000}")
+    public void reload() {
+        List<Object[]> rows = achievementRepo.findAllCategoryIdsAndConditions();
+        Map<Long, List<Integer>> grouped = rows.stream()
+            .filter(row -> row[0] != null && row[1] != null)
+            .collect(Collectors.groupingBy(row -> ((Number) row[0]).longValue(),
+                Collectors.mapping(row -> ((Number) row[1]).intValue(), Collectors.toList())));
+        Map<Long, int[]> index = new HashMap<>();
+        grouped.forEach((categoryId, conditions) -> index.put(categoryId,
+            conditions.stream().mapToInt(Integer::intValue).sorted().distinct().toArray()));
+        thresholds = Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Rebuilds the index once the current transaction commits, so it does not
+     * read achievements before the change is visible or keep a change which is
+     * rolled back. Without a transaction the index is rebuilt at once.
+     */
+    public void reloadAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    private Map<Long, int[]> getThresholds() {
+        Map<Long, int[]> current = thresholds;
+        if (current == null) {
+            synchronized (this) {
+                if (thresholds == null) {
+                    reload();
+                }
+                current = thresholds;
+            }
+        }
+        return current;
+    }
+}
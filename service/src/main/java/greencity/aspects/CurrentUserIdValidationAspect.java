@@ -3,6 +3,7 @@ package greencity.aspects;
 import greencity.annotations.CurrentUserId;
 import greencity.client.RestClient;
 import greencity.constant.ErrorMessage;
+import greencity.dto.user.UserVO;
 import greencity.exception.exceptions.NotCurrentUserException;
 import java.lang.annotation.Annotation;
 import java.util.Optional;
@@ -50,7 +51,9 @@ public class CurrentUserIdValidationAspect {
     public void validateCurrentUserIdParameter(JoinPoint joinPoint) throws NoSuchMethodException {
         getAnnotatedArgument(joinPoint).ifPresent(userId -> {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            Long currentUserId = restClient.findByEmail(authentication.getName()).getId();
+            Long currentUserId = authentication.getDetails() instanceof UserVO
+                ? ((UserVO) authentication.getDetails()).getId()
+                : restClient.findByEmail(authentication.getName()).getId();
             if (!currentUserId.equals(userId)) {
                 throw new NotCurrentUserException(ErrorMessage.NOT_A_CURRENT_USER);
             }
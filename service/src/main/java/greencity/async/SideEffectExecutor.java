@@ -0,0 +1,137 @@
+package greencity.async;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded executor for fire-and-forget side effects of user actions, such as
+ * achievement and rating calculation. Tasks see the MDC and security context of
+ * the submitting thread, failures are logged and counted. When the queue is
+ * full the task runs in the submitting thread, so work is slowed down instead
+ * of being lost.
+ */
+@Slf4j
+@Component
+public class SideEffectExecutor {
+    private static final String NAME = "side-effect";
+    private final ThreadPoolExecutor executor;
+    private final Timer latency;
+    private final Timer queueWait;
+    private final Counter failures;
+    private final Counter rejections;
+
+    /**
+     * Constructor with pool settings.
+     *
+     * @param poolSize      amount of worker threads.
+     * @param queueCapacity maximum amount of waiting tasks.
+     * @param meterRegistry registry for executor metrics.
+     */
+    public SideEffectExecutor(@Value("${greencity.side-effect.pool-size:4}") int poolSize,
+        @Value("${greencity.side-effect.queue-capacity:1000}") int queueCapacity,
+        MeterRegistry meterRegistry) {
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new NamedThreadFactory(), new CallerRunsWithLog());
+        this.executor.allowCoreThreadTimeOut(true);
+        new ExecutorServiceMetrics(executor, NAME, Tags.empty()).bindTo(meterRegistry);
+        this.latency = meterRegistry.timer("side.effect.latency");
+        this.queueWait = meterRegistry.timer("side.effect.queue.wait");
+        this.failures = meterRegistry.counter("side.effect.failures");
+        this.rejections = meterRegistry.counter("side.effect.rejections");
+    }
+
+    /**
+     * Runs given task asynchronously in the side effect pool.
+     *
+     * @param task side effect to run.
+     * @return {@link CompletableFuture} completed when the task finishes.
+     */
+    public CompletableFuture<Void> runAsync(Runnable task) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+        long submittedAt = System.nanoTime();
+        return CompletableFuture.runAsync(() -> {
+            queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            runWithContext(task, mdc, securityContext);
+        }, executor);
+    }
+
+    private void runWithContext(Runnable task, Map<String, String> mdc, SecurityContext securityContext) {
+        Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+        SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+        setMdc(mdc);
+        SecurityContextHolder.setContext(securityContext);
+        try {
+            latency.record(task);
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.error("Side effect task failed", e);
+            throw e;
+        } finally {
+            setMdc(previousMdc);
+            SecurityContextHolder.setContext(previousSecurityContext);
+        }
+    }
+
+    private static void setMdc(Map<String, String> mdc) {
+        if (mdc == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(mdc);
+        }
+    }
+
+    /**
+     * Waits for queued side effects to finish on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("{} side effect tasks were not finished", executor.shutdownNow().size());
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, NAME + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    private class CallerRunsWithLog implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor pool) {
+            rejections.increment();
+            if (pool.isShutdown()) {
+                log.warn("Side effect task rejected, executor is shut down");
+                return;
+            }
+            log.warn("Side effect queue is full ({} tasks), running task in caller thread", pool.getQueue().size());
+            runnable.run();
+        }
+    }
+}
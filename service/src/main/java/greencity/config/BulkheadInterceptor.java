@@ -0,0 +1,74 @@
+package greencity.config;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Limits the amount of concurrent calls made by RestTemplate to a single
+ * remote service, so a slow service can not hold every servlet thread.
+ */
+public class BulkheadInterceptor implements ClientHttpRequestInterceptor {
+    private final String addressPrefix;
+    @Getter
+    private final int maxConcurrentCalls;
+    private final long maxWaitMillis;
+    private final Semaphore permits;
+
+    /**
+     * Constructor.
+     *
+     * @param addressPrefix      base address of guarded service.
+     * @param maxConcurrentCalls maximum amount of calls in flight.
+     * @param maxWaitMillis      time to wait for a free permit.
+     */
+    public BulkheadInterceptor(String addressPrefix, int maxConcurrentCalls, long maxWaitMillis) {
+        this.addressPrefix = addressPrefix;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitMillis = maxWaitMillis;
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+        throws IOException {
+        if (!request.getURI().toString().startsWith(addressPrefix)) {
+            return execution.execute(request, body);
+        }
+        acquire(request);
+        try {
+            return execution.execute(request, body);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire(HttpRequest request) {
+        try {
+            if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new ResourceAccessException("Bulkhead is full for " + request.getURI().getHost());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted while waiting for " + request.getURI().getHost());
+        }
+    }
+
+    /**
+     * Returns amount of calls that are currently in flight.
+     *
+     * @return amount of used permits.
+     */
+    public int getActiveCalls() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+}
@@ -10,14 +10,20 @@ import org.springframework.context.annotation.Configuration;
 public class GoogleApiConfiguration {
     @Value("${greencity.authorization.googleApiKey}")
     private String googleApiKey;
+    @Value("${greencity.geocoding.query-rate-limit:50}")
+    private int queryRateLimit;
 
     /**
-     * Method create ApiContext.
+     * Method create ApiContext. Requests made with the context are limited to
+     * {@code query-rate-limit} per second.
      *
      * @return {@link GeoApiContext}
      */
     @Bean
     GeoApiContext context() {
-        return new GeoApiContext.Builder().apiKey(googleApiKey).build();
+        return new GeoApiContext.Builder()
+            .apiKey(googleApiKey)
+            .queryRateLimit(queryRateLimit)
+            .build();
     }
 }
@@ -1,17 +1,177 @@
 package greencity.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
+    @Value("${greencityuser.server.address}")
+    private String greenCityUserServerAddress;
+    @Value("${greencity.http-client.max-total:200}")
+    private int maxTotal;
+    @Value("${greencity.http-client.max-per-route:20}")
+    private int maxPerRoute;
+    @Value("${greencity.http-client.connect-timeout-ms:2000}")
+    private int connectTimeout;
+    @Value("${greencity.http-client.read-timeout-ms:10000}")
+    private int readTimeout;
+    @Value("${greencity.http-client.connection-request-timeout-ms:1000}")
+    private int connectionRequestTimeout;
+    @Value("${greencity.http-client.keep-alive-ms:30000}")
+    private long keepAlive;
+    @Value("${greencity.http-client.idle-eviction-ms:30000}")
+    private long idleEviction;
+    @Value("${greencityuser.client.max-connections:100}")
+    private int userServiceMaxConnections;
+    @Value("${greencityuser.client.connect-timeout-ms:1000}")
+    private int userServiceConnectTimeout;
+    @Value("${greencityuser.client.read-timeout-ms:3000}")
+    private int userServiceReadTimeout;
+    @Value("${greencityuser.client.max-concurrent-calls:50}")
+    private int userServiceMaxConcurrentCalls;
+    @Value("${greencityuser.client.bulkhead-wait-ms:500}")
+    private long userServiceBulkheadWait;
+
+    /**
+     * Creates pooled connection manager shared by all outgoing REST calls.
+     *
+     * @return {@link PoolingHttpClientConnectionManager}
+     */
+    @Bean
+    public PoolingHttpClientConnectionManager httpClientConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setMaxPerRoute(userServiceRoute(greenCityUserServerAddress), userServiceMaxConnections);
+        return connectionManager;
+    }
+
+    /**
+     * Creates http client with keep-alive reuse and idle connections eviction.
+     *
+     * @param connectionManager {@link PoolingHttpClientConnectionManager}
+     * @return {@link CloseableHttpClient}
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager connectionManager) {
+        return HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setKeepAliveStrategy((response, context) -> {
+                long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                    .getKeepAliveDuration(response, context);
+                return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+            })
+            .evictExpiredConnections()
+            .evictIdleConnections(idleEviction, TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    /**
+     * Creates bulkhead for calls to GreenCityUser.
+     *
+     * @return {@link BulkheadInterceptor}
+     */
+    @Bean
+    public BulkheadInterceptor userServiceBulkhead() {
+        return new BulkheadInterceptor(greenCityUserServerAddress.trim(), userServiceMaxConcurrentCalls,
+            userServiceBulkheadWait);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate(new HttpComponentsClientHttpRequestFactory());
+    public RestTemplate restTemplate(CloseableHttpClient httpClient, BulkheadInterceptor userServiceBulkhead) {
+        RestTemplate restTemplate = new RestTemplate(new RouteAwareRequestFactory(httpClient));
+        restTemplate.getInterceptors().add(userServiceBulkhead);
+        return restTemplate;
+    }
+
+    /**
+     * Publishes connection pool and bulkhead usage.
+     *
+     * @return {@link HttpClientMetrics}
+     */
+    @Bean
+    public HttpClientMetrics httpClientMetrics(PoolingHttpClientConnectionManager connectionManager,
+        BulkheadInterceptor userServiceBulkhead, MeterRegistry meterRegistry) {
+        return new HttpClientMetrics(connectionManager, userServiceBulkhead, meterRegistry);
+    }
+
+    /**
+     * Builds the route HttpClient plans for the address, so the per-route limit
+     * applies to it. The default port of the scheme is used when the address has
+     * none.
+     */
+    static HttpRoute userServiceRoute(String address) {
+        URI uri = URI.create(address.trim());
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() > 0 ? uri.getPort() : secure ? 443 : 80;
+        return new HttpRoute(new HttpHost(uri.getHost(), port, uri.getScheme()), null, secure);
+    }
+
+    /**
+     * Request factory that applies GreenCityUser specific timeouts.
+     */
+    private class RouteAwareRequestFactory extends HttpComponentsClientHttpRequestFactory {
+        private final RequestConfig defaultConfig = RequestConfig.custom()
+            .setConnectTimeout(connectTimeout)
+            .setSocketTimeout(readTimeout)
+            .setConnectionRequestTimeout(connectionRequestTimeout)
+            .build();
+        private final RequestConfig userServiceConfig = RequestConfig.copy(defaultConfig)
+            .setConnectTimeout(userServiceConnectTimeout)
+            .setSocketTimeout(userServiceReadTimeout)
+            .build();
+
+        RouteAwareRequestFactory(CloseableHttpClient httpClient) {
+            super(httpClient);
+        }
+
+        @Override
+        protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(uri.toString().startsWith(greenCityUserServerAddress.trim())
+                ? userServiceConfig
+                : defaultConfig);
+            return context;
+        }
+    }
+
+    /**
+     * Gauges for leased, pending and available pooled connections.
+     */
+    public static class HttpClientMetrics {
+        HttpClientMetrics(PoolingHttpClientConnectionManager connectionManager,
+            BulkheadInterceptor bulkhead, MeterRegistry meterRegistry) {
+            Gauge.builder("http.client.pool.leased", connectionManager, m -> m.getTotalStats().getLeased())
+                .register(meterRegistry);
+            Gauge.builder("http.client.pool.pending", connectionManager, m -> m.getTotalStats().getPending())
+                .register(meterRegistry);
+            Gauge.builder("http.client.pool.available", connectionManager, m -> m.getTotalStats().getAvailable())
+                .register(meterRegistry);
+            Gauge.builder("http.client.pool.max", connectionManager, m -> m.getTotalStats().getMax())
+                .register(meterRegistry);
+            Gauge.builder("http.client.bulkhead.active", bulkhead, BulkheadInterceptor::getActiveCalls)
+                .tag("service", "greencityuser")
+                .register(meterRegistry);
+        }
     }
 }
@@ -0,0 +1,237 @@
+package greencity.econews;
+
+import greencity.dto.econews.EcoNewsTagDto;
+import greencity.entity.EcoNews;
+import greencity.entity.Tag;
+import greencity.repository.EcoNewsRepo;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tags of eco news kept in memory to pick recommended eco news without a
+ * database query. Tags of every eco news are a bitmask, and eco news with the
+ * same tags are grouped into one list ordered from the newest. Eco news are
+ * ranked by the amount of tags shared with the opened one and then by
+ * recency, so only the first entries of every group have to be compared. The
+ * index is loaded lazily, updated by the eco news service on every save,
+ * update and delete, and periodically rebuilt from the database. It gives up
+ * when there are more tags than bits in a mask, the database function is used
+ * then.
+ */
+@Slf4j
+@Component
+public class EcoNewsRecommendationIndex {
+    private static final Comparator<Entry> NEWEST_FIRST = Comparator.comparingLong(Entry::getCreated)
+        .reversed()
+        .thenComparingLong(Entry::getId);
+    private final EcoNewsRepo ecoNewsRepo;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile State state;
+
+    /**
+     * Constructor.
+     *
+     * @param ecoNewsRepo {@link EcoNewsRepo}
+     * @param enabled     whether recommended eco news are picked in memory.
+     */
+    public EcoNewsRecommendationIndex(EcoNewsRepo ecoNewsRepo,
+        @Value("${greencity.econews.recommendation-index.enabled:true}") boolean enabled) {
+        this.ecoNewsRepo = ecoNewsRepo;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Picks eco news sharing most tags with the opened one, newer ones first.
+     *
+     * @param openedEcoNewsId id of the opened eco news.
+     * @param limit           maximum amount of recommended eco news.
+     * @return ids of recommended eco news in order, or empty {@link Optional}
+     *         if the index can not be used.
+     */
+    public Optional<List<Long>> recommend(Long openedEcoNewsId, int limit) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        State current = state == null ? load() : state;
+        lock.readLock().lock();
+        try {
+            if (current.overflow) {
+                return Optional.empty();
+            }
+            Entry opened = current.news.get(openedEcoNewsId);
+            long tags = opened == null ? 0 : opened.tags;
+            List<Entry> candidates = new ArrayList<>();
+            current.groups.forEach((groupTags, group) -> {
+                int taken = 0;
+                for (Entry entry : group) {
+                    if (taken == limit) {
+                        break;
+                    }
+                    if (!entry.id.equals(openedEcoNewsId)) {
+                        candidates.add(entry);
+                        taken++;
+                    }
+                }
+            });
+            return Optional.of(candidates.stream()
+                .sorted(Comparator.comparingInt((Entry entry) -> Long.bitCount(entry.tags & tags))
+                    .reversed()
+                    .thenComparing(NEWEST_FIRST))
+                .limit(limit)
+                .map(Entry::getId)
+                .collect(Collectors.toList()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds saved eco news to the index or replaces its previous tags.
+     *
+     * @param ecoNews saved {@link EcoNews}.
+     */
+    public void put(EcoNews ecoNews) {
+        if (ecoNews.getId() == null) {
+            return;
+        }
+        List<Long> tagIds = ecoNews.getTags() == null ? List.of()
+            : ecoNews.getTags().stream().map(Tag::getId).collect(Collectors.toList());
+        ZonedDateTime creationDate = ecoNews.getCreationDate() == null
+            ? ZonedDateTime.now() : ecoNews.getCreationDate();
+        State current = state;
+        if (current == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            current.remove(ecoNews.getId());
+            if (!tagIds.isEmpty()) {
+                current.add(ecoNews.getId(), creationDate.toInstant().toEpochMilli(), tagIds);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes deleted eco news from the index.
+     *
+     * @param ecoNewsIds ids of deleted eco news.
+     */
+    public void remove(Collection<Long> ecoNewsIds) {
+        State current = state;
+        if (current == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ecoNewsIds.forEach(current::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the database once it has been requested.
+     */
+    @Scheduled(fixedDelayString = "${greencity.econews.recommendation-index.refresh-ms:600000}",
+        initialDelayString = "${greencity.econews.recommendation-index.refresh-ms:600000}")
+    public void reload() {
+        if (enabled && state != null) {
+            load();
+        }
+    }
+
+    private synchronized State load() {
+        Map<Long, List<EcoNewsTagDto>> byNews = ecoNewsRepo.findAllEcoNewsTags().stream()
+            .collect(Collectors.groupingBy(EcoNewsTagDto::getEcoNewsId));
+        State loaded = new State();
+        byNews.forEach((id, tags) -> loaded.add(id, tags.get(0).getCreationDate().toInstant().toEpochMilli(),
+            tags.stream().map(EcoNewsTagDto::getTagId).collect(Collectors.toList())));
+        lock.writeLock().lock();
+        try {
+            state = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Recommendation index of eco news is loaded with {} eco news", loaded.news.size());
+        return loaded;
+    }
+
+    /**
+     * Contents of the index, guarded by the lock.
+     */
+    private static class State {
+        private final Map<Long, Integer> tagBits = new HashMap<>();
+        private final Map<Long, Entry> news = new HashMap<>();
+        private final Map<Long, NavigableSet<Entry>> groups = new HashMap<>();
+        private boolean overflow;
+
+        private void add(Long id, long created, List<Long> tagIds) {
+            long tags = 0;
+            for (Long tagId : tagIds) {
+                Integer bit = tagBits.get(tagId);
+                if (bit == null) {
+                    if (tagBits.size() == Long.SIZE) {
+                        overflow = true;
+                        return;
+                    }
+                    bit = tagBits.size();
+                    tagBits.put(tagId, bit);
+                }
+                tags |= 1L << bit;
+            }
+            Entry entry = new Entry(id, created, tags);
+            news.put(id, entry);
+            groups.computeIfAbsent(tags, key -> new TreeSet<>(NEWEST_FIRST)).add(entry);
+        }
+
+        private void remove(Long id) {
+            Entry entry = news.remove(id);
+            if (entry == null) {
+                return;
+            }
+            NavigableSet<Entry> group = groups.get(entry.tags);
+            group.remove(entry);
+            if (group.isEmpty()) {
+                groups.remove(entry.tags);
+            }
+        }
+    }
+
+    private static class Entry {
+        private final Long id;
+        private final long created;
+        private final long tags;
+
+        private Entry(Long id, long created, long tags) {
+            this.id = id;
+            this.created = created;
+            this.tags = tags;
+        }
+
+        private Long getId() {
+            return id;
+        }
+
+        private long getCreated() {
+            return created;
+        }
+    }
+}
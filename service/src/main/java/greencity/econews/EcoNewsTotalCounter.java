@@ -0,0 +1,52 @@
+package greencity.econews;
+
+import greencity.repository.EcoNewsRepo;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory total count of eco news. It is loaded once, adjusted by the eco
+ * news service on every save and delete, and periodically reloaded to pick up
+ * changes made by other instances.
+ */
+@Component
+@RequiredArgsConstructor
+public class EcoNewsTotalCounter {
+    private static final int NOT_LOADED = -1;
+    private final EcoNewsRepo ecoNewsRepo;
+    private final AtomicInteger count = new AtomicInteger(NOT_LOADED);
+
+    /**
+     * Returns total count of eco news, loading it from the database on first
+     * call.
+     *
+     * @return count of eco news.
+     */
+    public int get() {
+        int current = count.get();
+        if (current == NOT_LOADED) {
+            count.compareAndSet(NOT_LOADED, ecoNewsRepo.totalCountOfCreationNews());
+            current = count.get();
+        }
+        return current;
+    }
+
+    /**
+     * Adjusts the count if it is already loaded.
+     *
+     * @param delta amount of added (positive) or deleted (negative) eco news.
+     */
+    public void add(int delta) {
+        count.getAndUpdate(current -> current == NOT_LOADED ? NOT_LOADED : Math.max(0, current + delta));
+    }
+
+    /**
+     * Reloads the count from the database.
+     */
+    @Scheduled(fixedDelayString = "${greencity.econews.total-count.refresh-ms:60000}")
+    public void reload() {
+        count.set(ecoNewsRepo.totalCountOfCreationNews());
+    }
+}
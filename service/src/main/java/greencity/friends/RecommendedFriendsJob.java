@@ -0,0 +1,201 @@
+package greencity.friends;
+
+import greencity.constant.AppConstant;
+import greencity.repository.RecommendedFriendsRefreshRepo;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Materializes ranked recommended friends of every user, so the database
+ * function {@code fn_recommended_friends} is a single indexed lookup. Each run
+ * refreshes only users whose habits, comments or friendships changed since the
+ * previous run, in chunks processed in parallel on the own threads of the job,
+ * every chunk in its own transaction. A run in which some chunk fails is not
+ * taken as the previous run, so the next run refreshes those users again.
+ * Changes made by other users and deleted rows are picked up by the nightly
+ * full rebuild. Users which have never been refreshed are served by the live
+ * function. A run holds a PostgreSQL advisory lock in a transaction of its own
+ * while it lasts, so of several deployed instances only one runs at a time and
+ * the others skip the run.
+ */
+@Slf4j
+@Component
+public class RecommendedFriendsJob {
+    private static final String NAME = "recommended-friends";
+    private static final long LOCK_KEY = NAME.hashCode();
+    private final RecommendedFriendsRefreshRepo recommendedFriendsRefreshRepo;
+    private final ThreadPoolExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int limit;
+    private ZonedDateTime lastRun;
+    private boolean resumed;
+
+    /**
+     * Constructor with job settings.
+     *
+     * @param recommendedFriendsRefreshRepo {@link RecommendedFriendsRefreshRepo}
+     * @param transactionManager            {@link PlatformTransactionManager}
+     * @param enabled                       whether recommended friends are
+     *                                      materialized.
+     * @param chunkSize                     amount of users refreshed in one
+     *                                      transaction.
+     * @param parallelism                   amount of chunks refreshed at once.
+     * @param limit                         maximum amount of recommended
+     *                                      friends per user.
+     */
+    public RecommendedFriendsJob(RecommendedFriendsRefreshRepo recommendedFriendsRefreshRepo,
+        PlatformTransactionManager transactionManager,
+        @Value("${greencity.friends.recommendations.enabled:true}") boolean enabled,
+        @Value("${greencity.friends.recommendations.chunk-size:200}") int chunkSize,
+        @Value("${greencity.friends.recommendations.parallelism:2}") int parallelism,
+        @Value("${greencity.friends.recommendations.limit:50}") int limit) {
+        this.recommendedFriendsRefreshRepo = recommendedFriendsRefreshRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.limit = limit;
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(parallelism), new NamedThreadFactory());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Refreshes recommended friends of users changed since the previous run.
+     * The first run after start continues from the latest stored refresh, or
+     * rebuilds everything if there is none.
+     */
+    @Scheduled(fixedDelayString = "${greencity.friends.recommendations.refresh-ms:600000}",
+        initialDelayString = "${greencity.friends.recommendations.refresh-ms:600000}")
+    public synchronized void refreshChanged() {
+        if (!enabled) {
+            return;
+        }
+        runExclusively(() -> {
+            ZonedDateTime startedAt = ZonedDateTime.now();
+            ZonedDateTime since = resumed ? lastRun : recommendedFriendsRefreshRepo.findLastRefreshedAt();
+            resumed = true;
+            lastRun = since;
+            List<Long> userIds = since == null ? recommendedFriendsRefreshRepo.findAllUserIds()
+                : recommendedFriendsRefreshRepo.findUserIdsChangedSince(since);
+            if (refresh(userIds, startedAt)) {
+                lastRun = startedAt;
+            }
+        });
+    }
+
+    /**
+     * Rebuilds recommended friends of all users every night.
+     */
+    @Scheduled(cron = "${greencity.friends.recommendations.rebuild-cron:0 30 3 * * ?}",
+        zone = AppConstant.UKRAINE_TIMEZONE)
+    public synchronized void refreshAll() {
+        if (!enabled) {
+            return;
+        }
+        runExclusively(() -> {
+            ZonedDateTime startedAt = ZonedDateTime.now();
+            if (refresh(recommendedFriendsRefreshRepo.findAllUserIds(), startedAt)) {
+                lastRun = startedAt;
+                resumed = true;
+            }
+        });
+    }
+
+    /**
+     * Stops worker threads on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Runs the refresh while the transaction holding the advisory lock is open.
+     * Chunks are refreshed on the worker threads in their own transactions.
+     */
+    private void runExclusively(Runnable run) {
+        Boolean locked = transactionTemplate.execute(status -> {
+            if (!recommendedFriendsRefreshRepo.tryLock(LOCK_KEY)) {
+                return false;
+            }
+            run.run();
+            return true;
+        });
+        if (!Boolean.TRUE.equals(locked)) {
+            log.debug("Recommended friends are being refreshed by another instance");
+        }
+    }
+
+    /**
+     * Refreshes the users in waves of {@code parallelism} chunks.
+     *
+     * @return {@code true} if every chunk is refreshed.
+     */
+    private boolean refresh(List<Long> userIds, ZonedDateTime startedAt) {
+        int failed = 0;
+        for (int from = 0; from < userIds.size(); from += chunkSize * parallelism) {
+            int wave = Math.min(userIds.size(), from + chunkSize * parallelism);
+            List<CompletableFuture<Boolean>> chunks = new ArrayList<>();
+            for (int chunkFrom = from; chunkFrom < wave; chunkFrom += chunkSize) {
+                List<Long> ids = userIds.subList(chunkFrom, Math.min(wave, chunkFrom + chunkSize));
+                chunks.add(CompletableFuture.supplyAsync(() -> refreshChunk(ids, startedAt), executor));
+            }
+            for (CompletableFuture<Boolean> chunk : chunks) {
+                if (!chunk.join()) {
+                    failed++;
+                }
+            }
+        }
+        if (failed > 0) {
+            log.warn("Recommended friends of {} users are refreshed with {} failed chunks", userIds.size(), failed);
+            return false;
+        }
+        log.debug("Recommended friends of {} users are refreshed", userIds.size());
+        return true;
+    }
+
+    private boolean refreshChunk(List<Long> userIds, ZonedDateTime startedAt) {
+        try {
+            transactionTemplate.execute(status -> {
+                recommendedFriendsRefreshRepo.deleteRecommendedFriends(userIds);
+                recommendedFriendsRefreshRepo.insertRecommendedFriends(userIds, limit);
+                recommendedFriendsRefreshRepo.markRefreshed(userIds, startedAt);
+                return null;
+            });
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Recommended friends of {} users from id {} could not be refreshed",
+                userIds.size(), userIds.get(0), e);
+            return false;
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, NAME + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package greencity.geo;
+
+import greencity.dto.location.MapBoundsDto;
+
+import static greencity.constant.AppConstant.CONSTANT_OF_FORMULA_HAVERSINE_KM;
+
+/**
+ * Great-circle distance helpers shared by the database and in-memory geo
+ * queries.
+ */
+public final class GeoDistance {
+    private static final double MAX_LAT = 90;
+    private static final double MAX_LNG = 180;
+
+    private GeoDistance() {
+    }
+
+    /**
+     * Returns haversine distance between two points in kilometers.
+     */
+    public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double sinLat = Math.sin(Math.toRadians(lat2 - lat1) / 2);
+        double sinLng = Math.sin(Math.toRadians(lng2 - lng1) / 2);
+        double a = sinLat * sinLat
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLng * sinLng;
+        return 2 * CONSTANT_OF_FORMULA_HAVERSINE_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Returns the smallest lat/lng box containing every point within
+     * {@code radiusKm} of the given one. The box spans all longitudes when the
+     * circle touches a pole or crosses the antimeridian.
+     */
+    public static MapBoundsDto boundingBox(double lat, double lng, double radiusKm) {
+        double deltaLat = Math.toDegrees(radiusKm / CONSTANT_OF_FORMULA_HAVERSINE_KM);
+        double minLat = lat - deltaLat;
+        double maxLat = lat + deltaLat;
+        if (minLat <= -MAX_LAT || maxLat >= MAX_LAT) {
+            return new MapBoundsDto(Math.min(maxLat, MAX_LAT), MAX_LNG, Math.max(minLat, -MAX_LAT), -MAX_LNG);
+        }
+        double deltaLng = Math.toDegrees(Math.asin(
+            Math.min(1, Math.sin(radiusKm / CONSTANT_OF_FORMULA_HAVERSINE_KM) / Math.cos(Math.toRadians(lat)))));
+        double minLng = lng - deltaLng;
+        double maxLng = lng + deltaLng;
+        if (minLng < -MAX_LNG || maxLng > MAX_LNG) {
+            return new MapBoundsDto(maxLat, MAX_LNG, minLat, -MAX_LNG);
+        }
+        return new MapBoundsDto(maxLat, maxLng, minLat, minLng);
+    }
+}
@@ -0,0 +1,220 @@
+package greencity.geo;
+
+import greencity.constant.ErrorMessage;
+import greencity.dto.location.PlaceCoordinatesDto;
+import greencity.dto.place.PlaceClusterDto;
+import greencity.dto.place.PlaceClusterTileDto;
+import greencity.enums.PlaceStatus;
+import greencity.exception.exceptions.BadRequestException;
+import greencity.repository.PlaceGeoRepo;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongConsumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Quadtree of aggregates over approved places in Web Mercator tile space. A
+ * node at level {@code z} covers tile {@code (z, x, y)} and keeps the amount of
+ * places, their centroid and category histogram. Adding or removing a place
+ * updates one node per level, so the tree never has to be rebuilt on change. A
+ * map tile is answered with the non-empty nodes {@link #CLUSTER_LEVELS} levels
+ * below it, i.e. at most 64 clusters per tile, together with a hash of the
+ * clusters, so the tile has the same hash on every instance as long as its
+ * clusters are the same.
+ */
+@Slf4j
+@Component
+public class PlaceClusterIndex {
+    static final int CLUSTER_LEVELS = 3;
+    private static final double MAX_MERCATOR_LAT = 85.05112878;
+    private static final int LEVEL_SHIFT = 58;
+    private static final int X_SHIFT = 29;
+
+    private final PlaceGeoRepo placeGeoRepo;
+    private final int maxZoom;
+    private final int maxLevel;
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private final Map<Long, PlaceCoordinatesDto> places = new HashMap<>();
+    private boolean loaded;
+
+    /**
+     * Constructor.
+     *
+     * @param placeGeoRepo {@link PlaceGeoRepo}
+     * @param maxZoom      the deepest zoom level tiles are served for.
+     */
+    public PlaceClusterIndex(PlaceGeoRepo placeGeoRepo,
+        @Value("${greencity.places.clusters.max-zoom:18}") int maxZoom) {
+        this.placeGeoRepo = placeGeoRepo;
+        this.maxZoom = maxZoom;
+        this.maxLevel = maxZoom + CLUSTER_LEVELS;
+    }
+
+    /**
+     * Method returns clusters of approved places inside of the map tile.
+     *
+     * @param zoom zoom level of the tile.
+     * @param x    column of the tile.
+     * @param y    row of the tile.
+     * @return {@link PlaceClusterTileDto}
+     * @throws BadRequestException if there is no such tile.
+     */
+    public PlaceClusterTileDto getTile(int zoom, int x, int y) {
+        if (zoom < 0 || zoom > maxZoom || x < 0 || y < 0 || x >= 1 << zoom || y >= 1 << zoom) {
+            throw new BadRequestException(ErrorMessage.INVALID_MAP_TILE + zoom + "/" + x + "/" + y);
+        }
+        if (!isLoaded()) {
+            reload(placeGeoRepo.findAllCoordinates(PlaceStatus.APPROVED));
+        }
+        synchronized (this) {
+            Node tile = nodes.get(key(zoom, x, y));
+            List<PlaceClusterDto> clusters = new ArrayList<>();
+            if (tile != null) {
+                int level = zoom + CLUSTER_LEVELS;
+                int side = 1 << CLUSTER_LEVELS;
+                for (int row = 0; row < side; row++) {
+                    for (int column = 0; column < side; column++) {
+                        Node node = nodes.get(key(level, (x << CLUSTER_LEVELS) + column, (y << CLUSTER_LEVELS) + row));
+                        if (node != null) {
+                            clusters.add(node.toDto());
+                        }
+                    }
+                }
+            }
+            return new PlaceClusterTileDto(zoom, x, y, hash(clusters), clusters);
+        }
+    }
+
+    private static String hash(List<PlaceClusterDto> clusters) {
+        StringBuilder content = new StringBuilder();
+        for (PlaceClusterDto cluster : clusters) {
+            content.append(String.format(Locale.ROOT, "%d:%.6f:%.6f:%s;", cluster.getCount(),
+                cluster.getLat(), cluster.getLng(), cluster.getCategories()));
+        }
+        return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Adds approved place or moves it to new coordinates and category.
+     *
+     * @param place {@link PlaceCoordinatesDto} of the place.
+     */
+    public synchronized void put(PlaceCoordinatesDto place) {
+        if (loaded) {
+            removePlace(place.getPlaceId());
+            addPlace(place);
+        }
+    }
+
+    /**
+     * Removes place which is not approved anymore.
+     *
+     * @param placeId id of the place.
+     */
+    public synchronized void remove(Long placeId) {
+        if (loaded) {
+            removePlace(placeId);
+        }
+    }
+
+    /**
+     * Rebuilds the tree from the database once it has been requested.
+     */
+    @Scheduled(fixedDelayString = "${greencity.places.clusters.refresh-ms:300000}",
+        initialDelayString = "${greencity.places.clusters.refresh-ms:300000}")
+    public void reload() {
+        if (isLoaded()) {
+            reload(placeGeoRepo.findAllCoordinates(PlaceStatus.APPROVED));
+        }
+    }
+
+    private synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    private synchronized void reload(List<PlaceCoordinatesDto> approvedPlaces) {
+        nodes.clear();
+        places.clear();
+        approvedPlaces.forEach(this::addPlace);
+        loaded = true;
+        log.debug("Cluster index of places is loaded with {} places", places.size());
+    }
+
+    private void addPlace(PlaceCoordinatesDto place) {
+        places.put(place.getPlaceId(), place);
+        forEachNode(place, nodeKey -> nodes.computeIfAbsent(nodeKey, k -> new Node()).add(place));
+    }
+
+    private void removePlace(Long placeId) {
+        PlaceCoordinatesDto place = places.remove(placeId);
+        if (place == null) {
+            return;
+        }
+        forEachNode(place, nodeKey -> {
+            Node node = nodes.get(nodeKey);
+            if (node != null && node.remove(place) == 0) {
+                nodes.remove(nodeKey);
+            }
+        });
+    }
+
+    private void forEachNode(PlaceCoordinatesDto place, LongConsumer action) {
+        long size = 1L << maxLevel;
+        double lat = Math.max(-MAX_MERCATOR_LAT, Math.min(MAX_MERCATOR_LAT, place.getLat()));
+        double latRad = Math.toRadians(lat);
+        long x = clamp((long) Math.floor((place.getLng() + 180) / 360 * size), size);
+        long y = clamp((long) Math.floor(
+            (1 - Math.log(Math.tan(latRad) + 1 / Math.cos(latRad)) / Math.PI) / 2 * size), size);
+        for (int level = 0; level <= maxLevel; level++) {
+            int shift = maxLevel - level;
+            action.accept(key(level, (int) (x >> shift), (int) (y >> shift)));
+        }
+    }
+
+    private static long clamp(long value, long size) {
+        return Math.max(0, Math.min(size - 1, value));
+    }
+
+    private static long key(int level, int x, int y) {
+        return ((long) level << LEVEL_SHIFT) | ((long) x << X_SHIFT) | y;
+    }
+
+    private static final class Node {
+        private int count;
+        private double latSum;
+        private double lngSum;
+        private final Map<String, Integer> categories = new TreeMap<>();
+
+        void add(PlaceCoordinatesDto place) {
+            count++;
+            latSum += place.getLat();
+            lngSum += place.getLng();
+            if (place.getCategoryName() != null) {
+                categories.merge(place.getCategoryName(), 1, Integer::sum);
+            }
+        }
+
+        int remove(PlaceCoordinatesDto place) {
+            count--;
+            latSum -= place.getLat();
+            lngSum -= place.getLng();
+            if (place.getCategoryName() != null) {
+                categories.computeIfPresent(place.getCategoryName(), (name, amount) -> amount > 1 ? amount - 1 : null);
+            }
+            return count;
+        }
+
+        PlaceClusterDto toDto() {
+            return new PlaceClusterDto(count, latSum / count, lngSum / count, new TreeMap<>(categories));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package greencity.geo;
+
+import greencity.dto.location.MapBoundsDto;
+import greencity.dto.location.PlaceCoordinatesDto;
+import greencity.dto.place.PlaceClusterTileDto;
+import greencity.enums.PlaceStatus;
+import greencity.repository.PlaceGeoRepo;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Entry point for radius, map bounds and map tile queries over places.
+ * Approved places are looked up in {@link PlaceSpatialIndex} when it is
+ * enabled, other queries go to the database. Either way place ids are returned
+ * nearest first in pages of at most {@code max-results} ids, so callers which
+ * filter the places further can read on until they have enough of them. Map
+ * tiles are served by {@link PlaceClusterIndex}.
+ */
+@Component
+public class PlaceGeoEngine {
+    private static final double UNLIMITED_DISTANCE_KM = Double.MAX_VALUE;
+
+    private final PlaceGeoRepo placeGeoRepo;
+    private final PlaceSpatialIndex placeSpatialIndex;
+    private final PlaceClusterIndex placeClusterIndex;
+    private final int maxResults;
+
+    /**
+     * Constructor.
+     *
+     * @param placeGeoRepo      {@link PlaceGeoRepo}
+     * @param placeSpatialIndex {@link PlaceSpatialIndex}
+     * @param placeClusterIndex {@link PlaceClusterIndex}
+     * @param maxResults        maximum amount of places returned by one query.
+     */
+    public PlaceGeoEngine(PlaceGeoRepo placeGeoRepo, PlaceSpatialIndex placeSpatialIndex,
+        PlaceClusterIndex placeClusterIndex, @Value("${greencity.places.geo.max-results:500}") int maxResults) {
+        this.placeGeoRepo = placeGeoRepo;
+        this.placeSpatialIndex = placeSpatialIndex;
+        this.placeClusterIndex = placeClusterIndex;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Method returns maximum amount of place ids in one page and maximum amount
+     * of places returned by one query.
+     *
+     * @return maximum amount of places.
+     */
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * Method finds a page of ids of places within the radius, nearest first.
+     *
+     * @param status   {@link PlaceStatus} of places, {@code null} for places of
+     *                 any status.
+     * @param lat      latitude of the center.
+     * @param lng      longitude of the center.
+     * @param radiusKm radius in kilometers.
+     * @param offset   amount of nearest ids to skip.
+     * @return {@link List} of at most {@code max-results} place ids.
+     */
+    public List<Long> findNearestPlaceIds(PlaceStatus status, double lat, double lng, double radiusKm, int offset) {
+        return findNearest(status, GeoDistance.boundingBox(lat, lng, radiusKm), lat, lng, radiusKm, offset);
+    }
+
+    /**
+     * Method finds a page of ids of places inside of map bounds, nearest to the
+     * center of the bounds first.
+     *
+     * @param status {@link PlaceStatus} of places, {@code null} for places of
+     *               any status.
+     * @param bounds {@link MapBoundsDto} of the map.
+     * @param offset amount of nearest ids to skip.
+     * @return {@link List} of at most {@code max-results} place ids.
+     */
+    public List<Long> findPlaceIdsInBounds(PlaceStatus status, MapBoundsDto bounds, int offset) {
+        double lat = (bounds.getSouthWestLat() + bounds.getNorthEastLat()) / 2;
+        double lng = (bounds.getSouthWestLng() + bounds.getNorthEastLng()) / 2;
+        return findNearest(status, bounds, lat, lng, UNLIMITED_DISTANCE_KM, offset);
+    }
+
+    /**
+     * Method returns clusters of approved places inside of the map tile.
+     *
+     * @param zoom zoom level of the tile.
+     * @param x    column of the tile.
+     * @param y    row of the tile.
+     * @return {@link PlaceClusterTileDto}
+     */
+    public PlaceClusterTileDto getClusterTile(int zoom, int x, int y) {
+        return placeClusterIndex.getTile(zoom, x, y);
+    }
+
+    /**
+     * Keeps {@link PlaceSpatialIndex} and {@link PlaceClusterIndex} in sync with
+     * saved place. Inside a transaction the indexes are changed only after it
+     * commits, so they never serve a place change which is rolled back.
+     *
+     * @param placeId  id of the place.
+     * @param status   current {@link PlaceStatus} of the place.
+     * @param lat      latitude of the place, may be {@code null}.
+     * @param lng      longitude of the place, may be {@code null}.
+     * @param category name of the place category, may be {@code null}.
+     */
+    public void refresh(Long placeId, PlaceStatus status, Double lat, Double lng, String category) {
+        if (placeId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    refreshIndexes(placeId, status, lat, lng, category);
+                }
+            });
+        } else {
+            refreshIndexes(placeId, status, lat, lng, category);
+        }
+    }
+
+    private void refreshIndexes(Long placeId, PlaceStatus status, Double lat, Double lng, String category) {
+        if (status == PlaceStatus.APPROVED && lat != null && lng != null) {
+            if (placeSpatialIndex.isEnabled()) {
+                placeSpatialIndex.put(placeId, lat, lng);
+            }
+            placeClusterIndex.put(new PlaceCoordinatesDto(placeId, lat, lng, category));
+        } else {
+            if (placeSpatialIndex.isEnabled()) {
+                placeSpatialIndex.remove(placeId);
+            }
+            placeClusterIndex.remove(placeId);
+        }
+    }
+
+    private List<Long> findNearest(PlaceStatus status, MapBoundsDto box, double lat, double lng,
+        double distanceKm, int offset) {
+        if (status == PlaceStatus.APPROVED && placeSpatialIndex.isEnabled()) {
+            return placeSpatialIndex.findNearest(box, lat, lng, distanceKm, offset, maxResults);
+        }
+        return placeGeoRepo.findNearestIds(status, box, lat, lng, distanceKm, offset, maxResults);
+    }
+}
@@ -0,0 +1,212 @@
+package greencity.geo;
+
+import greencity.dto.location.MapBoundsDto;
+import greencity.dto.location.PlaceCoordinatesDto;
+import greencity.enums.PlaceStatus;
+import greencity.repository.PlaceGeoRepo;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory grid over coordinates of approved places. Each cell covers
+ * {@code cell-degrees} of latitude and longitude, so a radius or map bounds
+ * query only visits the cells overlapping its box. The grid is loaded lazily,
+ * kept up to date by {@link #put} and {@link #remove} and periodically rebuilt
+ * from the database to pick up changes made elsewhere.
+ */
+@Slf4j
+@Component
+public class PlaceSpatialIndex {
+    private final PlaceGeoRepo placeGeoRepo;
+    private final boolean enabled;
+    private final double cellDegrees;
+    private volatile Grid grid;
+
+    /**
+     * Constructor.
+     *
+     * @param placeGeoRepo {@link PlaceGeoRepo}
+     * @param enabled      whether geo queries are served from memory.
+     * @param cellDegrees  size of a grid cell in degrees.
+     */
+    public PlaceSpatialIndex(PlaceGeoRepo placeGeoRepo,
+        @Value("${greencity.places.spatial-index.enabled:false}") boolean enabled,
+        @Value("${greencity.places.spatial-index.cell-degrees:0.5}") double cellDegrees) {
+        this.placeGeoRepo = placeGeoRepo;
+        this.enabled = enabled;
+        this.cellDegrees = cellDegrees;
+    }
+
+    /**
+     * Returns whether geo queries should be served by this index.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Method finds ids of approved places inside of the box ordered by distance
+     * from the given point.
+     *
+     * @param box        {@link MapBoundsDto} to look for places in.
+     * @param lat        latitude of the point.
+     * @param lng        longitude of the point.
+     * @param distanceKm maximum distance from the point in kilometers.
+     * @param offset     amount of nearest ids to skip.
+     * @param limit      maximum amount of ids.
+     * @return {@link List} of place ids, nearest first.
+     */
+    public List<Long> findNearest(MapBoundsDto box, double lat, double lng, double distanceKm, int offset,
+        int limit) {
+        Grid current = grid;
+        if (current == null) {
+            current = load();
+        }
+        return current.inBox(box).stream()
+            .map(place -> new Candidate(place.getPlaceId(),
+                GeoDistance.haversineKm(lat, lng, place.getLat(), place.getLng())))
+            .filter(candidate -> candidate.distance <= distanceKm)
+            .sorted(Comparator.comparingDouble((Candidate candidate) -> candidate.distance)
+                .thenComparing(candidate -> candidate.placeId))
+            .skip(offset)
+            .limit(limit)
+            .map(candidate -> candidate.placeId)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Adds approved place or moves it to new coordinates.
+     *
+     * @param placeId id of the place.
+     * @param lat     latitude of the place.
+     * @param lng     longitude of the place.
+     */
+    public synchronized void put(Long placeId, double lat, double lng) {
+        if (grid != null) {
+            grid.put(new PlaceCoordinatesDto(placeId, lat, lng, null));
+        }
+    }
+
+    /**
+     * Removes place which is not approved anymore.
+     *
+     * @param placeId id of the place.
+     */
+    public synchronized void remove(Long placeId) {
+        if (grid != null) {
+            grid.remove(placeId);
+        }
+    }
+
+    /**
+     * Rebuilds the grid from the database.
+     */
+    @Scheduled(fixedDelayString = "${greencity.places.spatial-index.refresh-ms:300000}",
+        initialDelayString = "${greencity.places.spatial-index.refresh-ms:300000}")
+    public void reload() {
+        if (enabled) {
+            load();
+        }
+    }
+
+    private synchronized Grid load() {
+        Grid loaded = new Grid(cellDegrees);
+        placeGeoRepo.findAllCoordinates(PlaceStatus.APPROVED).forEach(loaded::put);
+        grid = loaded;
+        log.debug("Spatial index of places is loaded with {} places", loaded.places.size());
+        return loaded;
+    }
+
+    private static final class Candidate {
+        private final Long placeId;
+        private final double distance;
+
+        Candidate(Long placeId, double distance) {
+            this.placeId = placeId;
+            this.distance = distance;
+        }
+    }
+
+    private static final class Grid {
+        private final double cellDegrees;
+        private final Map<Long, PlaceCoordinatesDto> places = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+        Grid(double cellDegrees) {
+            this.cellDegrees = cellDegrees;
+        }
+
+        void put(PlaceCoordinatesDto place) {
+            remove(place.getPlaceId());
+            places.put(place.getPlaceId(), place);
+            cells.computeIfAbsent(cell(row(place.getLat()), column(place.getLng())),
+                key -> ConcurrentHashMap.newKeySet()).add(place.getPlaceId());
+        }
+
+        void remove(Long placeId) {
+            PlaceCoordinatesDto old = places.remove(placeId);
+            if (old != null) {
+                cells.computeIfPresent(cell(row(old.getLat()), column(old.getLng())), (key, ids) -> {
+                    ids.remove(placeId);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+
+        List<PlaceCoordinatesDto> inBox(MapBoundsDto box) {
+            int minRow = row(box.getSouthWestLat());
+            int maxRow = row(box.getNorthEastLat());
+            int minColumn = column(box.getSouthWestLng());
+            int maxColumn = column(box.getNorthEastLng());
+            List<Set<Long>> matchingCells = new ArrayList<>();
+            long cellsInBox = (long) (maxRow - minRow + 1) * (maxColumn - minColumn + 1);
+            if (cellsInBox > cells.size()) {
+                cells.forEach((key, ids) -> {
+                    int row = (int) (key >> 32);
+                    int column = (int) (long) key;
+                    if (row >= minRow && row <= maxRow && column >= minColumn && column <= maxColumn) {
+                        matchingCells.add(ids);
+                    }
+                });
+            } else {
+                for (int row = minRow; row <= maxRow; row++) {
+                    for (int column = minColumn; column <= maxColumn; column++) {
+                        Set<Long> ids = cells.get(cell(row, column));
+                        if (ids != null) {
+                            matchingCells.add(ids);
+                        }
+                    }
+                }
+            }
+            return matchingCells.stream()
+                .flatMap(Set::stream)
+                .map(places::get)
+                .filter(Objects::nonNull)
+                .filter(place -> place.getLat() >= box.getSouthWestLat() && place.getLat() <= box.getNorthEastLat()
+                    && place.getLng() >= box.getSouthWestLng() && place.getLng() <= box.getNorthEastLng())
+                .collect(Collectors.toList());
+        }
+
+        private int row(double lat) {
+            return (int) Math.floor((lat + 90) / cellDegrees);
+        }
+
+        private int column(double lng) {
+            return (int) Math.floor((lng + 180) / cellDegrees);
+        }
+
+        private static long cell(int row, int column) {
+            return ((long) row << 32) | (column & 0xffffffffL);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package greencity.geocoding;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.gson.Gson;
+import com.google.maps.model.GeocodingResult;
+import com.google.maps.model.LatLng;
+import greencity.repository.GeocodeCacheRepo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Two-level cache of Google geocoding results. A bounded in-memory LRU sits in
+ * front of the {@code geocode_cache} table, both expire entries after the same
+ * TTL. Addresses are normalized and coordinates are rounded to a configurable
+ * amount of decimal places before they are hashed into a key, so the same
+ * place is geocoded once per language.
+ */
+@Slf4j
+@Component
+public class GeocodeCache {
+    static final String CACHE_NAME = "geocode";
+    private static final Gson GSON = new Gson();
+
+    private final GeocodeCacheRepo geocodeCacheRepo;
+    private final Duration ttl;
+    private final int coordinatesPrecision;
+    private final Cache<String, GeocodingResult[]> results;
+
+    /**
+     * Constructor with cache settings.
+     *
+     * @param geocodeCacheRepo     {@link GeocodeCacheRepo}
+     * @param ttlDays              time to live of entries in days.
+     * @param maxSize              maximum amount of entries kept in memory.
+     * @param coordinatesPrecision amount of decimal places coordinates are
+     *                             rounded to.
+     * @param meterRegistry        registry for hit/miss metrics.
+     */
+    public GeocodeCache(GeocodeCacheRepo geocodeCacheRepo,
+        @Value("${greencity.geocoding.cache.ttl-days:30}") long ttlDays,
+        @Value("${greencity.geocoding.cache.max-size:10000}") long maxSize,
+        @Value("${greencity.geocoding.cache.coordinates-precision:4}") int coordinatesPrecision,
+        MeterRegistry meterRegistry) {
+        this.geocodeCacheRepo = geocodeCacheRepo;
+        this.ttl = Duration.ofDays(ttlDays);
+        this.coordinatesPrecision = coordinatesPrecision;
+        this.results = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maxSize)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, CACHE_NAME);
+    }
+
+    /**
+     * Returns cache key of address geocoding request.
+     *
+     * @param address  address to search.
+     * @param language language of the results.
+     * @return key of the request.
+     */
+    public String addressKey(String address, String language) {
+        String normalized = address.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return hash("address:" + language + ":" + normalized);
+    }
+
+    /**
+     * Returns cache key of reverse geocoding request.
+     *
+     * @param coordinates coordinates to search.
+     * @param language    language of the results.
+     * @return key of the request.
+     */
+    public String coordinatesKey(LatLng coordinates, String language) {
+        return hash("latlng:" + language + ":" + round(coordinates.lat) + "," + round(coordinates.lng));
+    }
+
+    /**
+     * Returns cached geocoding results, loading them from the database on
+     * in-memory miss.
+     *
+     * @param key key of the request.
+     * @return {@link Optional} of geocoding results.
+     */
+    public Optional<GeocodingResult[]> get(String key) {
+        GeocodingResult[] cached = results.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<GeocodingResult[]> stored = geocodeCacheRepo
+            .findByCacheKeyAndCreatedAtAfter(key, ZonedDateTime.now().minus(ttl))
+            .map(entry -> GSON.fromJson(entry.getResults(), GeocodingResult[].class));
+        stored.ifPresent(geocodingResults -> results.put(key, geocodingResults));
+        return stored;
+    }
+
+    /**
+     * Stores geocoding results in memory and in the database.
+     *
+     * @param key              key of the request.
+     * @param geocodingResults results returned by Google.
+     */
+    @Transactional
+    public void put(String key, GeocodingResult[] geocodingResults) {
+        results.put(key, geocodingResults);
+        geocodeCacheRepo.upsert(key, GSON.toJson(geocodingResults));
+    }
+
+    /**
+     * Deletes expired entries from the database.
+     */
+    @Scheduled(fixedDelayString = "${greencity.geocoding.cache.cleanup-ms:86400000}")
+    @Transactional
+    public void removeExpired() {
+        int removed = geocodeCacheRepo.deleteAllCreatedBefore(ZonedDateTime.now().minus(ttl));
+        log.debug("Removed {} expired geocoding results", removed);
+    }
+
+    private String round(double coordinate) {
+        return BigDecimal.valueOf(coordinate).setScale(coordinatesPrecision, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private static String hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
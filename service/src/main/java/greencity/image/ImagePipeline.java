@@ -0,0 +1,265 @@
+package greencity.image;
+
+import greencity.constant.ErrorMessage;
+import greencity.dto.image.ImageVariantsDto;
+import greencity.exception.exceptions.BadRequestException;
+import greencity.exception.exceptions.NotSavedException;
+import greencity.service.FileService;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Processes uploaded images before they reach {@link FileService}. An image is
+ * decoded once and scaled down to every {@link ImageVariant}; opaque images are
+ * encoded as JPEG and images with transparency as PNG. Metadata of the original
+ * file is not copied. Decoding and encoding run on a bounded worker pool, so
+ * only a few images are processed at a time however many are uploaded. Files
+ * which cannot be decoded are rejected.
+ */
+@Slf4j
+@Component
+public class ImagePipeline {
+    private static final String NAME = "image-pipeline";
+    private final FileService fileService;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final long maxPixels;
+    private final float jpegQuality;
+
+    /**
+     * Constructor with processing settings.
+     *
+     * @param fileService   {@link FileService} variants are uploaded with.
+     * @param poolSize      amount of worker threads.
+     * @param queueCapacity maximum amount of images waiting to be processed.
+     * @param timeoutMs     maximum time to wait for processing of an image.
+     * @param maxPixels     maximum amount of pixels of an image to decode.
+     * @param jpegQuality   quality of JPEG variants, from 0 to 1.
+     */
+    public ImagePipeline(FileService fileService,
+        @Value("${greencity.images.pool-size:2}") int poolSize,
+        @Value("${greencity.images.queue-capacity:50}") int queueCapacity,
+        @Value("${greencity.images.timeout-ms:30000}") long timeoutMs,
+        @Value("${greencity.images.max-pixels:40000000}") long maxPixels,
+        @Value("${greencity.images.jpeg-quality:0.8}") float jpegQuality) {
+        this.fileService = fileService;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new NamedThreadFactory());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.timeoutMs = timeoutMs;
+        this.maxPixels = maxPixels;
+        this.jpegQuality = jpegQuality;
+    }
+
+    /**
+     * Uploads all size variants of the image.
+     *
+     * @param image uploaded image.
+     * @return {@link ImageVariantsDto} with urls of the variants.
+     * @throws BadRequestException if the file cannot be decoded.
+     */
+    public ImageVariantsDto upload(MultipartFile image) {
+        List<MultipartFile> variants = process(image, ImageVariant.values());
+        List<String> paths = fileService.uploadAll(variants.toArray(new MultipartFile[0]));
+        return ImageVariantsDto.builder()
+            .thumbPath(paths.get(ImageVariant.THUMB.ordinal()))
+            .cardPath(paths.get(ImageVariant.CARD.ordinal()))
+            .fullPath(paths.get(ImageVariant.FULL.ordinal()))
+            .build();
+    }
+
+    /**
+     * Uploads one size variant of the image.
+     *
+     * @param image   uploaded image.
+     * @param variant {@link ImageVariant} to upload.
+     * @return url of the variant.
+     * @throws BadRequestException if the file cannot be decoded.
+     */
+    public String upload(MultipartFile image, ImageVariant variant) {
+        return fileService.upload(process(image, variant).get(0));
+    }
+
+    private List<MultipartFile> process(MultipartFile image, ImageVariant... variants) {
+        Future<List<MultipartFile>> future;
+        try {
+            future = executor.submit(() -> resize(image, variants));
+        } catch (RejectedExecutionException e) {
+            log.warn("Image {} is rejected, processing queue is full", image.getOriginalFilename());
+            throw new NotSavedException(ErrorMessage.IMAGE_NOT_PROCESSED);
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new NotSavedException(ErrorMessage.IMAGE_NOT_PROCESSED);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new NotSavedException(ErrorMessage.IMAGE_NOT_PROCESSED);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new NotSavedException(ErrorMessage.IMAGE_NOT_PROCESSED);
+        }
+    }
+
+    /**
+     * Decodes the image and encodes every variant of it.
+     *
+     * @return encoded variants.
+     * @throws BadRequestException if the file is not a supported image.
+     */
+    List<MultipartFile> resize(MultipartFile image, ImageVariant... variants) throws IOException {
+        BufferedImage source = decode(image);
+        boolean alpha = source.getColorModel().hasAlpha();
+        String extension = alpha ? "png" : "jpg";
+        String contentType = alpha ? "image/png" : "image/jpeg";
+        String baseName = baseName(image.getOriginalFilename());
+        List<MultipartFile> files = new ArrayList<>(variants.length);
+        for (ImageVariant variant : variants) {
+            BufferedImage scaled = scale(source, variant.getMaxWidth(), alpha);
+            byte[] content = alpha ? encodePng(scaled) : encodeJpeg(scaled);
+            files.add(new ImageVariantFile(image.getName(),
+                baseName + "-" + variant.getSuffix() + "." + extension, contentType, content));
+        }
+        return files;
+    }
+
+    private BufferedImage decode(MultipartFile image) throws IOException {
+        try (InputStream content = image.getInputStream();
+            ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new BadRequestException(ErrorMessage.IMAGE_NOT_DECODED);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new BadRequestException(ErrorMessage.IMAGE_TOO_LARGE + pixels);
+                }
+                return reader.read(0);
+            } catch (IIOException e) {
+                log.warn("Image {} could not be decoded: {}", image.getOriginalFilename(), e.getMessage());
+                throw new BadRequestException(ErrorMessage.IMAGE_NOT_DECODED);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales the image down to the given width keeping its aspect ratio. Big
+     * reductions are done in halving steps, which keeps the quality close to
+     * area averaging at a fraction of its cost. Images are never scaled up.
+     */
+    static BufferedImage scale(BufferedImage source, int maxWidth, boolean alpha) {
+        int targetWidth = Math.min(maxWidth, source.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth
+            / source.getWidth()));
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height, alpha);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, boolean alpha) {
+        BufferedImage target = new BufferedImage(width, height,
+            alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+
+    private static String baseName(String originalFilename) {
+        if (originalFilename == null || originalFilename.isEmpty()) {
+            return "image";
+        }
+        int dot = originalFilename.lastIndexOf('.');
+        return dot > 0 ? originalFilename.substring(0, dot) : originalFilename;
+    }
+
+    /**
+     * Stops worker threads on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, NAME + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
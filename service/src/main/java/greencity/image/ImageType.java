@@ -0,0 +1,75 @@
+package greencity.image;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Image formats accepted from clients. The format of a file is recognized by
+ * its first bytes, so neither the name nor the declared content type of the
+ * file is trusted.
+ */
+@Getter
+@AllArgsConstructor
+public enum ImageType {
+    PNG("image/png", "png"),
+    JPEG("image/jpeg", "jpg"),
+    GIF("image/gif", "gif"),
+    WEBP("image/webp", "webp");
+
+    /**
+     * Amount of first bytes which are enough to recognize the format.
+     */
+    public static final int SIGNATURE_LENGTH = 12;
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] GIF87_SIGNATURE = "GIF87a".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GIF89_SIGNATURE = "GIF89a".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RIFF_SIGNATURE = "RIFF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WEBP_SIGNATURE = "WEBP".getBytes(StandardCharsets.US_ASCII);
+    private static final int WEBP_SIGNATURE_OFFSET = 8;
+
+    private final String contentType;
+    private final String extension;
+
+    /**
+     * Method recognizes the format of the image by its first bytes.
+     *
+     * @param content the image or at least its first {@link #SIGNATURE_LENGTH}
+     *                bytes.
+     * @return {@link ImageType} or empty {@link Optional} if the format is not
+     *         accepted.
+     */
+    public static Optional<ImageType> of(byte[] content) {
+        if (startsWith(content, 0, PNG_SIGNATURE)) {
+            return Optional.of(PNG);
+        }
+        if (startsWith(content, 0, JPEG_SIGNATURE)) {
+            return Optional.of(JPEG);
+        }
+        if (startsWith(content, 0, GIF87_SIGNATURE) || startsWith(content, 0, GIF89_SIGNATURE)) {
+            return Optional.of(GIF);
+        }
+        if (startsWith(content, 0, RIFF_SIGNATURE) && startsWith(content, WEBP_SIGNATURE_OFFSET, WEBP_SIGNATURE)) {
+            return Optional.of(WEBP);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Method checks whether the declared content type names this format.
+     *
+     * @param declared content type declared by the client.
+     * @return {@code true} if the content type is the one of this format.
+     */
+    public boolean matches(String declared) {
+        return contentType.equalsIgnoreCase(declared) || this == JPEG && "image/jpg".equalsIgnoreCase(declared);
+    }
+
+    private static boolean startsWith(byte[] content, int offset, byte[] signature) {
+        return content.length >= offset + signature.length
+            && Arrays.equals(content, offset, offset + signature.length, signature, 0, signature.length);
+    }
+}
@@ -0,0 +1,18 @@
+package greencity.image;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Size variants images are stored in.
+ */
+@Getter
+@AllArgsConstructor
+public enum ImageVariant {
+    THUMB("thumb", 320),
+    CARD("card", 800),
+    FULL("full", 1920);
+
+    private final String suffix;
+    private final int maxWidth;
+}
@@ -28,7 +28,8 @@ public class EcoNewsCommentDtoMapper extends AbstractConverter<EcoNewsComment, E
             .name(ecoNewsComment.getUser().getName())
             .userProfilePicturePath(ecoNewsComment.getUser().getProfilePicturePath())
             .build());
-        dto.setLikes(ecoNewsComment.getUsersLiked().size());
+        dto.setLikes(ecoNewsComment.getLikesCount() != null
+            ? ecoNewsComment.getLikesCount() : ecoNewsComment.getUsersLiked().size());
         dto.setCurrentUserLiked(ecoNewsComment.isCurrentUserLiked());
         return dto;
     }
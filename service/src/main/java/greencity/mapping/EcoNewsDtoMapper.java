@@ -2,6 +2,7 @@ package greencity.mapping;
 
 import greencity.constant.AppConstant;
 import greencity.dto.econews.EcoNewsDto;
+import greencity.dto.image.ImageVariantsDto;
 import greencity.dto.user.EcoNewsAuthorDto;
 import greencity.entity.EcoNews;
 import java.util.stream.Collectors;
@@ -34,7 +35,6 @@ public class EcoNewsDtoMapper extends AbstractConverter<EcoNews, EcoNewsDto> {
             .content(ecoNews.getText())
             .creationDate(ecoNews.getCreationDate())
             .imagePath(ecoNews.getImagePath())
-            .likes(ecoNews.getUsersLikedNews().size())
             .shortInfo(ecoNews.getShortInfo())
             .tags(ecoNews.getTags().stream()
                 .flatMap(t -> t.getTagTranslations().stream())
@@ -44,11 +44,15 @@ public class EcoNewsDtoMapper extends AbstractConverter<EcoNews, EcoNewsDto> {
                 .flatMap(t -> t.getTagTranslations().stream())
                 .filter(t -> t.getLanguage().getCode().equals("ua"))
                 .map(TagTranslation::getName).collect(Collectors.toList()))
-            .likes(ecoNews.getUsersLikedNews().size())
-            .dislikes(ecoNews.getUsersDislikedNews().size())
+            .likes(ecoNews.getLikesCount())
+            .dislikes(ecoNews.getDislikesCount())
             .title(ecoNews.getTitle())
-            .countComments(
-                (int) ecoNews.getEcoNewsComments().stream().filter(deleted -> !deleted.isDeleted()).count())
+            .countComments(ecoNews.getCommentsCount())
+            .imageVariants(ecoNews.getImageVariants() == null ? null : ImageVariantsDto.builder()
+                .thumbPath(ecoNews.getImageVariants().getThumbPath())
+                .cardPath(ecoNews.getImageVariants().getCardPath())
+                .fullPath(ecoNews.getImagePath())
+                .build())
             .build();
     }
 }
@@ -1,54 +1,96 @@
 package greencity.mapping;
 
+import greencity.constant.ErrorMessage;
+import greencity.exception.exceptions.BadRequestException;
 import greencity.exception.exceptions.NotSavedException;
+import greencity.image.ImageType;
+import greencity.image.ImageVariantFile;
 
-import java.awt.image.BufferedImage;
-import java.io.*;
-import java.nio.file.Files;
-import javax.imageio.ImageIO;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
 
-import org.apache.commons.fileupload.FileItem;
-import org.apache.commons.fileupload.disk.DiskFileItem;
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CharSequenceInputStream;
 import org.modelmapper.AbstractConverter;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.multipart.commons.CommonsMultipartFile;
-
-import static org.apache.tomcat.util.codec.binary.Base64.decodeBase64;
 
 /**
  * Class that is used by {@link ModelMapper} to map Base64 encoded image into
- * MultipartFile.
+ * MultipartFile. The image is decoded straight from the string into a buffer of
+ * the decoded size, without temp files or re-encoding, so concurrent
+ * conversions do not share any state. Only images recognized as one of
+ * {@link ImageType} by their first bytes are accepted.
  */
 @Component
 public class MultipartBase64ImageMapper extends AbstractConverter<String, MultipartFile> {
+    private static final int READ_BUFFER_SIZE = 8192;
+    private final long maxSize;
+
+    /**
+     * Constructor with the size limit.
+     *
+     * @param maxSize maximum size of a decoded image in bytes.
+     */
+    public MultipartBase64ImageMapper(@Value("${greencity.images.max-base64-size:10485760}") long maxSize) {
+        this.maxSize = maxSize;
+    }
+
     /**
      * Method for converting Base64 encoded image into MultipartFile.
      *
-     * @param image encoded in Base64 format to convert.
+     * @param image encoded in Base64 format to convert, with or without the
+     *              {@code data:} url prefix.
      * @return image converted to MultipartFile.
+     * @throws BadRequestException if the image is too large, is not one of
+     *                             {@link ImageType} or is not of the declared
+     *                             type.
      */
     @Override
     public MultipartFile convert(String image) {
-        String imageToConvert = image.substring(image.indexOf(',') + 1);
-        File tempFile = new File("tempImage.jpg");
-        byte[] imageByte = decodeBase64(imageToConvert);
-        ByteArrayInputStream bis = new ByteArrayInputStream(imageByte);
-        try {
-            BufferedImage bufferedImage = ImageIO.read(bis);
-            ImageIO.write(bufferedImage, "png", tempFile);
-            FileItem fileItem = new DiskFileItem("mainFile", Files.probeContentType(tempFile.toPath()),
-                false, tempFile.getName(), (int) tempFile.length(), tempFile.getParentFile());
-            try (InputStream input = new FileInputStream(tempFile);
-                OutputStream outputStream = fileItem.getOutputStream()) {
-                IOUtils.copy(input, outputStream);
-                outputStream.flush();
-                return new CommonsMultipartFile(fileItem);
-            }
-        } catch (IOException e) {
-            throw new NotSavedException("Cannot convert to BASE64 image");
+        int start = image.indexOf(',') + 1;
+        long maxDecodedSize = (image.length() - start) * 3L / 4;
+        if (maxDecodedSize > maxSize) {
+            throw new BadRequestException(ErrorMessage.ENCODED_IMAGE_TOO_LARGE + maxSize);
+        }
+        byte[] content = new byte[(int) maxDecodedSize];
+        int length;
+        try (InputStream input = Base64.getMimeDecoder().wrap(new CharSequenceInputStream(
+            CharBuffer.wrap(image, start, image.length()), StandardCharsets.US_ASCII, READ_BUFFER_SIZE))) {
+            length = input.readNBytes(content, 0, content.length);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new NotSavedException(ErrorMessage.IMAGE_NOT_CONVERTED);
+        }
+        if (length == 0) {
+            throw new NotSavedException(ErrorMessage.IMAGE_NOT_CONVERTED);
+        }
+        if (length < content.length) {
+            content = Arrays.copyOf(content, length);
+        }
+        ImageType type = ImageType.of(content)
+            .orElseThrow(() -> new BadRequestException(ErrorMessage.IMAGE_TYPE_NOT_SUPPORTED));
+        String declared = declaredContentType(image, start);
+        if (declared != null && !type.matches(declared)) {
+            throw new BadRequestException(ErrorMessage.IMAGE_TYPE_NOT_SUPPORTED);
+        }
+        return new ImageVariantFile("mainFile", "image." + type.getExtension(), type.getContentType(), content);
+    }
+
+    /**
+     * Takes the content type from the {@code data:} url prefix.
+     *
+     * @return declared content type or {@code null} if there is no prefix.
+     */
+    private static String declaredContentType(String image, int start) {
+        if (!image.startsWith("data:") || start == 0) {
+            return null;
         }
+        int end = image.indexOf(';');
+        return image.substring("data:".length(), end < 0 || end > start ? start - 1 : end);
     }
-}
\ No newline at end of file
+}
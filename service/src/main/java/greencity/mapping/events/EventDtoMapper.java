@@ -4,6 +4,7 @@ import greencity.dto.event.CoordinatesDto;
 import greencity.dto.event.EventAuthorDto;
 import greencity.dto.event.EventDateLocationDto;
 import greencity.dto.event.EventDto;
+import greencity.dto.image.ImageVariantsDto;
 import greencity.dto.tag.TagUaEnDto;
 import greencity.entity.*;
 import greencity.entity.event.Coordinates;
@@ -38,6 +39,14 @@ public class EventDtoMapper extends AbstractConverter<Event, EventDto> {
         eventDto.setTitle(event.getTitle());
         eventDto.setDescription(event.getDescription());
         eventDto.setTitleImage(event.getTitleImage());
+        ImageVariants titleImageVariants = event.getTitleImageVariants();
+        if (titleImageVariants != null) {
+            eventDto.setTitleImageVariants(ImageVariantsDto.builder()
+                .thumbPath(titleImageVariants.getThumbPath())
+                .cardPath(titleImageVariants.getCardPath())
+                .fullPath(event.getTitleImage())
+                .build());
+        }
         eventDto.setOpen(event.isOpen());
         User organizer = event.getOrganizer();
         eventDto.setOrganizer(EventAuthorDto.builder().id(organizer.getId()).name(organizer.getName())
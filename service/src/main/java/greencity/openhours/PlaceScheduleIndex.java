@@ -0,0 +1,152 @@
+package greencity.openhours;
+
+import greencity.dto.openhours.PlaceOpeningHoursDto;
+import greencity.repository.OpenHoursRepo;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Weekly schedules of places kept in memory. Each schedule is a bitset with one
+ * bit per minute of the week which is set while the place is open, breaks
+ * excluded, so checking whether a place is open is a single bit test. The
+ * index is loaded lazily, refreshed per place when its opening hours change
+ * and periodically rebuilt from the database.
+ */
+@Slf4j
+@Component
+public class PlaceScheduleIndex {
+    static final int MINUTES_PER_DAY = 24 * 60;
+    static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private final OpenHoursRepo openHoursRepo;
+    private final boolean enabled;
+    private volatile Map<Long, BitSet> schedules;
+
+    /**
+     * Constructor.
+     *
+     * @param openHoursRepo {@link OpenHoursRepo}
+     * @param enabled       whether "now open" filter is served from memory.
+     */
+    public PlaceScheduleIndex(OpenHoursRepo openHoursRepo,
+        @Value("${greencity.places.schedule-index.enabled:true}") boolean enabled) {
+        this.openHoursRepo = openHoursRepo;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns whether "now open" filter should be served by this index.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Checks whether place is open at the given time.
+     *
+     * @param placeId id of the place.
+     * @param time    {@link LocalDateTime} to check.
+     * @return {@code true} if the place is open and not on a break.
+     */
+    public boolean isOpen(Long placeId, LocalDateTime time) {
+        Map<Long, BitSet> current = schedules;
+        if (current == null) {
+            current = load();
+        }
+        BitSet schedule = current.get(placeId);
+        return schedule != null && schedule.get(minuteOfWeek(time.getDayOfWeek(), time.toLocalTime()));
+    }
+
+    /**
+     * Rebuilds schedule of the place from its current opening hours.
+     *
+     * @param placeId id of the place.
+     */
+    public synchronized void refresh(Long placeId) {
+        if (schedules == null || placeId == null) {
+            return;
+        }
+        List<PlaceOpeningHoursDto> hours = openHoursRepo.findAllPlaceOpeningHoursByPlaceId(placeId);
+        if (hours.isEmpty()) {
+            schedules.remove(placeId);
+        } else {
+            schedules.put(placeId, toSchedule(hours));
+        }
+    }
+
+    /**
+     * Drops all schedules, they are loaded again on the next check. Used when
+     * the changed place is not known.
+     */
+    public synchronized void invalidate() {
+        schedules = null;
+    }
+
+    /**
+     * Rebuilds all schedules from the database once they have been requested.
+     */
+    @Scheduled(fixedDelayString = "${greencity.places.schedule-index.refresh-ms:300000}",
+        initialDelayString = "${greencity.places.schedule-index.refresh-ms:300000}")
+    public void reload() {
+        if (enabled && schedules != null) {
+            load();
+        }
+    }
+
+    private synchronized Map<Long, BitSet> load() {
+        Map<Long, BitSet> loaded = openHoursRepo.findAllPlaceOpeningHours().stream()
+            .collect(Collectors.groupingBy(PlaceOpeningHoursDto::getPlaceId, ConcurrentHashMap::new,
+                Collectors.collectingAndThen(Collectors.toList(), PlaceScheduleIndex::toSchedule)));
+        schedules = loaded;
+        log.debug("Schedule index of places is loaded with {} places", loaded.size());
+        return loaded;
+    }
+
+    /**
+     * Builds weekly schedule: opening hours are set first and breaks are cleared
+     * afterwards. A close time not after the open time means the place closes
+     * after midnight.
+     */
+    static BitSet toSchedule(List<PlaceOpeningHoursDto> hours) {
+        BitSet schedule = new BitSet(MINUTES_PER_WEEK);
+        for (PlaceOpeningHoursDto day : hours) {
+            if (day.getWeekDay() != null && day.getOpenTime() != null && day.getCloseTime() != null) {
+                set(schedule, day.getWeekDay(), day.getOpenTime(), day.getCloseTime(), true);
+            }
+        }
+        for (PlaceOpeningHoursDto day : hours) {
+            if (day.getWeekDay() != null && day.getBreakStartTime() != null && day.getBreakEndTime() != null) {
+                set(schedule, day.getWeekDay(), day.getBreakStartTime(), day.getBreakEndTime(), false);
+            }
+        }
+        return schedule;
+    }
+
+    private static void set(BitSet schedule, DayOfWeek day, LocalTime from, LocalTime to, boolean open) {
+        int start = minuteOfWeek(day, from);
+        int end = minuteOfWeek(day, to);
+        if (end <= start) {
+            end += MINUTES_PER_DAY;
+        }
+        if (end > MINUTES_PER_WEEK) {
+            schedule.set(start, MINUTES_PER_WEEK, open);
+            schedule.set(0, end - MINUTES_PER_WEEK, open);
+        } else {
+            schedule.set(start, end, open);
+        }
+    }
+
+    private static int minuteOfWeek(DayOfWeek day, LocalTime time) {
+        return (day.getValue() - 1) * MINUTES_PER_DAY + time.getHour() * 60 + time.getMinute();
+    }
+}
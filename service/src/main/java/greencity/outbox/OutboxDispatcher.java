@@ -0,0 +1,170 @@
+package greencity.outbox;
+
+import greencity.achievement.AchievementCalculation;
+import greencity.annotations.RatingCalculationEnum;
+import greencity.async.SideEffectExecutor;
+import greencity.entity.OutboxEvent;
+import greencity.enums.AchievementCategoryType;
+import greencity.enums.AchievementType;
+import greencity.enums.OutboxEventType;
+import greencity.rating.RatingCalculation;
+import greencity.repository.OutboxEventRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Applies side effects recorded by {@link SideEffectOutbox}. Each run claims a
+ * batch of due events, groups them by user and processes every user in its own
+ * transaction on {@link SideEffectExecutor}. Rating changes and counted
+ * actions of one category are folded into a single update per user. Failed
+ * events are retried with exponential backoff and dropped after the configured
+ * amount of attempts.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private final OutboxEventRepo outboxEventRepo;
+    private final RatingCalculation ratingCalculation;
+    private final AchievementCalculation achievementCalculation;
+    private final SideEffectExecutor sideEffectExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long leaseSeconds;
+    private final long backoffSeconds;
+    private final Counter dispatched;
+    private final Counter retried;
+    private final Counter dropped;
+
+    /**
+     * Constructor with dispatch settings.
+     *
+     * @param outboxEventRepo        {@link OutboxEventRepo}
+     * @param ratingCalculation      {@link RatingCalculation}
+     * @param achievementCalculation {@link AchievementCalculation}
+     * @param sideEffectExecutor     {@link SideEffectExecutor}
+     * @param transactionManager     {@link PlatformTransactionManager}
+     * @param meterRegistry          registry for dispatch metrics.
+     * @param batchSize              maximum amount of events claimed per run.
+     * @param maxAttempts            amount of attempts before event is dropped.
+     * @param leaseSeconds           time claimed events are hidden from other
+     *                               dispatchers.
+     * @param backoffSeconds         delay before the first retry.
+     */
+    public OutboxDispatcher(OutboxEventRepo outboxEventRepo,
+        RatingCalculation ratingCalculation,
+        AchievementCalculation achievementCalculation,
+        SideEffectExecutor sideEffectExecutor,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${greencity.outbox.batch-size:500}") int batchSize,
+        @Value("${greencity.outbox.max-attempts:10}") int maxAttempts,
+        @Value("${greencity.outbox.lease-seconds:60}") long leaseSeconds,
+        @Value("${greencity.outbox.backoff-seconds:5}") long backoffSeconds) {
+        this.outboxEventRepo = outboxEventRepo;
+        this.ratingCalculation = ratingCalculation;
+        this.achievementCalculation = achievementCalculation;
+        this.sideEffectExecutor = sideEffectExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.leaseSeconds = leaseSeconds;
+        this.backoffSeconds = backoffSeconds;
+        this.dispatched = meterRegistry.counter("outbox.events.dispatched");
+        this.retried = meterRegistry.counter("outbox.events.retried");
+        this.dropped = meterRegistry.counter("outbox.events.dropped");
+    }
+
+    /**
+     * Claims due events and applies them grouped by user.
+     */
+    @Scheduled(fixedDelayString = "${greencity.outbox.dispatch-delay-ms:1000}")
+    public void dispatch() {
+        List<OutboxEvent> events = claim();
+        if (events.isEmpty()) {
+            return;
+        }
+        Map<Long, List<OutboxEvent>> eventsByUser = events.stream()
+            .collect(Collectors.groupingBy(OutboxEvent::getUserId, LinkedHashMap::new, Collectors.toList()));
+        CompletableFuture.allOf(eventsByUser.entrySet().stream()
+            .map(entry -> sideEffectExecutor.runAsync(() -> process(entry.getKey(), entry.getValue()))
+                .exceptionally(e -> null))
+            .toArray(CompletableFuture[]::new))
+            .join();
+    }
+
+    private List<OutboxEvent> claim() {
+        List<OutboxEvent> events = transactionTemplate.execute(status -> {
+            List<Long> ids = outboxEventRepo.findIdsReadyForDispatch(batchSize);
+            if (ids.isEmpty()) {
+                return Collections.<OutboxEvent>emptyList();
+            }
+            outboxEventRepo.lease(ids, ZonedDateTime.now().plusSeconds(leaseSeconds));
+            return outboxEventRepo.findAllById(ids);
+        });
+        return events != null ? events : Collections.emptyList();
+    }
+
+    private void process(Long userId, List<OutboxEvent> events) {
+        try {
+            transactionTemplate.execute(status -> {
+                List<RatingCalculationEnum> ratings = new ArrayList<>();
+                Map<AchievementCategoryType, Integer> increments = new EnumMap<>(AchievementCategoryType.class);
+                for (OutboxEvent event : events) {
+                    if (event.getEventType() == OutboxEventType.RATING) {
+                        ratings.add(event.getRatingEvent());
+                    } else if (event.getAchievementType() == AchievementType.INCREMENT) {
+                        increments.merge(event.getAchievementCategory(), 1, Integer::sum);
+                    } else {
+                        achievementCalculation.calculateAchievement(userId, event.getAchievementType(),
+                            event.getAchievementCategory(), event.getCount());
+                    }
+                }
+                increments.forEach((category, amount) -> achievementCalculation
+                    .incrementAchievement(userId, category, amount));
+                ratingCalculation.applyRatingChanges(userId, ratings);
+                outboxEventRepo.deleteAll(events);
+                return null;
+            });
+            dispatched.increment(events.size());
+        } catch (RuntimeException e) {
+            transactionTemplate.execute(status -> {
+                events.forEach(event -> reschedule(event, e));
+                return null;
+            });
+        }
+    }
+
+    private void reschedule(OutboxEvent event, RuntimeException cause) {
+        int attempts = event.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            log.error("Dropping outbox event {} of user {} after {} attempts", event.getId(), event.getUserId(),
+                attempts, cause);
+            outboxEventRepo.delete(event);
+            dropped.increment();
+            return;
+        }
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(ZonedDateTime.now().plusSeconds(backoffSeconds << Math.min(attempts - 1, 16)));
+        String error = String.valueOf(cause.getMessage());
+        event.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        outboxEventRepo.save(event);
+        retried.increment();
+    }
+}
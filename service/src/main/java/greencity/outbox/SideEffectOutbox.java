@@ -0,0 +1,63 @@
+package greencity.outbox;
+
+import greencity.annotations.RatingCalculationEnum;
+import greencity.entity.OutboxEvent;
+import greencity.enums.AchievementCategoryType;
+import greencity.enums.AchievementType;
+import greencity.enums.OutboxEventType;
+import greencity.repository.OutboxEventRepo;
+import java.time.ZonedDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records rating and achievement side effects of user actions in the
+ * {@code outbox_events} table. Events are written in the transaction of the
+ * action itself, so they are neither lost nor applied for a rolled back action.
+ * Callers must run in a transaction, enqueueing outside of one fails.
+ * {@link OutboxDispatcher} applies them later.
+ */
+@Component
+@RequiredArgsConstructor
+public class SideEffectOutbox {
+    private final OutboxEventRepo outboxEventRepo;
+
+    /**
+     * Method enqueues rating change of the user.
+     *
+     * @param userId id of user.
+     * @param rating {@link RatingCalculationEnum}
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueRating(Long userId, RatingCalculationEnum rating) {
+        outboxEventRepo.save(OutboxEvent.builder()
+            .eventType(OutboxEventType.RATING)
+            .userId(userId)
+            .ratingEvent(rating)
+            .nextAttemptAt(ZonedDateTime.now())
+            .build());
+    }
+
+    /**
+     * Method enqueues achievement calculation for the user.
+     *
+     * @param userId   id of user.
+     * @param type     {@link AchievementType}
+     * @param category {@link AchievementCategoryType}
+     * @param count    number of specific actions.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAchievement(Long userId, AchievementType type, AchievementCategoryType category,
+        Integer count) {
+        outboxEventRepo.save(OutboxEvent.builder()
+            .eventType(OutboxEventType.ACHIEVEMENT)
+            .userId(userId)
+            .achievementType(type)
+            .achievementCategory(category)
+            .count(count)
+            .nextAttemptAt(ZonedDateTime.now())
+            .build());
+    }
+}
@@ -0,0 +1,84 @@
+package greencity.pagination;
+
+import greencity.constant.ErrorMessage;
+import greencity.exception.exceptions.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Opaque position in a feed ordered by {@code (key DESC, id DESC)}. The key is
+ * the sort column of the last returned row, e.g. its creation date, and may be
+ * absent for feeds ordered by id only.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class KeysetCursor {
+    private static final String SEPARATOR = "|";
+    private final String key;
+    private final long id;
+
+    /**
+     * Encodes position of the last returned row.
+     *
+     * @param key sort key of the row or {@code null}.
+     * @param id  id of the row.
+     * @return opaque cursor.
+     */
+    public static String encode(Object key, Long id) {
+        String payload = (key == null ? "" : key.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes cursor returned by {@link #encode(Object, Long)}.
+     *
+     * @param cursor opaque cursor.
+     * @return {@link KeysetCursor}.
+     * @throws BadRequestException if cursor is malformed.
+     */
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String payload = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = payload.lastIndexOf(SEPARATOR);
+            String key = payload.substring(0, separator);
+            return new KeysetCursor(key.isEmpty() ? null : key, Long.parseLong(payload.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException(ErrorMessage.INVALID_CURSOR + cursor);
+        }
+    }
+
+    /**
+     * Returns the key as {@link ZonedDateTime}.
+     */
+    public ZonedDateTime getKeyAsZonedDateTime() {
+        try {
+            return ZonedDateTime.parse(requireKey());
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException(ErrorMessage.INVALID_CURSOR + key);
+        }
+    }
+
+    /**
+     * Returns the key as {@link LocalDateTime}.
+     */
+    public LocalDateTime getKeyAsLocalDateTime() {
+        try {
+            return LocalDateTime.parse(requireKey());
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException(ErrorMessage.INVALID_CURSOR + key);
+        }
+    }
+
+    private String requireKey() {
+        if (key == null) {
+            throw new BadRequestException(ErrorMessage.INVALID_CURSOR + "missing key");
+        }
+        return key;
+    }
+}
@@ -1,41 +1,53 @@
 package greencity.rating;
 
 import greencity.annotations.RatingCalculationEnum;
-import greencity.client.RestClient;
-import greencity.dto.ratingstatistics.RatingStatisticsVO;
-import greencity.dto.user.UserVO;
+import greencity.client.UserLookupCache;
 import greencity.entity.RatingStatistics;
 import greencity.entity.User;
-import greencity.service.RatingStatisticsService;
-import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import greencity.repository.RatingStatisticsRepo;
+import greencity.repository.UserRepo;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class RatingCalculation {
-    private RestClient restClient;
-    private RatingStatisticsService ratingStatisticsService;
-    private final ModelMapper modelMapper;
+    private final UserRepo userRepo;
+    private final RatingStatisticsRepo ratingStatisticsRepo;
+    private final UserLookupCache userLookupCache;
 
     /**
-     * Method that calculates the user rating.
-     * 
-     * @param rating      of {@link RatingCalculationEnum}
-     * @param userVo      of {@link UserVO}
-     * @param accessToken accessToken for security
+     * Method that applies rating changes of the user with one atomic update and
+     * records {@link RatingStatistics} for every change.
+     *
+     * @param userId  id of {@link User}
+     * @param ratings {@link List} of {@link RatingCalculationEnum} in the order
+     *                they happened
      */
-    public void ratingCalculation(RatingCalculationEnum rating, UserVO userVo, String accessToken) {
-        User user = modelMapper.map(userVo, User.class);
-        userVo.setRating(userVo.getRating() + rating.getRatingPoints());
-        restClient.save(userVo, accessToken);
-        RatingStatistics ratingStatistics = RatingStatistics
-            .builder()
-            .rating(userVo.getRating())
-            .ratingCalculationEnum(rating)
-            .user(user)
-            .pointsChanged(rating.getRatingPoints())
-            .build();
-        ratingStatisticsService.save(modelMapper.map(ratingStatistics, RatingStatisticsVO.class));
+    @Transactional
+    public void applyRatingChanges(Long userId, List<RatingCalculationEnum> ratings) {
+        if (ratings.isEmpty()) {
+            return;
+        }
+        double delta = ratings.stream().mapToDouble(RatingCalculationEnum::getRatingPoints).sum();
+        userRepo.addRating(userId, delta);
+        Double updatedRating = userRepo.findRatingById(userId);
+        double currentRating = (updatedRating != null ? updatedRating : delta) - delta;
+        User user = userRepo.getOne(userId);
+        List<RatingStatistics> statistics = new ArrayList<>(ratings.size());
+        for (RatingCalculationEnum rating : ratings) {
+            currentRating += rating.getRatingPoints();
+            statistics.add(RatingStatistics.builder()
+                .rating(currentRating)
+                .ratingCalculationEnum(rating)
+                .user(user)
+                .pointsChanged(rating.getRatingPoints())
+                .build());
+        }
+        ratingStatisticsRepo.saveAll(statistics);
+        userLookupCache.evictUser(userId);
     }
 }
@@ -1,6 +1,7 @@
 package greencity.service;
 
 import greencity.achievement.AchievementCalculation;
+import greencity.achievement.AchievementThresholdIndex;
 import greencity.client.RestClient;
 import greencity.constant.CacheConstants;
 import greencity.constant.ErrorMessage;
@@ -48,6 +49,7 @@ public class AchievementServiceImpl implements AchievementService {
     private UserAchievementRepo userAchievementRepo;
     private AchievementCalculation achievementCalculation;
     private final AchievementTranslationRepo achievementTranslationRepo;
+    private final AchievementThresholdIndex achievementThresholdIndex;
 
     /**
      * {@inheritDoc}
@@ -62,6 +64,7 @@ public class AchievementServiceImpl implements AchievementService {
         achievement.getTranslations().forEach(adviceTranslation -> adviceTranslation.setAchievement(achievement));
         achievement.setAchievementCategory(modelMapper.map(achievementCategoryVO, AchievementCategory.class));
         AchievementVO achievementVO = modelMapper.map(achievementRepo.save(achievement), AchievementVO.class);
+        achievementThresholdIndex.reloadAfterCommit();
         UserAchievementVO userAchievementVO = new UserAchievementVO();
         UserActionVO userActionVO = new UserActionVO();
         userAchievementVO.setAchievement(achievementVO);
@@ -152,6 +155,7 @@ public class AchievementServiceImpl implements AchievementService {
         } catch (EmptyResultDataAccessException e) {
             throw new NotDeletedException(ErrorMessage.ACHIEVEMENT_NOT_DELETED);
         }
+        achievementThresholdIndex.reloadAfterCommit();
         return id;
     }
 
@@ -163,6 +167,7 @@ public class AchievementServiceImpl implements AchievementService {
     @Override
     public void deleteAll(List<Long> listId) {
         listId.forEach(achievementRepo::deleteById);
+        achievementThresholdIndex.reloadAfterCommit();
     }
 
     /**
@@ -191,6 +196,7 @@ public class AchievementServiceImpl implements AchievementService {
         setTranslations(achievement, achievementManagementDto);
         achievement.setCondition(achievementManagementDto.getCondition());
         Achievement updated = achievementRepo.save(achievement);
+        achievementThresholdIndex.reloadAfterCommit();
         return modelMapper.map(updated, AchievementPostDto.class);
     }
 
@@ -207,6 +213,20 @@ public class AchievementServiceImpl implements AchievementService {
         return achievement != null ? modelMapper.map(achievement, AchievementVO.class) : null;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<AchievementVO> findAllByCategoryIdAndConditionInRange(Long categoryId, Integer from, Integer to) {
+        if (to <= from) {
+            return new ArrayList<>();
+        }
+        return achievementRepo.findAllByCategoryIdAndConditionInRange(categoryId, from, to).stream()
+            .map(achievement -> modelMapper.map(achievement, AchievementVO.class))
+            .collect(Collectors.toList());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1,31 +1,68 @@
 package greencity.service;
 
+import com.azure.core.util.Context;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
-import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.ParallelTransferOptions;
 import greencity.constant.ErrorMessage;
 import greencity.exception.exceptions.BadRequestException;
 import greencity.exception.exceptions.ImageUrlParseException;
 import greencity.exception.exceptions.NotSavedException;
+import greencity.image.ImageType;
+import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.env.PropertyResolver;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.annotation.PreDestroy;
 import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * {@link FileService} backed by Azure Blob Storage. A single thread-safe
+ * {@link BlobContainerClient} is created on first use and shared by all
+ * uploads. Files bigger than the single upload size are streamed in blocks
+ * which are uploaded in parallel, several files are uploaded concurrently.
+ * Content type of a blob is taken from the recognized {@link ImageType} of the
+ * file, never from the client. Used unless {@code greencity.file-storage.type}
+ * selects another storage.
+ */
+@Slf4j
 @Service
+@ConditionalOnProperty(name = "greencity.file-storage.type", havingValue = "azure", matchIfMissing = true)
 public class AzureCloudStorageService implements FileService {
+    private static final int DEFAULT_BLOCK_SIZE = 4 * 1024 * 1024;
+    private static final int DEFAULT_MAX_CONCURRENCY = 4;
+    private static final int DEFAULT_PARALLEL_FILES = 4;
+    private static final int DEFAULT_QUEUE_CAPACITY = 50;
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
     private final String connectionString;
     private final String containerName;
     private final ModelMapper modelMapper;
+    private final ParallelTransferOptions transferOptions;
+    private final ThreadPoolExecutor uploadExecutor;
+    private volatile BlobContainerClient containerClient;
 
     /**
      * Constructor with parameters.
@@ -35,28 +72,112 @@ public class AzureCloudStorageService implements FileService {
         this.connectionString = propertyResolver.getProperty("azure.connection.string");
         this.containerName = propertyResolver.getProperty("azure.container.name");
         this.modelMapper = modelMapper;
+        int blockSize = intProperty(propertyResolver, "azure.upload.block-size", DEFAULT_BLOCK_SIZE);
+        this.transferOptions = new ParallelTransferOptions(blockSize,
+            intProperty(propertyResolver, "azure.upload.max-concurrency", DEFAULT_MAX_CONCURRENCY), null,
+            intProperty(propertyResolver, "azure.upload.max-single-upload-size", blockSize));
+        int parallelFiles = intProperty(propertyResolver, "azure.upload.parallel-files", DEFAULT_PARALLEL_FILES);
+        int queueCapacity = intProperty(propertyResolver, "azure.upload.queue-capacity", DEFAULT_QUEUE_CAPACITY);
+        this.uploadExecutor = new ThreadPoolExecutor(parallelFiles, parallelFiles, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new UploadThreadFactory());
+        this.uploadExecutor.allowCoreThreadTimeOut(true);
     }
 
     /**
      * {@inheritDoc}
      */
-
+    @Override
     public String upload(MultipartFile multipartFile) {
         final String blob = UUID.randomUUID().toString();
         BlobClient client = containerClient()
             .getBlobClient(blob + multipartFile.getOriginalFilename());
-        try {
-            client.upload(new BufferedInputStream(multipartFile.getInputStream()), multipartFile.getSize());
+        try (InputStream data = new BufferedInputStream(multipartFile.getInputStream())) {
+            BlobHttpHeaders headers = new BlobHttpHeaders().setContentType(contentType(data));
+            client.uploadWithResponse(data, multipartFile.getSize(), transferOptions, headers,
+                null, null, null, null, Context.NONE);
         } catch (IOException e) {
             throw new NotSavedException(ErrorMessage.FILE_NOT_SAVED);
         }
         return client.getBlobUrl();
     }
 
+    /**
+     * Recognizes the content type by the first bytes of the file.
+     *
+     * @param data stream of the file which supports mark and reset, it is
+     *             positioned back at the start.
+     * @return content type of the recognized {@link ImageType} or
+     *         {@code application/octet-stream}.
+     */
+    static String contentType(InputStream data) throws IOException {
+        data.mark(ImageType.SIGNATURE_LENGTH);
+        byte[] signature = data.readNBytes(ImageType.SIGNATURE_LENGTH);
+        data.reset();
+        return ImageType.of(signature).map(ImageType::getContentType).orElse(DEFAULT_CONTENT_TYPE);
+    }
+
+    /**
+     * {@inheritDoc} Files which are already uploaded are deleted when another
+     * one fails or does not fit in the upload queue.
+     */
+    @Override
+    public List<String> uploadAll(MultipartFile[] multipartFiles) {
+        List<CompletableFuture<String>> uploads = new ArrayList<>(multipartFiles.length);
+        RuntimeException failure = null;
+        try {
+            for (MultipartFile multipartFile : multipartFiles) {
+                uploads.add(CompletableFuture.supplyAsync(() -> upload(multipartFile), uploadExecutor));
+            }
+        } catch (RejectedExecutionException e) {
+            log.warn("Upload of {} files is rejected, upload queue is full", multipartFiles.length);
+            failure = new NotSavedException(ErrorMessage.FILE_NOT_SAVED);
+        }
+        List<String> urls = new ArrayList<>(uploads.size());
+        for (CompletableFuture<String> upload : uploads) {
+            try {
+                urls.add(upload.join());
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException
+                        ? (RuntimeException) e.getCause()
+                        : new NotSavedException(ErrorMessage.FILE_NOT_SAVED);
+                }
+            }
+        }
+        if (failure != null) {
+            urls.forEach(this::deleteQuietly);
+            throw failure;
+        }
+        return urls;
+    }
+
+    private void deleteQuietly(String url) {
+        try {
+            delete(url);
+        } catch (RuntimeException e) {
+            log.warn("Partially uploaded file {} could not be deleted", url, e);
+        }
+    }
+
     private BlobContainerClient containerClient() {
-        BlobServiceClient serviceClient = new BlobServiceClientBuilder()
-            .connectionString(connectionString).buildClient();
-        return serviceClient.getBlobContainerClient(containerName);
+        BlobContainerClient client = containerClient;
+        if (client == null) {
+            synchronized (this) {
+                client = containerClient;
+                if (client == null) {
+                    client = new BlobServiceClientBuilder()
+                        .connectionString(connectionString).buildClient()
+                        .getBlobContainerClient(containerName);
+                    containerClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    private static int intProperty(PropertyResolver propertyResolver, String key, int defaultValue) {
+        Integer value = propertyResolver.getProperty(key, Integer.class);
+        return value == null ? defaultValue : value;
     }
 
     /**
@@ -86,4 +207,23 @@ public class AzureCloudStorageService implements FileService {
             client.delete();
         }
     }
+
+    /**
+     * Stops upload threads on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
+    }
+
+    private static class UploadThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "azure-upload-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
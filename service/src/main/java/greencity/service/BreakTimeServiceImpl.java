@@ -5,6 +5,7 @@ import greencity.dto.breaktime.BreakTimeVO;
 import greencity.entity.BreakTime;
 import greencity.exception.exceptions.BadRequestException;
 import greencity.exception.exceptions.NotFoundException;
+import greencity.openhours.PlaceScheduleIndex;
 import greencity.repository.BreakTimeRepo;
 import greencity.constant.ErrorMessage;
 import java.util.List;
@@ -25,6 +26,7 @@ import org.springframework.stereotype.Service;
 public class BreakTimeServiceImpl implements BreakTimeService {
     private BreakTimeRepo repo;
     private ModelMapper modelMapper;
+    private PlaceScheduleIndex placeScheduleIndex;
 
     /**
      * {@inheritDoc}
@@ -40,6 +42,10 @@ public class BreakTimeServiceImpl implements BreakTimeService {
         }
 
         BreakTime save = repo.save(modelMapper.map(breakTime, BreakTime.class));
+        if (breakTime.getId() != null) {
+            // break of existing opening hours is changed, its place is not known here
+            placeScheduleIndex.invalidate();
+        }
         return modelMapper.map(save, BreakTimeVO.class);
     }
 
@@ -68,6 +74,7 @@ public class BreakTimeServiceImpl implements BreakTimeService {
     public Long deleteById(Long id) {
         log.info(LogMessage.IN_DELETE_BY_ID, id);
         repo.delete(modelMapper.map(findById(id), BreakTime.class));
+        placeScheduleIndex.invalidate();
         return id;
     }
 
@@ -1,14 +1,14 @@
 package greencity.service;
 
-import greencity.achievement.AchievementCalculation;
 import greencity.annotations.RatingCalculationEnum;
-import static greencity.constant.AppConstant.AUTHORIZATION;
 import greencity.constant.ErrorMessage;
+import greencity.dto.CursorPageDto;
 import greencity.dto.PageableDto;
 import greencity.dto.econews.EcoNewsVO;
 import greencity.dto.econewscomment.AddEcoNewsCommentDtoRequest;
 import greencity.dto.econewscomment.AddEcoNewsCommentDtoResponse;
 import greencity.dto.econewscomment.AmountCommentLikesDto;
+import greencity.dto.econewscomment.EcoNewsCommentCountsDto;
 import greencity.dto.econewscomment.EcoNewsCommentDto;
 import greencity.dto.econewscomment.EcoNewsCommentVO;
 import greencity.dto.user.UserVO;
@@ -21,20 +21,26 @@ import greencity.enums.Role;
 import greencity.exception.exceptions.BadRequestException;
 import greencity.exception.exceptions.NotFoundException;
 import greencity.exception.exceptions.UserHasNoPermissionToAccessException;
+import greencity.outbox.SideEffectOutbox;
+import greencity.pagination.KeysetCursor;
 import greencity.repository.EcoNewsCommentRepo;
-import javax.servlet.http.HttpServletRequest;
 
 import greencity.repository.EcoNewsRepo;
+import greencity.websocket.CommentLikesBroadcaster;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -42,12 +48,10 @@ import java.util.stream.Collectors;
 public class EcoNewsCommentServiceImpl implements EcoNewsCommentService {
     private EcoNewsCommentRepo ecoNewsCommentRepo;
     private EcoNewsService ecoNewsService;
-    private final AchievementCalculation achievementCalculation;
     private ModelMapper modelMapper;
-    private final SimpMessagingTemplate messagingTemplate;
-    private final greencity.rating.RatingCalculation ratingCalculation;
-    private final HttpServletRequest httpServletRequest;
+    private final CommentLikesBroadcaster commentLikesBroadcaster;
     private final EcoNewsRepo ecoNewsRepo;
+    private final SideEffectOutbox sideEffectOutbox;
 
     /**
      * Method to save {@link greencity.entity.EcoNewsComment}.
@@ -62,6 +66,7 @@ public class EcoNewsCommentServiceImpl implements EcoNewsCommentService {
      */
 
     @Override
+    @Transactional
     public AddEcoNewsCommentDtoResponse save(Long econewsId, AddEcoNewsCommentDtoRequest addEcoNewsCommentDtoRequest,
         UserVO userVO) {
         EcoNewsVO ecoNewsVO = ecoNewsService.findById(econewsId);
@@ -78,13 +83,13 @@ public class EcoNewsCommentServiceImpl implements EcoNewsCommentService {
                 throw new BadRequestException(ErrorMessage.CANNOT_REPLY_THE_REPLY);
             }
         }
-        CompletableFuture.runAsync(() -> achievementCalculation
-            .calculateAchievement(userVO.getId(), AchievementType.INCREMENT,
-                AchievementCategoryType.ECO_NEWS_COMMENT, 0));
-        String accessToken = httpServletRequest.getHeader(AUTHORIZATION);
-        CompletableFuture.runAsync(
-            () -> ratingCalculation.ratingCalculation(RatingCalculationEnum.ADD_COMMENT, userVO, accessToken));
-        return modelMapper.map(ecoNewsCommentRepo.save(ecoNewsComment), AddEcoNewsCommentDtoResponse.class);
+        sideEffectOutbox.enqueueAchievement(userVO.getId(), AchievementType.INCREMENT,
+            AchievementCategoryType.ECO_NEWS_COMMENT, 0);
+        sideEffectOutbox.enqueueRating(userVO.getId(), RatingCalculationEnum.ADD_COMMENT);
+        AddEcoNewsCommentDtoResponse response =
+            modelMapper.map(ecoNewsCommentRepo.save(ecoNewsComment), AddEcoNewsCommentDtoResponse.class);
+        ecoNewsRepo.updateCommentsCounter(econewsId, 1);
+        return response;
     }
 
     /**
@@ -100,19 +105,7 @@ public class EcoNewsCommentServiceImpl implements EcoNewsCommentService {
         ecoNewsService.findById(ecoNewsId);
         Page<EcoNewsComment> pages = ecoNewsCommentRepo.findAllByParentCommentIsNullAndEcoNewsIdOrderByCreatedDateDesc(
             pageable, ecoNewsId);
-        List<EcoNewsCommentDto> ecoNewsCommentDtos = pages
-            .stream()
-            .map(comment -> {
-                comment.setCurrentUserLiked(comment.getUsersLiked().stream()
-                    .anyMatch(u -> u.getId().equals(userVO.getId())));
-                return comment;
-            })
-            .map(ecoNewsComment -> modelMapper.map(ecoNewsComment, EcoNewsCommentDto.class))
-            .map(comment -> {
-                comment.setReplies(ecoNewsCommentRepo.countByParentCommentId(comment.getId()));
-                return comment;
-            })
-            .collect(Collectors.toList());
+        List<EcoNewsCommentDto> ecoNewsCommentDtos = toCommentDtos(pages.getContent(), userVO);
 
         return new PageableDto<>(
             ecoNewsCommentDtos,
@@ -133,15 +126,7 @@ public class EcoNewsCommentServiceImpl implements EcoNewsCommentService {
     public PageableDto<EcoNewsCommentDto> findAllReplies(Pageable pageable, Long parentCommentId, UserVO userVO) {
         Page<EcoNewsComment> pages = ecoNewsCommentRepo
             .findAllByParentCommentIdOrderByCreatedDateDesc(pageable, parentCommentId);
-        List<EcoNewsCommentDto> ecoNewsCommentDtos = pages
-            .stream()
-            .map(comment -> {
-                comment.setCurrentUserLiked(comment.getUsersLiked().stream()
-                    .anyMatch(u -> u.getId().equals(userVO.getId())));
-                return comment;
-            })
-            .map(ecoNewsComment -> modelMapper.map(ecoNewsComment, EcoNewsCommentDto.class))
-            .collect(Collectors.toList());
+        List<EcoNewsCommentDto> ecoNewsCommentDtos = toCommentDtos(pages.getContent(), userVO);
 
         return new PageableDto<>(
             ecoNewsCommentDtos,
@@ -158,6 +143,7 @@ public class EcoNewsCommentServiceImpl implements EcoNewsCommentService {
      * @param userVO current {@link User} that wants to delete.
      */
     @Override
+    @Transactional
     public void deleteById(Long id, UserVO userVO) {
         EcoNewsComment comment = ecoNewsCommentRepo.findById(id)
             .orElseThrow(() -> new NotFoundException(ErrorMessage.COMMENT_NOT_FOUND_EXCEPTION));
@@ -165,14 +151,17 @@ public class EcoNewsCommentServiceImpl implements EcoNewsCommentService {
         if (userVO.getRole() != Role.ROLE_ADMIN && !userVO.getId().equals(comment.getUser().getId())) {
             throw new UserHasNoPermissionToAccessException(ErrorMessage.USER_HAS_NO_PERMISSION);
         }
+        int deletedComments = comment.isDeleted() ? 0 : 1;
         if (comment.getComments() != null) {
+            deletedComments += (int) comment.getComments().stream().filter(c -> !c.isDeleted()).count();
             comment.getComments().forEach(c -> c.setDeleted(true));
         }
         comment.setDeleted(true);
-        String accessToken = httpServletRequest.getHeader(AUTHORIZATION);
-        CompletableFuture.runAsync(
-            () -> ratingCalculation.ratingCalculation(RatingCalculationEnum.DELETE_COMMENT, userVO, accessToken));
+        sideEffectOutbox.enqueueRating(userVO.getId(), RatingCalculationEnum.DELETE_COMMENT);
         ecoNewsCommentRepo.save(comment);
+        if (deletedComments > 0 && comment.getEcoNews() != null) {
+            ecoNewsRepo.updateCommentsCounter(comment.getEcoNews().getId(), -deletedComments);
+        }
     }
 
     /**
@@ -203,6 +192,7 @@ public class EcoNewsCommentServiceImpl implements EcoNewsCommentService {
      * @param userVO current {@link User} that wants to like/dislike.
      */
     @Override
+    @Transactional
     public void like(Long id, UserVO userVO) {
         EcoNewsComment comment = ecoNewsCommentRepo.findById(id)
             .orElseThrow(() -> new NotFoundException(ErrorMessage.COMMENT_NOT_FOUND_EXCEPTION));
@@ -217,23 +207,28 @@ public class EcoNewsCommentServiceImpl implements EcoNewsCommentService {
     }
 
     /**
-     * Method returns count of likes to certain
-     * {@link greencity.entity.EcoNewsComment} specified by id.
+     * Method schedules broadcast of count of likes to certain
+     * {@link greencity.entity.EcoNewsComment} specified by id. The count is
+     * broadcast by {@link CommentLikesBroadcaster} together with other likes of
+     * the comment. The user gets the current count and whether they like the
+     * comment at once.
      *
      * @param amountCommentLikesDto dto with id and count likes for comments.
+     * @return dto with id and count likes of the comment and whether the user
+     *         likes it.
      */
     @Override
-    @Transactional
-    public void countLikes(AmountCommentLikesDto amountCommentLikesDto) {
-        EcoNewsComment comment = ecoNewsCommentRepo.findById(amountCommentLikesDto.getId()).orElseThrow(
-            () -> new BadRequestException(ErrorMessage.COMMENT_NOT_FOUND_EXCEPTION));
-        boolean isLiked = comment.getUsersLiked().stream().map(User::getId)
-            .anyMatch(x -> x.equals(amountCommentLikesDto.getUserId()));
-        amountCommentLikesDto.setLiked(isLiked);
-        int size = comment.getUsersLiked().size();
-        amountCommentLikesDto.setAmountLikes(size);
-        messagingTemplate
-            .convertAndSend("/topic/" + amountCommentLikesDto.getId() + "/comment", amountCommentLikesDto);
+    public AmountCommentLikesDto countLikes(AmountCommentLikesDto amountCommentLikesDto) {
+        EcoNewsCommentCountsDto counts = ecoNewsCommentRepo.findCountsByIds(List.of(amountCommentLikesDto.getId()))
+            .stream()
+            .findFirst()
+            .orElseThrow(() -> new BadRequestException(ErrorMessage.COMMENT_NOT_FOUND_EXCEPTION));
+        amountCommentLikesDto.setAmountLikes(counts.getLikes().intValue());
+        amountCommentLikesDto.setLiked(amountCommentLikesDto.getUserId() != null && !ecoNewsCommentRepo
+            .findIdsLikedByUser(List.of(amountCommentLikesDto.getId()), amountCommentLikesDto.getUserId())
+            .isEmpty());
+        commentLikesBroadcaster.submit(amountCommentLikesDto);
+        return amountCommentLikesDto;
     }
 
     /**
@@ -278,20 +273,7 @@ public class EcoNewsCommentServiceImpl implements EcoNewsCommentService {
         Page<EcoNewsComment> pages =
             ecoNewsCommentRepo
                 .findAllByParentCommentIsNullAndDeletedFalseAndEcoNewsIdOrderByCreatedDateDesc(pageable, ecoNewsId);
-        UserVO user = userVO == null ? UserVO.builder().build() : userVO;
-        List<EcoNewsCommentDto> ecoNewsCommentDtos = pages
-            .stream()
-            .map(comment -> {
-                comment.setCurrentUserLiked(comment.getUsersLiked().stream()
-                    .anyMatch(u -> u.getId().equals(user.getId())));
-                return comment;
-            })
-            .map(ecoNewsComment -> modelMapper.map(ecoNewsComment, EcoNewsCommentDto.class))
-            .map(comment -> {
-                comment.setReplies(ecoNewsCommentRepo.countByParentCommentId(comment.getId()));
-                return comment;
-            })
-            .collect(Collectors.toList());
+        List<EcoNewsCommentDto> ecoNewsCommentDtos = toCommentDtos(pages.getContent(), userVO);
 
         return new PageableDto<>(
             ecoNewsCommentDtos,
@@ -300,6 +282,61 @@ public class EcoNewsCommentServiceImpl implements EcoNewsCommentService {
             pages.getTotalPages());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageDto<EcoNewsCommentDto> getActiveCommentsByCursor(String cursor, int size, boolean withCount,
+        UserVO userVO, Long ecoNewsId) {
+        List<EcoNewsComment> comments;
+        if (cursor == null) {
+            comments = ecoNewsCommentRepo.findFirstActiveOrderByCreatedDateDesc(ecoNewsId,
+                PageRequest.of(0, size + 1));
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            comments = ecoNewsCommentRepo.findNextActiveOrderByCreatedDateDesc(ecoNewsId,
+                position.getKeyAsLocalDateTime(), position.getId(), PageRequest.of(0, size + 1));
+        }
+        boolean hasNext = comments.size() > size;
+        List<EcoNewsComment> page = hasNext ? comments.subList(0, size) : comments;
+        String nextCursor = null;
+        if (hasNext) {
+            EcoNewsComment last = page.get(page.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedDate(), last.getId());
+        }
+        return new CursorPageDto<>(toCommentDtos(page, userVO), nextCursor, hasNext,
+            withCount ? (long) ecoNewsCommentRepo.countOfComments(ecoNewsId) : null);
+    }
+
+    /**
+     * Maps page of comments to dto. Amounts of replies and likes of the whole page
+     * are loaded with one query and likes of the current user with another one,
+     * so collections of users who liked the comments are never loaded.
+     */
+    private List<EcoNewsCommentDto> toCommentDtos(List<EcoNewsComment> comments, UserVO userVO) {
+        if (comments.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = comments.stream()
+            .map(EcoNewsComment::getId)
+            .collect(Collectors.toList());
+        Map<Long, EcoNewsCommentCountsDto> counts = ecoNewsCommentRepo.findCountsByIds(ids).stream()
+            .collect(Collectors.toMap(EcoNewsCommentCountsDto::getCommentId, Function.identity()));
+        Set<Long> liked = userVO == null || userVO.getId() == null ? Collections.emptySet()
+            : new HashSet<>(ecoNewsCommentRepo.findIdsLikedByUser(ids, userVO.getId()));
+        return comments
+            .stream()
+            .map(comment -> {
+                EcoNewsCommentCountsDto commentCounts = counts.get(comment.getId());
+                comment.setCurrentUserLiked(liked.contains(comment.getId()));
+                comment.setLikesCount(commentCounts == null ? 0 : commentCounts.getLikes().intValue());
+                EcoNewsCommentDto dto = modelMapper.map(comment, EcoNewsCommentDto.class);
+                dto.setReplies(commentCounts == null ? 0 : commentCounts.getReplies().intValue());
+                return dto;
+            })
+            .collect(Collectors.toList());
+    }
+
     /**
      * Method returns all replies to certain comment specified by parentCommentId.
      *
@@ -313,16 +350,7 @@ public class EcoNewsCommentServiceImpl implements EcoNewsCommentService {
     public PageableDto<EcoNewsCommentDto> findAllActiveReplies(Pageable pageable, Long parentCommentId, UserVO userVO) {
         Page<EcoNewsComment> pages = ecoNewsCommentRepo
             .findAllByParentCommentIdAndDeletedFalseOrderByCreatedDateDesc(pageable, parentCommentId);
-        UserVO user = userVO == null ? UserVO.builder().build() : userVO;
-        List<EcoNewsCommentDto> ecoNewsCommentDtos = pages
-            .stream()
-            .map(comment -> {
-                comment.setCurrentUserLiked(comment.getUsersLiked().stream()
-                    .anyMatch(u -> u.getId().equals(user.getId())));
-                return comment;
-            })
-            .map(ecoNewsComment -> modelMapper.map(ecoNewsComment, EcoNewsCommentDto.class))
-            .collect(Collectors.toList());
+        List<EcoNewsCommentDto> ecoNewsCommentDtos = toCommentDtos(pages.getContent(), userVO);
 
         return new PageableDto<>(
             ecoNewsCommentDtos,
@@ -1,20 +1,24 @@
 package greencity.service;
 
-import greencity.achievement.AchievementCalculation;
 import greencity.annotations.RatingCalculationEnum;
 import greencity.client.RestClient;
 import greencity.constant.CacheConstants;
 import greencity.constant.ErrorMessage;
+import greencity.dto.CursorPageDto;
 import greencity.dto.PageableAdvancedDto;
 import greencity.dto.PageableDto;
 import greencity.dto.econews.*;
 import greencity.dto.econewscomment.EcoNewsCommentVO;
+import greencity.dto.image.ImageVariantsDto;
 import greencity.dto.ratingstatistics.RatingStatisticsViewDto;
+import greencity.dto.search.EcoNewsSearchHit;
 import greencity.dto.search.SearchNewsDto;
 import greencity.dto.tag.TagVO;
 import greencity.dto.user.EcoNewsAuthorDto;
 import greencity.dto.user.PlaceAuthorDto;
 import greencity.dto.user.UserVO;
+import greencity.econews.EcoNewsRecommendationIndex;
+import greencity.econews.EcoNewsTotalCounter;
 import greencity.entity.*;
 import greencity.entity.localization.TagTranslation;
 import greencity.enums.AchievementCategoryType;
@@ -27,9 +31,14 @@ import greencity.exception.exceptions.NotSavedException;
 import greencity.exception.exceptions.UnsupportedSortException;
 import greencity.filters.EcoNewsSpecification;
 import greencity.filters.SearchCriteria;
+import greencity.image.ImagePipeline;
+import greencity.outbox.SideEffectOutbox;
+import greencity.pagination.KeysetCursor;
+import greencity.repository.EcoNewsFullTextSearchRepo;
 import greencity.repository.EcoNewsRepo;
 import greencity.repository.EcoNewsSearchRepo;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.cache.annotation.CacheEvict;
@@ -40,17 +49,22 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static greencity.constant.AppConstant.AUTHORIZATION;
 
+@Slf4j
 @Service
 @EnableCaching
 @RequiredArgsConstructor
@@ -60,10 +74,14 @@ public class EcoNewsServiceImpl implements EcoNewsService {
     private final ModelMapper modelMapper;
     private final TagsService tagService;
     private final FileService fileService;
-    private final AchievementCalculation achievementCalculation;
-    private final greencity.rating.RatingCalculation ratingCalculation;
     private final HttpServletRequest httpServletRequest;
     private final EcoNewsSearchRepo ecoNewsSearchRepo;
+    private final EcoNewsFullTextSearchRepo ecoNewsFullTextSearchRepo;
+    private final SideEffectOutbox sideEffectOutbox;
+    private final EcoNewsTotalCounter ecoNewsTotalCounter;
+    private final ImagePipeline imagePipeline;
+    private final EcoNewsRecommendationIndex ecoNewsRecommendationIndex;
+    private final PlatformTransactionManager transactionManager;
     private final List<String> languageCode = List.of("en", "ua");
 
     /**
@@ -73,15 +91,15 @@ public class EcoNewsServiceImpl implements EcoNewsService {
      */
     @CacheEvict(value = CacheConstants.NEWEST_ECO_NEWS_CACHE_NAME, allEntries = true)
     @Override
+    @Transactional
     public AddEcoNewsDtoResponse save(AddEcoNewsDtoRequest addEcoNewsDtoRequest,
         MultipartFile image, String email) {
         EcoNews toSave = genericSave(addEcoNewsDtoRequest, image, email);
 
         AddEcoNewsDtoResponse addEcoNewsDtoResponse = modelMapper.map(toSave, AddEcoNewsDtoResponse.class);
         sendEmailDto(addEcoNewsDtoResponse, toSave.getAuthor());
-        CompletableFuture.runAsync(() -> achievementCalculation
-            .calculateAchievement(toSave.getAuthor().getId(), AchievementType.INCREMENT,
-                AchievementCategoryType.ECO_NEWS, 0));
+        sideEffectOutbox.enqueueAchievement(toSave.getAuthor().getId(), AchievementType.INCREMENT,
+            AchievementCategoryType.ECO_NEWS, 0);
         return addEcoNewsDtoResponse;
     }
 
@@ -92,14 +110,14 @@ public class EcoNewsServiceImpl implements EcoNewsService {
      */
     @CacheEvict(value = CacheConstants.NEWEST_ECO_NEWS_CACHE_NAME, allEntries = true)
     @Override
+    @Transactional
     public EcoNewsGenericDto saveEcoNews(AddEcoNewsDtoRequest addEcoNewsDtoRequest, MultipartFile image, String email) {
         EcoNews toSave = genericSave(addEcoNewsDtoRequest, image, email);
 
-        EcoNewsGenericDto ecoNewsDto = getEcoNewsGenericDtoWithAllTags(toSave);
+        EcoNewsGenericDto ecoNewsDto = getEcoNewsGenericDtoWithAllTags(toSave, ecoNewsTotalCounter.get());
         sendEmailDto(ecoNewsDto, toSave.getAuthor());
-        CompletableFuture.runAsync(() -> achievementCalculation
-            .calculateAchievement(toSave.getAuthor().getId(), AchievementType.INCREMENT,
-                AchievementCategoryType.ECO_NEWS, 0));
+        sideEffectOutbox.enqueueAchievement(toSave.getAuthor().getId(), AchievementType.INCREMENT,
+            AchievementCategoryType.ECO_NEWS, 0);
         return ecoNewsDto;
     }
 
@@ -167,7 +185,9 @@ public class EcoNewsServiceImpl implements EcoNewsService {
      */
     @Override
     public List<EcoNewsDto> getThreeRecommendedEcoNews(Long openedEcoNewsId) {
-        List<EcoNews> ecoNewsList = ecoNewsRepo.getThreeRecommendedEcoNews(openedEcoNewsId);
+        List<EcoNews> ecoNewsList = ecoNewsRecommendationIndex.recommend(openedEcoNewsId, 3)
+            .map(this::findAllInOrder)
+            .orElseGet(() -> ecoNewsRepo.getThreeRecommendedEcoNews(openedEcoNewsId));
         return getEcoNewsList(ecoNewsList);
     }
 
@@ -211,6 +231,33 @@ public class EcoNewsServiceImpl implements EcoNewsService {
         return buildPageableAdvancedGeneticDto(pages);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageDto<EcoNewsGenericDto> findGenericAllByCursor(String cursor, int size, boolean withCount) {
+        List<EcoNews> ecoNews;
+        if (cursor == null) {
+            ecoNews = ecoNewsRepo.findFirstOrderByCreationDateDesc(size + 1);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            ecoNews = ecoNewsRepo.findNextOrderByCreationDateDesc(position.getKeyAsZonedDateTime(),
+                position.getId(), size + 1);
+        }
+        boolean hasNext = ecoNews.size() > size;
+        List<EcoNews> page = hasNext ? ecoNews.subList(0, size) : ecoNews;
+        int countOfEcoNews = ecoNewsTotalCounter.get();
+        List<EcoNewsGenericDto> ecoNewsDtos = page.stream()
+            .map(news -> getEcoNewsGenericDtoWithEnTags(news, countOfEcoNews))
+            .collect(Collectors.toList());
+        String nextCursor = null;
+        if (hasNext) {
+            EcoNews last = page.get(page.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreationDate(), last.getId());
+        }
+        return new CursorPageDto<>(ecoNewsDtos, nextCursor, hasNext, withCount ? (long) countOfEcoNews : null);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -260,8 +307,9 @@ public class EcoNewsServiceImpl implements EcoNewsService {
     }
 
     private PageableAdvancedDto<EcoNewsGenericDto> buildPageableAdvancedGeneticDto(Page<EcoNews> ecoNewsPage) {
+        int countOfEcoNews = ecoNewsTotalCounter.get();
         List<EcoNewsGenericDto> ecoNewsDtos = ecoNewsPage.stream()
-            .map(this::getEcoNewsGenericDtoWithEnTags)
+            .map(ecoNews -> getEcoNewsGenericDtoWithEnTags(ecoNews, countOfEcoNews))
             .collect(Collectors.toList());
 
         return new PageableAdvancedDto<>(
@@ -327,21 +375,29 @@ public class EcoNewsServiceImpl implements EcoNewsService {
      */
     @CacheEvict(value = CacheConstants.NEWEST_ECO_NEWS_CACHE_NAME, allEntries = true)
     @Override
+    @Transactional
     public void delete(Long id, UserVO user) {
-        EcoNewsVO ecoNewsVO = findById(id);
-        if (user.getRole() != Role.ROLE_ADMIN && !user.getId().equals(ecoNewsVO.getAuthor().getId())) {
+        EcoNews toDelete = ecoNewsRepo.findById(id)
+            .orElseThrow(() -> new NotFoundException(ErrorMessage.ECO_NEWS_NOT_FOUND_BY_ID + id));
+        if (user.getRole() != Role.ROLE_ADMIN && !user.getId().equals(toDelete.getAuthor().getId())) {
             throw new BadRequestException(ErrorMessage.USER_HAS_NO_PERMISSION);
         }
-        String accessToken = httpServletRequest.getHeader(AUTHORIZATION);
-        CompletableFuture.runAsync(
-            () -> ratingCalculation.ratingCalculation(RatingCalculationEnum.DELETE_ECO_NEWS, user, accessToken));
-        ecoNewsRepo.deleteById(ecoNewsVO.getId());
+        sideEffectOutbox.enqueueRating(user.getId(), RatingCalculationEnum.DELETE_ECO_NEWS);
+        ecoNewsRepo.deleteById(toDelete.getId());
+        ecoNewsTotalCounter.add(-1);
+        ecoNewsRecommendationIndex.remove(List.of(toDelete.getId()));
+        deleteImages(imagePaths(toDelete), List.of());
     }
 
     @Transactional
     @Override
     public void deleteAll(List<Long> listId) {
-        ecoNewsRepo.deleteEcoNewsWithIds(listId);
+        List<String> images = ecoNewsRepo.findAllById(listId).stream()
+            .flatMap(ecoNews -> imagePaths(ecoNews).stream())
+            .collect(Collectors.toList());
+        ecoNewsTotalCounter.add(-ecoNewsRepo.deleteEcoNewsWithIds(listId));
+        ecoNewsRecommendationIndex.remove(listId);
+        deleteImages(images, List.of());
     }
 
     /**
@@ -363,6 +419,23 @@ public class EcoNewsServiceImpl implements EcoNewsService {
         return getSearchNewsDtoPageableDto(page);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PageableDto<SearchNewsDto> fullTextSearch(Pageable pageable, String searchQuery, String languageCode) {
+        Page<EcoNewsSearchHit> page = ecoNewsFullTextSearchRepo.find(pageable, searchQuery, languageCode);
+        List<SearchNewsDto> searchNewsDtos = page.stream()
+            .map(hit -> modelMapper.map(hit.getEcoNews(), SearchNewsDto.class).setHighlight(hit.getHighlight()))
+            .collect(Collectors.toList());
+
+        return new PageableDto<>(
+            searchNewsDtos,
+            page.getTotalElements(),
+            page.getPageable().getPageNumber(),
+            page.getTotalPages());
+    }
+
     private PageableDto<SearchNewsDto> getSearchNewsDtoPageableDto(Page<EcoNews> page) {
         List<SearchNewsDto> searchNewsDtos = page.stream()
             .map(ecoNews -> modelMapper.map(ecoNews, SearchNewsDto.class))
@@ -421,13 +494,12 @@ public class EcoNewsServiceImpl implements EcoNewsService {
      * @param comment {@link EcoNewsComment}
      * @author Dovganyuk Taras
      */
+    @Transactional
     public void likeComment(UserVO user, EcoNewsCommentVO comment) {
         comment.getUsersLiked().add(user);
-        String accessToken = httpServletRequest.getHeader(AUTHORIZATION);
-        CompletableFuture
-            .runAsync(() -> ratingCalculation.ratingCalculation(RatingCalculationEnum.LIKE_COMMENT, user, accessToken));
-        CompletableFuture.runAsync(() -> achievementCalculation
-            .calculateAchievement(user.getId(), AchievementType.INCREMENT, AchievementCategoryType.ECO_NEWS_LIKE, 0));
+        sideEffectOutbox.enqueueRating(user.getId(), RatingCalculationEnum.LIKE_COMMENT);
+        sideEffectOutbox.enqueueAchievement(user.getId(), AchievementType.INCREMENT,
+            AchievementCategoryType.ECO_NEWS_LIKE, 0);
     }
 
     /**
@@ -437,11 +509,10 @@ public class EcoNewsServiceImpl implements EcoNewsService {
      * @param comment {@link EcoNewsComment}
      * @author Dovganyuk Taras
      */
+    @Transactional
     public void unlikeComment(UserVO user, EcoNewsCommentVO comment) {
-        String accessToken = httpServletRequest.getHeader(AUTHORIZATION);
         comment.getUsersLiked().removeIf(u -> u.getId().equals(user.getId()));
-        CompletableFuture
-            .runAsync(() -> ratingCalculation.ratingCalculation(RatingCalculationEnum.LIKE_COMMENT, user, accessToken));
+        sideEffectOutbox.enqueueRating(user.getId(), RatingCalculationEnum.LIKE_COMMENT);
     }
 
     @Override
@@ -459,7 +530,7 @@ public class EcoNewsServiceImpl implements EcoNewsService {
                 new TypeToken<List<Tag>>() {
                 }.getType()));
         if (image != null) {
-            toUpdate.setImagePath(fileService.upload(image));
+            uploadImage(toUpdate, image);
         }
     }
 
@@ -477,7 +548,91 @@ public class EcoNewsServiceImpl implements EcoNewsService {
             image = fileService.convertToMultipartImage(updateEcoNewsDto.getImage());
         }
         if (image != null) {
-            toUpdate.setImagePath(fileService.upload(image));
+            uploadImage(toUpdate, image);
+        }
+    }
+
+    private void uploadImage(EcoNews ecoNews, MultipartFile image) {
+        ImageVariantsDto variants = imagePipeline.upload(image);
+        ecoNews.setImagePath(variants.getFullPath());
+        ecoNews.setImageVariants(new ImageVariants(variants.getThumbPath(), variants.getCardPath()));
+    }
+
+    /**
+     * Method finds eco news to update. Image variants and counters are not part
+     * of {@link EcoNewsVO}, so they are copied from the stored eco news. Likes
+     * and dislikes are taken from the stored eco news as they are, so saving
+     * the eco news does not rewrite likes made in the meantime.
+     *
+     * @param id of {@link EcoNews}.
+     * @return {@link EcoNews} to update.
+     */
+    private EcoNews findToUpdate(Long id) {
+        EcoNews stored = ecoNewsRepo.findById(id)
+            .orElseThrow(() -> new NotFoundException(ErrorMessage.ECO_NEWS_NOT_FOUND_BY_ID + id));
+        EcoNews toUpdate = modelMapper.map(modelMapper.map(stored, EcoNewsVO.class), EcoNews.class);
+        toUpdate.setImageVariants(stored.getImageVariants());
+        toUpdate.setUsersLikedNews(stored.getUsersLikedNews());
+        toUpdate.setUsersDislikedNews(stored.getUsersDislikedNews());
+        toUpdate.setLikesCount(stored.getLikesCount());
+        toUpdate.setDislikesCount(stored.getDislikesCount());
+        toUpdate.setCommentsCount(stored.getCommentsCount());
+        return toUpdate;
+    }
+
+    private static List<String> imagePaths(EcoNews ecoNews) {
+        List<String> paths = new ArrayList<>();
+        paths.add(ecoNews.getImagePath());
+        if (ecoNews.getImageVariants() != null) {
+            paths.add(ecoNews.getImageVariants().getThumbPath());
+            paths.add(ecoNews.getImageVariants().getCardPath());
+        }
+        paths.removeIf(Objects::isNull);
+        return paths;
+    }
+
+    /**
+     * Method deletes images from the server, except the ones which are still
+     * used. Inside a transaction the images are deleted only after it commits,
+     * so a rolled back change keeps its images.
+     *
+     * @param paths paths of images to delete.
+     * @param kept  paths of images which are still used.
+     */
+    private void deleteImages(List<String> paths, List<String> kept) {
+        List<String> toDelete = paths.stream()
+            .distinct()
+            .filter(path -> !kept.contains(path))
+            .collect(Collectors.toList());
+        if (toDelete.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+                    transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                    toDelete.forEach(path -> deleteImageAfterCommit(transactionTemplate, path));
+                }
+            });
+        } else {
+            toDelete.forEach(fileService::delete);
+        }
+    }
+
+    /**
+     * Deletes the image in its own transaction, the committed one can no longer
+     * be used. A failure is only logged, the eco news is already changed.
+     */
+    private void deleteImageAfterCommit(TransactionTemplate transactionTemplate, String path) {
+        try {
+            transactionTemplate.execute(status -> {
+                fileService.delete(path);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not delete image {} of eco news", path, e);
         }
     }
 
@@ -487,10 +642,13 @@ public class EcoNewsServiceImpl implements EcoNewsService {
     @CacheEvict(value = CacheConstants.NEWEST_ECO_NEWS_CACHE_NAME, allEntries = true)
     @Override
     public void update(EcoNewsDtoManagement ecoNewsDtoManagement, MultipartFile image) {
-        EcoNews toUpdate = modelMapper.map(findById(ecoNewsDtoManagement.getId()), EcoNews.class);
+        EcoNews toUpdate = findToUpdate(ecoNewsDtoManagement.getId());
+        List<String> previousImages = imagePaths(toUpdate);
         enhanceWithNewManagementData(toUpdate, ecoNewsDtoManagement, image);
 
         ecoNewsRepo.save(toUpdate);
+        ecoNewsRecommendationIndex.put(toUpdate);
+        deleteImages(previousImages, imagePaths(toUpdate));
     }
 
     /**
@@ -501,13 +659,16 @@ public class EcoNewsServiceImpl implements EcoNewsService {
     @CacheEvict(value = CacheConstants.NEWEST_ECO_NEWS_CACHE_NAME, allEntries = true)
     @Override
     public EcoNewsGenericDto update(UpdateEcoNewsDto updateEcoNewsDto, MultipartFile image, UserVO user) {
-        EcoNews toUpdate = modelMapper.map(findById(updateEcoNewsDto.getId()), EcoNews.class);
+        EcoNews toUpdate = findToUpdate(updateEcoNewsDto.getId());
         if (user.getRole() != Role.ROLE_ADMIN && !user.getId().equals(toUpdate.getAuthor().getId())) {
             throw new BadRequestException(ErrorMessage.USER_HAS_NO_PERMISSION);
         }
+        List<String> previousImages = imagePaths(toUpdate);
         enhanceWithNewData(toUpdate, updateEcoNewsDto, image);
         ecoNewsRepo.save(toUpdate);
-        return getEcoNewsGenericDtoWithAllTags(toUpdate);
+        ecoNewsRecommendationIndex.put(toUpdate);
+        deleteImages(previousImages, imagePaths(toUpdate));
+        return getEcoNewsGenericDtoWithAllTags(toUpdate, ecoNewsTotalCounter.get());
     }
 
     @Override
@@ -524,17 +685,13 @@ public class EcoNewsServiceImpl implements EcoNewsService {
      * @param id     - @{@link Long} eco news id.
      */
     @Override
+    @Transactional
     public void like(UserVO userVO, Long id) {
-        EcoNewsVO ecoNewsVO = findById(id);
-        if (ecoNewsVO.getUsersDislikedNews().stream().anyMatch(u -> u.getId().equals(userVO.getId()))) {
-            ecoNewsVO.getUsersDislikedNews().removeIf(u -> u.getId().equals(userVO.getId()));
-        }
-        if (ecoNewsVO.getUsersLikedNews().stream().anyMatch(u -> u.getId().equals(userVO.getId()))) {
-            ecoNewsVO.getUsersLikedNews().removeIf(u -> u.getId().equals(userVO.getId()));
-        } else {
-            ecoNewsVO.getUsersLikedNews().add(userVO);
-        }
-        ecoNewsRepo.save(modelMapper.map(ecoNewsVO, EcoNews.class));
+        checkEcoNewsExists(id);
+        int removedDislikes = ecoNewsRepo.removeDislike(id, userVO.getId());
+        int removedLikes = ecoNewsRepo.removeLike(id, userVO.getId());
+        int addedLikes = removedLikes == 0 ? ecoNewsRepo.addLike(id, userVO.getId()) : 0;
+        ecoNewsRepo.updateLikesCounters(id, addedLikes - removedLikes, -removedDislikes);
     }
 
     /**
@@ -544,17 +701,19 @@ public class EcoNewsServiceImpl implements EcoNewsService {
      * @param id     - @{@link Long} eco news id.
      */
     @Override
+    @Transactional
     public void dislike(UserVO userVO, Long id) {
-        EcoNewsVO ecoNewsVO = findById(id);
-        if (ecoNewsVO.getUsersLikedNews().stream().anyMatch(user -> user.getId().equals(userVO.getId()))) {
-            ecoNewsVO.getUsersLikedNews().removeIf(u -> u.getId().equals(userVO.getId()));
-        }
-        if (ecoNewsVO.getUsersDislikedNews().stream().anyMatch(user -> user.getId().equals(userVO.getId()))) {
-            ecoNewsVO.getUsersDislikedNews().removeIf(u -> u.getId().equals(userVO.getId()));
-        } else {
-            ecoNewsVO.getUsersDislikedNews().add(userVO);
+        checkEcoNewsExists(id);
+        int removedLikes = ecoNewsRepo.removeLike(id, userVO.getId());
+        int removedDislikes = ecoNewsRepo.removeDislike(id, userVO.getId());
+        int addedDislikes = removedDislikes == 0 ? ecoNewsRepo.addDislike(id, userVO.getId()) : 0;
+        ecoNewsRepo.updateLikesCounters(id, -removedLikes, addedDislikes - removedDislikes);
+    }
+
+    private void checkEcoNewsExists(Long id) {
+        if (!ecoNewsRepo.existsById(id)) {
+            throw new NotFoundException(ErrorMessage.ECO_NEWS_NOT_FOUND_BY_ID + id);
         }
-        ecoNewsRepo.save(modelMapper.map(ecoNewsVO, EcoNews.class));
     }
 
     /**
@@ -565,8 +724,7 @@ public class EcoNewsServiceImpl implements EcoNewsService {
      */
     @Override
     public Integer countLikesForEcoNews(Long id) {
-        EcoNewsVO ecoNewsVO = findById(id);
-        return ecoNewsVO.getUsersLikedNews().size();
+        return findEcoNewsById(id).getLikesCount();
     }
 
     /**
@@ -577,8 +735,12 @@ public class EcoNewsServiceImpl implements EcoNewsService {
      */
     @Override
     public Integer countDislikesForEcoNews(Long id) {
-        EcoNewsVO ecoNewsV0 = findById(id);
-        return ecoNewsV0.getUsersDislikedNews().size();
+        return findEcoNewsById(id).getDislikesCount();
+    }
+
+    private EcoNews findEcoNewsById(Long id) {
+        return ecoNewsRepo.findById(id)
+            .orElseThrow(() -> new NotFoundException(ErrorMessage.ECO_NEWS_NOT_FOUND_BY_ID + id));
     }
 
     /**
@@ -617,7 +779,7 @@ public class EcoNewsServiceImpl implements EcoNewsService {
      */
     @Override
     public String[] uploadImages(MultipartFile[] images) {
-        return Arrays.stream(images).map(fileService::upload).toArray(String[]::new);
+        return fileService.uploadAll(images).toArray(String[]::new);
     }
 
     /**
@@ -669,6 +831,15 @@ public class EcoNewsServiceImpl implements EcoNewsService {
         }
     }
 
+    private List<EcoNews> findAllInOrder(List<Long> ids) {
+        Map<Long, EcoNews> found = ecoNewsRepo.findAllById(ids).stream()
+            .collect(Collectors.toMap(EcoNews::getId, ecoNews -> ecoNews));
+        return ids.stream()
+            .map(found::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
     private List<EcoNewsDto> getEcoNewsList(List<EcoNews> ecoNewsList) {
         return ecoNewsList
             .stream()
@@ -676,16 +847,16 @@ public class EcoNewsServiceImpl implements EcoNewsService {
             .collect(Collectors.toList());
     }
 
-    private EcoNewsGenericDto getEcoNewsGenericDtoWithAllTags(EcoNews ecoNews) {
+    private EcoNewsGenericDto getEcoNewsGenericDtoWithAllTags(EcoNews ecoNews, int countOfEcoNews) {
         List<String> tags = ecoNews.getTags().stream()
             .flatMap(t -> t.getTagTranslations().stream())
             .map(TagTranslation::getName)
             .collect(Collectors.toList());
 
-        return buildEcoNewsGenericDto(ecoNews, tags);
+        return buildEcoNewsGenericDto(ecoNews, tags, countOfEcoNews);
     }
 
-    private EcoNewsGenericDto getEcoNewsGenericDtoWithEnTags(EcoNews ecoNews) {
+    private EcoNewsGenericDto getEcoNewsGenericDtoWithEnTags(EcoNews ecoNews, int countOfEcoNews) {
         List<String> tags = new ArrayList<>();
         for (String language : languageCode) {
             tags.addAll(ecoNews.getTags().stream()
@@ -695,16 +866,12 @@ public class EcoNewsServiceImpl implements EcoNewsService {
                 .collect(Collectors.toList()));
         }
 
-        return buildEcoNewsGenericDto(ecoNews, tags);
+        return buildEcoNewsGenericDto(ecoNews, tags, countOfEcoNews);
     }
 
-    private EcoNewsGenericDto buildEcoNewsGenericDto(EcoNews ecoNews, List<String> tags) {
+    private EcoNewsGenericDto buildEcoNewsGenericDto(EcoNews ecoNews, List<String> tags, int countOfEcoNews) {
         User author = ecoNews.getAuthor();
         var ecoNewsAuthorDto = new EcoNewsAuthorDto(author.getId(), author.getName());
-        int countOfComments = ecoNews.getEcoNewsComments() != null
-            ? (int) ecoNews.getEcoNewsComments().stream().filter(notDeleted -> !notDeleted.isDeleted()).count()
-            : 0;
-        int countOfEcoNews = ecoNewsRepo.totalCountOfCreationNews();
         return EcoNewsGenericDto.builder()
             .id(ecoNews.getId())
             .imagePath(ecoNews.getImagePath())
@@ -716,8 +883,8 @@ public class EcoNewsServiceImpl implements EcoNewsService {
             .title(ecoNews.getTitle())
             .creationDate(ecoNews.getCreationDate())
             .source(ecoNews.getSource())
-            .likes(ecoNews.getUsersLikedNews() != null ? ecoNews.getUsersLikedNews().size() : 0)
-            .countComments(countOfComments)
+            .likes(ecoNews.getLikesCount())
+            .countComments(ecoNews.getCommentsCount())
             .countOfEcoNews(countOfEcoNews)
             .build();
     }
@@ -731,7 +898,7 @@ public class EcoNewsServiceImpl implements EcoNewsService {
             .id(ecoNews.getId())
             .imagePath(ecoNews.getImagePath())
             .author(ecoNewsAuthorDto)
-            .likes(ecoNews.getUsersLikedNews().size())
+            .likes(ecoNews.getLikesCount())
             .tags(list.stream().filter(tag -> tag.matches("^([A-Za-z-])+$")).collect(Collectors.toList()))
             .tagsUa(list.stream().filter(tag -> tag.matches("^([А-Яа-яієїґ'-])+$")).collect(Collectors.toList()))
             .shortInfo(ecoNews.getShortInfo())
@@ -770,7 +937,7 @@ public class EcoNewsServiceImpl implements EcoNewsService {
             image = fileService.convertToMultipartImage(addEcoNewsDtoRequest.getImage());
         }
         if (image != null) {
-            toSave.setImagePath(fileService.upload(image));
+            uploadImage(toSave, image);
         }
 
         Set<String> tagsSet = new HashSet<>(addEcoNewsDtoRequest.getTags());
@@ -787,9 +954,9 @@ public class EcoNewsServiceImpl implements EcoNewsService {
             }.getType()));
         try {
             ecoNewsRepo.save(toSave);
-            String accessToken = httpServletRequest.getHeader(AUTHORIZATION);
-            CompletableFuture.runAsync(
-                () -> ratingCalculation.ratingCalculation(RatingCalculationEnum.ADD_ECO_NEWS, byEmail, accessToken));
+            ecoNewsTotalCounter.add(1);
+            ecoNewsRecommendationIndex.put(toSave);
+            sideEffectOutbox.enqueueRating(byEmail.getId(), RatingCalculationEnum.ADD_ECO_NEWS);
         } catch (DataIntegrityViolationException e) {
             throw new NotSavedException(ErrorMessage.ECO_NEWS_NOT_SAVED);
         }
@@ -23,7 +23,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -123,9 +122,7 @@ public class EventCommentServiceImpl implements EventCommentService {
      */
     @Override
     public PageableDto<EventCommentDto> getAllActiveComments(Pageable pageable, UserVO userVO, Long eventId) {
-        Optional<Event> event = eventRepo.findById(eventId);
-
-        if (event.isEmpty()) {
+        if (!eventRepo.existsById(eventId)) {
             throw new NotFoundException(ErrorMessage.EVENT_NOT_FOUND_BY_ID + eventId);
         }
 
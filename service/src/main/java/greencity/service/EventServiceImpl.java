@@ -5,9 +5,12 @@ import com.google.maps.model.LatLng;
 import greencity.client.RestClient;
 import greencity.constant.AppConstant;
 import greencity.constant.ErrorMessage;
+import greencity.dto.CursorPageDto;
 import greencity.dto.PageableAdvancedDto;
 import greencity.dto.event.*;
+import greencity.dto.image.ImageVariantsDto;
 import greencity.dto.tag.TagVO;
+import greencity.entity.ImageVariants;
 import greencity.entity.Tag;
 import greencity.entity.User;
 import greencity.entity.event.Event;
@@ -18,12 +21,15 @@ import greencity.enums.Role;
 import greencity.enums.TagType;
 import greencity.exception.exceptions.BadRequestException;
 import greencity.exception.exceptions.NotFoundException;
+import greencity.image.ImagePipeline;
+import greencity.pagination.KeysetCursor;
 import greencity.repository.EventRepo;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.ArrayUtils;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -44,6 +50,7 @@ public class EventServiceImpl implements EventService {
     private final TagsService tagService;
     private final GoogleApiService googleApiService;
     private final UserService userService;
+    private final ImagePipeline imagePipeline;
     private static final String DEFAULT_TITLE_IMAGE_PATH = AppConstant.DEFAULT_HABIT_IMAGE;
 
     @Override
@@ -54,14 +61,13 @@ public class EventServiceImpl implements EventService {
         User organizer = modelMapper.map(restClient.findByEmail(email), User.class);
         toSave.setOrganizer(organizer);
         if (images != null && images.length > 0 && images[0] != null) {
-            toSave.setTitleImage(fileService.upload(images[0]));
-            List<EventImages> eventImages = new ArrayList<>();
-            for (int i = 1; i < images.length; i++) {
-                if (images[i] != null) {
-                    eventImages.add(EventImages.builder().event(toSave).link(fileService.upload(images[i])).build());
-                }
-            }
-            toSave.setAdditionalImages(eventImages);
+            uploadTitleImage(toSave, images[0]);
+            List<String> links = fileService.uploadAll(Arrays.stream(images, 1, images.length)
+                .filter(Objects::nonNull)
+                .toArray(MultipartFile[]::new));
+            toSave.setAdditionalImages(links.stream()
+                .map(link -> EventImages.builder().event(toSave).link(link).build())
+                .collect(Collectors.toList()));
         } else {
             toSave.setTitleImage(DEFAULT_TITLE_IMAGE_PATH);
         }
@@ -88,7 +94,7 @@ public class EventServiceImpl implements EventService {
         }
 
         if (toDelete.getOrganizer().getId().equals(user.getId())) {
-            deleteImagesFromServer(eventImages);
+            deleteImagesFromServer(toDelete, eventImages);
             eventRepo.delete(toDelete);
         } else {
             throw new BadRequestException(ErrorMessage.NOT_EVENT_ORGANIZER);
@@ -114,7 +120,7 @@ public class EventServiceImpl implements EventService {
         PageableAdvancedDto<EventDto> eventDtos = buildPageableAdvancedDto(events);
         if (principal != null) {
             User user = modelMapper.map(restClient.findByEmail(principal.getName()), User.class);
-            setSubscribes(events, eventDtos, user);
+            setSubscribes(events.getContent(), eventDtos.getPage(), user);
         }
         return eventDtos;
     }
@@ -124,7 +130,7 @@ public class EventServiceImpl implements EventService {
         User attender = modelMapper.map(restClient.findByEmail(email), User.class);
         Page<Event> events = eventRepo.findAllByAttender(page, attender.getId());
         PageableAdvancedDto<EventDto> eventDtos = buildPageableAdvancedDto(events);
-        setSubscribes(events, eventDtos, attender);
+        setSubscribes(events.getContent(), eventDtos.getPage(), attender);
         return eventDtos;
     }
 
@@ -133,7 +139,7 @@ public class EventServiceImpl implements EventService {
         User attender = modelMapper.map(restClient.findByEmail(email), User.class);
         Page<Event> events = eventRepo.findEventsByOrganizer(page, attender.getId());
         PageableAdvancedDto<EventDto> eventDtos = buildPageableAdvancedDto(events);
-        setSubscribes(events, eventDtos, attender);
+        setSubscribes(events.getContent(), eventDtos.getPage(), attender);
         return eventDtos;
     }
 
@@ -142,17 +148,34 @@ public class EventServiceImpl implements EventService {
         User attender = modelMapper.map(restClient.findByEmail(email), User.class);
         Page<Event> events = eventRepo.findRelatedEventsByUser(page, attender.getId());
         PageableAdvancedDto<EventDto> eventDtos = buildPageableAdvancedDto(events);
-        setSubscribes(events, eventDtos, attender);
+        setSubscribes(events.getContent(), eventDtos.getPage(), attender);
         return eventDtos;
     }
 
-    private void setSubscribes(Page<Event> events, PageableAdvancedDto<EventDto> eventDtos, User user) {
+    @Override
+    public CursorPageDto<EventDto> getAllByCursor(String cursor, int size, boolean withCount, Principal principal) {
+        long lastId = cursor == null ? Long.MAX_VALUE : KeysetCursor.decode(cursor).getId();
+        List<Event> events = eventRepo.findAllByIdLessThanOrderByIdDesc(lastId, PageRequest.of(0, size + 1));
+        boolean hasNext = events.size() > size;
+        List<Event> page = hasNext ? events.subList(0, size) : events;
+        List<EventDto> eventDtos = page.stream()
+            .map(event -> modelMapper.map(event, EventDto.class))
+            .collect(Collectors.toList());
+        if (principal != null) {
+            User user = modelMapper.map(restClient.findByEmail(principal.getName()), User.class);
+            setSubscribes(page, eventDtos, user);
+        }
+        String nextCursor = hasNext ? KeysetCursor.encode(null, page.get(page.size() - 1).getId()) : null;
+        return new CursorPageDto<>(eventDtos, nextCursor, hasNext, withCount ? eventRepo.count() : null);
+    }
+
+    private void setSubscribes(List<Event> events, List<EventDto> eventDtos, User user) {
         List<Long> eventIds = events.stream()
             .filter(event -> event.getAttenders().stream().map(User::getId).collect(Collectors.toList())
                 .contains(user.getId()))
             .map(Event::getId)
             .collect(Collectors.toList());
-        eventDtos.getPage().forEach(eventDto -> eventDto.setIsSubscribed(eventIds.contains(eventDto.getId())));
+        eventDtos.forEach(eventDto -> eventDto.setIsSubscribed(eventIds.contains(eventDto.getId())));
     }
 
     private PageableAdvancedDto<EventDto> buildPageableAdvancedDto(Page<Event> eventsPage) {
@@ -326,6 +349,8 @@ public class EventServiceImpl implements EventService {
 
     private void updateImages(Event toUpdate, UpdateEventDto updateEventDto, MultipartFile[] images) {
         eventRepo.deleteEventAdditionalImagesByEventId(updateEventDto.getId());
+        String previousTitleImage = toUpdate.getTitleImage();
+        ImageVariants previousTitleImageVariants = toUpdate.getTitleImageVariants();
         if (ArrayUtils.isEmpty(images) && updateEventDto.getImagesToDelete() == null) {
             changeOldImagesWithoutRemovingAndAdding(toUpdate, updateEventDto);
         } else if (images == null || images.length == 0) {
@@ -333,9 +358,19 @@ public class EventServiceImpl implements EventService {
         } else if (updateEventDto.getImagesToDelete() == null) {
             addNewImages(toUpdate, updateEventDto, images);
         } else {
-            deleteImagesFromServer(updateEventDto.getImagesToDelete());
+            deleteImagesFromServer(toUpdate, updateEventDto.getImagesToDelete());
             addNewImages(toUpdate, updateEventDto, images);
         }
+        if (toUpdate.getTitleImageVariants() == previousTitleImageVariants
+            && !Objects.equals(previousTitleImage, toUpdate.getTitleImage())) {
+            toUpdate.setTitleImageVariants(null);
+        }
+    }
+
+    private void uploadTitleImage(Event event, MultipartFile image) {
+        ImageVariantsDto variants = imagePipeline.upload(image);
+        event.setTitleImage(variants.getFullPath());
+        event.setTitleImageVariants(new ImageVariants(variants.getThumbPath(), variants.getCardPath()));
     }
 
     private void changeOldImagesWithoutRemovingAndAdding(Event toUpdate, UpdateEventDto updateEventDto) {
@@ -353,7 +388,7 @@ public class EventServiceImpl implements EventService {
     }
 
     private void deleteOldImages(Event toUpdate, UpdateEventDto updateEventDto) {
-        deleteImagesFromServer(updateEventDto.getImagesToDelete());
+        deleteImagesFromServer(toUpdate, updateEventDto.getImagesToDelete());
         if (updateEventDto.getTitleImage() != null) {
             toUpdate.setTitleImage(updateEventDto.getTitleImage());
             if (updateEventDto.getAdditionalImages() != null) {
@@ -368,8 +403,25 @@ public class EventServiceImpl implements EventService {
         }
     }
 
-    private void deleteImagesFromServer(List<String> images) {
-        images.stream().filter(img -> !img.equals(DEFAULT_TITLE_IMAGE_PATH)).forEach(fileService::delete);
+    /**
+     * Deletes images of the event from the server. When the title image is one
+     * of them its thumb and card variants are deleted too.
+     *
+     * @param event  {@link Event} the images belong to.
+     * @param images paths of images to delete.
+     */
+    private void deleteImagesFromServer(Event event, List<String> images) {
+        List<String> paths = new ArrayList<>(images);
+        ImageVariants titleImageVariants = event.getTitleImageVariants();
+        if (titleImageVariants != null && images.contains(event.getTitleImage())) {
+            paths.add(titleImageVariants.getThumbPath());
+            paths.add(titleImageVariants.getCardPath());
+        }
+        paths.stream()
+            .filter(Objects::nonNull)
+            .filter(img -> !img.equals(DEFAULT_TITLE_IMAGE_PATH))
+            .distinct()
+            .forEach(fileService::delete);
     }
 
     private void addNewImages(Event toUpdate, UpdateEventDto updateEventDto, MultipartFile[] images) {
@@ -377,7 +429,7 @@ public class EventServiceImpl implements EventService {
         if (updateEventDto.getTitleImage() != null) {
             toUpdate.setTitleImage(updateEventDto.getTitleImage());
         } else {
-            toUpdate.setTitleImage(fileService.upload(images[imagesCounter++]));
+            uploadTitleImage(toUpdate, images[imagesCounter++]);
         }
         List<String> additionalImagesStr = new ArrayList<>();
         if (updateEventDto.getAdditionalImages() != null) {
@@ -2,68 +2,114 @@ package greencity.service;
 
 import com.google.maps.GeoApiContext;
 import com.google.maps.GeocodingApi;
-import com.google.maps.errors.ApiException;
+import com.google.maps.GeocodingApiRequest;
+import com.google.maps.PendingResult;
 import com.google.maps.model.GeocodingResult;
 import com.google.maps.model.LatLng;
 
-import greencity.exception.exceptions.GoogleApiException;
+import greencity.geocoding.GeocodeCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GoogleApiService {
     private final GeoApiContext context;
+    private final GeocodeCache geocodeCache;
     private static final List<Locale> locales = List.of(new Locale("uk"), new Locale("en"));
 
     /**
-     * Send request to the Google and receive response with geocoding.
+     * Send request to the Google and receive response with geocoding. Results of
+     * every locale are taken from {@link GeocodeCache} when present, missing
+     * locales are requested concurrently.
      *
      * @param searchRequest - address to search
      * @return GeocodingResults - return result from geocoding service
      */
     public List<GeocodingResult> getResultFromGeoCode(String searchRequest) {
         List<GeocodingResult> geocodingResults = new ArrayList<>();
-        locales.forEach(locale -> {
-            try {
-                GeocodingResult[] results = GeocodingApi.newRequest(context)
-                    .address(searchRequest).language(locale.getLanguage()).await();
-                Collections.addAll(geocodingResults, results);
-            } catch (IOException | InterruptedException | ApiException e) {
-                log.error("Occurred error during the call on google API, reason: {}", e.getMessage());
-                Thread.currentThread().interrupt();
-            }
-        });
+        geocode(language -> geocodeCache.addressKey(searchRequest, language),
+            language -> GeocodingApi.newRequest(context).address(searchRequest).language(language))
+            .forEach(results -> Collections.addAll(geocodingResults, results));
         return geocodingResults;
     }
 
     /**
-     * Send request to the Google and receive response with geocoding.
+     * Send request to the Google and receive response with geocoding. Results of
+     * every locale are taken from {@link GeocodeCache} when present, missing
+     * locales are requested concurrently.
      *
      * @param searchCoordinates - coordinates to search
      * @return GeocodingResults - return result from geocoding service
      */
     public List<GeocodingResult> getResultFromGeoCodeByCoordinates(LatLng searchCoordinates) {
         List<GeocodingResult> geocodingResults = new ArrayList<>();
+        geocode(language -> geocodeCache.coordinatesKey(searchCoordinates, language),
+            language -> GeocodingApi.newRequest(context).latlng(searchCoordinates).language(language))
+            .forEach(results -> {
+                if (results.length > 0) {
+                    geocodingResults.add(results[0]);
+                }
+            });
+        return geocodingResults;
+    }
+
+    private List<GeocodingResult[]> geocode(Function<String, String> keys,
+        Function<String, GeocodingApiRequest> requests) {
+        List<String> cacheKeys = new ArrayList<>();
+        Map<String, GeocodingResult[]> found = new HashMap<>();
+        Map<String, CompletableFuture<GeocodingResult[]>> requested = new LinkedHashMap<>();
         locales.forEach(locale -> {
+            String cacheKey = keys.apply(locale.getLanguage());
+            cacheKeys.add(cacheKey);
+            geocodeCache.get(cacheKey).ifPresentOrElse(results -> found.put(cacheKey, results),
+                () -> requested.put(cacheKey, send(requests.apply(locale.getLanguage()))));
+        });
+        requested.forEach((cacheKey, request) -> {
             try {
-                GeocodingResult[] results = GeocodingApi.newRequest(context)
-                    .latlng(searchCoordinates).language(locale.getLanguage()).await();
-                geocodingResults.add(results[0]);
-            } catch (IOException | InterruptedException | ApiException e) {
-                log.error("Occurred error during the call on google API, reason: {}", e.getMessage());
-                Thread.currentThread().interrupt();
+                GeocodingResult[] results = request.join();
+                if (results.length > 0) {
+                    geocodeCache.put(cacheKey, results);
+                }
+                found.put(cacheKey, results);
+            } catch (CompletionException e) {
+                log.error("Occurred error during the call on google API, reason: {}", e.getCause().getMessage());
             }
         });
-        return geocodingResults;
+        return cacheKeys.stream()
+            .filter(found::containsKey)
+            .map(found::get)
+            .collect(Collectors.toList());
+    }
+
+    private static CompletableFuture<GeocodingResult[]> send(GeocodingApiRequest request) {
+        CompletableFuture<GeocodingResult[]> future = new CompletableFuture<>();
+        request.setCallback(new PendingResult.Callback<>() {
+            @Override
+            public void onResult(GeocodingResult[] results) {
+                future.complete(results);
+            }
+
+            @Override
+            public void onFailure(Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
     }
 }
@@ -1,6 +1,5 @@
 package greencity.service;
 
-import greencity.achievement.AchievementCalculation;
 import greencity.constant.AppConstant;
 import greencity.constant.ErrorMessage;
 import greencity.dto.habit.*;
@@ -22,6 +21,7 @@ import greencity.enums.AchievementType;
 import greencity.enums.HabitAssignStatus;
 import greencity.enums.ShoppingListItemStatus;
 import greencity.exception.exceptions.*;
+import greencity.outbox.SideEffectOutbox;
 import greencity.repository.*;
 
 import java.time.LocalDate;
@@ -32,7 +32,6 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -58,8 +57,8 @@ public class HabitAssignServiceImpl implements HabitAssignService {
     private final CustomShoppingListItemService customShoppingListItemService;
     private final HabitStatisticService habitStatisticService;
     private final HabitStatusCalendarService habitStatusCalendarService;
-    private final AchievementCalculation achievementCalculation;
     private final ModelMapper modelMapper;
+    private final SideEffectOutbox sideEffectOutbox;
 
     /**
      * {@inheritDoc}
@@ -569,6 +568,7 @@ public class HabitAssignServiceImpl implements HabitAssignService {
      * {@inheritDoc}
      */
     @Override
+    @Transactional
     public HabitAssignDto enrollHabit(Long habitId, Long userId, LocalDate dateTime, String language) {
         HabitAssign habitAssign = habitAssignRepo.findByHabitIdAndUserId(habitId, userId)
             .orElseThrow(() -> new NotFoundException(
@@ -623,14 +623,13 @@ public class HabitAssignServiceImpl implements HabitAssignService {
 
         int habitStreak = countNewHabitStreak(habitAssign.getHabitStatusCalendars());
         habitAssign.setHabitStreak(habitStreak);
-        CompletableFuture.runAsync(() -> achievementCalculation
-            .calculateAchievement(userId, AchievementType.COMPARISON,
-                AchievementCategoryType.HABIT_STREAK, habitStreak));
+        sideEffectOutbox.enqueueAchievement(userId, AchievementType.COMPARISON,
+            AchievementCategoryType.HABIT_STREAK, habitStreak);
 
         if (isHabitAcquired(habitAssign)) {
             habitAssign.setStatus(HabitAssignStatus.ACQUIRED);
-            CompletableFuture.runAsync(() -> achievementCalculation
-                .calculateAchievement(userId, AchievementType.INCREMENT, AchievementCategoryType.HABIT_STREAK, 0));
+            sideEffectOutbox.enqueueAchievement(userId, AchievementType.INCREMENT,
+                AchievementCategoryType.HABIT_STREAK, 0);
         }
         habitAssignRepo.save(habitAssign);
     }
@@ -0,0 +1,272 @@
+package greencity.service;
+
+import greencity.constant.ErrorMessage;
+import greencity.exception.exceptions.BadRequestException;
+import greencity.exception.exceptions.ImageUrlParseException;
+import greencity.exception.exceptions.NotSavedException;
+import greencity.repository.StoredFileRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * {@link FileService} which keeps files on a local or network mounted disk.
+ * Files are content-addressed: the name of a file is the SHA-256 hash of its
+ * content, so identical uploads are stored once. Every upload adds a reference
+ * to the file and every delete removes one, the file is removed from disk
+ * together with its last reference. Concurrent uploads and deletes of the same
+ * file are ordered by the lock on its {@code stored_files} row: an upload takes
+ * it with the upsert before it looks for the file on disk, and an unreferenced
+ * file is removed only after the delete is committed, in a new transaction
+ * which holds the lock while the row and the file are deleted. A file moved
+ * in by an upload whose transaction is rolled back is removed the same way.
+ * Uploads are written to {@code tmp} under the root first, which is not served
+ * as only the hash directories are. Enabled with
+ * {@code greencity.file-storage.type=local}.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "greencity.file-storage.type", havingValue = "local")
+public class LocalFileStorageService implements FileService {
+    private static final Pattern STORED_NAME = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]{1,10})?");
+    private static final Pattern EXTENSION = Pattern.compile("\\.[a-z0-9]{1,10}");
+    private static final long TRANSFER_CHUNK = 1024 * 1024;
+
+    private final StoredFileRepo storedFileRepo;
+    private final ModelMapper modelMapper;
+    private final Path root;
+    private final String publicUrl;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor with storage settings.
+     *
+     * @param storedFileRepo     {@link StoredFileRepo}
+     * @param modelMapper        {@link ModelMapper}
+     * @param transactionManager {@link PlatformTransactionManager} unreferenced
+     *                           files are removed with.
+     * @param root               directory files are stored in.
+     * @param publicUrl          url prefix stored files are served under.
+     */
+    public LocalFileStorageService(StoredFileRepo storedFileRepo, ModelMapper modelMapper,
+        PlatformTransactionManager transactionManager,
+        @Value("${greencity.file-storage.local.root:files}") String root,
+        @Value("${greencity.file-storage.local.public-url:/files}") String publicUrl) {
+        this.storedFileRepo = storedFileRepo;
+        this.modelMapper = modelMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.publicUrl = publicUrl.endsWith("/") ? publicUrl.substring(0, publicUrl.length() - 1) : publicUrl;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public String upload(MultipartFile multipartFile) {
+        Path temp = null;
+        try {
+            Path tempDir = Files.createDirectories(root.resolve("tmp"));
+            temp = Files.createTempFile(tempDir, "upload-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            write(multipartFile, digest, temp);
+            String name = toHex(digest.digest()) + extension(multipartFile.getOriginalFilename());
+            Path target = resolve(name);
+            storedFileRepo.addReference(name);
+            if (Files.notExists(target)) {
+                Files.createDirectories(target.getParent());
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                deleteOnRollback(name);
+            }
+            return publicUrl + "/" + root.relativize(target).toString().replace('\\', '/');
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new NotSavedException(ErrorMessage.FILE_NOT_SAVED);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public List<String> uploadAll(MultipartFile[] multipartFiles) {
+        return Arrays.stream(multipartFiles)
+            .map(this::upload)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MultipartFile convertToMultipartImage(String image) {
+        try {
+            return modelMapper.map(image, MultipartFile.class);
+        } catch (Exception e) {
+            throw new BadRequestException(ErrorMessage.MULTIPART_FILE_BAD_REQUEST + image);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void delete(String path) {
+        String name;
+        try {
+            Path fileName = Paths.get(new URI(path).getPath()).getFileName();
+            name = fileName == null ? "" : fileName.toString();
+        } catch (URISyntaxException e) {
+            throw new ImageUrlParseException(ErrorMessage.PARSING_URL_FAILED + path);
+        }
+        if (!STORED_NAME.matcher(name).matches() || storedFileRepo.removeReference(name) == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    deleteIfUnreferenced(name);
+                }
+            });
+        } else {
+            deleteIfUnreferenced(name);
+        }
+    }
+
+    /**
+     * Removes the file created by this upload if the transaction which
+     * references it is rolled back. The rolled back row may be gone, so the new
+     * transaction takes the lock with the same upsert as an upload and removes
+     * the file only if no one else has referenced it meanwhile.
+     */
+    private void deleteOnRollback(String name) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                try {
+                    transactionTemplate.execute(transactionStatus -> {
+                        storedFileRepo.addReference(name);
+                        storedFileRepo.removeReference(name);
+                        if (storedFileRepo.deleteIfUnreferenced(name) > 0) {
+                            deleteQuietly(resolve(name));
+                        }
+                        return null;
+                    });
+                } catch (RuntimeException e) {
+                    log.warn("File {} of rolled back upload could not be deleted", name, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Deletes the file in its own transaction, unless it has been referenced
+     * again.
+     */
+    private void deleteIfUnreferenced(String name) {
+        try {
+            transactionTemplate.execute(status -> {
+                if (storedFileRepo.deleteIfUnreferenced(name) > 0) {
+                    deleteQuietly(resolve(name));
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Unreferenced file {} could not be deleted", name, e);
+        }
+    }
+
+    /**
+     * Streams content of the file to disk through a {@link FileChannel} while
+     * hashing it.
+     */
+    private static void write(MultipartFile multipartFile, MessageDigest digest, Path temp) throws IOException {
+        try (InputStream input = new DigestInputStream(multipartFile.getInputStream(), digest);
+            ReadableByteChannel source = Channels.newChannel(input);
+            FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            long position = 0;
+            long transferred;
+            while ((transferred = target.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                position += transferred;
+            }
+            target.force(true);
+        }
+    }
+
+    /**
+     * Files are spread over two levels of directories named after the first
+     * characters of the hash, so no directory grows too big.
+     */
+    private Path resolve(String name) {
+        return root.resolve(name.substring(0, 2)).resolve(name.substring(2, 4)).resolve(name);
+    }
+
+    private static String extension(String originalFilename) {
+        if (originalFilename == null || originalFilename.lastIndexOf('.') < 0) {
+            return "";
+        }
+        String extension = originalFilename.substring(originalFilename.lastIndexOf('.')).toLowerCase(Locale.ROOT);
+        return EXTENSION.matcher(extension).matches() ? extension : "";
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("File {} could not be deleted", path, e);
+        }
+    }
+}
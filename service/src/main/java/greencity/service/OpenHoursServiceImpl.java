@@ -8,6 +8,7 @@ import greencity.entity.OpeningHours;
 import greencity.entity.Place;
 import greencity.exception.exceptions.BadRequestException;
 import greencity.exception.exceptions.NotFoundException;
+import greencity.openhours.PlaceScheduleIndex;
 import greencity.repository.OpenHoursRepo;
 import java.util.List;
 import java.util.Set;
@@ -30,6 +31,7 @@ public class OpenHoursServiceImpl implements OpenHoursService {
     private final OpenHoursRepo hoursRepo;
     private final BreakTimeService breakTimeService;
     private final ModelMapper modelMapper;
+    private final PlaceScheduleIndex placeScheduleIndex;
 
     /**
      * {@inheritDoc}
@@ -65,6 +67,7 @@ public class OpenHoursServiceImpl implements OpenHoursService {
             }
         }
         OpeningHours save = hoursRepo.save(modelMapper.map(hours, OpeningHours.class));
+        refreshSchedule(hours.getPlace());
         return modelMapper.map(save, OpeningHoursVO.class);
     }
 
@@ -107,6 +110,7 @@ public class OpenHoursServiceImpl implements OpenHoursService {
         log.info(LogMessage.IN_UPDATE);
 
         OpeningHoursVO updatable = findById(id);
+        PlaceVO oldPlace = updatable.getPlace();
 
         updatable.setOpenTime(updatedHours.getOpenTime());
         updatable.setCloseTime(updatedHours.getCloseTime());
@@ -114,6 +118,11 @@ public class OpenHoursServiceImpl implements OpenHoursService {
         updatable.setPlace(updatedHours.getPlace());
 
         OpeningHours save = hoursRepo.save(modelMapper.map(updatable, OpeningHours.class));
+        refreshSchedule(oldPlace);
+        if (oldPlace == null || updatable.getPlace() == null
+            || !oldPlace.getId().equals(updatable.getPlace().getId())) {
+            refreshSchedule(updatable.getPlace());
+        }
         return modelMapper.map(save, OpeningHoursVO.class);
     }
 
@@ -126,7 +135,9 @@ public class OpenHoursServiceImpl implements OpenHoursService {
     public Long deleteById(Long id) {
         log.info(LogMessage.IN_DELETE_BY_ID, id);
 
-        hoursRepo.delete(modelMapper.map(findById(id), OpeningHours.class));
+        OpeningHoursVO hours = findById(id);
+        hoursRepo.delete(modelMapper.map(hours, OpeningHours.class));
+        refreshSchedule(hours.getPlace());
         return id;
     }
 
@@ -149,5 +160,12 @@ public class OpenHoursServiceImpl implements OpenHoursService {
     @Override
     public void deleteAllByPlaceId(Long placeId) {
         hoursRepo.deleteAllByPlaceId(placeId);
+        placeScheduleIndex.refresh(placeId);
+    }
+
+    private void refreshSchedule(PlaceVO place) {
+        if (place != null) {
+            placeScheduleIndex.refresh(place.getId());
+        }
     }
 }
@@ -2,7 +2,6 @@ package greencity.service;
 
 import greencity.annotations.RatingCalculationEnum;
 import greencity.client.RestClient;
-import static greencity.constant.AppConstant.AUTHORIZATION;
 import greencity.constant.ErrorMessage;
 import greencity.dto.PageableDto;
 import greencity.dto.comment.AddCommentDto;
@@ -16,11 +15,10 @@ import greencity.enums.UserStatus;
 import greencity.exception.exceptions.BadRequestException;
 import greencity.exception.exceptions.NotFoundException;
 import greencity.exception.exceptions.UserBlockedException;
+import greencity.outbox.SideEffectOutbox;
 import greencity.repository.PlaceCommentRepo;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
-import javax.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
@@ -29,6 +27,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * The class provides implementation of the {@code CommentService}.
@@ -45,8 +44,7 @@ public class PlaceCommentServiceImpl implements PlaceCommentService {
     private PlaceService placeService;
     private PhotoService photoService;
     private ModelMapper modelMapper;
-    private final greencity.rating.RatingCalculation ratingCalculation;
-    private final HttpServletRequest httpServletRequest;
+    private final SideEffectOutbox sideEffectOutbox;
 
     /**
      * {@inheritDoc}
@@ -65,6 +63,7 @@ public class PlaceCommentServiceImpl implements PlaceCommentService {
      * @author Marian Milian
      */
     @Override
+    @Transactional
     public CommentReturnDto save(Long placeId, AddCommentDto addCommentDto, String email) {
         UserVO userVO = restClient.findByEmail(email);
         if (userVO.getUserStatus().equals(UserStatus.BLOCKED)) {
@@ -87,9 +86,7 @@ public class PlaceCommentServiceImpl implements PlaceCommentService {
             photo.setComment(comment);
             photo.setPlace(place);
         });
-        String accessToken = httpServletRequest.getHeader(AUTHORIZATION);
-        CompletableFuture.runAsync(
-            () -> ratingCalculation.ratingCalculation(RatingCalculationEnum.ADD_COMMENT, userVO, accessToken));
+        sideEffectOutbox.enqueueRating(userVO.getId(), RatingCalculationEnum.ADD_COMMENT);
         return modelMapper.map(placeCommentRepo.save(comment), CommentReturnDto.class);
     }
 
@@ -99,14 +96,13 @@ public class PlaceCommentServiceImpl implements PlaceCommentService {
      * @author Marian Milian
      */
     @Override
+    @Transactional
     public void deleteById(Long id) {
         placeCommentRepo.delete(placeCommentRepo.findById(id)
             .orElseThrow(() -> new NotFoundException(ErrorMessage.COMMENT_NOT_FOUND_EXCEPTION)));
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserVO userVO = restClient.findByEmail(authentication.getName());
-        String accessToken = httpServletRequest.getHeader(AUTHORIZATION);
-        CompletableFuture.runAsync(
-            () -> ratingCalculation.ratingCalculation(RatingCalculationEnum.DELETE_COMMENT, userVO, accessToken));
+        sideEffectOutbox.enqueueRating(userVO.getId(), RatingCalculationEnum.DELETE_COMMENT);
     }
 
     /**
@@ -1,13 +1,22 @@
 package greencity.service;
 
+import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 import javax.validation.Valid;
@@ -23,6 +32,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.google.maps.model.GeocodingResult;
 
 import greencity.client.RestClient;
+import greencity.constant.AppConstant;
 import greencity.constant.ErrorMessage;
 import greencity.constant.LogMessage;
 import greencity.dto.PageableDto;
@@ -40,6 +50,7 @@ import greencity.dto.place.BulkUpdatePlaceStatusDto;
 import greencity.dto.place.FilterPlaceCategory;
 import greencity.dto.place.PlaceAddDto;
 import greencity.dto.place.PlaceByBoundsDto;
+import greencity.dto.place.PlaceClusterTileDto;
 import greencity.dto.place.PlaceInfoDto;
 import greencity.dto.place.PlaceResponse;
 import greencity.dto.place.PlaceUpdateDto;
@@ -59,7 +70,9 @@ import greencity.enums.UserStatus;
 import greencity.exception.exceptions.NotFoundException;
 import greencity.exception.exceptions.PlaceStatusException;
 import greencity.exception.exceptions.UserBlockedException;
+import greencity.geo.PlaceGeoEngine;
 import greencity.message.SendChangePlaceStatusEmailMessage;
+import greencity.openhours.PlaceScheduleIndex;
 import greencity.repository.CategoryRepo;
 import greencity.repository.PlaceRepo;
 import greencity.repository.UserRepo;
@@ -67,8 +80,6 @@ import greencity.repository.options.PlaceFilter;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import static greencity.constant.AppConstant.CONSTANT_OF_FORMULA_HAVERSINE_KM;
-
 /**
  * The class provides implementation of the {@code PlaceService}.
  */
@@ -76,6 +87,7 @@ import static greencity.constant.AppConstant.CONSTANT_OF_FORMULA_HAVERSINE_KM;
 @Service
 @AllArgsConstructor
 public class PlaceServiceImpl implements PlaceService {
+    private static final DateTimeFormatter FILTER_TIME_FORMATTER = DateTimeFormatter.ofPattern(AppConstant.DATE_FORMAT);
     private final PlaceRepo placeRepo;
     private final ModelMapper modelMapper;
     private final CategoryService categoryService;
@@ -90,6 +102,8 @@ public class PlaceServiceImpl implements PlaceService {
     private CategoryRepo categoryRepo;
     private final GoogleApiService googleApiService;
     private final UserRepo userRepo;
+    private final PlaceGeoEngine placeGeoEngine;
+    private final PlaceScheduleIndex placeScheduleIndex;
 
     /**
      * {@inheritDoc}
@@ -135,8 +149,11 @@ public class PlaceServiceImpl implements PlaceService {
         Place place = modelMapper.map(placeVO, Place.class);
         place.setCategory(categoryRepo.findByName(dto.getCategory().getName()));
         place.getOpeningHoursList().forEach(openingHours -> openingHours.setPlace(place));
+        Place savedPlace = placeRepo.save(place);
+        refreshSpatialIndex(savedPlace);
+        placeScheduleIndex.refresh(savedPlace.getId());
 
-        return modelMapper.map(placeRepo.save(place), PlaceVO.class);
+        return modelMapper.map(savedPlace, PlaceVO.class);
     }
 
     /**
@@ -185,6 +202,8 @@ public class PlaceServiceImpl implements PlaceService {
         updatedPlace.setName(dto.getName());
         updatedPlace.setCategory(updatedCategory);
         placeRepo.save(updatedPlace);
+        placeGeoEngine.refresh(updatedPlace.getId(), updatedPlace.getStatus(),
+            dto.getLocation().getLat(), dto.getLocation().getLng(), updatedCategory.getName());
 
         updateOpening(dto.getOpeningHoursList(), updatedPlace);
         updateDiscount(dto.getDiscountValues(), updatedPlace);
@@ -328,7 +347,16 @@ public class PlaceServiceImpl implements PlaceService {
                 updatable.getName(), updatable.getStatus().toString().toLowerCase(),
                 updatable.getAuthor().getEmail()));
         }
-        return modelMapper.map(placeRepo.save(updatable), UpdatePlaceStatusDto.class);
+        Place savedPlace = placeRepo.save(updatable);
+        refreshSpatialIndex(updatable);
+        return modelMapper.map(savedPlace, UpdatePlaceStatusDto.class);
+    }
+
+    private void refreshSpatialIndex(Place place) {
+        Location location = place.getLocation();
+        placeGeoEngine.refresh(place.getId(), place.getStatus(),
+            location == null ? null : location.getLat(), location == null ? null : location.getLng(),
+            place.getCategory() == null ? null : place.getCategory().getName());
     }
 
     /**
@@ -435,12 +463,28 @@ public class PlaceServiceImpl implements PlaceService {
      */
     @Override
     public List<PlaceByBoundsDto> findPlacesByMapsBounds(@Valid FilterPlaceDto filterPlaceDto) {
-        List<Place> list = placeRepo.findAll(new PlaceFilter(filterPlaceDto));
+        List<Place> list;
+        if (filterPlaceDto.getMapBoundsDto() == null) {
+            list = findAllByFilter(filterPlaceDto, null);
+        } else {
+            PlaceStatus status = statusOf(filterPlaceDto);
+            list = findNearestMatching(
+                offset -> placeGeoEngine.findPlaceIdsInBounds(status, filterPlaceDto.getMapBoundsDto(), offset),
+                placeIds -> findAllByFilter(filterPlaceDto, placeIds));
+        }
         return list.stream()
             .map(place -> modelMapper.map(place, PlaceByBoundsDto.class))
             .collect(Collectors.toList());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PlaceClusterTileDto getClusterTile(int zoom, int x, int y) {
+        return placeGeoEngine.getClusterTile(zoom, x, y);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -470,45 +514,97 @@ public class PlaceServiceImpl implements PlaceService {
      */
     @Override
     public List<PlaceByBoundsDto> getPlacesByFilter(FilterPlaceDto filterDto) {
-        List<Place> list =
-            ArrayUtils.isNotEmpty(filterDto.getCategories()) ? placeRepo.findPlaceByCategory(filterDto.getCategories())
-                : placeRepo.findAll(new PlaceFilter(filterDto));
-        list = getPlacesByDistanceFromUser(filterDto, list);
+        FilterDistanceDto distanceFromUserDto = filterDto.getDistanceFromUserDto();
+        List<Place> list;
+        if (distanceFromUserDto == null
+            || distanceFromUserDto.getLat() == null
+            || distanceFromUserDto.getLng() == null
+            || distanceFromUserDto.getDistance() == null) {
+            list = ArrayUtils.isNotEmpty(filterDto.getCategories())
+                ? placeRepo.findPlaceByCategory(filterDto.getCategories())
+                : findAllByFilter(filterDto, null);
+        } else if (ArrayUtils.isNotEmpty(filterDto.getCategories())) {
+            list = findNearestMatching(offset -> placeGeoEngine.findNearestPlaceIds(null,
+                distanceFromUserDto.getLat(), distanceFromUserDto.getLng(), distanceFromUserDto.getDistance(), offset),
+                placeIds -> placeRepo.findPlaceByCategoryAndIdIn(filterDto.getCategories(), placeIds));
+        } else {
+            PlaceStatus status = statusOf(filterDto);
+            list = findNearestMatching(offset -> placeGeoEngine.findNearestPlaceIds(status,
+                distanceFromUserDto.getLat(), distanceFromUserDto.getLng(), distanceFromUserDto.getDistance(), offset),
+                placeIds -> findAllByFilter(filterDto, placeIds));
+        }
         return list.stream()
             .map(place -> modelMapper.map(place, PlaceByBoundsDto.class))
             .collect(Collectors.toList());
     }
 
     /**
-     * Method that filtering places by distance.
+     * Method loads places matching the filter. When {@link PlaceScheduleIndex} is
+     * enabled the time of the filter is checked against it instead of joining
+     * opening hours in the query.
      *
-     * @param filterDto - {@link FilterPlaceDto} DTO.
-     * @param placeList - {@link List} of {@link Place} that will be filtered.
-     * @return {@link List} of {@link Place} - list of filtered {@link Place}s.
-     * @author Nazar Stasyuk
+     * @param filterDto {@link FilterPlaceDto} to filter by.
+     * @param placeIds  ids of places the result is restricted to, may be
+     *                  {@code null}.
+     * @return {@link List} of {@link Place}.
      */
-    private List<Place> getPlacesByDistanceFromUser(FilterPlaceDto filterDto, List<Place> placeList) {
-        FilterDistanceDto distanceFromUserDto = filterDto.getDistanceFromUserDto();
-        if (distanceFromUserDto != null
-            && distanceFromUserDto.getLat() != null
-            && distanceFromUserDto.getLng() != null
-            && distanceFromUserDto.getDistance() != null) {
-            placeList = placeList.stream().filter(place -> {
-                double userLatRad = Math.toRadians(distanceFromUserDto.getLat());
-                double userLngRad = Math.toRadians(distanceFromUserDto.getLng());
-                double placeLatRad = Math.toRadians(place.getLocation().getLat());
-                double placeLngRad = Math.toRadians(place.getLocation().getLng());
-
-                double distance = CONSTANT_OF_FORMULA_HAVERSINE_KM * Math.acos(
-                    Math.cos(userLatRad)
-                        * Math.cos(placeLatRad)
-                        * Math.cos(placeLngRad - userLngRad)
-                        + Math.sin(userLatRad)
-                            * Math.sin(placeLatRad));
-                return distance <= distanceFromUserDto.getDistance();
-            }).collect(Collectors.toList());
+    private List<Place> findAllByFilter(FilterPlaceDto filterDto, Collection<Long> placeIds) {
+        if (filterDto.getTime() == null || !placeScheduleIndex.isEnabled()) {
+            return placeRepo.findAll(new PlaceFilter(filterDto, placeIds));
+        }
+        LocalDateTime time = LocalDateTime.parse(filterDto.getTime(), FILTER_TIME_FORMATTER);
+        return placeRepo.findAll(new PlaceFilter(filterDto, placeIds, false)).stream()
+            .filter(place -> placeScheduleIndex.isOpen(place.getId(), time))
+            .collect(Collectors.toList());
+    }
+
+    private PlaceStatus statusOf(FilterPlaceDto filterDto) {
+        return filterDto.getStatus() == null ? PlaceStatus.APPROVED : filterDto.getStatus();
+    }
+
+    /**
+     * Method reads pages of places found by geo query, nearest first, until
+     * {@code max-results} of them match the filter or no places are left, so
+     * the limit is applied to filtered places only.
+     *
+     * @param pages  finds a page of place ids, nearest first, by the offset.
+     * @param loader loads places of the page which match the filter.
+     * @return {@link List} of {@link Place} - nearest first.
+     */
+    private List<Place> findNearestMatching(IntFunction<List<Long>> pages,
+        Function<List<Long>, List<Place>> loader) {
+        int maxResults = placeGeoEngine.getMaxResults();
+        List<Place> places = new ArrayList<>();
+        int offset = 0;
+        while (places.size() < maxResults) {
+            List<Long> placeIds = pages.apply(offset);
+            places.addAll(findAllByIdsInOrder(placeIds, loader));
+            if (placeIds.size() < maxResults) {
+                break;
+            }
+            offset += placeIds.size();
         }
-        return placeList;
+        return places.size() > maxResults ? places.subList(0, maxResults) : places;
+    }
+
+    /**
+     * Method loads places found by geo query and keeps their order.
+     *
+     * @param placeIds ids of places, nearest first.
+     * @param loader   loads places restricted to {@code placeIds}.
+     * @return {@link List} of {@link Place} - nearest first.
+     */
+    private List<Place> findAllByIdsInOrder(List<Long> placeIds, Function<List<Long>, List<Place>> loader) {
+        if (placeIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < placeIds.size(); i++) {
+            positions.put(placeIds.get(i), i);
+        }
+        return loader.apply(placeIds).stream()
+            .sorted(Comparator.comparing(place -> positions.get(place.getId())))
+            .collect(Collectors.toList());
     }
 
     private void checkPlaceStatuses(PlaceStatus currentStatus, PlaceStatus updatedStatus, Long placeId) {
@@ -3,14 +3,29 @@ package greencity.service;
 import greencity.dto.PageableDto;
 import greencity.dto.search.SearchNewsDto;
 import greencity.dto.search.SearchResponseDto;
-import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 @Service
-@AllArgsConstructor
 public class SearchServiceImpl implements SearchService {
+    private static final int QUICK_SEARCH_SIZE = 3;
     private final EcoNewsService ecoNewsService;
+    private final boolean fullTextSearchEnabled;
+
+    /**
+     * Constructor.
+     *
+     * @param ecoNewsService        {@link EcoNewsService}.
+     * @param fullTextSearchEnabled whether eco news are searched with PostgreSQL
+     *                              full-text search instead of LIKE patterns.
+     */
+    public SearchServiceImpl(EcoNewsService ecoNewsService,
+        @Value("${greencity.search.full-text.enabled:false}") boolean fullTextSearchEnabled) {
+        this.ecoNewsService = ecoNewsService;
+        this.fullTextSearchEnabled = fullTextSearchEnabled;
+    }
 
     /**
      * Method that allow you to search {@link SearchResponseDto}.
@@ -20,7 +35,9 @@ public class SearchServiceImpl implements SearchService {
      */
     @Override
     public SearchResponseDto search(String searchQuery, String languageCode) {
-        PageableDto<SearchNewsDto> ecoNews = ecoNewsService.search(searchQuery, languageCode);
+        PageableDto<SearchNewsDto> ecoNews = fullTextSearchEnabled
+            ? ecoNewsService.fullTextSearch(PageRequest.of(0, QUICK_SEARCH_SIZE), searchQuery, languageCode)
+            : ecoNewsService.search(searchQuery, languageCode);
 
         return SearchResponseDto.builder()
             .ecoNews(ecoNews.getPage())
@@ -33,6 +50,8 @@ public class SearchServiceImpl implements SearchService {
      */
     @Override
     public PageableDto<SearchNewsDto> searchAllNews(Pageable pageable, String searchQuery, String languageCode) {
-        return ecoNewsService.search(pageable, searchQuery, languageCode);
+        return fullTextSearchEnabled
+            ? ecoNewsService.fullTextSearch(pageable, searchQuery, languageCode)
+            : ecoNewsService.search(pageable, searchQuery, languageCode);
     }
 }
@@ -1,7 +1,6 @@
 package greencity.service;
 
 import greencity.constant.AppConstant;
-import greencity.constant.CacheConstants;
 import greencity.constant.ErrorMessage;
 import greencity.constant.LogMessage;
 import greencity.dto.PageableDto;
@@ -11,32 +10,24 @@ import greencity.dto.socialnetwork.SocialNetworkImageVO;
 import greencity.entity.SocialNetworkImage;
 import greencity.exception.exceptions.NotFoundException;
 import greencity.exception.exceptions.NotSavedException;
+import greencity.image.ImagePipeline;
+import greencity.image.ImageVariant;
 import greencity.repository.SocialNetworkImageRepo;
-import java.awt.image.BufferedImage;
-import java.io.*;
+import greencity.socialnetwork.FaviconResolver;
+import java.net.MalformedURLException;
 import java.net.URL;
-import java.net.URLEncoder;
-import java.nio.file.Files;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import javax.imageio.ImageIO;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.fileupload.FileItem;
-import org.apache.commons.fileupload.disk.DiskFileItem;
-import org.apache.commons.io.IOUtils;
 import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.multipart.commons.CommonsMultipartFile;
 
 @Service
 @Slf4j
@@ -44,11 +35,14 @@ import org.springframework.web.multipart.commons.CommonsMultipartFile;
 @EnableCaching
 public class SocialNetworkImageServiceImpl implements SocialNetworkImageService {
     private final SocialNetworkImageRepo socialNetworkImageRepo;
-    private final FileService fileService;
     private final ModelMapper modelMapper;
+    private final ImagePipeline imagePipeline;
+    private final FaviconResolver faviconResolver;
 
     /**
-     * Method creates or returns existed {@link SocialNetworkImage} by given url.
+     * Method returns existed {@link SocialNetworkImage} by given url. When there
+     * is none yet, the default image is returned and the icon of the host is
+     * fetched in the background.
      *
      * @param url a well-formed url
      * @return {@link SocialNetworkImage}
@@ -57,11 +51,9 @@ public class SocialNetworkImageServiceImpl implements SocialNetworkImageService
     public SocialNetworkImageVO getSocialNetworkImageByUrl(String url) {
         try {
             URL checkUrl = new URL(url);
-            Optional<SocialNetworkImageVO> optionalSocialNetworkImageVO =
-                findByHostPath(checkUrl.getHost());
-            return modelMapper.map(optionalSocialNetworkImageVO.isPresent() ? optionalSocialNetworkImageVO.get()
-                : saveSocialNetworkImage(checkUrl), SocialNetworkImageVO.class);
-        } catch (IOException | IllegalArgumentException e) {
+            return faviconResolver.resolve(checkUrl.getHost())
+                .orElseGet(this::getDefaultSocialNetworkImage);
+        } catch (MalformedURLException e) {
             log.info(e.getMessage());
             return getDefaultSocialNetworkImage();
         }
@@ -112,6 +104,7 @@ public class SocialNetworkImageServiceImpl implements SocialNetworkImageService
     @Override
     public void delete(Long id) {
         socialNetworkImageRepo.deleteById(id);
+        faviconResolver.evictAll();
     }
 
     /**
@@ -122,6 +115,7 @@ public class SocialNetworkImageServiceImpl implements SocialNetworkImageService
     @Override
     public void deleteAll(List<Long> listId) {
         listId.forEach(socialNetworkImageRepo::deleteById);
+        faviconResolver.evictAll();
     }
 
     @Override
@@ -129,7 +123,7 @@ public class SocialNetworkImageServiceImpl implements SocialNetworkImageService
         MultipartFile image) {
         SocialNetworkImage toSave = modelMapper.map(socialNetworkImageRequestDTO, SocialNetworkImage.class);
         if (image != null) {
-            toSave.setImagePath(fileService.upload(image));
+            toSave.setImagePath(imagePipeline.upload(image, ImageVariant.THUMB));
         }
 
         try {
@@ -137,6 +131,7 @@ public class SocialNetworkImageServiceImpl implements SocialNetworkImageService
         } catch (DataIntegrityViolationException e) {
             throw new NotSavedException(ErrorMessage.SOCIAL_NETWORK_IMAGE_NOT_SAVED);
         }
+        faviconResolver.evict(toSave.getHostPath());
 
         return modelMapper.map(toSave, SocialNetworkImageResponseDTO.class);
     }
@@ -174,11 +169,13 @@ public class SocialNetworkImageServiceImpl implements SocialNetworkImageService
     @Override
     public void update(SocialNetworkImageResponseDTO socialNetworkImageResponseDTO, MultipartFile image) {
         SocialNetworkImage toUpdate = findById(socialNetworkImageResponseDTO.getId());
+        faviconResolver.evict(toUpdate.getHostPath());
         toUpdate.setHostPath(socialNetworkImageResponseDTO.getHostPath());
         if (image != null) {
-            toUpdate.setImagePath(fileService.upload(image));
+            toUpdate.setImagePath(imagePipeline.upload(image, ImageVariant.THUMB));
         }
         socialNetworkImageRepo.save(toUpdate);
+        faviconResolver.evict(toUpdate.getHostPath());
     }
 
     /**
@@ -187,26 +184,8 @@ public class SocialNetworkImageServiceImpl implements SocialNetworkImageService
      * @param hostPath host adress
      * @return optional of {@link SocialNetworkImage}
      */
-    @Cacheable(value = CacheConstants.SOCIAL_NETWORK_IMAGE_CACHE_NAME)
     public Optional<SocialNetworkImageVO> findByHostPath(String hostPath) {
-        Optional<SocialNetworkImage> socialNetworkImage = socialNetworkImageRepo.findByHostPath(hostPath);
-        return socialNetworkImage.map(i -> modelMapper.map(i, SocialNetworkImageVO.class));
-    }
-
-    /**
-     * Method creates, saves {@link SocialNetworkImage} by given URL.
-     *
-     * @param url link path
-     * @return {@link SocialNetworkImage} result of creation
-     */
-    @CacheEvict(value = CacheConstants.SOCIAL_NETWORK_IMAGE_CACHE_NAME, allEntries = true)
-    public SocialNetworkImageVO saveSocialNetworkImage(URL url) throws IOException {
-        String imagePath = uploadImageToCloud(url);
-        SocialNetworkImage socialNetworkImage = SocialNetworkImage.builder()
-            .hostPath(url.getHost())
-            .imagePath(imagePath)
-            .build();
-        return modelMapper.map(socialNetworkImageRepo.save(socialNetworkImage), SocialNetworkImageVO.class);
+        return faviconResolver.find(hostPath);
     }
 
     /**
@@ -219,40 +198,4 @@ public class SocialNetworkImageServiceImpl implements SocialNetworkImageService
         return findByHostPath(AppConstant.DEFAULT_SOCIAL_NETWORK_IMAGE_HOST_PATH)
             .orElseThrow(() -> new RuntimeException(ErrorMessage.BAD_DEFAULT_SOCIAL_NETWORK_IMAGE_PATH));
     }
-
-    /**
-     * Method downloads icon from URL and transforms it into {@link File}. Calls
-     * uploadFileToCloud().
-     *
-     * @param url URL of give page
-     * @return URL.toString() image file location
-     */
-    private String uploadImageToCloud(URL url) throws IOException {
-        String preparedUrlHost = url.getHost();
-        String preparedFaviconUrl = String.format("http://www.google.com/s2/favicons?sz=64&domain_url=%s", URLEncoder
-            .encode(preparedUrlHost, "UTF-8"));
-        URL faviconUrl = new URL(preparedFaviconUrl);
-        BufferedImage bufferedImage = ImageIO.read(faviconUrl);
-        File tempFile = new File("tempImage.png");
-        ImageIO.write(bufferedImage, "png", tempFile);
-        return uploadFileToCloud(tempFile);
-    }
-
-    /**
-     * Method uploads file to cloud.
-     *
-     * @param tempFile file to upload
-     * @return URL.toString() file location
-     */
-    private String uploadFileToCloud(File tempFile) throws IOException {
-        FileItem fileItem = new DiskFileItem("mainFile", Files.probeContentType(tempFile.toPath()),
-            false, tempFile.getName(), (int) tempFile.length(), tempFile.getParentFile());
-        try (InputStream inputStream = new FileInputStream(tempFile);
-            OutputStream outputStream = fileItem.getOutputStream()) {
-            IOUtils.copy(inputStream, outputStream);
-            outputStream.flush();
-        }
-        CommonsMultipartFile multipartFile = new CommonsMultipartFile(fileItem);
-        return fileService.upload(multipartFile);
-    }
 }
@@ -1,5 +1,6 @@
 package greencity.service;
 
+import greencity.client.UserLookupCache;
 import greencity.constant.ErrorMessage;
 import greencity.constant.LogMessage;
 import greencity.dto.PageableDto;
@@ -39,6 +40,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserServiceImpl implements UserService {
     private final UserRepo userRepo;
     private final ModelMapper modelMapper;
+    private final UserLookupCache userLookupCache;
     @Value("300000")
     private long timeAfterLastActivity;
 
@@ -104,6 +106,7 @@ public class UserServiceImpl implements UserService {
         UserVO userVO = findById(id);
         userVO.setUserStatus(userStatus);
         userRepo.updateUserStatus(id, String.valueOf(userStatus));
+        userLookupCache.evictUser(id);
         return modelMapper.map(userVO, UserStatusDto.class);
     }
 
@@ -125,6 +128,7 @@ public class UserServiceImpl implements UserService {
             .orElseThrow(() -> new WrongIdException(ErrorMessage.USER_NOT_FOUND_BY_ID + id));
         user.setRole(role);
         userRepo.save(user);
+        userLookupCache.evictUser(id);
         return modelMapper.map(user, UserRoleDto.class);
     }
 
@@ -0,0 +1,231 @@
+package greencity.socialnetwork;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import greencity.dto.socialnetwork.SocialNetworkImageVO;
+import greencity.entity.SocialNetworkImage;
+import greencity.image.ImagePipeline;
+import greencity.image.ImageVariant;
+import greencity.image.ImageVariantFile;
+import greencity.repository.SocialNetworkImageRepo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves images of social networks by host. Known images are served from a
+ * bounded in-memory cache in front of the database. Missing ones are fetched
+ * from the favicon service in the background: concurrent requests for the same
+ * host share one fetch, the icon is processed in memory and stored, and hosts
+ * whose icon could not be fetched are not retried for a while.
+ */
+@Slf4j
+@Component
+public class FaviconResolver {
+    private static final String NAME = "favicon";
+    private final SocialNetworkImageRepo socialNetworkImageRepo;
+    private final ModelMapper modelMapper;
+    private final ImagePipeline imagePipeline;
+    private final String faviconUrl;
+    private final Duration timeout;
+    private final ThreadPoolExecutor executor;
+    private final HttpClient httpClient;
+    private final Cache<String, SocialNetworkImageVO> images;
+    private final Cache<String, Boolean> failedHosts;
+    private final Map<String, CompletableFuture<SocialNetworkImageVO>> fetches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor with resolver settings.
+     *
+     * @param socialNetworkImageRepo {@link SocialNetworkImageRepo}
+     * @param modelMapper            {@link ModelMapper}
+     * @param imagePipeline          {@link ImagePipeline} icons are uploaded
+     *                               with.
+     * @param faviconUrl             url of the favicon service, {@code %s} is
+     *                               replaced with the host.
+     * @param timeoutMs              timeout of the favicon request.
+     * @param poolSize               amount of threads storing fetched icons.
+     * @param maxSize                maximum amount of images kept in memory.
+     * @param retryAfterMinutes      time to wait before fetching a failed host
+     *                               again.
+     * @param meterRegistry          registry for cache metrics.
+     */
+    public FaviconResolver(SocialNetworkImageRepo socialNetworkImageRepo, ModelMapper modelMapper,
+        ImagePipeline imagePipeline,
+        @Value("${greencity.favicons.url:https://www.google.com/s2/favicons?sz=64&domain_url=%s}") String faviconUrl,
+        @Value("${greencity.favicons.timeout-ms:5000}") long timeoutMs,
+        @Value("${greencity.favicons.pool-size:2}") int poolSize,
+        @Value("${greencity.favicons.cache.max-size:1000}") long maxSize,
+        @Value("${greencity.favicons.retry-after-minutes:10}") long retryAfterMinutes,
+        MeterRegistry meterRegistry) {
+        this.socialNetworkImageRepo = socialNetworkImageRepo;
+        this.modelMapper = modelMapper;
+        this.imagePipeline = imagePipeline;
+        this.faviconUrl = faviconUrl;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(100), new NamedThreadFactory());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(timeout)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+        this.images = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .recordStats()
+            .build();
+        this.failedHosts = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(retryAfterMinutes))
+            .maximumSize(maxSize)
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, images, NAME);
+    }
+
+    /**
+     * Finds stored image of the host.
+     *
+     * @param host host of the social network.
+     * @return {@link Optional} of {@link SocialNetworkImageVO}.
+     */
+    public Optional<SocialNetworkImageVO> find(String host) {
+        SocialNetworkImageVO cached = images.getIfPresent(host);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<SocialNetworkImageVO> stored = socialNetworkImageRepo.findByHostPath(host)
+            .map(image -> modelMapper.map(image, SocialNetworkImageVO.class));
+        stored.ifPresent(image -> images.put(host, image));
+        return stored;
+    }
+
+    /**
+     * Finds stored image of the host, starting a background fetch of its icon if
+     * there is none yet.
+     *
+     * @param host host of the social network.
+     * @return {@link Optional} of {@link SocialNetworkImageVO}, empty while the
+     *         icon is being fetched.
+     */
+    public Optional<SocialNetworkImageVO> resolve(String host) {
+        Optional<SocialNetworkImageVO> stored = find(host);
+        if (stored.isEmpty() && failedHosts.getIfPresent(host) == null) {
+            fetch(host);
+        }
+        return stored;
+    }
+
+    /**
+     * Fetches icon of the host and stores it, joining the fetch already running
+     * for the same host.
+     *
+     * @param host host of the social network.
+     * @return {@link CompletableFuture} of the stored image.
+     */
+    CompletableFuture<SocialNetworkImageVO> fetch(String host) {
+        CompletableFuture<SocialNetworkImageVO> started = new CompletableFuture<>();
+        CompletableFuture<SocialNetworkImageVO> running = fetches.putIfAbsent(host, started);
+        if (running != null) {
+            return running;
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(String.format(faviconUrl,
+            URLEncoder.encode(host, StandardCharsets.UTF_8))))
+            .timeout(timeout)
+            .GET()
+            .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+            .thenApplyAsync(response -> store(host, response), executor)
+            .whenComplete((image, e) -> {
+                if (e == null) {
+                    images.put(host, image);
+                } else {
+                    log.warn("Icon of {} could not be fetched: {}", host, e.getMessage());
+                    failedHosts.put(host, Boolean.TRUE);
+                }
+                fetches.remove(host);
+                if (e == null) {
+                    started.complete(image);
+                } else {
+                    started.completeExceptionally(e);
+                }
+            });
+        return started;
+    }
+
+    private SocialNetworkImageVO store(String host, HttpResponse<byte[]> response) {
+        if (response.statusCode() != 200 || response.body().length == 0) {
+            throw new IllegalStateException("favicon service responded with status " + response.statusCode());
+        }
+        String contentType = response.headers().firstValue("Content-Type").orElse("image/png");
+        String imagePath = imagePipeline.upload(new ImageVariantFile("mainFile", host + ".png", contentType,
+            response.body()), ImageVariant.THUMB);
+        SocialNetworkImage image = SocialNetworkImage.builder()
+            .hostPath(host)
+            .imagePath(imagePath)
+            .build();
+        try {
+            return modelMapper.map(socialNetworkImageRepo.save(image), SocialNetworkImageVO.class);
+        } catch (DataIntegrityViolationException e) {
+            return find(host).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Drops cached image of the host.
+     *
+     * @param host host of the social network.
+     */
+    public void evict(String host) {
+        if (host != null) {
+            images.invalidate(host);
+            failedHosts.invalidate(host);
+        }
+    }
+
+    /**
+     * Drops all cached images. Used when the changed host is not known.
+     */
+    public void evictAll() {
+        images.invalidateAll();
+        failedHosts.invalidateAll();
+    }
+
+    /**
+     * Stops fetching icons on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, NAME + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
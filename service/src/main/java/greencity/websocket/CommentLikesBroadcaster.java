@@ -0,0 +1,190 @@
+package greencity.websocket;
+
+import greencity.dto.econewscomment.AmountCommentLikesDto;
+import greencity.dto.econewscomment.EcoNewsCommentCountsDto;
+import greencity.repository.EcoNewsCommentRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Broadcasts amounts of likes of eco news comments to their topics. Likes of
+ * one comment submitted between two flushes are coalesced into the latest one,
+ * so every topic gets at most one {@link AmountCommentLikesDto} per flush
+ * interval however often the comment is liked. The message keeps its format:
+ * the amount of likes is counted at flush time, {@code userId} and
+ * {@code liked} are the ones of the latest like. Amounts of likes of all
+ * pending comments are counted with one query on flush, which runs on its own
+ * thread. When too many comments are pending the next flush is started at
+ * once, and comments whose amounts could not be counted are kept for the next
+ * flush, so no like is lost.
+ */
+@Slf4j
+@Component
+public class CommentLikesBroadcaster {
+    private static final String NAME = "comment-likes-broadcaster";
+    private final EcoNewsCommentRepo ecoNewsCommentRepo;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final boolean enabled;
+    private final int maxPending;
+    private final Map<Long, AmountCommentLikesDto> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+    private final Counter submitted;
+    private final Counter coalesced;
+    private final Counter overflowed;
+    private final Counter dropped;
+    private final Counter sent;
+    private final DistributionSummary fanOut;
+
+    /**
+     * Constructor with broadcast settings.
+     *
+     * @param ecoNewsCommentRepo {@link EcoNewsCommentRepo}
+     * @param messagingTemplate  {@link SimpMessagingTemplate}
+     * @param meterRegistry      registry for broadcast metrics.
+     * @param enabled            whether likes are coalesced, otherwise every
+     *                           like is sent at once.
+     * @param maxPending         amount of pending comments which starts a flush
+     *                           without waiting for the interval.
+     * @param flushMillis        interval between flushes.
+     */
+    public CommentLikesBroadcaster(EcoNewsCommentRepo ecoNewsCommentRepo,
+        SimpMessagingTemplate messagingTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${greencity.websocket.comment-likes.enabled:true}") boolean enabled,
+        @Value("${greencity.websocket.comment-likes.max-pending:10000}") int maxPending,
+        @Value("${greencity.websocket.comment-likes.flush-ms:200}") long flushMillis) {
+        this.ecoNewsCommentRepo = ecoNewsCommentRepo;
+        this.messagingTemplate = messagingTemplate;
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+        this.submitted = meterRegistry.counter("websocket.comment-likes.submitted");
+        this.coalesced = meterRegistry.counter("websocket.comment-likes.coalesced");
+        this.overflowed = meterRegistry.counter("websocket.comment-likes.overflowed");
+        this.dropped = meterRegistry.counter("websocket.comment-likes.dropped");
+        this.sent = meterRegistry.counter("websocket.comment-likes.sent");
+        this.fanOut = DistributionSummary.builder("websocket.comment-likes.fan-out")
+            .description("Amount of topics updated by one flush")
+            .register(meterRegistry);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Schedules broadcast of the amount of likes of the comment.
+     *
+     * @param amountCommentLikesDto dto with id of the comment, id of the user who
+     *                              liked it and whether the user likes it now.
+     */
+    public void submit(AmountCommentLikesDto amountCommentLikesDto) {
+        submitted.increment();
+        if (!enabled) {
+            send(List.of(amountCommentLikesDto));
+            return;
+        }
+        if (pending.put(amountCommentLikesDto.getId(), amountCommentLikesDto) != null) {
+            coalesced.increment();
+        } else if (pending.size() >= maxPending && earlyFlushScheduled.compareAndSet(false, true)) {
+            overflowed.increment();
+            try {
+                scheduler.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                earlyFlushScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Sends the latest like of every pending comment with its current amount of
+     * likes.
+     */
+    public void flush() {
+        earlyFlushScheduled.set(false);
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<AmountCommentLikesDto> batch = new ArrayList<>(pending.size());
+        for (Long id : new ArrayList<>(pending.keySet())) {
+            AmountCommentLikesDto dto = pending.remove(id);
+            if (dto != null) {
+                batch.add(dto);
+            }
+        }
+        try {
+            send(batch);
+        } catch (RuntimeException e) {
+            batch.forEach(dto -> pending.putIfAbsent(dto.getId(), dto));
+            throw e;
+        }
+    }
+
+    /**
+     * Stops the flushing thread on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Likes of comments could not be broadcast, they are retried with the next flush", e);
+        }
+    }
+
+    private void send(List<AmountCommentLikesDto> batch) {
+        Map<Long, EcoNewsCommentCountsDto> counts = ecoNewsCommentRepo.findCountsByIds(batch.stream()
+            .map(AmountCommentLikesDto::getId)
+            .collect(Collectors.toList()))
+            .stream()
+            .collect(Collectors.toMap(EcoNewsCommentCountsDto::getCommentId, Function.identity()));
+        int topics = 0;
+        for (AmountCommentLikesDto dto : batch) {
+            EcoNewsCommentCountsDto commentCounts = counts.get(dto.getId());
+            if (commentCounts == null) {
+                continue;
+            }
+            AmountCommentLikesDto message = AmountCommentLikesDto.builder()
+                .id(dto.getId())
+                .amountLikes(commentCounts.getLikes().intValue())
+                .userId(dto.getUserId())
+                .isLiked(dto.isLiked())
+                .build();
+            try {
+                messagingTemplate.convertAndSend("/topic/" + dto.getId() + "/comment", message);
+                topics++;
+            } catch (MessagingException e) {
+                log.warn("Likes of comment {} could not be broadcast: {}", dto.getId(), e.getMessage());
+                dropped.increment();
+            }
+        }
+        sent.increment(topics);
+        fanOut.record(topics);
+    }
+}
@@ -79,6 +79,7 @@ import greencity.dto.habitfact.HabitFactVO;
 import greencity.dto.habitstatuscalendar.HabitStatusCalendarDto;
 import greencity.dto.habitstatuscalendar.HabitStatusCalendarVO;
 import greencity.dto.habittranslation.HabitTranslationDto;
+import greencity.dto.image.ImageVariantsDto;
 import greencity.dto.language.LanguageDTO;
 import greencity.dto.language.LanguageTranslationDTO;
 import greencity.dto.language.LanguageVO;
@@ -457,7 +458,7 @@ public class ModelUtils {
                 TagTranslation.builder().name("News").language(Language.builder().code("en").build()).build()));
         return new EcoNews(1L, zonedDateTime, TestConst.SITE, "source", "shortInfo", getUser(),
             "title", "text", List.of(EcoNewsComment.builder().id(1L).text("test").build()),
-            Collections.singletonList(tag), Collections.emptySet(), Collections.emptySet());
+            Collections.singletonList(tag), Collections.emptySet(), Collections.emptySet(), 0, 0, 1, null);
     }
 
     public static EcoNews getEcoNewsForMethodConvertTest() {
@@ -467,12 +468,13 @@ public class ModelUtils {
                 TagTranslation.builder().name("News").language(Language.builder().code("en").build()).build()));
         return new EcoNews(1L, ZonedDateTime.now(), TestConst.SITE, null, "shortInfo", getUser(),
             "title", "text", List.of(EcoNewsComment.builder().text("sdfs").build()),
-            Collections.singletonList(tag), Collections.emptySet(), Collections.emptySet());
+            Collections.singletonList(tag), Collections.emptySet(), Collections.emptySet(), 0, 0, 1, null);
     }
 
     public static EcoNews getEcoNewsForFindDtoByIdAndLanguage() {
         return new EcoNews(1L, null, TestConst.SITE, null, "shortInfo", getUser(),
-            "title", "text", null, Collections.singletonList(getTag()), Collections.emptySet(), Collections.emptySet());
+            "title", "text", null, Collections.singletonList(getTag()), Collections.emptySet(), Collections.emptySet(),
+            0, 0, 0, null);
     }
 
     public static EcoNewsVO getEcoNewsVO() {
@@ -1359,9 +1361,14 @@ public class ModelUtils {
         return new UserActionVO(1L, ModelUtils.getUserVO(), ModelUtils.getAchievementCategoryVO(), 0);
     }
 
+    public static ImageVariantsDto getImageVariantsDto() {
+        return new ImageVariantsDto("https://google.com/thumb.jpg", "https://google.com/card.jpg",
+            "https://google.com/full.jpg");
+    }
+
     public static EcoNewsDto getEcoNewsDto() {
         return new EcoNewsDto(ZonedDateTime.now(), "imagePath", 1L, "title", "content", "text",
-            getEcoNewsAuthorDto(), Collections.singletonList("tag"), Collections.singletonList("тег"), 1, 0, 0);
+            getEcoNewsAuthorDto(), Collections.singletonList("tag"), Collections.singletonList("тег"), 1, 0, 0, null);
     }
 
     public static EcoNewsGenericDto getEcoNewsGenericDto() {
@@ -1374,7 +1381,8 @@ public class ModelUtils {
 
     public static EcoNewsDto getEcoNewsDtoForFindDtoByIdAndLanguage() {
         return new EcoNewsDto(null, TestConst.SITE, 1L, "title", "text", "shortInfo",
-            getEcoNewsAuthorDto(), Collections.singletonList("News"), Collections.singletonList("Новини"), 0, 0, 0);
+            getEcoNewsAuthorDto(), Collections.singletonList("News"), Collections.singletonList("Новини"), 0, 0, 0,
+            null);
     }
 
     public static UpdateEcoNewsDto getUpdateEcoNewsDto() {
@@ -1384,7 +1392,7 @@ public class ModelUtils {
 
     public static SearchNewsDto getSearchNewsDto() {
         return new SearchNewsDto(1L, "title", getEcoNewsAuthorDto(), ZonedDateTime.now(),
-            Collections.singletonList("tag"));
+            Collections.singletonList("tag"), null);
     }
 
     public static EcoNewsCommentVO getEcoNewsCommentVO() {
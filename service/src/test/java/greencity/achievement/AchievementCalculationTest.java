@@ -1,44 +1,44 @@
 package greencity.achievement;
 
 import greencity.ModelUtils;
-import greencity.client.RestClient;
 import greencity.dto.achievement.AchievementVO;
-import greencity.dto.achievement.UserVOAchievement;
 import greencity.dto.achievementcategory.AchievementCategoryVO;
-import greencity.dto.useraction.UserActionVO;
-import greencity.entity.User;
 import greencity.entity.UserAchievement;
 import greencity.enums.AchievementCategoryType;
 import greencity.enums.AchievementType;
 import greencity.repository.UserAchievementRepo;
+import greencity.repository.UserActionRepo;
 import greencity.service.*;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
 import java.util.Collections;
+import java.util.List;
 
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class AchievementCalculationTest {
     @Mock
-    private RestClient restClient;
-    @Mock
-    private UserActionService userActionService;
+    private UserActionRepo userActionRepo;
     @Mock
     private AchievementService achievementService;
     @Mock
     private AchievementCategoryService achievementCategoryService;
     @Mock
-    private ModelMapper modelMapper;
-    @Mock
     private UserAchievementRepo userAchievementRepo;
+    @Mock
+    private AchievementThresholdIndex achievementThresholdIndex;
     @InjectMocks
     private AchievementCalculation achievementCalculation;
 
@@ -48,25 +48,52 @@ class AchievementCalculationTest {
         AchievementCategoryVO achievementCategoryVO = ModelUtils.getAchievementCategoryVO();
         AchievementCategoryVO achievementCategoryVO2 = ModelUtils.getAchievementCategoryVO();
         achievementCategoryVO2.setId(2L);
-        UserActionVO userActionVO = ModelUtils.getUserActionVO();
-        UserActionVO userActionVO2 = ModelUtils.getUserActionVO();
-        userActionVO2.setId(2L);
-        UserVOAchievement userVOAchievement = ModelUtils.getUserVOAchievement();
-        User user = ModelUtils.getUser();
         AchievementVO achievementVO = ModelUtils.getAchievementVO();
         UserAchievement userAchievement = ModelUtils.getUserAchievement();
-        user.setUserAchievements(Collections.singletonList(userAchievement));
         when(achievementCategoryService.findByName(AchievementCategoryType.ECO_NEWS.getCategory()))
             .thenReturn(achievementCategoryVO);
-        when(userActionService.findUserActionByUserIdAndAchievementCategory(1L, 1L)).thenReturn(userActionVO);
-        when(userActionService.updateUserActions(userActionVO)).thenReturn(userActionVO);
-        when(restClient.findUserForAchievement(1L)).thenReturn(userVOAchievement);
-        when(achievementService.findByCategoryIdAndCondition(1L, 1)).thenReturn(achievementVO);
-        when(modelMapper.map(userVOAchievement, User.class)).thenReturn(user);
+        switch (type) {
+            case INCREMENT:
+                when(userActionRepo.incrementCount(1L, 1L, 1)).thenReturn(0);
+                break;
+            case SETTER:
+                when(userActionRepo.setCount(1L, 1L, 1)).thenReturn(0);
+                break;
+            default:
+                when(userActionRepo.updateCountToMax(1L, 1L, 1)).thenReturn(0);
+        }
+        when(achievementThresholdIndex.crossesThreshold(1L, 0, 1)).thenReturn(true);
+        when(achievementService.findAllByCategoryIdAndConditionInRange(1L, 0, 1))
+            .thenReturn(Collections.singletonList(achievementVO));
+        when(userAchievementRepo.findAllByUserIdAndAchievementIdIn(1L, List.of(achievementVO.getId())))
+            .thenReturn(List.of(userAchievement));
         when(userAchievementRepo.save(userAchievement)).thenReturn(userAchievement);
         when(achievementCategoryService.findByName("Achievements")).thenReturn(achievementCategoryVO2);
-        when(userActionService.findUserActionByUserIdAndAchievementCategory(1L, 2L)).thenReturn(userActionVO2);
+        when(userActionRepo.incrementCount(1L, 2L, 1)).thenReturn(0);
         achievementCalculation.calculateAchievement(1L, type, AchievementCategoryType.ECO_NEWS, 1);
         verify(userAchievementRepo).save(userAchievement);
     }
+
+    @Test
+    void incrementAchievementSkipsLookupsWhenNoThresholdIsCrossed() {
+        AchievementCategoryVO achievementCategoryVO = ModelUtils.getAchievementCategoryVO();
+        when(achievementCategoryService.findByName(AchievementCategoryType.ECO_NEWS_LIKE.getCategory()))
+            .thenReturn(achievementCategoryVO);
+        when(userActionRepo.incrementCount(1L, 1L, 5)).thenReturn(3);
+        achievementCalculation.incrementAchievement(1L, AchievementCategoryType.ECO_NEWS_LIKE, 5);
+        verify(achievementThresholdIndex).crossesThreshold(1L, 3, 8);
+        verify(achievementService, never()).findAllByCategoryIdAndConditionInRange(anyLong(), anyInt(), anyInt());
+        verify(userAchievementRepo, never()).findAllByUserIdAndAchievementIdIn(anyLong(), anyList());
+    }
+
+    @Test
+    void calculateAchievementIgnoresNotRaisedComparison() {
+        AchievementCategoryVO achievementCategoryVO = ModelUtils.getAchievementCategoryVO();
+        when(achievementCategoryService.findByName(AchievementCategoryType.HABIT_STREAK.getCategory()))
+            .thenReturn(achievementCategoryVO);
+        when(userActionRepo.updateCountToMax(1L, 1L, 2)).thenReturn(7);
+        achievementCalculation.calculateAchievement(1L, AchievementType.COMPARISON,
+            AchievementCategoryType.HABIT_STREAK, 2);
+        verify(userAchievementRepo, never()).findAllByUserIdAndAchievementIdIn(anyLong(), anyList());
+    }
 }
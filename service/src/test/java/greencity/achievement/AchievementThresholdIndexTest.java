@@ -0,0 +1,73 @@
+package greencity.achievement;
+
+import greencity.repository.AchievementRepo;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AchievementThresholdIndexTest {
+    @Mock
+    private AchievementRepo achievementRepo;
+    @InjectMocks
+    private AchievementThresholdIndex achievementThresholdIndex;
+
+    @Test
+    void crossesThreshold() {
+        List<Object[]> rows = Arrays.asList(new Object[] {1L, 10}, new Object[] {1L, 1}, new Object[] {1L, 5},
+            new Object[] {2L, 3});
+        when(achievementRepo.findAllCategoryIdsAndConditions()).thenReturn(rows);
+
+        assertTrue(achievementThresholdIndex.crossesThreshold(1L, 0, 1));
+        assertTrue(achievementThresholdIndex.crossesThreshold(1L, 2, 7));
+        assertFalse(achievementThresholdIndex.crossesThreshold(1L, 5, 9));
+        assertFalse(achievementThresholdIndex.crossesThreshold(1L, 10, 100));
+        assertFalse(achievementThresholdIndex.crossesThreshold(1L, 5, 5));
+        assertFalse(achievementThresholdIndex.crossesThreshold(3L, 0, 100));
+        verify(achievementRepo, times(1)).findAllCategoryIdsAndConditions();
+    }
+
+    @Test
+    void reloadPicksUpNewThresholds() {
+        List<Object[]> before = Arrays.<Object[]>asList(new Object[] {1L, 5});
+        List<Object[]> after = Arrays.asList(new Object[] {1L, 5}, new Object[] {1L, 7});
+        when(achievementRepo.findAllCategoryIdsAndConditions()).thenReturn(before, after);
+
+        assertFalse(achievementThresholdIndex.crossesThreshold(1L, 6, 8));
+        achievementThresholdIndex.reload();
+        assertTrue(achievementThresholdIndex.crossesThreshold(1L, 6, 8));
+    }
+
+    @Test
+    void reloadAfterCommitWaitsForCommit() {
+        List<Object[]> before = Arrays.<Object[]>asList(new Object[] {1L, 5});
+        List<Object[]> after = Arrays.asList(new Object[] {1L, 5}, new Object[] {1L, 7});
+        when(achievementRepo.findAllCategoryIdsAndConditions()).thenReturn(before, after);
+        assertFalse(achievementThresholdIndex.crossesThreshold(1L, 6, 8));
+
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            achievementThresholdIndex.reloadAfterCommit();
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertFalse(achievementThresholdIndex.crossesThreshold(1L, 6, 8));
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertTrue(achievementThresholdIndex.crossesThreshold(1L, 6, 8));
+    }
+}
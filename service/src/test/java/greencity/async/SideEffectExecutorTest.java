@@ -0,0 +1,60 @@
+package greencity.async;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SideEffectExecutorTest {
+    private MeterRegistry meterRegistry;
+    private SideEffectExecutor sideEffectExecutor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sideEffectExecutor = new SideEffectExecutor(1, 10, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        SecurityContextHolder.clearContext();
+        MDC.clear();
+        sideEffectExecutor.shutdown();
+    }
+
+    @Test
+    void runAsyncPropagatesSecurityContextAndMdc() {
+        Authentication authentication = new UsernamePasswordAuthenticationToken("test@mail.com", null);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        MDC.put("requestId", "42");
+        AtomicReference<Authentication> seenAuthentication = new AtomicReference<>();
+        AtomicReference<String> seenRequestId = new AtomicReference<>();
+
+        sideEffectExecutor.runAsync(() -> {
+            seenAuthentication.set(SecurityContextHolder.getContext().getAuthentication());
+            seenRequestId.set(MDC.get("requestId"));
+        }).join();
+
+        assertEquals(authentication, seenAuthentication.get());
+        assertEquals("42", seenRequestId.get());
+    }
+
+    @Test
+    void runAsyncCountsFailures() {
+        assertThrows(CompletionException.class, () -> sideEffectExecutor.runAsync(() -> {
+            throw new IllegalStateException("test");
+        }).join());
+
+        assertEquals(1, meterRegistry.counter("side.effect.failures").count());
+    }
+}
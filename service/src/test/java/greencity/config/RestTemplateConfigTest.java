@@ -0,0 +1,30 @@
+package greencity.config;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RestTemplateConfigTest {
+    @Test
+    void userServiceRouteUsesDefaultHttpsPort() {
+        HttpRoute expected = new HttpRoute(new HttpHost("user.greencity.ua", 443, "https"), null, true);
+
+        assertEquals(expected, RestTemplateConfig.userServiceRoute("https://user.greencity.ua"));
+    }
+
+    @Test
+    void userServiceRouteUsesDefaultHttpPort() {
+        HttpRoute expected = new HttpRoute(new HttpHost("localhost", 80, "http"), null, false);
+
+        assertEquals(expected, RestTemplateConfig.userServiceRoute(" http://localhost "));
+    }
+
+    @Test
+    void userServiceRouteKeepsExplicitPort() {
+        HttpRoute expected = new HttpRoute(new HttpHost("localhost", 8065, "http"), null, false);
+
+        assertEquals(expected, RestTemplateConfig.userServiceRoute("http://localhost:8065"));
+    }
+}
@@ -0,0 +1,115 @@
+package greencity.econews;
+
+import greencity.dto.econews.EcoNewsTagDto;
+import greencity.entity.EcoNews;
+import greencity.entity.Tag;
+import greencity.repository.EcoNewsRepo;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EcoNewsRecommendationIndexTest {
+    private static final ZonedDateTime NOW = ZonedDateTime.parse("2021-03-04T10:00:00Z");
+
+    @Mock
+    private EcoNewsRepo ecoNewsRepo;
+
+    private EcoNewsRecommendationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EcoNewsRecommendationIndex(ecoNewsRepo, true);
+    }
+
+    @Test
+    void recommendRanksBySharedTagsThenRecency() {
+        List<EcoNewsTagDto> tags = new ArrayList<>();
+        tags.addAll(news(1L, 0, 10L, 20L));
+        tags.addAll(news(2L, 1, 10L, 20L));
+        tags.addAll(news(3L, 2, 10L));
+        tags.addAll(news(4L, 3, 20L));
+        tags.addAll(news(5L, 4, 30L));
+        when(ecoNewsRepo.findAllEcoNewsTags()).thenReturn(tags);
+
+        assertEquals(Optional.of(List.of(2L, 4L, 3L)), index.recommend(1L, 3));
+        assertEquals(Optional.of(List.of(1L, 4L, 3L)), index.recommend(2L, 3));
+        assertEquals(Optional.of(List.of(5L, 4L, 3L)), index.recommend(6L, 3));
+        verify(ecoNewsRepo, times(1)).findAllEcoNewsTags();
+    }
+
+    @Test
+    void putAndRemoveUpdateLoadedIndex() {
+        when(ecoNewsRepo.findAllEcoNewsTags()).thenReturn(new ArrayList<>(news(1L, 0, 10L)));
+        index.recommend(1L, 3);
+
+        index.put(ecoNews(2L, 1, 10L));
+        index.put(ecoNews(3L, 2, 30L));
+        assertEquals(Optional.of(List.of(2L, 3L)), index.recommend(1L, 3));
+
+        index.put(ecoNews(3L, 2, 10L));
+        assertEquals(Optional.of(List.of(3L, 2L)), index.recommend(1L, 3));
+
+        index.remove(List.of(3L));
+        assertEquals(Optional.of(List.of(2L)), index.recommend(1L, 3));
+        verify(ecoNewsRepo, times(1)).findAllEcoNewsTags();
+    }
+
+    @Test
+    void putBeforeLoadIsIgnored() {
+        index.put(ecoNews(1L, 0, 10L));
+        index.remove(List.of(1L));
+
+        verifyNoInteractions(ecoNewsRepo);
+    }
+
+    @Test
+    void recommendFallsBackWhenDisabled() {
+        index = new EcoNewsRecommendationIndex(ecoNewsRepo, false);
+
+        assertEquals(Optional.empty(), index.recommend(1L, 3));
+        verifyNoInteractions(ecoNewsRepo);
+    }
+
+    @Test
+    void recommendFallsBackWhenTagsDoNotFitInMask() {
+        when(ecoNewsRepo.findAllEcoNewsTags()).thenReturn(LongStream.rangeClosed(1, 65)
+            .mapToObj(tag -> new EcoNewsTagDto(tag, NOW, tag))
+            .collect(Collectors.toList()));
+
+        assertEquals(Optional.empty(), index.recommend(1L, 3));
+    }
+
+    private static List<EcoNewsTagDto> news(Long id, int hours, Long... tagIds) {
+        List<EcoNewsTagDto> tags = new ArrayList<>();
+        for (Long tagId : tagIds) {
+            tags.add(new EcoNewsTagDto(id, NOW.plusHours(hours), tagId));
+        }
+        return tags;
+    }
+
+    private static EcoNews ecoNews(Long id, int hours, Long... tagIds) {
+        List<Tag> tags = new ArrayList<>();
+        for (Long tagId : tagIds) {
+            Tag tag = new Tag();
+            tag.setId(tagId);
+            tags.add(tag);
+        }
+        EcoNews ecoNews = new EcoNews();
+        ecoNews.setId(id);
+        ecoNews.setCreationDate(NOW.plusHours(hours));
+        ecoNews.setTags(tags);
+        return ecoNews;
+    }
+}
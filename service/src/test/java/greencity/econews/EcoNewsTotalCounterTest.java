@@ -0,0 +1,58 @@
+package greencity.econews;
+
+import greencity.repository.EcoNewsRepo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EcoNewsTotalCounterTest {
+    @Mock
+    private EcoNewsRepo ecoNewsRepo;
+    @InjectMocks
+    private EcoNewsTotalCounter ecoNewsTotalCounter;
+
+    @Test
+    void getLoadsCountOnce() {
+        when(ecoNewsRepo.totalCountOfCreationNews()).thenReturn(5);
+
+        assertEquals(5, ecoNewsTotalCounter.get());
+        assertEquals(5, ecoNewsTotalCounter.get());
+        verify(ecoNewsRepo, times(1)).totalCountOfCreationNews();
+    }
+
+    @Test
+    void addAdjustsLoadedCount() {
+        when(ecoNewsRepo.totalCountOfCreationNews()).thenReturn(5);
+        ecoNewsTotalCounter.get();
+
+        ecoNewsTotalCounter.add(2);
+        ecoNewsTotalCounter.add(-1);
+
+        assertEquals(6, ecoNewsTotalCounter.get());
+        verify(ecoNewsRepo, times(1)).totalCountOfCreationNews();
+    }
+
+    @Test
+    void addBeforeLoadIsIgnored() {
+        ecoNewsTotalCounter.add(3);
+        when(ecoNewsRepo.totalCountOfCreationNews()).thenReturn(5);
+
+        assertEquals(5, ecoNewsTotalCounter.get());
+    }
+
+    @Test
+    void reloadReplacesCount() {
+        when(ecoNewsRepo.totalCountOfCreationNews()).thenReturn(5, 7);
+        ecoNewsTotalCounter.get();
+
+        ecoNewsTotalCounter.reload();
+
+        assertEquals(7, ecoNewsTotalCounter.get());
+    }
+}
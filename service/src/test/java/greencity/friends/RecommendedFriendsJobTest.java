@@ -0,0 +1,117 @@
+package greencity.friends;
+
+import greencity.repository.RecommendedFriendsRefreshRepo;
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendedFriendsJobTest {
+    @Mock
+    private RecommendedFriendsRefreshRepo recommendedFriendsRefreshRepo;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RecommendedFriendsJob recommendedFriendsJob;
+
+    @BeforeEach
+    void setUp() {
+        recommendedFriendsJob = new RecommendedFriendsJob(recommendedFriendsRefreshRepo, transactionManager,
+            true, 2, 2, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recommendedFriendsJob.shutdown();
+    }
+
+    @Test
+    void refreshChangedRebuildsAllUsersOnFirstRun() {
+        stubExecution();
+        when(recommendedFriendsRefreshRepo.findLastRefreshedAt()).thenReturn(null);
+        when(recommendedFriendsRefreshRepo.findAllUserIds()).thenReturn(List.of(1L, 2L, 3L, 4L, 5L));
+
+        recommendedFriendsJob.refreshChanged();
+
+        verify(transactionManager, times(4)).commit(any());
+        verify(recommendedFriendsRefreshRepo).deleteRecommendedFriends(List.of(1L, 2L));
+        verify(recommendedFriendsRefreshRepo).insertRecommendedFriends(List.of(3L, 4L), 50);
+        verify(recommendedFriendsRefreshRepo).markRefreshed(eq(List.of(5L)), any(ZonedDateTime.class));
+        verify(recommendedFriendsRefreshRepo, never()).findUserIdsChangedSince(any());
+    }
+
+    @Test
+    void refreshChangedContinuesFromPreviousRun() {
+        stubExecution();
+        ZonedDateTime lastRefresh = ZonedDateTime.now().minusMinutes(10);
+        when(recommendedFriendsRefreshRepo.findLastRefreshedAt()).thenReturn(lastRefresh);
+        when(recommendedFriendsRefreshRepo.findUserIdsChangedSince(lastRefresh)).thenReturn(List.of(7L));
+        when(recommendedFriendsRefreshRepo.findUserIdsChangedSince(argThat(since -> since.isAfter(lastRefresh))))
+            .thenReturn(List.of());
+
+        recommendedFriendsJob.refreshChanged();
+        recommendedFriendsJob.refreshChanged();
+
+        verify(recommendedFriendsRefreshRepo, times(1)).findLastRefreshedAt();
+        verify(recommendedFriendsRefreshRepo).insertRecommendedFriends(List.of(7L), 50);
+        verify(recommendedFriendsRefreshRepo, times(2)).findUserIdsChangedSince(any());
+        verify(recommendedFriendsRefreshRepo, never()).findAllUserIds();
+    }
+
+    @Test
+    void refreshChangedRetriesChangesOfFailedRun() {
+        stubExecution();
+        ZonedDateTime lastRefresh = ZonedDateTime.now().minusMinutes(10);
+        when(recommendedFriendsRefreshRepo.findLastRefreshedAt()).thenReturn(lastRefresh);
+        when(recommendedFriendsRefreshRepo.findUserIdsChangedSince(lastRefresh)).thenReturn(List.of(7L, 8L, 9L));
+        doThrow(new IllegalStateException("deadlock")).doNothing()
+            .when(recommendedFriendsRefreshRepo).insertRecommendedFriends(List.of(9L), 50);
+
+        recommendedFriendsJob.refreshChanged();
+        recommendedFriendsJob.refreshChanged();
+
+        verify(recommendedFriendsRefreshRepo, times(1)).findLastRefreshedAt();
+        verify(recommendedFriendsRefreshRepo, times(2)).findUserIdsChangedSince(lastRefresh);
+        verify(recommendedFriendsRefreshRepo, times(2)).markRefreshed(eq(List.of(7L, 8L)), any(ZonedDateTime.class));
+        verify(recommendedFriendsRefreshRepo).markRefreshed(eq(List.of(9L)), any(ZonedDateTime.class));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void refreshSkipsRunWhenAnotherInstanceHoldsLock() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(recommendedFriendsRefreshRepo.tryLock(anyLong())).thenReturn(false);
+
+        recommendedFriendsJob.refreshChanged();
+        recommendedFriendsJob.refreshAll();
+
+        verify(recommendedFriendsRefreshRepo, times(2)).tryLock(anyLong());
+        verifyNoMoreInteractions(recommendedFriendsRefreshRepo);
+    }
+
+    @Test
+    void refreshChangedDoesNothingWhenDisabled() {
+        recommendedFriendsJob = new RecommendedFriendsJob(recommendedFriendsRefreshRepo, transactionManager,
+            false, 2, 2, 50);
+
+        recommendedFriendsJob.refreshChanged();
+        recommendedFriendsJob.refreshAll();
+
+        verifyNoInteractions(recommendedFriendsRefreshRepo, transactionManager);
+    }
+
+    private void stubExecution() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(recommendedFriendsRefreshRepo.tryLock(anyLong())).thenReturn(true);
+    }
+}
@@ -0,0 +1,41 @@
+package greencity.geo;
+
+import greencity.dto.location.MapBoundsDto;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoDistanceTest {
+    @Test
+    void haversineKm() {
+        assertEquals(0, GeoDistance.haversineKm(49.84, 24.03, 49.84, 24.03), 1e-9);
+        assertEquals(467, GeoDistance.haversineKm(49.84, 24.03, 50.45, 30.52), 1);
+    }
+
+    @Test
+    void boundingBoxContainsCircle() {
+        MapBoundsDto box = GeoDistance.boundingBox(49.84, 24.03, 10);
+
+        assertTrue(box.getSouthWestLat() < 49.84 && box.getNorthEastLat() > 49.84);
+        assertEquals(10, GeoDistance.haversineKm(49.84, 24.03, box.getNorthEastLat(), 24.03), 1e-6);
+        assertTrue(GeoDistance.haversineKm(49.84, 24.03, 49.84, box.getNorthEastLng()) >= 10);
+    }
+
+    @Test
+    void boundingBoxSpansAllLongitudesAcrossAntimeridian() {
+        MapBoundsDto box = GeoDistance.boundingBox(0, 179.95, 50);
+
+        assertEquals(-180, box.getSouthWestLng(), 0);
+        assertEquals(180, box.getNorthEastLng(), 0);
+    }
+
+    @Test
+    void boundingBoxSpansAllLongitudesNearPole() {
+        MapBoundsDto box = GeoDistance.boundingBox(89.9, 10, 50);
+
+        assertEquals(90, box.getNorthEastLat(), 0);
+        assertEquals(-180, box.getSouthWestLng(), 0);
+        assertEquals(180, box.getNorthEastLng(), 0);
+    }
+}
@@ -0,0 +1,117 @@
+package greencity.geo;
+
+import greencity.dto.location.PlaceCoordinatesDto;
+import greencity.dto.place.PlaceClusterDto;
+import greencity.dto.place.PlaceClusterTileDto;
+import greencity.enums.PlaceStatus;
+import greencity.exception.exceptions.BadRequestException;
+import greencity.repository.PlaceGeoRepo;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PlaceClusterIndexTest {
+    @Mock
+    private PlaceGeoRepo placeGeoRepo;
+
+    private PlaceClusterIndex placeClusterIndex;
+
+    @BeforeEach
+    void setUp() {
+        placeClusterIndex = new PlaceClusterIndex(placeGeoRepo, 18);
+    }
+
+    @Test
+    void getTileAggregatesPlacesIntoClusters() {
+        when(placeGeoRepo.findAllCoordinates(PlaceStatus.APPROVED)).thenReturn(List.of(
+            new PlaceCoordinatesDto(1L, 49.84, 24.03, "Shops"),
+            new PlaceCoordinatesDto(2L, 49.85, 24.02, "Cafes"),
+            new PlaceCoordinatesDto(3L, 49.84, 24.02, "Shops"),
+            new PlaceCoordinatesDto(4L, -33.87, 151.21, "Shops")));
+
+        PlaceClusterTileDto world = placeClusterIndex.getTile(0, 0, 0);
+
+        assertEquals(2, world.getClusters().size());
+        PlaceClusterDto lviv = world.getClusters().stream()
+            .filter(cluster -> cluster.getCount() == 3)
+            .findFirst()
+            .orElseThrow();
+        assertEquals(49.8433, lviv.getLat(), 0.001);
+        assertEquals(24.0233, lviv.getLng(), 0.001);
+        assertEquals(Map.of("Cafes", 1, "Shops", 2), lviv.getCategories());
+        assertEquals(32, world.getContentHash().length());
+    }
+
+    @Test
+    void getTileReturnsEmptyTileWithoutPlaces() {
+        when(placeGeoRepo.findAllCoordinates(PlaceStatus.APPROVED))
+            .thenReturn(List.of(new PlaceCoordinatesDto(1L, 49.84, 24.03, "Shops")));
+
+        PlaceClusterTileDto tile = placeClusterIndex.getTile(1, 0, 1);
+
+        assertEquals("d41d8cd98f00b204e9800998ecf8427e", tile.getContentHash());
+        assertTrue(tile.getClusters().isEmpty());
+    }
+
+    @Test
+    void getTileRejectsTileOutsideOfZoomLevel() {
+        assertThrows(BadRequestException.class, () -> placeClusterIndex.getTile(2, 4, 0));
+        assertThrows(BadRequestException.class, () -> placeClusterIndex.getTile(19, 0, 0));
+        assertThrows(BadRequestException.class, () -> placeClusterIndex.getTile(-1, 0, 0));
+        verify(placeGeoRepo, never()).findAllCoordinates(PlaceStatus.APPROVED);
+    }
+
+    @Test
+    void putAndRemoveUpdateLoadedTilesAndContentHash() {
+        when(placeGeoRepo.findAllCoordinates(PlaceStatus.APPROVED))
+            .thenReturn(List.of(new PlaceCoordinatesDto(1L, 49.84, 24.03, "Shops")));
+        String contentHash = placeClusterIndex.getTile(0, 0, 0).getContentHash();
+
+        placeClusterIndex.put(new PlaceCoordinatesDto(2L, 49.84, 24.03, "Cafes"));
+        PlaceClusterTileDto added = placeClusterIndex.getTile(0, 0, 0);
+        placeClusterIndex.remove(1L);
+        placeClusterIndex.remove(2L);
+        PlaceClusterTileDto removed = placeClusterIndex.getTile(0, 0, 0);
+
+        assertNotEquals(contentHash, added.getContentHash());
+        assertEquals(2, added.getClusters().get(0).getCount());
+        assertTrue(removed.getClusters().isEmpty());
+        verify(placeGeoRepo, times(1)).findAllCoordinates(PlaceStatus.APPROVED);
+    }
+
+    @Test
+    void contentHashDependsOnlyOnClustersOfTile() {
+        when(placeGeoRepo.findAllCoordinates(PlaceStatus.APPROVED))
+            .thenReturn(List.of(new PlaceCoordinatesDto(1L, 49.84, 24.03, "Shops")));
+        PlaceClusterTileDto loaded = placeClusterIndex.getTile(0, 0, 0);
+
+        placeClusterIndex.put(new PlaceCoordinatesDto(2L, 49.84, 24.03, "Cafes"));
+        placeClusterIndex.remove(2L);
+        PlaceClusterIndex other = new PlaceClusterIndex(placeGeoRepo, 18);
+
+        assertEquals(loaded.getContentHash(), placeClusterIndex.getTile(0, 0, 0).getContentHash());
+        assertEquals(loaded.getContentHash(), other.getTile(0, 0, 0).getContentHash());
+    }
+
+    @Test
+    void putIsIgnoredUntilIndexIsLoaded() {
+        placeClusterIndex.put(new PlaceCoordinatesDto(1L, 49.84, 24.03, "Shops"));
+        placeClusterIndex.reload();
+
+        verify(placeGeoRepo, never()).findAllCoordinates(PlaceStatus.APPROVED);
+    }
+}
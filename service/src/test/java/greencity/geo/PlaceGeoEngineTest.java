@@ -0,0 +1,132 @@
+package greencity.geo;
+
+import greencity.dto.location.MapBoundsDto;
+import greencity.dto.location.PlaceCoordinatesDto;
+import greencity.dto.place.PlaceClusterTileDto;
+import greencity.enums.PlaceStatus;
+import greencity.repository.PlaceGeoRepo;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PlaceGeoEngineTest {
+    @Mock
+    private PlaceGeoRepo placeGeoRepo;
+    @Mock
+    private PlaceSpatialIndex placeSpatialIndex;
+    @Mock
+    private PlaceClusterIndex placeClusterIndex;
+
+    private PlaceGeoEngine placeGeoEngine;
+
+    @BeforeEach
+    void setUp() {
+        placeGeoEngine = new PlaceGeoEngine(placeGeoRepo, placeSpatialIndex, placeClusterIndex, 100);
+    }
+
+    @Test
+    void findNearestPlaceIdsUsesDatabaseWhenIndexIsDisabled() {
+        when(placeSpatialIndex.isEnabled()).thenReturn(false);
+        when(placeGeoRepo.findNearestIds(eq(PlaceStatus.APPROVED), any(MapBoundsDto.class), eq(49.84), eq(24.03),
+            eq(5.0), eq(0), eq(100))).thenReturn(List.of(1L));
+
+        assertEquals(List.of(1L), placeGeoEngine.findNearestPlaceIds(PlaceStatus.APPROVED, 49.84, 24.03, 5, 0));
+    }
+
+    @Test
+    void findNearestPlaceIdsUsesIndexForApprovedPlaces() {
+        when(placeSpatialIndex.isEnabled()).thenReturn(true);
+        when(placeSpatialIndex.findNearest(any(MapBoundsDto.class), eq(49.84), eq(24.03), eq(5.0), eq(100),
+            eq(100))).thenReturn(List.of(2L));
+
+        assertEquals(List.of(2L), placeGeoEngine.findNearestPlaceIds(PlaceStatus.APPROVED, 49.84, 24.03, 5, 100));
+        verify(placeGeoRepo, never())
+            .findNearestIds(any(), any(), anyDouble(), anyDouble(), anyDouble(), anyInt(), anyInt());
+    }
+
+    @Test
+    void findPlaceIdsInBoundsUsesDatabaseForNotApprovedPlaces() {
+        MapBoundsDto bounds = new MapBoundsDto(50.0, 26.0, 48.0, 24.0);
+        when(placeGeoRepo.findNearestIds(PlaceStatus.PROPOSED, bounds, 49.0, 25.0, Double.MAX_VALUE, 0, 100))
+            .thenReturn(List.of(3L));
+
+        assertEquals(List.of(3L), placeGeoEngine.findPlaceIdsInBounds(PlaceStatus.PROPOSED, bounds, 0));
+    }
+
+    @Test
+    void findNearestPlaceIdsOfAnyStatusUsesDatabase() {
+        when(placeGeoRepo.findNearestIds(isNull(), any(MapBoundsDto.class), eq(49.84), eq(24.03), eq(5.0), eq(0),
+            eq(100))).thenReturn(List.of(4L));
+
+        assertEquals(List.of(4L), placeGeoEngine.findNearestPlaceIds(null, 49.84, 24.03, 5, 0));
+        verify(placeSpatialIndex, never())
+            .findNearest(any(), anyDouble(), anyDouble(), anyDouble(), anyInt(), anyInt());
+    }
+
+    @Test
+    void refreshPutsApprovedAndRemovesOtherPlaces() {
+        when(placeSpatialIndex.isEnabled()).thenReturn(true);
+
+        placeGeoEngine.refresh(1L, PlaceStatus.APPROVED, 49.84, 24.03, "Shops");
+        placeGeoEngine.refresh(2L, PlaceStatus.DECLINED, 49.84, 24.03, "Shops");
+
+        verify(placeSpatialIndex).put(1L, 49.84, 24.03);
+        verify(placeSpatialIndex).remove(2L);
+        verify(placeClusterIndex).put(new PlaceCoordinatesDto(1L, 49.84, 24.03, "Shops"));
+        verify(placeClusterIndex).remove(2L);
+    }
+
+    @Test
+    void refreshUpdatesOnlyClustersWhenIndexIsDisabled() {
+        when(placeSpatialIndex.isEnabled()).thenReturn(false);
+
+        placeGeoEngine.refresh(1L, PlaceStatus.APPROVED, 49.84, 24.03, null);
+
+        verify(placeSpatialIndex, never()).put(anyLong(), anyDouble(), anyDouble());
+        verify(placeClusterIndex).put(new PlaceCoordinatesDto(1L, 49.84, 24.03, null));
+    }
+
+    @Test
+    void refreshWaitsForCommit() {
+        when(placeSpatialIndex.isEnabled()).thenReturn(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            placeGeoEngine.refresh(1L, PlaceStatus.APPROVED, 49.84, 24.03, "Shops");
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(placeSpatialIndex, never()).put(anyLong(), anyDouble(), anyDouble());
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        verify(placeSpatialIndex).put(1L, 49.84, 24.03);
+        verify(placeClusterIndex).put(new PlaceCoordinatesDto(1L, 49.84, 24.03, "Shops"));
+    }
+
+    @Test
+    void getClusterTileDelegatesToClusterIndex() {
+        PlaceClusterTileDto tile = new PlaceClusterTileDto(3, 4, 2, "7f3a", List.of());
+        when(placeClusterIndex.getTile(3, 4, 2)).thenReturn(tile);
+
+        assertEquals(tile, placeGeoEngine.getClusterTile(3, 4, 2));
+    }
+}
@@ -0,0 +1,74 @@
+package greencity.geo;
+
+import greencity.dto.location.MapBoundsDto;
+import greencity.dto.location.PlaceCoordinatesDto;
+import greencity.enums.PlaceStatus;
+import greencity.repository.PlaceGeoRepo;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PlaceSpatialIndexTest {
+    private static final MapBoundsDto LVIV_REGION = new MapBoundsDto(50.5, 25.0, 49.0, 23.0);
+
+    @Mock
+    private PlaceGeoRepo placeGeoRepo;
+
+    private PlaceSpatialIndex placeSpatialIndex;
+
+    @BeforeEach
+    void setUp() {
+        placeSpatialIndex = new PlaceSpatialIndex(placeGeoRepo, true, 0.5);
+        when(placeGeoRepo.findAllCoordinates(PlaceStatus.APPROVED)).thenReturn(List.of(
+            new PlaceCoordinatesDto(1L, 49.84, 24.03, "Shops"),
+            new PlaceCoordinatesDto(2L, 49.85, 24.02, "Shops"),
+            new PlaceCoordinatesDto(3L, 50.45, 30.52, "Shops")));
+    }
+
+    @Test
+    void findNearestReturnsPlacesInsideRadiusNearestFirst() {
+        List<Long> actual = placeSpatialIndex.findNearest(LVIV_REGION, 49.851, 24.021, 50, 0, 10);
+
+        assertEquals(List.of(2L, 1L), actual);
+        verify(placeGeoRepo, times(1)).findAllCoordinates(PlaceStatus.APPROVED);
+    }
+
+    @Test
+    void findNearestRespectsLimit() {
+        assertEquals(List.of(2L), placeSpatialIndex.findNearest(LVIV_REGION, 49.851, 24.021, 50, 0, 1));
+    }
+
+    @Test
+    void findNearestSkipsOffset() {
+        assertEquals(List.of(1L), placeSpatialIndex.findNearest(LVIV_REGION, 49.851, 24.021, 50, 1, 10));
+    }
+
+    @Test
+    void findNearestInWideBoxScansOccupiedCells() {
+        MapBoundsDto world = new MapBoundsDto(90.0, 180.0, -90.0, -180.0);
+
+        assertEquals(List.of(1L, 2L, 3L),
+            placeSpatialIndex.findNearest(world, 49.84, 24.03, Double.MAX_VALUE, 0, 10));
+    }
+
+    @Test
+    void putAndRemoveUpdateLoadedIndex() {
+        placeSpatialIndex.findNearest(LVIV_REGION, 49.84, 24.03, 50, 0, 10);
+
+        placeSpatialIndex.remove(1L);
+        placeSpatialIndex.put(2L, 50.45, 30.52);
+        placeSpatialIndex.put(4L, 49.84, 24.03);
+
+        assertEquals(List.of(4L), placeSpatialIndex.findNearest(LVIV_REGION, 49.84, 24.03, 50, 0, 10));
+        verify(placeGeoRepo, times(1)).findAllCoordinates(PlaceStatus.APPROVED);
+    }
+}
@@ -0,0 +1,91 @@
+package greencity.geocoding;
+
+import com.google.maps.model.GeocodingResult;
+import com.google.maps.model.Geometry;
+import com.google.maps.model.LatLng;
+import greencity.entity.GeocodeCacheEntry;
+import greencity.repository.GeocodeCacheRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GeocodeCacheTest {
+    @Mock
+    private GeocodeCacheRepo geocodeCacheRepo;
+
+    private GeocodeCache geocodeCache;
+
+    @BeforeEach
+    void setUp() {
+        geocodeCache = new GeocodeCache(geocodeCacheRepo, 30, 100, 4, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void addressKeyIgnoresCaseAndWhitespace() {
+        assertEquals(geocodeCache.addressKey("lviv, shevchenka 1", "uk"),
+            geocodeCache.addressKey("  Lviv,   Shevchenka 1 ", "uk"));
+        assertNotEquals(geocodeCache.addressKey("lviv, shevchenka 1", "uk"),
+            geocodeCache.addressKey("lviv, shevchenka 1", "en"));
+    }
+
+    @Test
+    void coordinatesKeyRoundsCoordinates() {
+        assertEquals(geocodeCache.coordinatesKey(new LatLng(49.84001, 24.03), "uk"),
+            geocodeCache.coordinatesKey(new LatLng(49.84004, 24.02996), "uk"));
+        assertNotEquals(geocodeCache.coordinatesKey(new LatLng(49.84, 24.03), "uk"),
+            geocodeCache.coordinatesKey(new LatLng(49.8401, 24.03), "uk"));
+    }
+
+    @Test
+    void putStoresResultsWhichAreReadBackFromDatabase() {
+        GeocodingResult result = new GeocodingResult();
+        result.formattedAddress = "Lviv";
+        result.geometry = new Geometry();
+        result.geometry.location = new LatLng(49.84, 24.03);
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+
+        geocodeCache.put("key", new GeocodingResult[] {result});
+        verify(geocodeCacheRepo).upsert(eq("key"), json.capture());
+        when(geocodeCacheRepo.findByCacheKeyAndCreatedAtAfter(eq("key"), any(ZonedDateTime.class)))
+            .thenReturn(Optional.of(new GeocodeCacheEntry("key", json.getValue(), ZonedDateTime.now())));
+        GeocodeCache restarted = new GeocodeCache(geocodeCacheRepo, 30, 100, 4, new SimpleMeterRegistry());
+        GeocodingResult[] stored = restarted.get("key").orElseThrow();
+        restarted.get("key");
+
+        assertEquals("Lviv", stored[0].formattedAddress);
+        assertEquals(49.84, stored[0].geometry.location.lat, 0);
+        verify(geocodeCacheRepo, times(1)).findByCacheKeyAndCreatedAtAfter(eq("key"), any(ZonedDateTime.class));
+    }
+
+    @Test
+    void getServesPutResultsFromMemory() {
+        geocodeCache.put("key", new GeocodingResult[0]);
+
+        assertTrue(geocodeCache.get("key").isPresent());
+        verify(geocodeCacheRepo, never()).findByCacheKeyAndCreatedAtAfter(any(), any());
+    }
+
+    @Test
+    void removeExpiredDeletesOldEntries() {
+        geocodeCache.removeExpired();
+
+        verify(geocodeCacheRepo).deleteAllCreatedBefore(any(ZonedDateTime.class));
+    }
+}
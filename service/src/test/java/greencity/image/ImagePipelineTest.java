@@ -0,0 +1,128 @@
+package greencity.image;
+
+import greencity.dto.image.ImageVariantsDto;
+import greencity.exception.exceptions.BadRequestException;
+import greencity.service.FileService;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImagePipelineTest {
+    @Mock
+    private FileService fileService;
+
+    private ImagePipeline imagePipeline;
+
+    @BeforeEach
+    void setUp() {
+        imagePipeline = new ImagePipeline(fileService, 2, 10, 10000, 10_000_000, 0.8f);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imagePipeline.shutdown();
+    }
+
+    @Test
+    void uploadScalesOpaqueImageToJpegVariants() throws IOException {
+        when(fileService.uploadAll(any())).thenReturn(List.of("thumb", "card", "full"));
+        MultipartFile image = image("photo.png", 2400, 1200, BufferedImage.TYPE_INT_RGB);
+
+        ImageVariantsDto variants = imagePipeline.upload(image);
+
+        assertEquals(new ImageVariantsDto("thumb", "card", "full"), variants);
+        ArgumentCaptor<MultipartFile[]> uploaded = ArgumentCaptor.forClass(MultipartFile[].class);
+        verify(fileService).uploadAll(uploaded.capture());
+        MultipartFile[] files = uploaded.getValue();
+        assertEquals("photo-thumb.jpg", files[0].getOriginalFilename());
+        assertEquals("image/jpeg", files[0].getContentType());
+        assertEquals(320, width(files[0]));
+        assertEquals(160, height(files[0]));
+        assertEquals(800, width(files[1]));
+        assertEquals(1920, width(files[2]));
+    }
+
+    @Test
+    void uploadKeepsTransparencyAndDoesNotScaleUp() throws IOException {
+        when(fileService.uploadAll(any())).thenReturn(List.of("thumb", "card", "full"));
+        MultipartFile image = image("icon.png", 500, 250, BufferedImage.TYPE_INT_ARGB);
+
+        imagePipeline.upload(image);
+
+        ArgumentCaptor<MultipartFile[]> uploaded = ArgumentCaptor.forClass(MultipartFile[].class);
+        verify(fileService).uploadAll(uploaded.capture());
+        MultipartFile[] files = uploaded.getValue();
+        assertEquals("icon-card.png", files[1].getOriginalFilename());
+        assertEquals("image/png", files[1].getContentType());
+        assertEquals(320, width(files[0]));
+        assertEquals(500, width(files[1]));
+        assertEquals(500, width(files[2]));
+    }
+
+    @Test
+    void uploadRejectsFileWhichIsNotImage() {
+        MultipartFile file = new MockMultipartFile("image", "image.png", "image/png",
+            "not an image".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(BadRequestException.class, () -> imagePipeline.upload(file));
+        assertThrows(BadRequestException.class, () -> imagePipeline.upload(file, ImageVariant.THUMB));
+        verifyNoInteractions(fileService);
+    }
+
+    @Test
+    void uploadVariantUploadsOneScaledImage() throws IOException {
+        when(fileService.upload(any(MultipartFile.class))).thenReturn("url");
+
+        assertEquals("url", imagePipeline.upload(image("logo.jpg", 1000, 1000, BufferedImage.TYPE_INT_RGB),
+            ImageVariant.THUMB));
+
+        ArgumentCaptor<MultipartFile> uploaded = ArgumentCaptor.forClass(MultipartFile.class);
+        verify(fileService).upload(uploaded.capture());
+        assertEquals("logo-thumb.jpg", uploaded.getValue().getOriginalFilename());
+        assertEquals(320, height(uploaded.getValue()));
+    }
+
+    @Test
+    void uploadRejectsImageWithTooManyPixels() throws IOException {
+        MultipartFile image = image("huge.png", 4000, 3000, BufferedImage.TYPE_INT_RGB);
+
+        assertThrows(BadRequestException.class, () -> imagePipeline.upload(image));
+        verify(fileService, never()).uploadAll(any());
+    }
+
+    private static MultipartFile image(String name, int width, int height, int type) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, type), "png", output);
+        return new MockMultipartFile("image", name, "image/png", output.toByteArray());
+    }
+
+    private static int width(MultipartFile file) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(file.getBytes())).getWidth();
+    }
+
+    private static int height(MultipartFile file) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(file.getBytes())).getHeight();
+    }
+}
@@ -0,0 +1,33 @@
+package greencity.image;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageTypeTest {
+    @Test
+    void ofRecognizesAcceptedFormatsByFirstBytes() {
+        assertEquals(Optional.of(ImageType.PNG),
+            ImageType.of(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}));
+        assertEquals(Optional.of(ImageType.JPEG), ImageType.of(new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}));
+        assertEquals(Optional.of(ImageType.GIF), ImageType.of("GIF89a".getBytes()));
+        assertEquals(Optional.of(ImageType.WEBP), ImageType.of("RIFF\0\0\0\0WEBP".getBytes()));
+    }
+
+    @Test
+    void ofRejectsOtherFormats() {
+        assertEquals(Optional.empty(), ImageType.of("<svg/>".getBytes()));
+        assertEquals(Optional.empty(), ImageType.of("RIFF\0\0\0\0WAVE".getBytes()));
+        assertEquals(Optional.empty(), ImageType.of(new byte[] {(byte) 0xFF}));
+    }
+
+    @Test
+    void matchesDeclaredContentType() {
+        assertTrue(ImageType.JPEG.matches("image/jpg"));
+        assertTrue(ImageType.PNG.matches("IMAGE/PNG"));
+        assertFalse(ImageType.PNG.matches("image/jpeg"));
+    }
+}
@@ -35,11 +35,11 @@ class EcoNewsDtoMapperTest {
                 .filter(t -> t.getLanguage().getCode().equals(defaultLanguage))
                 .map(TagTranslation::getName)
                 .collect(Collectors.toList()))
-            .countComments(ecoNews.getEcoNewsComments().size())
+            .countComments(ecoNews.getCommentsCount())
             .title(ecoNews.getTitle())
             .shortInfo(ecoNews.getShortInfo())
             .imagePath(ecoNews.getImagePath())
-            .likes(ecoNews.getUsersLikedNews().size())
+            .likes(ecoNews.getLikesCount())
             .author(ModelUtils.getEcoNewsAuthorDto())
             .creationDate(ecoNews.getCreationDate())
             .content("text")
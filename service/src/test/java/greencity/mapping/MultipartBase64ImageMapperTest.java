@@ -0,0 +1,106 @@
+package greencity.mapping;
+
+import greencity.exception.exceptions.BadRequestException;
+import greencity.exception.exceptions.NotSavedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultipartBase64ImageMapperTest {
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13};
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 1, 2};
+    private static final byte[] WEBP = {'R', 'I', 'F', 'F', 4, 0, 0, 0, 'W', 'E', 'B', 'P'};
+
+    private final MultipartBase64ImageMapper mapper = new MultipartBase64ImageMapper(1024);
+
+    @Test
+    void convertDataUrl() throws IOException {
+        String image = "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(JPEG);
+
+        MultipartFile file = mapper.convert(image);
+
+        assertArrayEquals(JPEG, file.getBytes());
+        assertEquals("image/jpeg", file.getContentType());
+        assertEquals("image.jpg", file.getOriginalFilename());
+        assertEquals("mainFile", file.getName());
+        try (InputStream input = file.getInputStream()) {
+            assertArrayEquals(JPEG, input.readAllBytes());
+        }
+    }
+
+    @Test
+    void convertRecognizesWebp() {
+        MultipartFile file = mapper.convert("data:image/webp;base64," + Base64.getEncoder().encodeToString(WEBP));
+
+        assertEquals("image/webp", file.getContentType());
+        assertEquals("image.webp", file.getOriginalFilename());
+    }
+
+    @Test
+    void convertRejectsNotSupportedImage() {
+        String svg = "<svg xmlns=\"http://www.w3.org/2000/svg\"/>";
+        String image = "data:image/svg+xml;base64," + Base64.getEncoder().encodeToString(svg.getBytes());
+
+        assertThrows(BadRequestException.class, () -> mapper.convert(image));
+    }
+
+    @Test
+    void convertRejectsImageOfOtherThanDeclaredType() {
+        String image = "data:image/png;base64," + Base64.getEncoder().encodeToString(JPEG);
+
+        assertThrows(BadRequestException.class, () -> mapper.convert(image));
+    }
+
+    @Test
+    void convertGuessesContentTypeWithoutPrefix() throws IOException {
+        MultipartFile file = mapper.convert(Base64.getMimeEncoder().encodeToString(PNG));
+
+        assertArrayEquals(PNG, file.getBytes());
+        assertEquals("image/png", file.getContentType());
+        assertEquals("image.png", file.getOriginalFilename());
+    }
+
+    @Test
+    void convertRejectsTooLargeImage() {
+        String image = "data:image/png;base64," + Base64.getEncoder().encodeToString(new byte[2048]);
+
+        assertThrows(BadRequestException.class, () -> mapper.convert(image));
+    }
+
+    @Test
+    void convertRejectsEmptyImage() {
+        assertThrows(NotSavedException.class, () -> mapper.convert("data:image/png;base64,"));
+    }
+
+    @Test
+    void convertConcurrently() {
+        List<CompletableFuture<byte[]>> conversions = IntStream.range(0, 16)
+            .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                try {
+                    return mapper.convert(Base64.getEncoder().encodeToString(jpeg(i))).getBytes();
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }))
+            .collect(Collectors.toList());
+
+        for (int i = 0; i < conversions.size(); i++) {
+            assertArrayEquals(jpeg(i), conversions.get(i).join());
+        }
+    }
+
+    private static byte[] jpeg(int i) {
+        byte[] content = JPEG.clone();
+        content[content.length - 1] = (byte) i;
+        return content;
+    }
+}
@@ -0,0 +1,105 @@
+package greencity.openhours;
+
+import greencity.dto.openhours.PlaceOpeningHoursDto;
+import greencity.repository.OpenHoursRepo;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PlaceScheduleIndexTest {
+    private static final LocalDateTime THURSDAY = LocalDateTime.of(2021, 3, 4, 0, 0);
+
+    @Mock
+    private OpenHoursRepo openHoursRepo;
+
+    private PlaceScheduleIndex placeScheduleIndex;
+
+    @BeforeEach
+    void setUp() {
+        placeScheduleIndex = new PlaceScheduleIndex(openHoursRepo, true);
+    }
+
+    @Test
+    void isOpenChecksOpeningHoursAndBreaks() {
+        when(openHoursRepo.findAllPlaceOpeningHours()).thenReturn(List.of(
+            hours(1L, DayOfWeek.THURSDAY, 9, 18, LocalTime.of(13, 0), LocalTime.of(14, 0))));
+
+        assertFalse(placeScheduleIndex.isOpen(1L, THURSDAY.withHour(8).withMinute(59)));
+        assertTrue(placeScheduleIndex.isOpen(1L, THURSDAY.withHour(9)));
+        assertTrue(placeScheduleIndex.isOpen(1L, THURSDAY.withHour(12).withMinute(59)));
+        assertFalse(placeScheduleIndex.isOpen(1L, THURSDAY.withHour(13).withMinute(30)));
+        assertTrue(placeScheduleIndex.isOpen(1L, THURSDAY.withHour(14)));
+        assertFalse(placeScheduleIndex.isOpen(1L, THURSDAY.withHour(18)));
+        assertFalse(placeScheduleIndex.isOpen(1L, THURSDAY.plusDays(1).withHour(10)));
+        assertFalse(placeScheduleIndex.isOpen(2L, THURSDAY.withHour(10)));
+        verify(openHoursRepo, times(1)).findAllPlaceOpeningHours();
+    }
+
+    @Test
+    void isOpenAfterMidnightWrapsToNextDay() {
+        when(openHoursRepo.findAllPlaceOpeningHours()).thenReturn(List.of(
+            hours(1L, DayOfWeek.SUNDAY, 22, 2, null, null)));
+
+        assertTrue(placeScheduleIndex.isOpen(1L, THURSDAY.plusDays(3).withHour(23)));
+        assertTrue(placeScheduleIndex.isOpen(1L, THURSDAY.plusDays(4).withHour(1)));
+        assertFalse(placeScheduleIndex.isOpen(1L, THURSDAY.plusDays(4).withHour(2)));
+    }
+
+    @Test
+    void refreshRebuildsScheduleOfPlace() {
+        when(openHoursRepo.findAllPlaceOpeningHours()).thenReturn(List.of(
+            hours(1L, DayOfWeek.THURSDAY, 9, 18, null, null)));
+        when(openHoursRepo.findAllPlaceOpeningHoursByPlaceId(1L)).thenReturn(List.of(
+            hours(1L, DayOfWeek.THURSDAY, 12, 18, null, null)));
+        when(openHoursRepo.findAllPlaceOpeningHoursByPlaceId(2L)).thenReturn(List.of());
+        assertTrue(placeScheduleIndex.isOpen(1L, THURSDAY.withHour(10)));
+
+        placeScheduleIndex.refresh(1L);
+        placeScheduleIndex.refresh(2L);
+
+        assertFalse(placeScheduleIndex.isOpen(1L, THURSDAY.withHour(10)));
+        assertTrue(placeScheduleIndex.isOpen(1L, THURSDAY.withHour(12)));
+        assertFalse(placeScheduleIndex.isOpen(2L, THURSDAY.withHour(12)));
+    }
+
+    @Test
+    void refreshIsIgnoredUntilIndexIsLoaded() {
+        placeScheduleIndex.refresh(1L);
+        placeScheduleIndex.reload();
+
+        verify(openHoursRepo, never()).findAllPlaceOpeningHoursByPlaceId(1L);
+        verify(openHoursRepo, never()).findAllPlaceOpeningHours();
+    }
+
+    @Test
+    void invalidateLoadsScheduleAgain() {
+        when(openHoursRepo.findAllPlaceOpeningHours()).thenReturn(List.of(
+            hours(1L, DayOfWeek.THURSDAY, 9, 18, null, null)));
+        placeScheduleIndex.isOpen(1L, THURSDAY.withHour(10));
+
+        placeScheduleIndex.invalidate();
+        placeScheduleIndex.isOpen(1L, THURSDAY.withHour(10));
+
+        verify(openHoursRepo, times(2)).findAllPlaceOpeningHours();
+    }
+
+    private static PlaceOpeningHoursDto hours(Long placeId, DayOfWeek day, int open, int close,
+        LocalTime breakStart, LocalTime breakEnd) {
+        return new PlaceOpeningHoursDto(placeId, day, LocalTime.of(open, 0), LocalTime.of(close, 0),
+            breakStart, breakEnd);
+    }
+}
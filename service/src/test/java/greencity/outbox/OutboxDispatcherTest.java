@@ -0,0 +1,115 @@
+package greencity.outbox;
+
+import greencity.achievement.AchievementCalculation;
+import greencity.annotations.RatingCalculationEnum;
+import greencity.async.SideEffectExecutor;
+import greencity.entity.OutboxEvent;
+import greencity.enums.AchievementCategoryType;
+import greencity.enums.AchievementType;
+import greencity.enums.OutboxEventType;
+import greencity.rating.RatingCalculation;
+import greencity.repository.OutboxEventRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+    @Mock
+    private OutboxEventRepo outboxEventRepo;
+    @Mock
+    private RatingCalculation ratingCalculation;
+    @Mock
+    private AchievementCalculation achievementCalculation;
+    @Mock
+    private SideEffectExecutor sideEffectExecutor;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxDispatcher outboxDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        outboxDispatcher = new OutboxDispatcher(outboxEventRepo, ratingCalculation, achievementCalculation,
+            sideEffectExecutor, transactionManager, new SimpleMeterRegistry(), 100, 3, 60, 5);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void dispatchAppliesEventsGroupedByUser() {
+        OutboxEvent rating = OutboxEvent.builder().id(1L).userId(1L).eventType(OutboxEventType.RATING)
+            .ratingEvent(RatingCalculationEnum.ADD_COMMENT).build();
+        OutboxEvent like = OutboxEvent.builder().id(2L).userId(1L).eventType(OutboxEventType.ACHIEVEMENT)
+            .achievementType(AchievementType.INCREMENT).achievementCategory(AchievementCategoryType.ECO_NEWS_LIKE)
+            .count(0).build();
+        OutboxEvent secondLike = OutboxEvent.builder().id(3L).userId(1L).eventType(OutboxEventType.ACHIEVEMENT)
+            .achievementType(AchievementType.INCREMENT).achievementCategory(AchievementCategoryType.ECO_NEWS_LIKE)
+            .count(0).build();
+        OutboxEvent streak = OutboxEvent.builder().id(4L).userId(1L).eventType(OutboxEventType.ACHIEVEMENT)
+            .achievementType(AchievementType.COMPARISON).achievementCategory(AchievementCategoryType.HABIT_STREAK)
+            .count(5).build();
+        List<OutboxEvent> events = List.of(rating, like, secondLike, streak);
+        when(outboxEventRepo.findIdsReadyForDispatch(100)).thenReturn(List.of(1L, 2L, 3L, 4L));
+        when(outboxEventRepo.findAllById(List.of(1L, 2L, 3L, 4L))).thenReturn(events);
+        when(sideEffectExecutor.runAsync(any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        outboxDispatcher.dispatch();
+
+        verify(outboxEventRepo).lease(eq(List.of(1L, 2L, 3L, 4L)), any(ZonedDateTime.class));
+        verify(achievementCalculation).incrementAchievement(1L, AchievementCategoryType.ECO_NEWS_LIKE, 2);
+        verify(achievementCalculation)
+            .calculateAchievement(1L, AchievementType.COMPARISON, AchievementCategoryType.HABIT_STREAK, 5);
+        verify(ratingCalculation).applyRatingChanges(1L, List.of(RatingCalculationEnum.ADD_COMMENT));
+        verify(outboxEventRepo).deleteAll(events);
+    }
+
+    @Test
+    void dispatchReschedulesFailedEvents() {
+        OutboxEvent rating = OutboxEvent.builder().id(1L).userId(1L).eventType(OutboxEventType.RATING)
+            .ratingEvent(RatingCalculationEnum.ADD_COMMENT).build();
+        when(outboxEventRepo.findIdsReadyForDispatch(100)).thenReturn(List.of(1L));
+        when(outboxEventRepo.findAllById(List.of(1L))).thenReturn(List.of(rating));
+        when(sideEffectExecutor.runAsync(any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return CompletableFuture.completedFuture(null);
+        });
+        doThrow(new IllegalStateException("user service is down"))
+            .when(ratingCalculation).applyRatingChanges(anyLong(), anyList());
+
+        outboxDispatcher.dispatch();
+
+        verify(outboxEventRepo).save(rating);
+        assertEquals(1, rating.getAttempts());
+        assertEquals("user service is down", rating.getLastError());
+        assertNotNull(rating.getNextAttemptAt());
+        verify(outboxEventRepo, never()).deleteAll(anyList());
+    }
+
+    @Test
+    void dispatchDoesNothingWithoutReadyEvents() {
+        when(outboxEventRepo.findIdsReadyForDispatch(100)).thenReturn(Collections.emptyList());
+
+        outboxDispatcher.dispatch();
+
+        verify(outboxEventRepo, never()).lease(anyList(), any());
+        verify(sideEffectExecutor, never()).runAsync(any());
+    }
+}
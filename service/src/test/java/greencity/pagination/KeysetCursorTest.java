@@ -0,0 +1,50 @@
+package greencity.pagination;
+
+import greencity.exception.exceptions.BadRequestException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+    @Test
+    void decodeReturnsEncodedZonedDateTimeAndId() {
+        ZonedDateTime creationDate = ZonedDateTime.of(2021, 3, 4, 10, 15, 30, 123_000_000, ZoneOffset.UTC);
+
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(creationDate, 42L));
+
+        assertEquals(creationDate, cursor.getKeyAsZonedDateTime());
+        assertEquals(42L, cursor.getId());
+    }
+
+    @Test
+    void decodeReturnsEncodedLocalDateTimeAndId() {
+        LocalDateTime createdDate = LocalDateTime.of(2021, 3, 4, 10, 15);
+
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(createdDate, 7L));
+
+        assertEquals(createdDate, cursor.getKeyAsLocalDateTime());
+        assertEquals(7L, cursor.getId());
+    }
+
+    @Test
+    void decodeIdOnlyCursor() {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(null, 5L));
+
+        assertNull(cursor.getKey());
+        assertEquals(5L, cursor.getId());
+        assertThrows(BadRequestException.class, cursor::getKeyAsZonedDateTime);
+    }
+
+    @Test
+    void decodeRejectsMalformedCursor() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("%%%"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(BadRequestException.class,
+            () -> KeysetCursor.decode(KeysetCursor.encode("yesterday", 1L)).getKeyAsLocalDateTime());
+    }
+}
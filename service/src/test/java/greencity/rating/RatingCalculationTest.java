@@ -2,66 +2,61 @@ package greencity.rating;
 
 import greencity.ModelUtils;
 import greencity.annotations.RatingCalculationEnum;
-import greencity.client.RestClient;
-import greencity.dto.ratingstatistics.RatingStatisticsVO;
-import greencity.dto.user.UserVO;
+import greencity.client.UserLookupCache;
 import greencity.entity.RatingStatistics;
 import greencity.entity.User;
-import greencity.service.RatingStatisticsService;
-import java.time.ZonedDateTime;
+import greencity.repository.RatingStatisticsRepo;
+import greencity.repository.UserRepo;
+import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class RatingCalculationTest {
     @Mock
-    private RestClient restClient;
+    private UserRepo userRepo;
     @Mock
-    private RatingStatisticsService ratingStatisticsService;
+    private RatingStatisticsRepo ratingStatisticsRepo;
     @Mock
-    private ModelMapper modelMapper;
+    private UserLookupCache userLookupCache;
 
     @InjectMocks
     private RatingCalculation ratingCalculation;
 
     @Test
-    void ratingCalculation() {
-
-        RatingCalculationEnum rating = RatingCalculationEnum.ADD_COMMENT;
+    @SuppressWarnings("unchecked")
+    void applyRatingChanges() {
         User user = ModelUtils.getUser();
-        user.setRating(1D);
-        UserVO userVO = ModelUtils.getUserVO();
-        userVO.setRating(1D);
-        ZonedDateTime now = ZonedDateTime.now();
-        RatingStatistics ratingStatistics = RatingStatistics
-            .builder()
-            .rating(userVO.getRating() + RatingCalculationEnum.ADD_COMMENT.getRatingPoints())
-            .ratingCalculationEnum(rating)
-            .user(user)
-            .pointsChanged(rating.getRatingPoints())
-            .build();
+        double delta = RatingCalculationEnum.ADD_COMMENT.getRatingPoints()
+            + RatingCalculationEnum.LIKE_COMMENT.getRatingPoints();
+        when(userRepo.findRatingById(1L)).thenReturn(1D + delta);
+        when(userRepo.getOne(1L)).thenReturn(user);
+
+        ratingCalculation.applyRatingChanges(1L,
+            List.of(RatingCalculationEnum.ADD_COMMENT, RatingCalculationEnum.LIKE_COMMENT));
+
+        verify(userRepo).addRating(1L, delta);
+        ArgumentCaptor<List<RatingStatistics>> captor = ArgumentCaptor.forClass(List.class);
+        verify(ratingStatisticsRepo).saveAll(captor.capture());
+        List<RatingStatistics> statistics = captor.getValue();
+        assertEquals(2, statistics.size());
+        assertEquals(1D + RatingCalculationEnum.ADD_COMMENT.getRatingPoints(), statistics.get(0).getRating());
+        assertEquals(1D + delta, statistics.get(1).getRating());
+        verify(userLookupCache).evictUser(1L);
+    }
 
-        RatingStatisticsVO ratingStatisticsVO = RatingStatisticsVO.builder()
-            .id(1L)
-            .rating(userVO.getRating())
-            .ratingCalculationEnum(RatingCalculationEnum.ADD_COMMENT)
-            .user(userVO)
-            .createDate(now)
-            .pointsChanged(rating.getRatingPoints())
-            .build();
-        String accessToken = "token";
-        when(modelMapper.map(userVO, User.class)).thenReturn(user);
-        doNothing().when(restClient).save(userVO, accessToken);
-        when(modelMapper.map(ratingStatistics, RatingStatisticsVO.class)).thenReturn(ratingStatisticsVO);
-        when(ratingStatisticsService.save(ratingStatisticsVO)).thenReturn(ratingStatisticsVO);
-        ratingCalculation.ratingCalculation(RatingCalculationEnum.ADD_COMMENT, userVO, accessToken);
-        verify(ratingStatisticsService).save(ratingStatisticsVO);
+    @Test
+    void applyRatingChangesDoesNothingForEmptyList() {
+        ratingCalculation.applyRatingChanges(1L, Collections.emptyList());
 
+        verifyNoMoreInteractions(userRepo, ratingStatisticsRepo, userLookupCache);
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package greencity.service;
 
 import greencity.ModelUtils;
 import greencity.achievement.AchievementCalculation;
+import greencity.achievement.AchievementThresholdIndex;
 import greencity.client.RestClient;
 import greencity.constant.ErrorMessage;
 import greencity.dto.PageableAdvancedDto;
@@ -61,6 +62,8 @@ class AchievementServiceImplTest {
     private UserAchievementRepo userAchievementRepo;
     @Mock
     private AchievementCalculation achievementCalculation;
+    @Mock
+    private AchievementThresholdIndex achievementThresholdIndex;
     @InjectMocks
     private AchievementServiceImpl achievementService;
     @Mock
@@ -180,6 +183,7 @@ class AchievementServiceImplTest {
         verify(achievementRepo, times(1)).deleteById(1L);
         long expected = achievementService.delete(1L);
         Assertions.assertEquals(expected, achievement.getId());
+        verify(achievementThresholdIndex).reload();
     }
 
     @Test
@@ -210,6 +214,23 @@ class AchievementServiceImplTest {
         assertEquals(achievementVO, achievementService.findByCategoryIdAndCondition(1L, 1));
     }
 
+    @Test
+    void findAllByCategoryIdAndConditionInRange() {
+        Achievement achievement = ModelUtils.getAchievement();
+        AchievementVO achievementVO = ModelUtils.getAchievementVO();
+        when(achievementRepo.findAllByCategoryIdAndConditionInRange(1L, 0, 1))
+            .thenReturn(Collections.singletonList(achievement));
+        when(modelMapper.map(achievement, AchievementVO.class)).thenReturn(achievementVO);
+        assertEquals(Collections.singletonList(achievementVO),
+            achievementService.findAllByCategoryIdAndConditionInRange(1L, 0, 1));
+    }
+
+    @Test
+    void findAllByCategoryIdAndConditionInRangeWithoutGrowth() {
+        assertTrue(achievementService.findAllByCategoryIdAndConditionInRange(1L, 5, 5).isEmpty());
+        verify(achievementRepo, never()).findAllByCategoryIdAndConditionInRange(anyLong(), anyInt(), anyInt());
+    }
+
     @Test
     void findAchievementsWithStatusActive() {
         List<AchievementNotification> achievementNotifications =
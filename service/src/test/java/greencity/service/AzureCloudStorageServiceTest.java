@@ -1,6 +1,7 @@
 package greencity.service;
 
 import greencity.exception.exceptions.BadRequestException;
+import greencity.exception.exceptions.NotSavedException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -11,10 +12,25 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
@@ -41,4 +57,70 @@ class AzureCloudStorageServiceTest {
         when(modelMapper.map("Image", MultipartFile.class)).thenReturn(multipartFile);
         assertEquals(multipartFile, azureCloudStorageService.convertToMultipartImage("Image"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void contentTypeIsRecognizedByFirstBytes() throws IOException {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R'};
+        InputStream data = new BufferedInputStream(new ByteArrayInputStream(png));
+
+        assertEquals("image/png", AzureCloudStorageService.contentType(data));
+        assertArrayEquals(png, data.readAllBytes());
+        assertEquals("application/octet-stream", AzureCloudStorageService.contentType(
+            new BufferedInputStream(new ByteArrayInputStream("<svg/>".getBytes(StandardCharsets.UTF_8)))));
+    }
+
+    @Test
+    void uploadAllReturnsUrlsInOrderOfFiles() {
+        AzureCloudStorageService service = spy(new AzureCloudStorageService(propertyResolver, modelMapper));
+        MultipartFile first = file("first");
+        MultipartFile second = file("second");
+        doReturn("url1").when(service).upload(first);
+        doReturn("url2").when(service).upload(second);
+
+        assertEquals(List.of("url1", "url2"), service.uploadAll(new MultipartFile[] {first, second}));
+        verify(service, never()).delete(anyString());
+        service.shutdown();
+    }
+
+    @Test
+    void uploadAllDeletesUploadedFilesWhenOneFails() {
+        AzureCloudStorageService service = spy(new AzureCloudStorageService(propertyResolver, modelMapper));
+        MultipartFile first = file("first");
+        MultipartFile second = file("second");
+        doReturn("url1").when(service).upload(first);
+        doThrow(new NotSavedException("S")).when(service).upload(second);
+        doNothing().when(service).delete("url1");
+        MultipartFile[] files = {first, second};
+
+        assertThrows(NotSavedException.class, () -> service.uploadAll(files));
+        verify(service).delete("url1");
+        service.shutdown();
+    }
+
+    @Test
+    void uploadAllDeletesUploadedFilesWhenQueueIsFull() {
+        when(propertyResolver.getProperty("azure.upload.parallel-files", Integer.class)).thenReturn(1);
+        when(propertyResolver.getProperty("azure.upload.queue-capacity", Integer.class)).thenReturn(1);
+        AzureCloudStorageService service = spy(new AzureCloudStorageService(propertyResolver, modelMapper));
+        MultipartFile first = file("first");
+        MultipartFile second = file("second");
+        MultipartFile third = file("third");
+        doAnswer(invocation -> {
+            TimeUnit.MILLISECONDS.sleep(200);
+            return "url1";
+        }).when(service).upload(first);
+        doReturn("url2").when(service).upload(second);
+        doNothing().when(service).delete(anyString());
+        MultipartFile[] files = {first, second, third};
+
+        assertThrows(NotSavedException.class, () -> service.uploadAll(files));
+        verify(service).delete("url1");
+        verify(service).delete("url2");
+        verify(service, never()).upload(third);
+        service.shutdown();
+    }
+
+    private static MultipartFile file(String name) {
+        return new MockMultipartFile(name, name.getBytes(StandardCharsets.UTF_8));
+    }
+}
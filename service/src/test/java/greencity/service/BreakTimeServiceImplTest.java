@@ -4,6 +4,7 @@ import greencity.dto.breaktime.BreakTimeVO;
 import greencity.entity.BreakTime;
 import greencity.exception.exceptions.BadRequestException;
 import greencity.exception.exceptions.NotFoundException;
+import greencity.openhours.PlaceScheduleIndex;
 import greencity.repository.BreakTimeRepo;
 import java.time.LocalTime;
 import java.util.Arrays;
@@ -32,6 +33,9 @@ class BreakTimeServiceImplTest {
     @Mock
     private BreakTimeRepo breakTimeRepo;
 
+    @Mock
+    private PlaceScheduleIndex placeScheduleIndex;
+
     @InjectMocks
     private BreakTimeServiceImpl breakTimeService;
 
@@ -65,6 +69,7 @@ class BreakTimeServiceImplTest {
         when(modelMapper.map(validBreakTime, BreakTimeVO.class)).thenReturn(breakTimeVO);
         BreakTimeVO save = breakTimeService.save(breakTimeVO);
         assertEquals(breakTimeVO, save);
+        verify(placeScheduleIndex).invalidate();
     }
 
     @Test
@@ -98,6 +103,7 @@ class BreakTimeServiceImplTest {
 
         assertEquals(validBreakTime.getId(), breakTimeService.deleteById(validBreakTime.getId()));
         verify(breakTimeRepo).delete(validBreakTime);
+        verify(placeScheduleIndex).invalidate();
     }
 
     @Test
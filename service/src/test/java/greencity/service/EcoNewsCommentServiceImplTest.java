@@ -4,19 +4,23 @@ import static greencity.ModelUtils.getUser;
 import static greencity.ModelUtils.getUserVO;
 
 import greencity.exception.exceptions.UserHasNoPermissionToAccessException;
-import javax.servlet.http.HttpServletRequest;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import greencity.ModelUtils;
 import greencity.constant.ErrorMessage;
+import greencity.dto.CursorPageDto;
 import greencity.dto.PageableDto;
 import greencity.dto.econews.EcoNewsVO;
 import greencity.dto.econewscomment.AddEcoNewsCommentDtoRequest;
 import greencity.dto.econewscomment.AddEcoNewsCommentDtoResponse;
 import greencity.dto.econewscomment.AmountCommentLikesDto;
+import greencity.dto.econewscomment.EcoNewsCommentCountsDto;
 import greencity.dto.econewscomment.EcoNewsCommentDto;
 import greencity.dto.econewscomment.EcoNewsCommentVO;
 import greencity.dto.user.UserVO;
@@ -26,6 +30,8 @@ import greencity.entity.User;
 import greencity.enums.Role;
 import greencity.exception.exceptions.BadRequestException;
 import greencity.exception.exceptions.NotFoundException;
+import greencity.outbox.SideEffectOutbox;
+import greencity.pagination.KeysetCursor;
 import greencity.repository.EcoNewsCommentRepo;
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -34,6 +40,7 @@ import java.util.List;
 import java.util.Optional;
 
 import greencity.repository.EcoNewsRepo;
+import greencity.websocket.CommentLikesBroadcaster;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -46,7 +53,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 @ExtendWith(MockitoExtension.class)
 class EcoNewsCommentServiceImplTest {
@@ -57,11 +63,11 @@ class EcoNewsCommentServiceImplTest {
     @Mock
     private ModelMapper modelMapper;
     @Mock
-    private SimpMessagingTemplate messagingTemplate;
-    @Mock
-    private HttpServletRequest httpServletRequest;
+    private CommentLikesBroadcaster commentLikesBroadcaster;
     @Mock
     EcoNewsRepo ecoNewsRepo;
+    @Mock
+    private SideEffectOutbox sideEffectOutbox;
     @InjectMocks
     private EcoNewsCommentServiceImpl ecoNewsCommentService;
 
@@ -86,6 +92,7 @@ class EcoNewsCommentServiceImplTest {
 
         ecoNewsCommentService.save(1L, addEcoNewsCommentDtoRequest, userVO);
         verify(ecoNewsCommentRepo).save(any(EcoNewsComment.class));
+        verify(ecoNewsRepo).updateCommentsCounter(1L, 1);
     }
 
     @Test
@@ -181,7 +188,8 @@ class EcoNewsCommentServiceImplTest {
         when(ecoNewsCommentRepo.findAllByParentCommentIsNullAndEcoNewsIdOrderByCreatedDateDesc(pageable, ecoNewsId))
             .thenReturn(pages);
         when(modelMapper.map(ecoNewsComment, EcoNewsCommentDto.class)).thenReturn(ecoNewsCommentDto);
-        when(ecoNewsCommentRepo.countByParentCommentId(any())).thenReturn(0);
+        when(ecoNewsCommentRepo.findCountsByIds(List.of(1L))).thenReturn(List.of());
+        when(ecoNewsCommentRepo.findIdsLikedByUser(List.of(1L), 1L)).thenReturn(List.of());
 
         PageableDto<EcoNewsCommentDto> allComments =
             ecoNewsCommentService.findAllComments(pageable, userVO, ecoNewsId);
@@ -208,6 +216,8 @@ class EcoNewsCommentServiceImplTest {
             .thenReturn(pages);
         when(modelMapper.map(ecoNewsCommentChild, EcoNewsCommentDto.class))
             .thenReturn(ModelUtils.getEcoNewsCommentDto());
+        when(ecoNewsCommentRepo.findCountsByIds(List.of(1L))).thenReturn(List.of());
+        when(ecoNewsCommentRepo.findIdsLikedByUser(List.of(1L), 1L)).thenReturn(List.of());
 
         PageableDto<EcoNewsCommentDto> allReplies =
             ecoNewsCommentService.findAllReplies(pageable, parentCommentId, userVO);
@@ -225,9 +235,24 @@ class EcoNewsCommentServiceImplTest {
 
         when(ecoNewsCommentRepo.findById(commentId))
             .thenReturn(Optional.ofNullable(ModelUtils.getEcoNewsComment()));
-        when(httpServletRequest.getHeader("Authorization")).thenReturn(token);
         ecoNewsCommentService.deleteById(commentId, userVO);
         EcoNewsComment comment = verify(ecoNewsCommentRepo, times(1)).save(any(EcoNewsComment.class));
+        verify(ecoNewsRepo).updateCommentsCounter(1L, -1);
+    }
+
+    @Test
+    void deleteCommentWithRepliesDecrementsCounterByNotDeletedComments() {
+        UserVO userVO = getUserVO();
+        EcoNewsComment comment = ModelUtils.getEcoNewsComment();
+        EcoNewsComment reply = EcoNewsComment.builder().id(2L).build();
+        EcoNewsComment deletedReply = EcoNewsComment.builder().id(3L).deleted(true).build();
+        comment.setComments(List.of(reply, deletedReply));
+        when(ecoNewsCommentRepo.findById(1L)).thenReturn(Optional.of(comment));
+
+        ecoNewsCommentService.deleteById(1L, userVO);
+
+        assertTrue(reply.isDeleted());
+        verify(ecoNewsRepo).updateCommentsCounter(1L, -2);
     }
 
     @Test
@@ -239,7 +264,6 @@ class EcoNewsCommentServiceImplTest {
 
         when(ecoNewsCommentRepo.findById(commentId))
             .thenReturn(Optional.ofNullable(ModelUtils.getEcoNewsComment()));
-        when(httpServletRequest.getHeader("Authorization")).thenReturn(token);
         ecoNewsCommentService.deleteById(commentId, userVO);
         verify(ecoNewsCommentRepo, times(1)).save(any(EcoNewsComment.class));
     }
@@ -250,7 +274,6 @@ class EcoNewsCommentServiceImplTest {
         UserVO userVO = getUserVO();
         user.setRole(Role.ROLE_ADMIN);
         Long commentId = 1L;
-        when(httpServletRequest.getHeader("Authorization")).thenReturn(token);
         when(ecoNewsCommentRepo.findById(commentId))
             .thenReturn(Optional.ofNullable(ModelUtils.getEcoNewsComment()));
 
@@ -393,10 +416,11 @@ class EcoNewsCommentServiceImplTest {
             .amountLikes(2)
             .build();
 
-        when(ecoNewsCommentRepo.findById(amountCommentLikesDto.getId())).thenReturn(Optional.empty());
+        when(ecoNewsCommentRepo.findCountsByIds(List.of(1L))).thenReturn(List.of());
         BadRequestException badRequestException =
             assertThrows(BadRequestException.class, () -> ecoNewsCommentService.countLikes(amountCommentLikesDto));
         assertEquals(ErrorMessage.COMMENT_NOT_FOUND_EXCEPTION, badRequestException.getMessage());
+        verify(commentLikesBroadcaster, never()).submit(any());
     }
 
     @Test
@@ -404,15 +428,17 @@ class EcoNewsCommentServiceImplTest {
         AmountCommentLikesDto amountCommentLikesDto = AmountCommentLikesDto.builder()
             .id(1L)
             .amountLikes(2)
+            .userId(1L)
             .build();
-        EcoNewsComment ecoNewsComment = ModelUtils.getEcoNewsComment();
-        ecoNewsComment.setUsersLiked(new HashSet<>());
 
-        when(ecoNewsCommentRepo.findById(amountCommentLikesDto.getId())).thenReturn(Optional.of(ecoNewsComment));
-        doNothing().when(messagingTemplate).convertAndSend("/topic/"
-            + amountCommentLikesDto.getId() + "/comment", amountCommentLikesDto);
-        ecoNewsCommentService.countLikes(amountCommentLikesDto);
-        verify(ecoNewsCommentRepo).findById(1L);
+        when(ecoNewsCommentRepo.findCountsByIds(List.of(1L)))
+            .thenReturn(List.of(new EcoNewsCommentCountsDto(1L, 0L, 5L)));
+        when(ecoNewsCommentRepo.findIdsLikedByUser(List.of(1L), 1L)).thenReturn(List.of(1L));
+        AmountCommentLikesDto acknowledgement = ecoNewsCommentService.countLikes(amountCommentLikesDto);
+        assertTrue(acknowledgement.isLiked());
+        assertEquals(5, acknowledgement.getAmountLikes().intValue());
+        verify(commentLikesBroadcaster).submit(amountCommentLikesDto);
+        verify(ecoNewsCommentRepo, never()).findById(anyLong());
     }
 
     @Test
@@ -448,7 +474,6 @@ class EcoNewsCommentServiceImplTest {
     @Test
     void getAllActiveComments() {
         EcoNewsComment ecoNewsComment = ModelUtils.getEcoNewsComment();
-        ecoNewsComment.setUsersLiked(Collections.singleton(ModelUtils.getUser()));
         UserVO userVO = ModelUtils.getUserVO();
 
         List<EcoNewsComment> ecoNewsComments = Collections.singletonList(ecoNewsComment);
@@ -463,11 +488,68 @@ class EcoNewsCommentServiceImplTest {
             .findAllByParentCommentIsNullAndDeletedFalseAndEcoNewsIdOrderByCreatedDateDesc(pageRequest, 1L))
                 .thenReturn(page);
         when(modelMapper.map(ecoNewsComment, EcoNewsCommentDto.class)).thenReturn(ecoNewsCommentDto);
-        when(ecoNewsCommentRepo.countByParentCommentId(ecoNewsCommentDto.getId())).thenReturn(10);
+        when(ecoNewsCommentRepo.findCountsByIds(List.of(1L)))
+            .thenReturn(List.of(new EcoNewsCommentCountsDto(1L, 10L, 3L)));
+        when(ecoNewsCommentRepo.findIdsLikedByUser(List.of(1L), 1L)).thenReturn(List.of(1L));
 
         PageableDto<EcoNewsCommentDto> actual = ecoNewsCommentService.getAllActiveComments(pageRequest, userVO, 1L);
 
         assertEquals(pageableDto, actual);
+        assertEquals(10, actual.getPage().get(0).getReplies());
+        assertTrue(ecoNewsComment.isCurrentUserLiked());
+        assertEquals(3, ecoNewsComment.getLikesCount().intValue());
+        assertNull(ecoNewsComment.getUsersLiked());
+        verify(ecoNewsCommentRepo, never()).countByParentCommentId(anyLong());
+    }
+
+    @Test
+    void getActiveCommentsByCursorReturnsNextCursor() {
+        EcoNewsComment newest = ModelUtils.getEcoNewsComment();
+        newest.setUsersLiked(Collections.singleton(ModelUtils.getUser()));
+        EcoNewsComment older = ModelUtils.getEcoNewsComment().setId(2L);
+        EcoNewsCommentDto ecoNewsCommentDto = ModelUtils.getEcoNewsCommentDto();
+        when(ecoNewsCommentRepo.findFirstActiveOrderByCreatedDateDesc(1L, PageRequest.of(0, 2))).thenReturn(List.of(newest, older));
+        when(modelMapper.map(newest, EcoNewsCommentDto.class)).thenReturn(ecoNewsCommentDto);
+        when(ecoNewsCommentRepo.findCountsByIds(List.of(1L)))
+            .thenReturn(List.of(new EcoNewsCommentCountsDto(1L, 10L, 1L)));
+        when(ecoNewsCommentRepo.findIdsLikedByUser(List.of(1L), 1L)).thenReturn(List.of(1L));
+
+        CursorPageDto<EcoNewsCommentDto> actual =
+            ecoNewsCommentService.getActiveCommentsByCursor(null, 1, false, getUserVO(), 1L);
+
+        assertEquals(List.of(ecoNewsCommentDto), actual.getPage());
+        assertTrue(actual.isHasNext());
+        assertNull(actual.getTotalElements());
+        KeysetCursor cursor = KeysetCursor.decode(actual.getNextCursor());
+        assertEquals(newest.getId(), cursor.getId());
+        assertEquals(newest.getCreatedDate(), cursor.getKeyAsLocalDateTime());
+        verify(ecoNewsCommentRepo, never()).countOfComments(anyLong());
+    }
+
+    @Test
+    void getActiveCommentsByCursorSeeksAfterCursor() {
+        EcoNewsComment ecoNewsComment = ModelUtils.getEcoNewsComment();
+        ecoNewsComment.setUsersLiked(Collections.emptySet());
+        EcoNewsCommentDto ecoNewsCommentDto = ModelUtils.getEcoNewsCommentDto();
+        LocalDateTime createdDate = LocalDateTime.of(2021, 5, 1, 12, 0);
+        when(ecoNewsCommentRepo.findNextActiveOrderByCreatedDateDesc(1L, createdDate, 3L, PageRequest.of(0, 3)))
+            .thenReturn(List.of(ecoNewsComment));
+        when(modelMapper.map(ecoNewsComment, EcoNewsCommentDto.class)).thenReturn(ecoNewsCommentDto);
+        when(ecoNewsCommentRepo.findCountsByIds(List.of(1L))).thenReturn(List.of());
+        when(ecoNewsCommentRepo.countOfComments(1L)).thenReturn(3);
+
+        CursorPageDto<EcoNewsCommentDto> actual = ecoNewsCommentService
+            .getActiveCommentsByCursor(KeysetCursor.encode(createdDate, 3L), 2, true, null, 1L);
+
+        assertEquals(List.of(ecoNewsCommentDto), actual.getPage());
+        assertFalse(actual.isHasNext());
+        assertEquals(3L, actual.getTotalElements());
+    }
+
+    @Test
+    void getActiveCommentsByCursorRejectsMalformedCursor() {
+        assertThrows(BadRequestException.class,
+            () -> ecoNewsCommentService.getActiveCommentsByCursor("not a cursor", 2, false, null, 1L));
     }
 
     @Test
@@ -489,6 +571,9 @@ class EcoNewsCommentServiceImplTest {
                 .thenReturn(page);
 
         when(modelMapper.map(ecoNewsComment, EcoNewsCommentDto.class)).thenReturn(ecoNewsCommentDto);
+        when(ecoNewsCommentRepo.findCountsByIds(List.of(1L)))
+            .thenReturn(List.of(new EcoNewsCommentCountsDto(1L, 0L, 1L)));
+        when(ecoNewsCommentRepo.findIdsLikedByUser(List.of(1L), 1L)).thenReturn(List.of(1L));
 
         PageableDto<EcoNewsCommentDto> actual = ecoNewsCommentService.findAllActiveReplies(pageRequest, 1L, userVO);
         assertEquals(pageableDto, actual);
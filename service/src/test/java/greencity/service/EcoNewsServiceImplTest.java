@@ -6,17 +6,23 @@ import static org.mockito.Mockito.*;
 
 import greencity.ModelUtils;
 import greencity.TestConst;
+import greencity.annotations.RatingCalculationEnum;
 import greencity.client.RestClient;
 import greencity.constant.AppConstant;
+import greencity.dto.CursorPageDto;
 import greencity.dto.PageableAdvancedDto;
 import greencity.dto.PageableDto;
 import greencity.dto.econews.*;
 import greencity.dto.econewscomment.EcoNewsCommentVO;
 import greencity.dto.language.LanguageDTO;
+import greencity.dto.search.EcoNewsSearchHit;
 import greencity.dto.search.SearchNewsDto;
 import greencity.dto.tag.TagVO;
 import greencity.dto.user.UserVO;
+import greencity.econews.EcoNewsRecommendationIndex;
+import greencity.econews.EcoNewsTotalCounter;
 import greencity.entity.EcoNews;
+import greencity.entity.ImageVariants;
 import greencity.entity.Tag;
 import greencity.entity.User;
 import greencity.enums.TagType;
@@ -26,6 +32,10 @@ import greencity.exception.exceptions.NotSavedException;
 import greencity.exception.exceptions.UnsupportedSortException;
 import greencity.filters.EcoNewsSpecification;
 import greencity.filters.SearchCriteria;
+import greencity.image.ImagePipeline;
+import greencity.outbox.SideEffectOutbox;
+import greencity.pagination.KeysetCursor;
+import greencity.repository.EcoNewsFullTextSearchRepo;
 import greencity.repository.EcoNewsRepo;
 import java.io.IOException;
 import java.net.MalformedURLException;
@@ -47,6 +57,9 @@ import org.modelmapper.TypeToken;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 @ExtendWith(SpringExtension.class)
@@ -79,6 +92,21 @@ class EcoNewsServiceImplTest {
     @Mock
     EcoNewsSearchRepo ecoNewsSearchRepo;
 
+    @Mock
+    EcoNewsFullTextSearchRepo ecoNewsFullTextSearchRepo;
+
+    @Mock
+    private SideEffectOutbox sideEffectOutbox;
+
+    @Mock
+    private EcoNewsTotalCounter ecoNewsTotalCounter;
+
+    @Mock
+    private ImagePipeline imagePipeline;
+    @Mock
+    private EcoNewsRecommendationIndex ecoNewsRecommendationIndex;
+    @Mock
+    private PlatformTransactionManager transactionManager;
     @InjectMocks
     private EcoNewsServiceImpl ecoNewsService;
 
@@ -106,7 +134,7 @@ class EcoNewsServiceImplTest {
         when(languageService.findByCode(AppConstant.DEFAULT_LANGUAGE_CODE))
             .thenReturn(dto);
         when(ecoNewsRepo.save(ecoNews)).thenReturn(ecoNews);
-        when(fileService.upload(image)).thenReturn(ModelUtils.getUrl().toString());
+        when(imagePipeline.upload(image)).thenReturn(ModelUtils.getImageVariantsDto());
 
         assertNotEquals(null, addEcoNewsDtoResponse);
     }
@@ -119,7 +147,7 @@ class EcoNewsServiceImplTest {
 
         when(modelMapper.map(addEcoNewsDtoRequest, EcoNews.class)).thenReturn(ecoNews);
         when(restClient.findByEmail(TestConst.EMAIL)).thenReturn(ModelUtils.getUserVO());
-        when(fileService.upload(any(MultipartFile.class))).thenReturn(ModelUtils.getUrl().toString());
+        when(imagePipeline.upload(any(MultipartFile.class))).thenReturn(ModelUtils.getImageVariantsDto());
         List<TagVO> tagVOList = Collections.singletonList(ModelUtils.getTagVO());
         when(tagService.findTagsByNamesAndType(anyList(), eq(TagType.ECO_NEWS))).thenReturn(tagVOList);
         when(ecoNewsRepo.save(any(EcoNews.class))).thenReturn(ecoNews);
@@ -147,7 +175,7 @@ class EcoNewsServiceImplTest {
         when(modelMapper.map(addEcoNewsDtoRequest, EcoNews.class)).thenReturn(ecoNews);
         when(ecoNewsRepo.save(ecoNews)).thenThrow(DataIntegrityViolationException.class);
         when(restClient.findByEmail(TestConst.EMAIL)).thenReturn(ModelUtils.getUserVO());
-        when(fileService.upload(image)).thenReturn(ModelUtils.getUrl().toString());
+        when(imagePipeline.upload(image)).thenReturn(ModelUtils.getImageVariantsDto());
 
         assertThrows(NotSavedException.class, () -> ecoNewsService.save(addEcoNewsDtoRequest, image, TestConst.EMAIL));
     }
@@ -162,7 +190,7 @@ class EcoNewsServiceImplTest {
         when(modelMapper.map(addEcoNewsDtoRequest, EcoNews.class)).thenReturn(ecoNews);
         when(restClient.findByEmail(TestConst.EMAIL)).thenReturn(ModelUtils.getUserVO());
         when(modelMapper.map(ModelUtils.getUserVO(), User.class)).thenReturn(ModelUtils.getUser());
-        when(fileService.upload(any(MultipartFile.class))).thenReturn(ModelUtils.getUrl().toString());
+        when(imagePipeline.upload(any(MultipartFile.class))).thenReturn(ModelUtils.getImageVariantsDto());
         List<TagVO> tagVOList = Collections.singletonList(ModelUtils.getTagVO());
         List<Tag> tags = ModelUtils.getTags();
         when(tagService.findTagsByNamesAndType(anyList(), eq(TagType.ECO_NEWS))).thenReturn(tagVOList);
@@ -253,6 +281,56 @@ class EcoNewsServiceImplTest {
         assertEquals(pageableDto, actual);
     }
 
+    @Test
+    void findGenericAllReadsTotalCountOncePerPage() {
+        List<EcoNews> ecoNews = List.of(ModelUtils.getEcoNews(), ModelUtils.getEcoNews(), ModelUtils.getEcoNews());
+        PageRequest pageRequest = PageRequest.of(0, 3);
+        Page<EcoNews> page = new PageImpl<>(ecoNews, pageRequest, 10);
+        when(ecoNewsRepo.findAllByOrderByCreationDateDesc(pageRequest)).thenReturn(page);
+        when(ecoNewsTotalCounter.get()).thenReturn(10);
+
+        PageableAdvancedDto<EcoNewsGenericDto> actual = ecoNewsService.findGenericAll(pageRequest);
+
+        assertEquals(3, actual.getPage().size());
+        actual.getPage().forEach(dto -> assertEquals(10, dto.getCountOfEcoNews()));
+        verify(ecoNewsTotalCounter, times(1)).get();
+        verify(ecoNewsRepo, never()).totalCountOfCreationNews();
+    }
+
+    @Test
+    void findGenericAllByCursorReturnsNextCursorWithoutCount() {
+        EcoNews newest = ModelUtils.getEcoNews();
+        EcoNews older = ModelUtils.getEcoNews().setId(2L);
+        when(ecoNewsRepo.findFirstOrderByCreationDateDesc(2)).thenReturn(List.of(newest, older));
+        when(ecoNewsTotalCounter.get()).thenReturn(5);
+
+        CursorPageDto<EcoNewsGenericDto> actual = ecoNewsService.findGenericAllByCursor(null, 1, false);
+
+        assertEquals(1, actual.getPage().size());
+        assertTrue(actual.isHasNext());
+        assertNull(actual.getTotalElements());
+        KeysetCursor cursor = KeysetCursor.decode(actual.getNextCursor());
+        assertEquals(newest.getId(), cursor.getId());
+        assertEquals(newest.getCreationDate(), cursor.getKeyAsZonedDateTime());
+    }
+
+    @Test
+    void findGenericAllByCursorSeeksAfterCursor() {
+        EcoNews ecoNews = ModelUtils.getEcoNews();
+        String cursor = KeysetCursor.encode(ecoNews.getCreationDate(), 3L);
+        when(ecoNewsRepo.findNextOrderByCreationDateDesc(ecoNews.getCreationDate(), 3L, 3))
+            .thenReturn(List.of(ecoNews));
+        when(ecoNewsTotalCounter.get()).thenReturn(5);
+
+        CursorPageDto<EcoNewsGenericDto> actual = ecoNewsService.findGenericAllByCursor(cursor, 2, true);
+
+        assertEquals(1, actual.getPage().size());
+        assertFalse(actual.isHasNext());
+        assertNull(actual.getNextCursor());
+        assertEquals(5L, actual.getTotalElements());
+        verify(ecoNewsRepo, never()).totalCountOfCreationNews();
+    }
+
     @Test
     void findAllByUserPageIsSort() {
         List<EcoNews> ecoNews = Collections.singletonList(ModelUtils.getEcoNews());
@@ -322,20 +400,44 @@ class EcoNewsServiceImplTest {
 
     @Test
     void delete() {
-        String accessToken = "Token";
         EcoNews ecoNews = ModelUtils.getEcoNews();
+        ecoNews.setImageVariants(new ImageVariants("thumb", "card"));
         when(ecoNewsRepo.findById(1L)).thenReturn(Optional.of(ecoNews));
         EcoNewsVO ecoNewsVO = ModelUtils.getEcoNewsVO();
-        when(httpServletRequest.getHeader("Authorization")).thenReturn(accessToken);
-        when(modelMapper.map(ecoNews, EcoNewsVO.class)).thenReturn(ecoNewsVO);
         ecoNewsService.delete(1L, ecoNewsVO.getAuthor());
 
         verify(ecoNewsRepo, times(1)).deleteById(1L);
+        verify(fileService).delete(ecoNews.getImagePath());
+        verify(fileService).delete("thumb");
+        verify(fileService).delete("card");
+        verify(ecoNewsTotalCounter).add(-1);
+        verify(sideEffectOutbox).enqueueRating(ecoNewsVO.getAuthor().getId(), RatingCalculationEnum.DELETE_ECO_NEWS);
+    }
+
+    @Test
+    void deleteRemovesImagesOnlyAfterCommit() {
+        EcoNews ecoNews = ModelUtils.getEcoNews();
+        when(ecoNewsRepo.findById(1L)).thenReturn(Optional.of(ecoNews));
+        UserVO author = ModelUtils.getEcoNewsVO().getAuthor();
+
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            ecoNewsService.delete(1L, author);
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(fileService, never()).delete(anyString());
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        verify(fileService).delete(ecoNews.getImagePath());
     }
 
     @Test
     void search() {
-        SearchNewsDto searchNewsDto = new SearchNewsDto(1L, "title", null, null, Collections.singletonList("tag"));
+        SearchNewsDto searchNewsDto =
+            new SearchNewsDto(1L, "title", null, null, Collections.singletonList("tag"), null);
         PageableDto<SearchNewsDto> pageableDto = new PageableDto<>(Collections.singletonList(searchNewsDto), 4, 1, 2);
         Page<EcoNews> page = new PageImpl<>(Collections.singletonList(ecoNews), PageRequest.of(1, 3), 1);
 
@@ -347,6 +449,24 @@ class EcoNewsServiceImplTest {
         assertEquals(pageableDto, actual);
     }
 
+    @Test
+    void fullTextSearch() {
+        SearchNewsDto searchNewsDto =
+            new SearchNewsDto(1L, "title", null, null, Collections.singletonList("tag"), null);
+        PageRequest pageRequest = PageRequest.of(0, 3);
+        EcoNewsSearchHit hit = new EcoNewsSearchHit(ecoNews, 0.5, "<b>test</b> text");
+        Page<EcoNewsSearchHit> page = new PageImpl<>(Collections.singletonList(hit), pageRequest, 1);
+
+        when(ecoNewsFullTextSearchRepo.find(pageRequest, "test", "en")).thenReturn(page);
+        when(modelMapper.map(ecoNews, SearchNewsDto.class)).thenReturn(searchNewsDto);
+
+        PageableDto<SearchNewsDto> actual = ecoNewsService.fullTextSearch(pageRequest, "test", "en");
+
+        assertEquals(1, actual.getTotalElements());
+        assertEquals("<b>test</b> text", actual.getPage().get(0).getHighlight());
+        verify(ecoNewsSearchRepo, never()).find(any(), anyString(), anyString());
+    }
+
     @Test
     void getThreeRecommendedEcoNews() {
         List<EcoNewsDto> dtoList = Collections.singletonList(modelMapper.map(ecoNews, EcoNewsDto.class));
@@ -361,6 +481,25 @@ class EcoNewsServiceImplTest {
         assertEquals(dtoList, actual);
     }
 
+    @Test
+    void getThreeRecommendedEcoNewsFromIndex() {
+        EcoNews recommended = ModelUtils.getEcoNews();
+        recommended.setId(2L);
+        EcoNewsDto recommendedDto = ModelUtils.getEcoNewsDto();
+        recommendedDto.setId(2L);
+        List<EcoNewsDto> dtoList = List.of(recommendedDto, ModelUtils.getEcoNewsDto());
+
+        when(ecoNewsRecommendationIndex.recommend(1L, 3)).thenReturn(Optional.of(List.of(2L, 1L)));
+        when(ecoNewsRepo.findAllById(List.of(2L, 1L))).thenReturn(List.of(ecoNews, recommended));
+        when(modelMapper.map(recommended, EcoNewsDto.class)).thenReturn(dtoList.get(0));
+        when(modelMapper.map(ecoNews, EcoNewsDto.class)).thenReturn(dtoList.get(1));
+
+        List<EcoNewsDto> actual = ecoNewsService.getThreeRecommendedEcoNews(1L);
+
+        assertEquals(dtoList, actual);
+        verify(ecoNewsRepo, never()).getThreeRecommendedEcoNews(anyLong());
+    }
+
     @Test
     void deleteThrowExceptionTest() {
         EcoNews ecoNews = ModelUtils.getEcoNews();
@@ -377,9 +516,13 @@ class EcoNewsServiceImplTest {
     @Test
     void deleteAllTest() {
         List<Long> listId = Collections.singletonList(1L);
-        doNothing().when(ecoNewsRepo).deleteEcoNewsWithIds(listId);
+        EcoNews ecoNews = ModelUtils.getEcoNews();
+        when(ecoNewsRepo.findAllById(listId)).thenReturn(List.of(ecoNews));
+        when(ecoNewsRepo.deleteEcoNewsWithIds(listId)).thenReturn(1);
         ecoNewsService.deleteAll(listId);
         verify(ecoNewsRepo, times(1)).deleteEcoNewsWithIds(listId);
+        verify(ecoNewsTotalCounter).add(-1);
+        verify(fileService).delete(ecoNews.getImagePath());
     }
 
     @Test
@@ -483,6 +626,7 @@ class EcoNewsServiceImplTest {
         UpdateEcoNewsDto updateEcoNewsDto = ModelUtils.getUpdateEcoNewsDto();
         when(ecoNewsRepo.findById(1L)).thenReturn(Optional.of(ecoNews));
         when(ecoNewsService.findById(1L)).thenReturn(ecoNewsVO);
+        when(modelMapper.map(ecoNews, EcoNewsVO.class)).thenReturn(ecoNewsVO);
         when(modelMapper.map(ecoNewsVO, EcoNews.class)).thenReturn(ecoNews);
         when(ecoNewsRepo.save(ecoNews)).thenReturn(ecoNews);
         when(modelMapper.map(ecoNews, EcoNewsGenericDto.class)).thenReturn(ecoNewsDto);
@@ -498,6 +642,30 @@ class EcoNewsServiceImplTest {
         assertEquals(ecoNewsDto, actual);
     }
 
+    @Test
+    void updateEcoNewsDtoKeepsCountersAndLikesOfStoredEcoNews() {
+        EcoNews stored = ModelUtils.getEcoNews();
+        stored.setLikesCount(5);
+        stored.setCommentsCount(3);
+        stored.setUsersLikedNews(Set.of(ModelUtils.getUser()));
+        EcoNews mapped = ModelUtils.getEcoNews();
+        mapped.setUsersLikedNews(new HashSet<>());
+        EcoNewsVO ecoNewsVO = ModelUtils.getEcoNewsVO();
+        UpdateEcoNewsDto updateEcoNewsDto = ModelUtils.getUpdateEcoNewsDto();
+        when(ecoNewsRepo.findById(1L)).thenReturn(Optional.of(stored));
+        when(modelMapper.map(stored, EcoNewsVO.class)).thenReturn(ecoNewsVO);
+        when(modelMapper.map(ecoNewsVO, EcoNews.class)).thenReturn(mapped);
+        when(modelMapper.map(any(), eq(new TypeToken<List<Tag>>() {
+        }.getType()))).thenReturn(stored.getTags());
+
+        EcoNewsGenericDto actual = ecoNewsService.update(updateEcoNewsDto, null, ModelUtils.getUserVO());
+
+        assertEquals(5, actual.getLikes());
+        assertEquals(3, actual.getCountComments());
+        assertSame(stored.getUsersLikedNews(), mapped.getUsersLikedNews());
+        verify(ecoNewsRepo).save(mapped);
+    }
+
     @Test
     void updateEcoNewsDtoThrowsExceptionTest() {
         EcoNews ecoNews = ModelUtils.getEcoNews();
@@ -550,90 +718,77 @@ class EcoNewsServiceImplTest {
     @Test
     void likeTest() {
         UserVO userVO = ModelUtils.getUserVO();
-        EcoNews ecoNews = ModelUtils.getEcoNews();
-        EcoNewsVO ecoNewsVO = ModelUtils.getEcoNewsVO();
-        ecoNewsVO.setUsersLikedNews(new HashSet<>());
-
-        when(ecoNewsRepo.findById(1L)).thenReturn(Optional.of(ecoNews));
-        when(modelMapper.map(ecoNews, EcoNewsVO.class)).thenReturn(ecoNewsVO);
-        when(modelMapper.map(ecoNewsVO, EcoNews.class)).thenReturn(ecoNews);
+        when(ecoNewsRepo.existsById(1L)).thenReturn(true);
+        when(ecoNewsRepo.removeDislike(1L, userVO.getId())).thenReturn(0);
+        when(ecoNewsRepo.removeLike(1L, userVO.getId())).thenReturn(0);
+        when(ecoNewsRepo.addLike(1L, userVO.getId())).thenReturn(1);
 
         ecoNewsService.like(userVO, 1L);
 
-        assertEquals(1, ecoNewsVO.getUsersLikedNews().size());
-        assertTrue(ecoNewsVO.getUsersLikedNews().contains(userVO));
-        verify(ecoNewsRepo).save(ecoNews);
+        verify(ecoNewsRepo).updateLikesCounters(1L, 1, 0);
+        verify(ecoNewsRepo, never()).save(any(EcoNews.class));
     }
 
     @Test
     void givenEcoNewsLikedByUser_whenLikedByUser_shouldRemoveLike() {
         // given
         UserVO userVO = ModelUtils.getUserVO();
-        EcoNews ecoNews = ModelUtils.getEcoNews();
-        EcoNewsVO ecoNewsVO = ModelUtils.getEcoNewsVO();
-        ecoNewsVO.setUsersLikedNews(new HashSet<>());
-        when(ecoNewsRepo.findById(1L)).thenReturn(Optional.of(ecoNews));
-        when(modelMapper.map(ecoNews, EcoNewsVO.class)).thenReturn(ecoNewsVO);
-        when(modelMapper.map(ecoNewsVO, EcoNews.class)).thenReturn(ecoNews);
+        when(ecoNewsRepo.existsById(1L)).thenReturn(true);
+        when(ecoNewsRepo.removeDislike(1L, userVO.getId())).thenReturn(0);
+        when(ecoNewsRepo.removeLike(1L, userVO.getId())).thenReturn(1);
 
         // when
         ecoNewsService.like(userVO, 1L);
-        ecoNewsService.like(userVO, 1L);
 
         // then
-        assertEquals(0, ecoNewsVO.getUsersLikedNews().size());
+        verify(ecoNewsRepo, never()).addLike(anyLong(), anyLong());
+        verify(ecoNewsRepo).updateLikesCounters(1L, -1, 0);
+    }
+
+    @Test
+    void likeNotFoundTest() {
+        UserVO userVO = ModelUtils.getUserVO();
+        when(ecoNewsRepo.existsById(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> ecoNewsService.like(userVO, 1L));
+        verify(ecoNewsRepo, never()).updateLikesCounters(anyLong(), anyInt(), anyInt());
     }
 
     @Test
     void dislikeTest() {
         // given
         UserVO userVO = ModelUtils.getUserVO();
-        EcoNews ecoNews = ModelUtils.getEcoNews();
-        EcoNewsVO ecoNewsVO = ModelUtils.getEcoNewsVO();
-        ecoNewsVO.setUsersDislikedNews(new HashSet<>());
-        when(ecoNewsRepo.findById(anyLong())).thenReturn(Optional.of(ecoNews));
-        when(modelMapper.map(ecoNews, EcoNewsVO.class)).thenReturn(ecoNewsVO);
-        when(modelMapper.map(ecoNewsVO, EcoNews.class)).thenReturn(ecoNews);
+        when(ecoNewsRepo.existsById(1L)).thenReturn(true);
+        when(ecoNewsRepo.removeLike(1L, userVO.getId())).thenReturn(0);
+        when(ecoNewsRepo.removeDislike(1L, userVO.getId())).thenReturn(0);
+        when(ecoNewsRepo.addDislike(1L, userVO.getId())).thenReturn(1);
 
         // when
         ecoNewsService.dislike(userVO, 1L);
         // then
-        assertTrue(ecoNewsVO.getUsersDislikedNews().contains(userVO));
-        assertEquals(1, ecoNewsVO.getUsersDislikedNews().size());
-        verify(ecoNewsRepo).save(ecoNews);
+        verify(ecoNewsRepo).updateLikesCounters(1L, 0, 1);
+        verify(ecoNewsRepo, never()).save(any(EcoNews.class));
     }
 
     @Test
     void givenEcoNewsLikedByUser_whenDislikedByUser_shouldRemoveLikeAndAddDislike() {
         // given
         UserVO userVO = ModelUtils.getUserVO();
-        EcoNews ecoNews = ModelUtils.getEcoNews();
-        EcoNewsVO ecoNewsVO = ModelUtils.getEcoNewsVO();
-        ecoNewsVO.setUsersLikedNews(new HashSet<>(Set.of(userVO)));
-        ecoNewsVO.setUsersDislikedNews(new HashSet<>());
-        when(ecoNewsRepo.findById(anyLong())).thenReturn(Optional.of(ecoNews));
-        when(modelMapper.map(ecoNews, EcoNewsVO.class)).thenReturn(ecoNewsVO);
-        when(modelMapper.map(ecoNewsVO, EcoNews.class)).thenReturn(ecoNews);
+        when(ecoNewsRepo.existsById(1L)).thenReturn(true);
+        when(ecoNewsRepo.removeLike(1L, userVO.getId())).thenReturn(1);
+        when(ecoNewsRepo.removeDislike(1L, userVO.getId())).thenReturn(0);
+        when(ecoNewsRepo.addDislike(1L, userVO.getId())).thenReturn(1);
         // when
         ecoNewsService.dislike(userVO, 1L);
         // then
-        assertTrue(ecoNewsVO.getUsersDislikedNews().contains(userVO));
-        assertTrue(ecoNewsVO.getUsersLikedNews().isEmpty());
-        assertEquals(1, ecoNewsVO.getUsersDislikedNews().size());
-        assertEquals(0, ecoNewsVO.getUsersLikedNews().size());
+        verify(ecoNewsRepo).updateLikesCounters(1L, -1, 1);
     }
 
     @Test
     void countLikesForEcoNews() {
         EcoNews ecoNews = ModelUtils.getEcoNews();
-        EcoNewsVO ecoNewsVO = ModelUtils.getEcoNewsVO();
-        Set<UserVO> usersLiked = new HashSet<>();
-        usersLiked.add(UserVO.builder().id(1L).build());
-        usersLiked.add(UserVO.builder().id(2L).build());
-
-        ecoNewsVO.setUsersLikedNews(usersLiked);
+        ecoNews.setLikesCount(2);
         when(ecoNewsRepo.findById(1L)).thenReturn(Optional.of(ecoNews));
-        when(modelMapper.map(ecoNews, EcoNewsVO.class)).thenReturn(ecoNewsVO);
 
         int actualAmountOfLikes = ecoNewsService.countLikesForEcoNews(1L);
 
@@ -644,12 +799,8 @@ class EcoNewsServiceImplTest {
     void countDislikesForEcoNews() {
         // given
         EcoNews ecoNews = ModelUtils.getEcoNews();
-        EcoNewsVO ecoNewsVO = ModelUtils.getEcoNewsVO();
-        UserVO user1 = ModelUtils.getUserVO();
-        UserVO user2 = UserVO.builder().id(2L).name("User2").build();
-        ecoNewsVO.setUsersDislikedNews(Set.of(user1, user2));
+        ecoNews.setDislikesCount(2);
         when(ecoNewsRepo.findById(1L)).thenReturn(Optional.of(ecoNews));
-        when(modelMapper.map(ecoNews, EcoNewsVO.class)).thenReturn(ecoNewsVO);
 
         // when
         Integer actual = ecoNewsService.countDislikesForEcoNews(1L);
@@ -693,8 +844,9 @@ class EcoNewsServiceImplTest {
     @Test
     void uploadImages() {
         MultipartFile[] multipartFiles = {ModelUtils.getFile()};
-        ecoNewsService.uploadImages(multipartFiles);
-        Arrays.stream(multipartFiles).forEach(multipartFile -> verify(fileService).upload(multipartFile));
+        when(fileService.uploadAll(multipartFiles)).thenReturn(List.of("url"));
+        assertArrayEquals(new String[] {"url"}, ecoNewsService.uploadImages(multipartFiles));
+        verify(fileService).uploadAll(multipartFiles);
     }
 
     @Test
@@ -121,11 +121,10 @@ class EventCommentServiceImplTest {
         UserVO userVO = getUserVO();
         Long eventId = 1L;
         EventComment eventComment = ModelUtils.getEventComment();
-        Event event = ModelUtils.getEvent();
         Page<EventComment> pages = new PageImpl<>(Collections.singletonList(eventComment), pageable, 1);
         EventCommentDto eventCommentDto = ModelUtils.getEventCommentDto();
 
-        when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
+        when(eventRepo.existsById(1L)).thenReturn(true);
         when(eventCommentRepo.findAllByEventIdOrderByCreatedDateDesc(pageable, eventId)).thenReturn(pages);
         when(modelMapper.map(eventComment, EventCommentDto.class)).thenReturn(eventCommentDto);
 
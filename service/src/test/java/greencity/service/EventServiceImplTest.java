@@ -3,13 +3,16 @@ package greencity.service;
 import greencity.ModelUtils;
 import greencity.client.RestClient;
 import greencity.constant.AppConstant;
+import greencity.dto.CursorPageDto;
 import greencity.dto.PageableAdvancedDto;
 import greencity.dto.event.AddEventDtoRequest;
 import greencity.dto.event.EventAttenderDto;
 import greencity.dto.event.EventDto;
 import greencity.dto.event.UpdateEventDto;
+import greencity.dto.image.ImageVariantsDto;
 import greencity.dto.tag.TagVO;
 import greencity.dto.user.UserVO;
+import greencity.entity.ImageVariants;
 import greencity.entity.event.Event;
 import greencity.entity.Tag;
 import greencity.entity.User;
@@ -17,6 +20,8 @@ import greencity.entity.event.EventDateLocation;
 import greencity.entity.event.EventImages;
 import greencity.enums.TagType;
 import greencity.exception.exceptions.BadRequestException;
+import greencity.image.ImagePipeline;
+import greencity.pagination.KeysetCursor;
 import greencity.repository.EventRepo;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
@@ -60,6 +65,9 @@ class EventServiceImplTest {
     @Mock
     GoogleApiService googleApiService;
 
+    @Mock
+    ImagePipeline imagePipeline;
+
     @InjectMocks
     EventServiceImpl eventService;
 
@@ -85,16 +93,24 @@ class EventServiceImplTest {
         assertEquals(eventDto, eventService.save(addEventDtoRequest, ModelUtils.getUser().getEmail(), null));
 
         MultipartFile multipartFile = ModelUtils.getMultipartFile();
-        when(fileService.upload(multipartFile)).thenReturn("/url1");
+        when(imagePipeline.upload(multipartFile)).thenReturn(titleImageVariants("/url1"));
         assertEquals(eventDto,
             eventService.save(addEventDtoRequest, ModelUtils.getUser().getEmail(),
                 new MultipartFile[] {multipartFile}));
 
         MultipartFile[] multipartFiles = ModelUtils.getMultipartFiles();
-        when(fileService.upload(multipartFiles[0])).thenReturn("/url1");
-        when(fileService.upload(multipartFiles[1])).thenReturn("/url2");
+        when(imagePipeline.upload(multipartFiles[0])).thenReturn(titleImageVariants("/url1"));
+        when(fileService.uploadAll(new MultipartFile[] {multipartFiles[1]})).thenReturn(List.of("/url2"));
         assertEquals(eventDto,
             eventService.save(addEventDtoRequest, ModelUtils.getUser().getEmail(), multipartFiles));
+        verify(fileService).uploadAll(new MultipartFile[] {multipartFiles[1]});
+        assertEquals("/url1", event.getTitleImage());
+        assertEquals("/url1-thumb", event.getTitleImageVariants().getThumbPath());
+        assertEquals("/url2", event.getAdditionalImages().get(0).getLink());
+    }
+
+    private static ImageVariantsDto titleImageVariants(String path) {
+        return new ImageVariantsDto(path + "-thumb", path + "-card", path);
     }
 
     @Test
@@ -194,7 +210,7 @@ class EventServiceImplTest {
         assertEquals(expectedEvent.getTitleImage(), event.getTitleImage());
 
         MultipartFile[] multipartFiles = ModelUtils.getMultipartFiles();
-        when(fileService.upload(multipartFiles[0])).thenReturn("url1");
+        when(imagePipeline.upload(multipartFiles[0])).thenReturn(titleImageVariants("url1"));
         when(fileService.upload(multipartFiles[1])).thenReturn("url2");
 
         method.invoke(eventService, event, eventToUpdateDto, multipartFiles);
@@ -224,7 +240,7 @@ class EventServiceImplTest {
         eventToUpdateDto.setTitleImage(null);
         expectedEvent.setTitleImage("title url");
         MultipartFile multipartFile = ModelUtils.getMultipartFile();
-        when(fileService.upload(multipartFile)).thenReturn("title url");
+        when(imagePipeline.upload(multipartFile)).thenReturn(titleImageVariants("title url"));
 
         method.invoke(eventService, event, eventToUpdateDto, new MultipartFile[] {multipartFile});
         assertEquals(expectedEvent.getTitleImage(), event.getTitleImage());
@@ -290,6 +306,25 @@ class EventServiceImplTest {
         verify(eventRepo).delete(event);
     }
 
+    @Test
+    void deleteRemovesEveryVariantOfTitleImage() {
+        Event event = ModelUtils.getEvent();
+        event.setTitleImage("full");
+        event.setTitleImageVariants(new ImageVariants("thumb", "card"));
+        event.setAdditionalImages(List.of(EventImages.builder().event(event).link("extra").build()));
+        when(modelMapper.map(restClient.findByEmail(ModelUtils.getUserVO().getEmail()), User.class))
+            .thenReturn(ModelUtils.getUser());
+        when(eventRepo.getOne(any())).thenReturn(event);
+
+        eventService.delete(event.getId(), ModelUtils.getUserVO().getEmail());
+
+        verify(fileService).delete("full");
+        verify(fileService).delete("thumb");
+        verify(fileService).delete("card");
+        verify(fileService).delete("extra");
+        verify(eventRepo).delete(event);
+    }
+
     @Test
     void deleteWithException() throws BadRequestException {
         Event event = ModelUtils.getEvent();
@@ -613,4 +648,38 @@ class EventServiceImplTest {
 
         verify(modelMapper).map(user, EventAttenderDto.class);
     }
+
+    @Test
+    void getAllByCursorReturnsNextCursorWhenMoreEventsExist() {
+        Event second = ModelUtils.getSecondEvent();
+        Event first = ModelUtils.getEvent();
+        EventDto expected = ModelUtils.getSecondEventDto();
+        when(eventRepo.findAllByIdLessThanOrderByIdDesc(Long.MAX_VALUE, PageRequest.of(0, 2)))
+            .thenReturn(List.of(second, first));
+        when(modelMapper.map(second, EventDto.class)).thenReturn(expected);
+
+        CursorPageDto<EventDto> actual = eventService.getAllByCursor(null, 1, false, null);
+
+        assertEquals(List.of(expected), actual.getPage());
+        assertTrue(actual.isHasNext());
+        assertEquals(second.getId(), KeysetCursor.decode(actual.getNextCursor()).getId());
+        assertNull(actual.getTotalElements());
+        verify(eventRepo, never()).count();
+    }
+
+    @Test
+    void getAllByCursorContinuesAfterCursor() {
+        Event first = ModelUtils.getEvent();
+        EventDto expected = ModelUtils.getEventDto();
+        when(eventRepo.findAllByIdLessThanOrderByIdDesc(2L, PageRequest.of(0, 2))).thenReturn(List.of(first));
+        when(modelMapper.map(first, EventDto.class)).thenReturn(expected);
+        when(eventRepo.count()).thenReturn(2L);
+
+        CursorPageDto<EventDto> actual = eventService.getAllByCursor(KeysetCursor.encode(null, 2L), 1, true, null);
+
+        assertEquals(List.of(expected), actual.getPage());
+        assertFalse(actual.isHasNext());
+        assertNull(actual.getNextCursor());
+        assertEquals(2L, actual.getTotalElements());
+    }
 }
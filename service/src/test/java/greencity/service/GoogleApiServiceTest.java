@@ -0,0 +1,145 @@
+package greencity.service;
+
+import com.google.maps.GeoApiContext;
+import com.google.maps.model.GeocodingResult;
+import com.google.maps.model.LatLng;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import greencity.geocoding.GeocodeCache;
+import greencity.repository.GeocodeCacheRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class GoogleApiServiceTest {
+    @Mock
+    private GeocodeCacheRepo geocodeCacheRepo;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private GeoApiContext context;
+    private GoogleApiService googleApiService;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch bothLocalesRequested = new CountDownLatch(2);
+    private final AtomicBoolean concurrent = new AtomicBoolean(true);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(2);
+        server.setExecutor(serverExecutor);
+        server.createContext("/maps/api/geocode/json", this::geocode);
+        server.start();
+        context = new GeoApiContext.Builder()
+            .apiKey("AIzaLocalStub")
+            .baseUrlOverride("http://localhost:" + server.getAddress().getPort())
+            .build();
+        GeocodeCache geocodeCache = new GeocodeCache(geocodeCacheRepo, 30, 100, 4, new SimpleMeterRegistry());
+        googleApiService = new GoogleApiService(context, geocodeCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void getResultFromGeoCodeRequestsLocalesConcurrently() {
+        List<GeocodingResult> results = googleApiService.getResultFromGeoCode("Lviv");
+
+        assertEquals(List.of("uk: Lviv", "en: Lviv"), addresses(results));
+        assertTrue(concurrent.get());
+        verify(geocodeCacheRepo, times(2)).upsert(anyString(), anyString());
+    }
+
+    @Test
+    void getResultFromGeoCodeServesRepeatedRequestFromCache() {
+        googleApiService.getResultFromGeoCode("Lviv");
+        List<GeocodingResult> results = googleApiService.getResultFromGeoCode("  lviv ");
+
+        assertEquals(List.of("uk: Lviv", "en: Lviv"), addresses(results));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void getResultFromGeoCodeByCoordinatesUsesRoundedCoordinates() {
+        List<GeocodingResult> results = googleApiService.getResultFromGeoCodeByCoordinates(new LatLng(49.84, 24.03));
+        googleApiService.getResultFromGeoCodeByCoordinates(new LatLng(49.84001, 24.03001));
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).formattedAddress.startsWith("uk: 49.84"));
+        assertTrue(results.get(1).formattedAddress.startsWith("en: 49.84"));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void getResultFromGeoCodeSkipsFailedLocale() {
+        List<GeocodingResult> results = googleApiService.getResultFromGeoCode("denied in en");
+
+        assertEquals(List.of("uk: denied in en"), addresses(results));
+        verify(geocodeCacheRepo, times(1)).upsert(anyString(), anyString());
+    }
+
+    private void geocode(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        bothLocalesRequested.countDown();
+        try {
+            if (!bothLocalesRequested.await(5, TimeUnit.SECONDS)) {
+                concurrent.set(false);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String query = URLDecoder.decode(exchange.getRequestURI().getRawQuery(), StandardCharsets.UTF_8);
+        String language = parameter(query, "language");
+        String search = query.contains("address=") ? parameter(query, "address") : parameter(query, "latlng");
+        String body = "en".equals(language) && search.startsWith("denied")
+            ? "{\"status\": \"REQUEST_DENIED\", \"error_message\": \"denied\", \"results\": []}"
+            : "{\"status\": \"OK\", \"results\": [{\"formatted_address\": \"" + language + ": " + search + "\"}]}";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static String parameter(String query, String name) {
+        for (String pair : query.split("&")) {
+            if (pair.startsWith(name + "=")) {
+                return pair.substring(name.length() + 1);
+            }
+        }
+        return "";
+    }
+
+    private static List<String> addresses(List<GeocodingResult> results) {
+        return results.stream().map(result -> result.formattedAddress).collect(Collectors.toList());
+    }
+}
@@ -40,6 +40,7 @@ import greencity.exception.exceptions.NotFoundException;
 import greencity.exception.exceptions.ShoppingListItemNotFoundException;
 import greencity.exception.exceptions.UserAlreadyHasHabitAssignedException;
 import greencity.exception.exceptions.UserAlreadyHasMaxNumberOfActiveHabitAssigns;
+import greencity.outbox.SideEffectOutbox;
 import greencity.repository.CustomShoppingListItemRepo;
 import greencity.repository.HabitAssignRepo;
 import greencity.repository.HabitRepo;
@@ -104,6 +105,8 @@ class HabitAssignServiceImplTest {
     HabitStatisticService habitStatisticService;
     @Mock
     ShoppingListItemTranslationRepo shoppingListItemTranslationRepo;
+    @Mock
+    private SideEffectOutbox sideEffectOutbox;
     @InjectMocks
     HabitAssignServiceImpl habitAssignService;
     @Mock
@@ -0,0 +1,255 @@
+package greencity.service;
+
+import greencity.repository.StoredFileRepo;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LocalFileStorageServiceTest {
+    @Mock
+    private StoredFileRepo storedFileRepo;
+    @Mock
+    private ModelMapper modelMapper;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private Path root;
+    private LocalFileStorageService localFileStorageService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        root = Files.createTempDirectory("local-file-storage");
+        localFileStorageService = new LocalFileStorageService(storedFileRepo, modelMapper, transactionManager,
+            root.toString(), "/files/");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    void uploadStoresIdenticalContentOnce() throws IOException {
+        String first = localFileStorageService.upload(image("first.PNG", "image"));
+        String second = localFileStorageService.upload(image("second.png", "image"));
+        String other = localFileStorageService.upload(image("other.png", "other image"));
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        assertTrue(first.matches("/files/[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.png"));
+        Path stored = root.resolve(first.substring("/files/".length()));
+        assertArrayEquals("image".getBytes(StandardCharsets.UTF_8), Files.readAllBytes(stored));
+        assertEquals(2, storedFiles().size());
+        verify(storedFileRepo, times(2)).addReference(stored.getFileName().toString());
+    }
+
+    @Test
+    void uploadAllKeepsOrderOfFiles() {
+        List<String> urls = localFileStorageService.uploadAll(new MultipartFile[] {
+            image("a.jpg", "a"), image("b.jpg", "b")});
+
+        assertEquals(localFileStorageService.upload(image("a.jpg", "a")), urls.get(0));
+        assertEquals(localFileStorageService.upload(image("b.jpg", "b")), urls.get(1));
+    }
+
+    @Test
+    void deleteRemovesFileWithLastReference() throws IOException {
+        String url = localFileStorageService.upload(image("image.png", "image"));
+        String name = url.substring(url.lastIndexOf('/') + 1);
+        when(storedFileRepo.removeReference(name)).thenReturn(1);
+        when(storedFileRepo.deleteIfUnreferenced(name)).thenReturn(0, 1);
+
+        localFileStorageService.delete(url);
+        assertEquals(1, storedFiles().size());
+
+        localFileStorageService.delete(url);
+        assertTrue(storedFiles().isEmpty());
+        verify(storedFileRepo, times(2)).removeReference(name);
+    }
+
+    @Test
+    void deleteRemovesFileOnlyAfterCommit() throws IOException {
+        String url = localFileStorageService.upload(image("image.png", "image"));
+        String name = url.substring(url.lastIndexOf('/') + 1);
+        when(storedFileRepo.removeReference(name)).thenReturn(1);
+        when(storedFileRepo.deleteIfUnreferenced(name)).thenReturn(1);
+
+        List<TransactionSynchronization> synchronizations = deleteInTransaction(url);
+        assertEquals(1, storedFiles().size());
+        verify(storedFileRepo, never()).deleteIfUnreferenced(name);
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertTrue(storedFiles().isEmpty());
+    }
+
+    @Test
+    void concurrentUploadAndDeleteOfSameFileKeepReferencedFile() throws Exception {
+        Map<String, Integer> references = new ConcurrentHashMap<>();
+        ReentrantLock rowLock = new ReentrantLock();
+        doAnswer(invocation -> {
+            rowLock.lock();
+            return references.merge(invocation.getArgument(0), 1, Integer::sum);
+        }).when(storedFileRepo).addReference(anyString());
+        when(storedFileRepo.removeReference(anyString())).thenAnswer(invocation -> {
+            rowLock.lock();
+            return references.computeIfPresent(invocation.getArgument(0), (key, count) -> count - 1) == null ? 0 : 1;
+        });
+        when(storedFileRepo.deleteIfUnreferenced(anyString()))
+            .thenAnswer(invocation -> references.remove(invocation.getArgument(0), 0) ? 1 : 0);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            rowLock.lock();
+            return null;
+        });
+        doAnswer(invocation -> {
+            rowLock.unlock();
+            return null;
+        }).when(transactionManager).commit(any());
+        AtomicInteger missing = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 200; j++) {
+                    String url;
+                    try {
+                        url = localFileStorageService.upload(image("image.png", "image"));
+                        if (Files.notExists(root.resolve(url.substring("/files/".length())))) {
+                            missing.incrementAndGet();
+                        }
+                    } finally {
+                        commit(rowLock);
+                    }
+                    List<TransactionSynchronization> synchronizations = deleteInTransaction(url);
+                    commit(rowLock);
+                    synchronizations.forEach(TransactionSynchronization::afterCommit);
+                }
+            }));
+        }
+        executor.shutdown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        assertEquals(0, missing.get());
+        assertTrue(references.isEmpty());
+        assertTrue(storedFiles().isEmpty());
+    }
+
+    @Test
+    void uploadRemovesCreatedFileOnRollback() throws IOException {
+        when(storedFileRepo.deleteIfUnreferenced(anyString())).thenReturn(1);
+
+        List<TransactionSynchronization> synchronizations = uploadInTransaction(image("image.png", "image"));
+        assertEquals(1, storedFiles().size());
+
+        synchronizations.forEach(synchronization -> synchronization
+            .afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertTrue(storedFiles().isEmpty());
+    }
+
+    @Test
+    void uploadKeepsFileOnCommitAndFileUploadedBefore() throws IOException {
+        localFileStorageService.upload(image("image.png", "image"));
+
+        assertTrue(uploadInTransaction(image("again.png", "image")).isEmpty());
+        uploadInTransaction(image("other.png", "other image")).forEach(synchronization -> synchronization
+            .afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertEquals(2, storedFiles().size());
+        verify(storedFileRepo, never()).deleteIfUnreferenced(anyString());
+    }
+
+    @Test
+    void deleteIgnoresFilesNotStoredLocally() {
+        localFileStorageService.delete("https://storage.blob.core.windows.net/allfiles/image.png");
+
+        verify(storedFileRepo, never()).removeReference(anyString());
+    }
+
+    @Test
+    void uploadIgnoresUnsafeExtension() {
+        String url = localFileStorageService.upload(image("image.p/../ng", "image"));
+
+        assertFalse(url.contains(".."));
+        assertFalse(url.substring(url.lastIndexOf('/')).contains("."));
+    }
+
+    private List<TransactionSynchronization> deleteInTransaction(String url) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            localFileStorageService.delete(url);
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private List<TransactionSynchronization> uploadInTransaction(MultipartFile file) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            localFileStorageService.upload(file);
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void commit(ReentrantLock rowLock) {
+        while (rowLock.isHeldByCurrentThread()) {
+            rowLock.unlock();
+        }
+    }
+
+    private static MultipartFile image(String name, String content) {
+        return new MockMultipartFile("image", name, "image/png", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<Path> storedFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+    }
+}
@@ -6,6 +6,7 @@ import greencity.dto.place.PlaceVO;
 import greencity.entity.OpeningHours;
 import greencity.exception.exceptions.BadRequestException;
 import greencity.exception.exceptions.NotFoundException;
+import greencity.openhours.PlaceScheduleIndex;
 import greencity.repository.OpenHoursRepo;
 import java.time.DayOfWeek;
 import java.time.LocalTime;
@@ -35,6 +36,8 @@ class OpenHoursServiceImplTest {
     private OpenHoursRepo openHoursRepo;
     @Mock
     private BreakTimeService breakTimeService;
+    @Mock
+    private PlaceScheduleIndex placeScheduleIndex;
     @InjectMocks
     private OpenHoursServiceImpl openHoursService;
     private final OpeningHours openingHours = OpeningHours.builder()
@@ -137,9 +140,22 @@ class OpenHoursServiceImplTest {
 
     @Test
     void deleteByIdTest() {
+        PlaceVO place = new PlaceVO();
+        place.setId(2L);
+        OpeningHoursVO placeOpeningHoursVO = OpeningHoursVO.builder().place(place).build();
         when(openHoursRepo.findById(anyLong())).thenReturn(Optional.of(openingHours));
+        when(modelMapper.map(openingHours, OpeningHoursVO.class)).thenReturn(placeOpeningHoursVO);
 
         assertEquals(1L, openHoursService.deleteById(1L));
+        verify(placeScheduleIndex).refresh(2L);
+    }
+
+    @Test
+    void deleteAllByPlaceIdTest() {
+        openHoursService.deleteAllByPlaceId(2L);
+
+        verify(openHoursRepo).deleteAllByPlaceId(2L);
+        verify(placeScheduleIndex).refresh(2L);
     }
 
     @Test
@@ -1,6 +1,7 @@
 package greencity.service;
 
 import greencity.ModelUtils;
+import greencity.annotations.RatingCalculationEnum;
 import greencity.client.RestClient;
 import greencity.dto.PageableDto;
 import greencity.dto.comment.AddCommentDto;
@@ -10,11 +11,11 @@ import greencity.dto.user.UserVO;
 import greencity.entity.Comment;
 import greencity.entity.User;
 import greencity.enums.UserStatus;
+import greencity.outbox.SideEffectOutbox;
 import greencity.repository.PlaceCommentRepo;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import javax.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -42,11 +43,11 @@ class PlaceCommentServiceImplTest {
     @Mock
     private ModelMapper modelMapper;
     @Mock
-    private HttpServletRequest httpServletRequest;
-    @Mock
     private SecurityContext securityContext;
     @Mock
     private Authentication authentication;
+    @Mock
+    private SideEffectOutbox sideEffectOutbox;
     @InjectMocks
     private PlaceCommentServiceImpl placeCommentService;
 
@@ -78,7 +79,6 @@ class PlaceCommentServiceImplTest {
 
     @Test
     void saveTest() {
-        String token = "token";
         AddCommentDto addCommentDto = ModelUtils.getAddCommentDto();
         Comment comment = ModelUtils.getComment();
         when(placeService.findById(anyLong())).thenReturn(ModelUtils.getPlaceVO());
@@ -86,12 +86,12 @@ class PlaceCommentServiceImplTest {
         userVO.setUserStatus(UserStatus.ACTIVATED);
         when(restClient.findByEmail(anyString())).thenReturn(userVO);
         when(modelMapper.map(addCommentDto, Comment.class)).thenReturn(comment);
-        when(httpServletRequest.getHeader("Authorization")).thenReturn(token);
         when(modelMapper.map(comment, CommentReturnDto.class))
             .thenReturn(ModelUtils.getCommentReturnDto());
         when(placeCommentRepo.save(any())).thenReturn(comment);
         placeCommentService.save(1L, addCommentDto, "email");
         verify(placeCommentRepo, times(1)).save(comment);
+        verify(sideEffectOutbox).enqueueRating(userVO.getId(), RatingCalculationEnum.ADD_COMMENT);
     }
 
     @Test
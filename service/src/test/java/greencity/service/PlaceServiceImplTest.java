@@ -18,6 +18,7 @@ import greencity.dto.filter.FilterPlaceDto;
 import greencity.dto.location.LocationAddressAndGeoDto;
 import greencity.dto.location.LocationAddressAndGeoForUpdateDto;
 import greencity.dto.location.LocationVO;
+import greencity.dto.location.MapBoundsDto;
 import greencity.dto.openhours.OpeningHoursDto;
 import greencity.dto.openhours.OpeningHoursVO;
 import greencity.dto.photo.PhotoAddDto;
@@ -27,6 +28,7 @@ import greencity.dto.place.BulkUpdatePlaceStatusDto;
 import greencity.dto.place.FilterPlaceCategory;
 import greencity.dto.place.PlaceAddDto;
 import greencity.dto.place.PlaceByBoundsDto;
+import greencity.dto.place.PlaceClusterTileDto;
 import greencity.dto.place.PlaceInfoDto;
 import greencity.dto.place.PlaceResponse;
 import greencity.dto.place.PlaceUpdateDto;
@@ -40,6 +42,8 @@ import greencity.enums.UserStatus;
 import greencity.exception.exceptions.NotFoundException;
 import greencity.exception.exceptions.PlaceStatusException;
 import greencity.exception.exceptions.UserBlockedException;
+import greencity.geo.PlaceGeoEngine;
+import greencity.openhours.PlaceScheduleIndex;
 import greencity.repository.CategoryRepo;
 import greencity.repository.PlaceRepo;
 import greencity.repository.UserRepo;
@@ -172,13 +176,18 @@ class PlaceServiceImplTest {
     private GoogleApiService googleApiService;
     @Mock
     UserRepo userRepo;
+    @Mock
+    private PlaceGeoEngine placeGeoEngine;
+    @Mock
+    private PlaceScheduleIndex placeScheduleIndex;
 
     @BeforeEach
     void init() {
         MockitoAnnotations.initMocks(this);
         placeService = new PlaceServiceImpl(placeRepo, modelMapper, categoryService,
             locationService, specificationService, restClient, openingHoursService, discountService,
-            notificationService, zoneId, proposePlaceMapper, categoryRepo, googleApiService, userRepo);
+            notificationService, zoneId, proposePlaceMapper, categoryRepo, googleApiService, userRepo,
+            placeGeoEngine, placeScheduleIndex);
     }
 
     @Test
@@ -207,6 +216,16 @@ class PlaceServiceImplTest {
         when(placeRepo.save(any())).thenReturn(genericEntity);
         placeService.updateStatus(1L, PlaceStatus.DECLINED);
         assertEquals(PlaceStatus.DECLINED, genericEntity.getStatus());
+        verify(placeGeoEngine).refresh(genericEntity.getId(), PlaceStatus.DECLINED,
+            genericEntity.getLocation().getLat(), genericEntity.getLocation().getLng(), null);
+    }
+
+    @Test
+    void getClusterTileTest() {
+        PlaceClusterTileDto tile = new PlaceClusterTileDto(3, 4, 2, "7f3a", Collections.emptyList());
+        when(placeGeoEngine.getClusterTile(3, 4, 2)).thenReturn(tile);
+
+        assertEquals(tile, placeService.getClusterTile(3, 4, 2));
     }
 
     @Test
@@ -525,23 +544,115 @@ class PlaceServiceImplTest {
     @Test
     void getPlacesByFilterWithDistanceFromUserTest() {
         Place place = ModelUtils.getPlace();
-        Location newLocation = new Location();
-        newLocation.setLat(-80.0);
-        newLocation.setLng(-170.0);
-        genericEntity1.setLocation(newLocation);
-        List<Place> places = Arrays.asList(place, genericEntity1);
         FilterPlaceDto filterDto = new FilterPlaceDto();
         filterDto.setDistanceFromUserDto(new FilterDistanceDto(-80.0, -170.0, 500.0));
-        PlaceByBoundsDto placeByBoundsDto = new PlaceByBoundsDto();
-        List<PlaceByBoundsDto> placeByBoundsDtos = Collections.singletonList(placeByBoundsDto);
-        when(placeRepo.findAll((any(PlaceFilter.class)))).thenReturn(places);
-        when(modelMapper.map(genericEntity1, PlaceByBoundsDto.class)).thenReturn(placeByBoundsDto);
+        PlaceByBoundsDto nearest = new PlaceByBoundsDto();
+        nearest.setId(genericEntity2.getId());
+        PlaceByBoundsDto farther = new PlaceByBoundsDto();
+        farther.setId(place.getId());
+        when(placeGeoEngine.getMaxResults()).thenReturn(500);
+        when(placeGeoEngine.findNearestPlaceIds(PlaceStatus.APPROVED, -80.0, -170.0, 500.0, 0))
+            .thenReturn(Arrays.asList(genericEntity2.getId(), place.getId()));
+        when(placeRepo.findAll((any(PlaceFilter.class)))).thenReturn(Arrays.asList(place, genericEntity2));
+        when(modelMapper.map(genericEntity2, PlaceByBoundsDto.class)).thenReturn(nearest);
+        when(modelMapper.map(place, PlaceByBoundsDto.class)).thenReturn(farther);
 
         List<PlaceByBoundsDto> result = placeService.getPlacesByFilter(filterDto);
 
-        assertEquals(placeByBoundsDtos, result);
+        assertEquals(Arrays.asList(nearest, farther), result);
         verify(placeRepo).findAll(any(PlaceFilter.class));
-        verify(modelMapper).map(genericEntity1, PlaceByBoundsDto.class);
+    }
+
+    @Test
+    void getPlacesByFilterWithDistanceFromUserAndCategoriesTest() {
+        Place place = ModelUtils.getPlace();
+        String[] categories = {"test"};
+        FilterPlaceDto filterDto = new FilterPlaceDto();
+        filterDto.setCategories(categories);
+        filterDto.setDistanceFromUserDto(new FilterDistanceDto(45.0, 46.0, 10.0));
+        PlaceByBoundsDto placeByBoundsDto = new PlaceByBoundsDto();
+        List<Long> placeIds = Collections.singletonList(place.getId());
+        when(placeGeoEngine.getMaxResults()).thenReturn(500);
+        when(placeGeoEngine.findNearestPlaceIds(null, 45.0, 46.0, 10.0, 0)).thenReturn(placeIds);
+        when(placeRepo.findPlaceByCategoryAndIdIn(categories, placeIds)).thenReturn(Collections.singletonList(place));
+        when(modelMapper.map(place, PlaceByBoundsDto.class)).thenReturn(placeByBoundsDto);
+
+        List<PlaceByBoundsDto> result = placeService.getPlacesByFilter(filterDto);
+
+        assertEquals(Collections.singletonList(placeByBoundsDto), result);
+        verify(placeRepo, never()).findPlaceByCategory(any());
+    }
+
+    @Test
+    void getPlacesByFilterWithoutPlacesNearbyTest() {
+        FilterPlaceDto filterDto = new FilterPlaceDto();
+        filterDto.setDistanceFromUserDto(new FilterDistanceDto(45.0, 46.0, 10.0));
+        when(placeGeoEngine.getMaxResults()).thenReturn(500);
+        when(placeGeoEngine.findNearestPlaceIds(PlaceStatus.APPROVED, 45.0, 46.0, 10.0, 0))
+            .thenReturn(Collections.emptyList());
+
+        assertTrue(placeService.getPlacesByFilter(filterDto).isEmpty());
+        verify(placeRepo, never()).findAll(any(PlaceFilter.class));
+    }
+
+    @Test
+    void getPlacesByFilterWithDistanceAppliesLimitToFilteredPlacesTest() {
+        Place place = ModelUtils.getPlace();
+        FilterPlaceDto filterDto = new FilterPlaceDto();
+        filterDto.setDistanceFromUserDto(new FilterDistanceDto(45.0, 46.0, 10.0));
+        PlaceByBoundsDto nearest = new PlaceByBoundsDto();
+        PlaceByBoundsDto farther = new PlaceByBoundsDto();
+        when(placeGeoEngine.getMaxResults()).thenReturn(2);
+        when(placeGeoEngine.findNearestPlaceIds(PlaceStatus.APPROVED, 45.0, 46.0, 10.0, 0))
+            .thenReturn(Arrays.asList(place.getId(), 100L));
+        when(placeGeoEngine.findNearestPlaceIds(PlaceStatus.APPROVED, 45.0, 46.0, 10.0, 2))
+            .thenReturn(Collections.singletonList(genericEntity2.getId()));
+        when(placeRepo.findAll(any(PlaceFilter.class)))
+            .thenReturn(Collections.singletonList(place), Collections.singletonList(genericEntity2));
+        when(modelMapper.map(place, PlaceByBoundsDto.class)).thenReturn(nearest);
+        when(modelMapper.map(genericEntity2, PlaceByBoundsDto.class)).thenReturn(farther);
+
+        List<PlaceByBoundsDto> result = placeService.getPlacesByFilter(filterDto);
+
+        assertEquals(Arrays.asList(nearest, farther), result);
+        verify(placeRepo, times(2)).findAll(any(PlaceFilter.class));
+    }
+
+    @Test
+    void findPlacesByMapsBoundsWithBoundsTest() {
+        Place place = ModelUtils.getPlace();
+        MapBoundsDto bounds = new MapBoundsDto(50.0, 31.0, 49.0, 30.0);
+        FilterPlaceDto filterPlaceDto = new FilterPlaceDto();
+        filterPlaceDto.setMapBoundsDto(bounds);
+        PlaceByBoundsDto placeByBoundsDto = new PlaceByBoundsDto();
+        when(placeGeoEngine.getMaxResults()).thenReturn(500);
+        when(placeGeoEngine.findPlaceIdsInBounds(PlaceStatus.APPROVED, bounds, 0))
+            .thenReturn(Collections.singletonList(place.getId()));
+        when(placeRepo.findAll(any(PlaceFilter.class))).thenReturn(Collections.singletonList(place));
+        when(modelMapper.map(place, PlaceByBoundsDto.class)).thenReturn(placeByBoundsDto);
+
+        List<PlaceByBoundsDto> result = placeService.findPlacesByMapsBounds(filterPlaceDto);
+
+        assertEquals(Collections.singletonList(placeByBoundsDto), result);
+    }
+
+    @Test
+    void getPlacesByFilterWithTimeUsesScheduleIndexTest() {
+        Place place = ModelUtils.getPlace();
+        FilterPlaceDto filterDto = new FilterPlaceDto();
+        filterDto.setTime("04/03/2021 10:15:00");
+        LocalDateTime time = LocalDateTime.of(2021, 3, 4, 10, 15);
+        PlaceByBoundsDto placeByBoundsDto = new PlaceByBoundsDto();
+        when(placeScheduleIndex.isEnabled()).thenReturn(true);
+        when(placeScheduleIndex.isOpen(place.getId(), time)).thenReturn(true);
+        when(placeScheduleIndex.isOpen(genericEntity2.getId(), time)).thenReturn(false);
+        when(placeRepo.findAll(any(PlaceFilter.class))).thenReturn(Arrays.asList(place, genericEntity2));
+        when(modelMapper.map(place, PlaceByBoundsDto.class)).thenReturn(placeByBoundsDto);
+
+        List<PlaceByBoundsDto> result = placeService.getPlacesByFilter(filterDto);
+
+        assertEquals(Collections.singletonList(placeByBoundsDto), result);
+        verify(modelMapper, never()).map(genericEntity2, PlaceByBoundsDto.class);
     }
 
     @Test
@@ -4,7 +4,6 @@ import greencity.dto.PageableDto;
 import greencity.dto.search.SearchNewsDto;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -16,20 +15,21 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
 class SearchServiceImplTest {
-    @InjectMocks
-    private SearchServiceImpl searchService;
-
     @Mock
     private EcoNewsService ecoNewsService;
 
     @Test
     void searchTest() {
+        SearchServiceImpl searchService = new SearchServiceImpl(ecoNewsService, false);
         String languageCode = "en";
-        SearchNewsDto searchNewsDto = new SearchNewsDto(1L, "title", null, null, Collections.singletonList("tag"));
+        SearchNewsDto searchNewsDto =
+            new SearchNewsDto(1L, "title", null, null, Collections.singletonList("tag"), null);
         PageableDto<SearchNewsDto> ecoNews = new PageableDto<>(Collections.singletonList(searchNewsDto), 4, 1, 1);
 
         when(ecoNewsService.search(anyString(), eq(languageCode))).thenReturn(ecoNews);
@@ -41,11 +41,12 @@ class SearchServiceImplTest {
 
     @Test
     void searchEcoNewsTest() {
+        SearchServiceImpl searchService = new SearchServiceImpl(ecoNewsService, false);
         PageRequest pageRequest = PageRequest.of(0, 2);
         List<SearchNewsDto> searchDto =
             Arrays.asList(
-                new SearchNewsDto(1L, "title", null, null, null),
-                new SearchNewsDto(2L, "title", null, null, null));
+                new SearchNewsDto(1L, "title", null, null, null, null),
+                new SearchNewsDto(2L, "title", null, null, null, null));
         PageableDto<SearchNewsDto> pageableDto =
             new PageableDto<>(searchDto, searchDto.size(), 0, 1);
 
@@ -56,4 +57,28 @@ class SearchServiceImplTest {
 
         assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchWithFullTextSearchTest() {
+        SearchServiceImpl searchService = new SearchServiceImpl(ecoNewsService, true);
+        SearchNewsDto searchNewsDto =
+            new SearchNewsDto(1L, "title", null, null, Collections.singletonList("tag"), "<b>title</b>");
+        PageableDto<SearchNewsDto> ecoNews = new PageableDto<>(Collections.singletonList(searchNewsDto), 1, 0, 1);
+
+        when(ecoNewsService.fullTextSearch(PageRequest.of(0, 3), "tit", "en")).thenReturn(ecoNews);
+
+        assertEquals(ecoNews.getPage(), searchService.search("tit", "en").getEcoNews());
+        verify(ecoNewsService, never()).search(anyString(), anyString());
+    }
+
+    @Test
+    void searchAllNewsWithFullTextSearchTest() {
+        SearchServiceImpl searchService = new SearchServiceImpl(ecoNewsService, true);
+        PageRequest pageRequest = PageRequest.of(0, 2);
+        PageableDto<SearchNewsDto> pageableDto = new PageableDto<>(Collections.emptyList(), 0, 0, 0);
+
+        when(ecoNewsService.fullTextSearch(pageRequest, "title", "ua")).thenReturn(pageableDto);
+
+        assertEquals(pageableDto, searchService.searchAllNews(pageRequest, "title", "ua"));
+    }
+}
@@ -1,28 +1,24 @@
 package greencity.service;
 
 import greencity.dto.socialnetwork.SocialNetworkImageVO;
-import greencity.entity.SocialNetworkImage;
+import greencity.image.ImagePipeline;
 import greencity.repository.SocialNetworkImageRepo;
+import greencity.socialnetwork.FaviconResolver;
 
-import java.io.IOException;
-import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyObject;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import static org.mockito.Mockito.eq;
 
 @ExtendWith(MockitoExtension.class)
 class SocialNetworkImageServiceImplTest {
@@ -30,40 +26,41 @@ class SocialNetworkImageServiceImplTest {
     @Mock
     SocialNetworkImageRepo socialNetworkImageRepo;
     @Mock
-    FileService fileService;
-    @Mock
     ModelMapper modelMapper;
+    @Mock
+    ImagePipeline imagePipeline;
+    @Mock
+    FaviconResolver faviconResolver;
     @InjectMocks
     SocialNetworkImageServiceImpl socialNetworkImageService;
 
     @Test
     void getSocialNetworkImageByUrl() throws Exception {
-        URL checkUrl = new URL("http:");
+        URL checkUrl = new URL("http://example.com/page");
         SocialNetworkImageVO socialNetworkImageVO = new SocialNetworkImageVO();
         socialNetworkImageVO.setId(1L);
         socialNetworkImageVO.setHostPath(checkUrl.getHost());
         socialNetworkImageVO.setImagePath("http:");
 
-        Optional<SocialNetworkImage> socialNetworkImage = Optional.of(new SocialNetworkImage());
-        when(socialNetworkImageRepo.findByHostPath(checkUrl.getHost()))
-            .thenReturn(socialNetworkImage);
-        when(modelMapper.map(any(SocialNetworkImage.class), eq(SocialNetworkImageVO.class)))
-            .thenReturn(socialNetworkImageVO);
-
-        when(modelMapper.map(socialNetworkImageVO, SocialNetworkImageVO.class)).thenReturn(socialNetworkImageVO);
+        when(faviconResolver.resolve(checkUrl.getHost())).thenReturn(Optional.of(socialNetworkImageVO));
 
-        assertEquals(socialNetworkImageVO, socialNetworkImageService.getSocialNetworkImageByUrl("http:"));
+        assertEquals(socialNetworkImageVO, socialNetworkImageService.getSocialNetworkImageByUrl(checkUrl.toString()));
     }
 
     @Test
-    void getSocialNetworkImageByUrlBadRequest() throws Exception {
-        URL checkUrl = new URL("HTTP:");
-        SocialNetworkImageVO socialNetworkImageVO = new SocialNetworkImageVO();
-        socialNetworkImageVO.setId(1L);
-        socialNetworkImageVO.setHostPath(checkUrl.getHost());
-        socialNetworkImageVO.setImagePath("HTTP:");
+    void getSocialNetworkImageByUrlReturnsDefaultWhileIconIsFetched() {
+        SocialNetworkImageVO defaultImage = new SocialNetworkImageVO(1L, "img/default.png",
+            "img/default_social_network_icon.png");
+        when(faviconResolver.resolve("example.com")).thenReturn(Optional.empty());
+        when(faviconResolver.find("img/default_social_network_icon.png")).thenReturn(Optional.of(defaultImage));
 
-        when(socialNetworkImageRepo.findByHostPath(checkUrl.getHost())).thenReturn(Optional.ofNullable(null));
+        assertEquals(defaultImage, socialNetworkImageService.getSocialNetworkImageByUrl("http://example.com/"));
+    }
+
+    @Test
+    void getSocialNetworkImageByUrlBadRequest() {
+        when(faviconResolver.resolve("")).thenReturn(Optional.empty());
+        when(faviconResolver.find("img/default_social_network_icon.png")).thenReturn(Optional.empty());
 
         assertThrows(RuntimeException.class, () -> socialNetworkImageService.getSocialNetworkImageByUrl("HTTP:"));
     }
@@ -76,12 +73,7 @@ class SocialNetworkImageServiceImplTest {
         socialNetworkImageVO.setHostPath(checkUrl.getHost());
         socialNetworkImageVO.setImagePath("HTTP://example.com/");
 
-        Optional<SocialNetworkImage> socialNetworkImage = Optional.of(new SocialNetworkImage());
-        when(socialNetworkImageRepo.findByHostPath(checkUrl.getHost()))
-            .thenReturn(socialNetworkImage);
-
-        when(modelMapper.map(any(SocialNetworkImage.class), eq(SocialNetworkImageVO.class)))
-            .thenReturn(socialNetworkImageVO);
+        when(faviconResolver.find(checkUrl.getHost())).thenReturn(Optional.of(socialNetworkImageVO));
 
         assertEquals(Optional.of(socialNetworkImageVO), socialNetworkImageService.findByHostPath(checkUrl.getHost()));
     }
@@ -93,12 +85,17 @@ class SocialNetworkImageServiceImplTest {
         socialNetworkImageVO.setHostPath("img/default_social_network_icon.png");
         socialNetworkImageVO.setImagePath("HTTP://img/default_social_network_icon.png/");
 
-        Optional<SocialNetworkImage> socialNetworkImage = Optional.of(new SocialNetworkImage());
-        when(socialNetworkImageRepo.findByHostPath(socialNetworkImageVO.getHostPath()))
-            .thenReturn(socialNetworkImage);
+        when(faviconResolver.find(socialNetworkImageVO.getHostPath())).thenReturn(Optional.of(socialNetworkImageVO));
 
-        when(modelMapper.map(any(SocialNetworkImage.class), eq(SocialNetworkImageVO.class)))
-            .thenReturn(socialNetworkImageVO);
         assertEquals(socialNetworkImageVO, socialNetworkImageService.getDefaultSocialNetworkImage());
     }
+
+    @Test
+    void deleteAllEvictsCachedImages() {
+        socialNetworkImageService.deleteAll(List.of(1L, 2L));
+
+        verify(socialNetworkImageRepo).deleteById(1L);
+        verify(socialNetworkImageRepo).deleteById(2L);
+        verify(faviconResolver).evictAll();
+    }
 }
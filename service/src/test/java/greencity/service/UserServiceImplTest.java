@@ -1,6 +1,7 @@
 package greencity.service;
 
 import greencity.ModelUtils;
+import greencity.client.UserLookupCache;
 import greencity.constant.ErrorMessage;
 import greencity.dto.PageableDto;
 import greencity.dto.user.UserManagementVO;
@@ -47,6 +48,8 @@ import static org.mockito.Mockito.*;
 class UserServiceImplTest {
     @Mock
     private UserRepo userRepo;
+    @Mock
+    private UserLookupCache userLookupCache;
     @InjectMocks
     private UserServiceImpl userService;
     @Mock
@@ -0,0 +1,160 @@
+package greencity.socialnetwork;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import greencity.dto.socialnetwork.SocialNetworkImageVO;
+import greencity.entity.SocialNetworkImage;
+import greencity.image.ImagePipeline;
+import greencity.image.ImageVariant;
+import greencity.repository.SocialNetworkImageRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+import org.springframework.web.multipart.MultipartFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FaviconResolverTest {
+    private static final byte[] ICON = {1, 2, 3};
+
+    @Mock
+    private SocialNetworkImageRepo socialNetworkImageRepo;
+    @Mock
+    private ModelMapper modelMapper;
+    @Mock
+    private ImagePipeline imagePipeline;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private FaviconResolver faviconResolver;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch respond = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(2);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", this::favicon);
+        server.start();
+        faviconResolver = new FaviconResolver(socialNetworkImageRepo, modelMapper, imagePipeline,
+            "http://localhost:" + server.getAddress().getPort() + "/?domain=%s", 5000, 2, 100, 10,
+            new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        faviconResolver.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void fetchSharesRequestBetweenConcurrentCallers() {
+        SocialNetworkImageVO stored = new SocialNetworkImageVO(1L, "http://files/example.png", "example.com");
+        when(imagePipeline.upload(any(MultipartFile.class), eq(ImageVariant.THUMB)))
+            .thenReturn("http://files/example.png");
+        when(socialNetworkImageRepo.save(any(SocialNetworkImage.class))).thenAnswer(i -> i.getArgument(0));
+        when(modelMapper.map(any(SocialNetworkImage.class), eq(SocialNetworkImageVO.class))).thenReturn(stored);
+
+        CompletableFuture<SocialNetworkImageVO> first = faviconResolver.fetch("example.com");
+        CompletableFuture<SocialNetworkImageVO> second = faviconResolver.fetch("example.com");
+        respond.countDown();
+
+        assertSame(first, second);
+        assertEquals(stored, first.join());
+        assertEquals(1, requests.get());
+        verify(socialNetworkImageRepo, times(1)).save(any(SocialNetworkImage.class));
+    }
+
+    @Test
+    void resolveServesFetchedImageFromCache() {
+        SocialNetworkImageVO stored = new SocialNetworkImageVO(1L, "http://files/example.png", "example.com");
+        when(socialNetworkImageRepo.findByHostPath("example.com")).thenReturn(Optional.empty());
+        when(imagePipeline.upload(any(MultipartFile.class), eq(ImageVariant.THUMB)))
+            .thenReturn("http://files/example.png");
+        when(socialNetworkImageRepo.save(any(SocialNetworkImage.class))).thenAnswer(i -> i.getArgument(0));
+        when(modelMapper.map(any(SocialNetworkImage.class), eq(SocialNetworkImageVO.class))).thenReturn(stored);
+        respond.countDown();
+
+        assertTrue(faviconResolver.resolve("example.com").isEmpty());
+        faviconResolver.fetch("example.com").join();
+
+        assertEquals(Optional.of(stored), faviconResolver.resolve("example.com"));
+        assertEquals(1, requests.get());
+        verify(socialNetworkImageRepo, times(1)).findByHostPath("example.com");
+    }
+
+    @Test
+    void resolveDoesNotRetryFailedHost() {
+        when(socialNetworkImageRepo.findByHostPath("missing.org")).thenReturn(Optional.empty());
+        respond.countDown();
+
+        CompletableFuture<SocialNetworkImageVO> fetch = faviconResolver.fetch("missing.org");
+        assertThrows(CompletionException.class, fetch::join);
+        faviconResolver.resolve("missing.org");
+        faviconResolver.resolve("missing.org");
+
+        assertEquals(1, requests.get());
+        verifyNoInteractions(imagePipeline);
+    }
+
+    @Test
+    void findCachesStoredImage() {
+        SocialNetworkImage image = new SocialNetworkImage(1L, "http://files/example.png", "example.com");
+        SocialNetworkImageVO stored = new SocialNetworkImageVO(1L, "http://files/example.png", "example.com");
+        when(socialNetworkImageRepo.findByHostPath("example.com")).thenReturn(Optional.of(image));
+        when(modelMapper.map(image, SocialNetworkImageVO.class)).thenReturn(stored);
+
+        faviconResolver.find("example.com");
+        faviconResolver.evict("other.com");
+
+        assertEquals(Optional.of(stored), faviconResolver.find("example.com"));
+        verify(socialNetworkImageRepo, times(1)).findByHostPath("example.com");
+    }
+
+    private void favicon(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            respond.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (exchange.getRequestURI().getQuery().contains("missing.org")) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().add("Content-Type", "image/png");
+        exchange.sendResponseHeaders(200, ICON.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(ICON);
+        }
+    }
+}
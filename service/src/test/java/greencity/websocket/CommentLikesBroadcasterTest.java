@@ -0,0 +1,130 @@
+package greencity.websocket;
+
+import greencity.dto.econewscomment.AmountCommentLikesDto;
+import greencity.dto.econewscomment.EcoNewsCommentCountsDto;
+import greencity.repository.EcoNewsCommentRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommentLikesBroadcasterTest {
+    private static final long FLUSH_MS = 3_600_000L;
+
+    @Mock
+    private EcoNewsCommentRepo ecoNewsCommentRepo;
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CommentLikesBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        broadcaster = new CommentLikesBroadcaster(ecoNewsCommentRepo, messagingTemplate, meterRegistry, true, 2,
+            FLUSH_MS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void flushSendsLatestLikeOfEveryCommentOnceWithCurrentAmount() {
+        when(ecoNewsCommentRepo.findCountsByIds(anyList())).thenReturn(List.of(
+            new EcoNewsCommentCountsDto(1L, 0L, 7L), new EcoNewsCommentCountsDto(2L, 0L, 1L)));
+
+        broadcaster.submit(like(1L, 1L, true));
+        broadcaster.submit(like(1L, 2L, false));
+        broadcaster.submit(like(2L, 1L, true));
+        broadcaster.flush();
+
+        verify(ecoNewsCommentRepo).findCountsByIds(anyList());
+        verify(messagingTemplate).convertAndSend("/topic/1/comment", message(1L, 7, 2L, false));
+        verify(messagingTemplate).convertAndSend("/topic/2/comment", message(2L, 1, 1L, true));
+        verify(messagingTemplate, times(2)).convertAndSend(anyString(), any(AmountCommentLikesDto.class));
+        assertEquals(1.0, meterRegistry.counter("websocket.comment-likes.coalesced").count());
+        assertEquals(2.0, meterRegistry.counter("websocket.comment-likes.sent").count());
+        assertEquals(2.0, meterRegistry.summary("websocket.comment-likes.fan-out").totalAmount());
+    }
+
+    @Test
+    void flushWithoutPendingLikesSendsNothing() {
+        broadcaster.flush();
+
+        verifyNoInteractions(ecoNewsCommentRepo, messagingTemplate);
+    }
+
+    @Test
+    void submitStartsFlushOnFlushThreadWhenTooManyArePending() {
+        when(ecoNewsCommentRepo.findCountsByIds(anyList())).thenReturn(List.of(
+            new EcoNewsCommentCountsDto(1L, 0L, 1L), new EcoNewsCommentCountsDto(2L, 0L, 4L)));
+
+        broadcaster.submit(like(1L, 1L, true));
+        broadcaster.submit(like(2L, 1L, true));
+
+        verify(messagingTemplate, timeout(5000)).convertAndSend("/topic/1/comment", message(1L, 1, 1L, true));
+        verify(messagingTemplate, timeout(5000)).convertAndSend("/topic/2/comment", message(2L, 4, 1L, true));
+        assertEquals(1.0, meterRegistry.counter("websocket.comment-likes.overflowed").count());
+    }
+
+    @Test
+    void flushKeepsLikesWhichCouldNotBeCounted() {
+        when(ecoNewsCommentRepo.findCountsByIds(List.of(1L)))
+            .thenThrow(new QueryTimeoutException("timeout"))
+            .thenReturn(List.of(new EcoNewsCommentCountsDto(1L, 0L, 2L)));
+
+        broadcaster.submit(like(1L, 1L, true));
+        assertThrows(QueryTimeoutException.class, broadcaster::flush);
+        broadcaster.flush();
+
+        verify(messagingTemplate).convertAndSend("/topic/1/comment", message(1L, 2, 1L, true));
+    }
+
+    @Test
+    void flushSkipsDeletedComments() {
+        when(ecoNewsCommentRepo.findCountsByIds(List.of(1L))).thenReturn(List.of());
+
+        broadcaster.submit(like(1L, 1L, true));
+        broadcaster.flush();
+
+        verifyNoInteractions(messagingTemplate);
+        assertEquals(0.0, meterRegistry.counter("websocket.comment-likes.sent").count());
+    }
+
+    @Test
+    void submitSendsAtOnceWhenDisabled() {
+        CommentLikesBroadcaster disabled =
+            new CommentLikesBroadcaster(ecoNewsCommentRepo, messagingTemplate, meterRegistry, false, 2, FLUSH_MS);
+        when(ecoNewsCommentRepo.findCountsByIds(List.of(1L)))
+            .thenReturn(List.of(new EcoNewsCommentCountsDto(1L, 0L, 3L)));
+
+        disabled.submit(like(1L, 1L, true));
+        disabled.shutdown();
+
+        verify(messagingTemplate).convertAndSend("/topic/1/comment", message(1L, 3, 1L, true));
+        assertEquals(0.0, meterRegistry.counter("websocket.comment-likes.coalesced").count());
+    }
+
+    private static AmountCommentLikesDto like(Long id, Long userId, boolean liked) {
+        return AmountCommentLikesDto.builder().id(id).userId(userId).isLiked(liked).build();
+    }
+
+    private static AmountCommentLikesDto message(Long id, int amountLikes, Long userId, boolean liked) {
+        return AmountCommentLikesDto.builder().id(id).amountLikes(amountLikes).userId(userId).isLiked(liked).build();
+    }
+}